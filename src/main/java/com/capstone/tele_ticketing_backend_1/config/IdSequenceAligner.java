@@ -0,0 +1,60 @@
+package com.capstone.tele_ticketing_backend_1.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Ticket, activity, attachment and feedback ids moved from IDENTITY to pooled sequences.
+ * MySQL has no sequences, so Hibernate emulates each one with a single-row table that
+ * ddl-auto=update creates starting at 1 - below ids that already exist.
+ * <p>
+ * On MySQL this pushes each sequence table past the current max(id) once at startup,
+ * before any insert can run. Databases with native sequences (H2 in tests) are left alone.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdSequenceAligner {
+
+    // Must match allocationSize on the entities' @SequenceGenerator.
+    static final int ALLOCATION_SIZE = 50;
+
+    // sequence table -> entity table
+    static final Map<String, String> SEQUENCE_TABLES = Map.of(
+            "tickets_seq", "tickets",
+            "ticket_activities_seq", "ticket_activities",
+            "attachments_seq", "attachments",
+            "feedback_seq", "feedback"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    // Injected only to make sure Hibernate has finished creating/updating the schema first.
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void alignSequences() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (product == null || !product.toLowerCase().contains("mysql")) {
+            return;
+        }
+
+        SEQUENCE_TABLES.forEach((sequenceTable, entityTable) -> {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + entityTable, Long.class);
+            // The pooled optimizer hands out (next_val - allocation, next_val], so leave a full block of headroom.
+            long floor = (maxId == null ? 0 : maxId) + ALLOCATION_SIZE + 1;
+            int updated = jdbcTemplate.update(
+                    "UPDATE " + sequenceTable + " SET next_val = ? WHERE next_val < ?", floor, floor);
+            if (updated > 0) {
+                log.info("Advanced id sequence {} to {} (max id in {} is {})", sequenceTable, floor, entityTable, maxId);
+            }
+        });
+    }
+}
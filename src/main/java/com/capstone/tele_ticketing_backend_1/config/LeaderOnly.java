@@ -0,0 +1,28 @@
+package com.capstone.tele_ticketing_backend_1.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a method (normally a {@code @Scheduled} job) only on the node holding the named job lease;
+ * on every other node the call returns at once without running, returning null, zero or false.
+ * The lease is taken on the first call and kept alive by JobLeaseService's heartbeat, so if the
+ * holder goes away another node starts running the job within the lease TTL.
+ * <p>
+ * Inside the method, JobLeaseService.currentFencingToken() gives the lease's fencing token, and every
+ * transaction that writes the job's results must call JobLeaseService.checkFencingToken() before it
+ * commits, so a node that lost the lease while the job ran cannot overwrite the new holder's work.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface LeaderOnly {
+
+    /**
+     * The job's lease name, shared by every node; e.g. "ticket-status-counter-reconcile".
+     */
+    String value();
+}
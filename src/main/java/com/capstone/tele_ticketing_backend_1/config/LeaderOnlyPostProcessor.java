@@ -0,0 +1,62 @@
+package com.capstone.tele_ticketing_backend_1.config;
+
+import com.capstone.tele_ticketing_backend_1.service.JobLeaseService;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Array;
+
+/**
+ * Wraps beans with {@link LeaderOnly} methods in a proxy that checks the job lease before each call.
+ * Ordered ahead of the @Scheduled post-processor, so scheduled jobs are registered on the proxy.
+ */
+@Component
+@Slf4j
+public class LeaderOnlyPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    public LeaderOnlyPostProcessor(ObjectProvider<JobLeaseService> jobLeaseService) {
+        // Looked up on first use: post-processors are created before the beans they would inject.
+        this.advisor = new DefaultPointcutAdvisor(AnnotationMatchingPointcut.forMethodAnnotation(LeaderOnly.class),
+                new LeaderOnlyInterceptor(jobLeaseService));
+        // Services are injected by class, so the proxy must subclass them.
+        setProxyTargetClass(true);
+        setBeforeExistingAdvisors(true);
+        setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+    }
+
+    private record LeaderOnlyInterceptor(ObjectProvider<JobLeaseService> jobLeaseService) implements MethodInterceptor {
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            LeaderOnly leaderOnly = AnnotatedElementUtils.findMergedAnnotation(invocation.getMethod(), LeaderOnly.class);
+            if (leaderOnly == null) {
+                return invocation.proceed();
+            }
+            JobLeaseService leases = jobLeaseService.getObject();
+            Long token;
+            try {
+                token = leases.tryAcquire(leaderOnly.value());
+            } catch (RuntimeException e) {
+                log.warn("Skipping job {}: could not check its lease", leaderOnly.value(), e);
+                token = null;
+            }
+            if (token == null) {
+                return emptyResult(invocation.getMethod().getReturnType());
+            }
+            return leases.runWithToken(leaderOnly.value(), token, invocation::proceed);
+        }
+
+        // null, or the zero value of a primitive return type.
+        private static Object emptyResult(Class<?> returnType) {
+            return returnType.isPrimitive() && returnType != void.class ? Array.get(Array.newInstance(returnType, 1), 0) : null;
+        }
+    }
+}
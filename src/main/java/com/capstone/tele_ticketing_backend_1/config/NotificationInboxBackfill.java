@@ -0,0 +1,77 @@
+package com.capstone.tele_ticketing_backend_1.config;
+
+import com.capstone.tele_ticketing_backend_1.repo.NotificationInboxRepo;
+import com.capstone.tele_ticketing_backend_1.repo.TicketActivityRepo;
+import com.capstone.tele_ticketing_backend_1.service.JobLeaseService;
+import com.capstone.tele_ticketing_backend_1.service.NotificationInboxService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Notification inboxes are filled when activities are logged, so activities logged before the
+ * inbox existed would be missing from them. On the first start with an empty inbox this
+ * delivers every existing public activity in id order, one chunk per transaction.
+ * <p>
+ * Runs during startup, before this node's web server takes requests, so seqs follow activity order.
+ * Only one node backfills: nodes starting together race for the job lease, the winner checks the
+ * inbox is still empty and fills it, and the others skip. Each chunk commits only while the lease
+ * is held, so a node that stalls cannot deliver a chunk again after another has taken over.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationInboxBackfill {
+
+    static final int CHUNK_SIZE = 500;
+    static final String JOB = "notification-inbox-backfill";
+
+    private final NotificationInboxService notificationInboxService;
+    private final NotificationInboxRepo inboxRepo;
+    private final TicketActivityRepo activityRepo;
+    private final JobLeaseService jobLeaseService;
+
+    @Value("${notifications.inbox.backfill:true}")
+    private boolean enabled;
+
+    @PostConstruct
+    void backfill() {
+        if (!enabled) {
+            return;
+        }
+        Long token = jobLeaseService.tryAcquire(JOB);
+        if (token == null) {
+            log.info("Another node is backfilling notification inboxes");
+            return;
+        }
+        try {
+            jobLeaseService.runWithToken(JOB, token, this::fillIfEmpty);
+        } catch (Throwable e) {
+            throw e instanceof RuntimeException runtime ? runtime : new IllegalStateException(e);
+        } finally {
+            jobLeaseService.release(JOB);
+        }
+    }
+
+    // Checked under the lease, so a node that starts after another has filled the inbox skips it.
+    private Long fillIfEmpty() {
+        if (inboxRepo.findFirstByOrderByIdAsc().isPresent()) {
+            return null;
+        }
+        Long maxActivityId = activityRepo.findMaxId();
+        if (maxActivityId == null) {
+            return null;
+        }
+
+        log.info("Backfilling notification inboxes from activities up to id {}", maxActivityId);
+        long chunks = 0;
+        Long lastId = 0L;
+        while ((lastId = notificationInboxService.backfillChunk(lastId, maxActivityId, CHUNK_SIZE)) != null) {
+            chunks++;
+        }
+        log.info("Notification inbox backfill finished after {} chunks", chunks);
+        return chunks;
+    }
+}
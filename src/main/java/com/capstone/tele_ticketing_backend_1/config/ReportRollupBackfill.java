@@ -0,0 +1,50 @@
+package com.capstone.tele_ticketing_backend_1.config;
+
+import com.capstone.tele_ticketing_backend_1.service.ReportRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the report rollups from every existing ticket and feedback on the first start with empty
+ * rollup tables and loads them into the report cube, and rebuilds the most recent days nightly, in
+ * case a node stopped before flushing the days it had marked.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReportRollupBackfill {
+
+    private final ReportRollupService rollupService;
+
+    @Value("${reports.rollup.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @Value("${reports.cube.load-on-startup:true}")
+    private boolean loadCubeOnStartup;
+
+    @Value("${reports.rollup.reconcile-days:60}")
+    private int reconcileDays;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (backfillOnStartup && !rollupService.hasRollups()) {
+            log.info("Report rollups are empty, building them from tickets and feedback");
+            rollupService.backfill();
+        }
+        if (loadCubeOnStartup) {
+            rollupService.loadCube();
+        }
+    }
+
+    @Scheduled(cron = "${reports.rollup.reconcile-cron:0 45 3 * * *}")
+    @LeaderOnly("report-rollup-refresh")
+    public void refreshRecent() {
+        int refreshed = rollupService.refreshRecent(reconcileDays);
+        log.info("Refreshed report rollups for the last {} days", refreshed);
+    }
+}
@@ -0,0 +1,58 @@
+package com.capstone.tele_ticketing_backend_1.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Ticket report rollups moved from ticket_daily_rollups to ticket_hourly_rollups. ddl-auto=update
+ * creates the new table but never drops the old one, so it is dropped here as a one-time migration
+ * step. Nothing reads it any more: the hourly rollups are rebuilt by the first-start backfill, since
+ * report_rollup_days arrived with them and starts out empty.
+ * <p>
+ * The step is recorded in schema_migrations, and later boots skip it once the row is there. Nodes that
+ * start together may both drop the table; DROP TABLE IF EXISTS makes that harmless, and only one of
+ * them records the step.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReportRollupSchemaCleanup {
+
+    static final String LEGACY_TICKET_ROLLUP_TABLE = "ticket_daily_rollups";
+    static final String MIGRATION = "drop-" + LEGACY_TICKET_ROLLUP_TABLE;
+
+    static final String CREATE_MIGRATIONS_SQL =
+            "CREATE TABLE IF NOT EXISTS schema_migrations (" +
+            "name VARCHAR(100) NOT NULL PRIMARY KEY, applied_at TIMESTAMP NOT NULL)";
+
+    private final JdbcTemplate jdbcTemplate;
+    // Injected only to make sure Hibernate has finished creating/updating the schema first.
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void dropLegacyTable() {
+        jdbcTemplate.execute(CREATE_MIGRATIONS_SQL);
+        Integer applied = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM schema_migrations WHERE name = ?", Integer.class, MIGRATION);
+        if (applied != null && applied > 0) {
+            return;
+        }
+
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + LEGACY_TICKET_ROLLUP_TABLE);
+        try {
+            jdbcTemplate.update("INSERT INTO schema_migrations (name, applied_at) VALUES (?, ?)",
+                    MIGRATION, Timestamp.from(Instant.now()));
+            log.info("Dropped legacy table {}", LEGACY_TICKET_ROLLUP_TABLE);
+        } catch (DuplicateKeyException e) {
+            // Another node recorded the step first.
+        }
+    }
+}
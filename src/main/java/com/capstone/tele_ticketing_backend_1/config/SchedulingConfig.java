@@ -0,0 +1,27 @@
+package com.capstone.tele_ticketing_backend_1.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Turns on @Scheduled methods (e.g. the notification stream heartbeat). Jobs that must run on one
+ * node only are also marked @LeaderOnly.
+ * <p>
+ * Spring Boot's default scheduler has a single thread, so a nightly job would hold back the SLA
+ * tick and the index syncs for as long as it runs. The job lease heartbeat does not depend on this
+ * pool; JobLeaseService runs it on a thread of its own.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder,
+                                                 @Value("${spring.task.scheduling.pool.size:4}") int poolSize) {
+        return builder.poolSize(poolSize).build();
+    }
+}
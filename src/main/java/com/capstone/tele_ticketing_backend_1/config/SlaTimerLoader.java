@@ -0,0 +1,32 @@
+package com.capstone.tele_ticketing_backend_1.config;
+
+import com.capstone.tele_ticketing_backend_1.service.SlaTimerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Schedules the SLA timers of the open tickets once the application is up.
+ * Until it finishes, only tickets changed since startup move between SLA states.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SlaTimerLoader {
+
+    private final SlaTimerService slaTimerService;
+
+    @Value("${tickets.sla.load-on-startup:true}")
+    private boolean loadOnStartup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (loadOnStartup) {
+            log.info("Loading SLA timers from open tickets");
+            slaTimerService.load();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.capstone.tele_ticketing_backend_1.config;
+
+import com.capstone.tele_ticketing_backend_1.service.TicketDuplicateService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads the stored MinHash signatures of open tickets into the duplicate-detection index at startup.
+ * Tickets created before then are found once their signature has been loaded.
+ */
+@Component
+@RequiredArgsConstructor
+public class TicketDuplicateIndexLoader {
+
+    private final TicketDuplicateService ticketDuplicateService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        ticketDuplicateService.load();
+    }
+}
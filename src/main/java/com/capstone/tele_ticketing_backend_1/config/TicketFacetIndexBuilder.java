@@ -0,0 +1,32 @@
+package com.capstone.tele_ticketing_backend_1.config;
+
+import com.capstone.tele_ticketing_backend_1.service.TicketFacetService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the in-memory manager facet index once the application is up.
+ * Until it finishes, manager ticket filters are answered with SQL.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TicketFacetIndexBuilder {
+
+    private final TicketFacetService ticketFacetService;
+
+    @Value("${manager.facet-index.build-on-startup:true}")
+    private boolean buildOnStartup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (buildOnStartup) {
+            log.info("Building manager facet index from tickets");
+            ticketFacetService.rebuild();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.capstone.tele_ticketing_backend_1.config;
+
+import com.capstone.tele_ticketing_backend_1.service.TicketSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the in-memory ticket search index from the tickets table once the application is up.
+ * Until it finishes, searches only see tickets saved since startup.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TicketSearchIndexBuilder {
+
+    private final TicketSearchService ticketSearchService;
+
+    @Value("${search.index.build-on-startup:true}")
+    private boolean buildOnStartup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (buildOnStartup) {
+            log.info("Building ticket search index from tickets");
+            ticketSearchService.rebuild();
+        }
+    }
+}
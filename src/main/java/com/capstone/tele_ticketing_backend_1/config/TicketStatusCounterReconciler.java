@@ -0,0 +1,37 @@
+package com.capstone.tele_ticketing_backend_1.config;
+
+import com.capstone.tele_ticketing_backend_1.service.TicketStatusCounterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds ticket_status_counters from the tickets table: once at startup if the counters have
+ * never been built, and then on a schedule as a safety net for any drift (e.g. two concurrent
+ * transitions of the same ticket, which both see the same previous status).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TicketStatusCounterReconciler {
+
+    private final TicketStatusCounterService counterService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIfMissing() {
+        if (!counterService.hasCounters()) {
+            log.info("Ticket status counters are empty, building them from tickets");
+            counterService.reconcile();
+        }
+    }
+
+    // One node rebuilding is enough; every node doing it at 03:30 would just repeat the work.
+    @Scheduled(cron = "${tickets.status-counters.reconcile-cron:0 30 3 * * *}")
+    @LeaderOnly("ticket-status-counter-reconcile")
+    public void reconcile() {
+        counterService.reconcile();
+    }
+}
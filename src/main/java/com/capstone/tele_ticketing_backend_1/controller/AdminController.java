@@ -1,11 +1,19 @@
 package com.capstone.tele_ticketing_backend_1.controller;
 
+import com.capstone.tele_ticketing_backend_1.dto.ActivityWriteBehindStatsDto;
 import com.capstone.tele_ticketing_backend_1.dto.ApproveSignupRequestDto;
+import com.capstone.tele_ticketing_backend_1.dto.CursorPageDto;
 import com.capstone.tele_ticketing_backend_1.dto.RoleChangeRequestDto;
+import com.capstone.tele_ticketing_backend_1.dto.TicketSearchIndexStatsDto;
 import com.capstone.tele_ticketing_backend_1.dto.UserDetailsDto;
 import com.capstone.tele_ticketing_backend_1.entities.AppUser;
 import com.capstone.tele_ticketing_backend_1.entities.UserSignupRequest;
+import com.capstone.tele_ticketing_backend_1.security.payload.response.MessageResponse;
+import com.capstone.tele_ticketing_backend_1.service.ActivityWriteBehindService;
 import com.capstone.tele_ticketing_backend_1.service.AdminService;
+import com.capstone.tele_ticketing_backend_1.service.ReportRollupService;
+import com.capstone.tele_ticketing_backend_1.service.RoleRegistry;
+import com.capstone.tele_ticketing_backend_1.service.TicketSearchService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,12 +31,18 @@ import java.util.List;
 public class AdminController {
 
     private final AdminService adminService;
+    private final RoleRegistry roleRegistry;
+    private final ActivityWriteBehindService activityWriteBehindService;
+    private final TicketSearchService ticketSearchService;
+    private final ReportRollupService reportRollupService;
 
     // All methods inside this controller are now protected for ADMIN only.
     @GetMapping("/signup-requests")
-    public ResponseEntity<List<UserSignupRequest>> getPendingRequests() {
+    public ResponseEntity<CursorPageDto<UserSignupRequest>> getPendingRequests(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         log.info("Admin fetching pending signup requests");
-        return ResponseEntity.ok(adminService.getPendingSignupRequests());
+        return ResponseEntity.ok(adminService.getPendingSignupRequests(cursor, size));
     }
 
     @PostMapping("/signup-requests/{id}/approve")
@@ -53,4 +67,37 @@ public class AdminController {
     public ResponseEntity<List<UserDetailsDto>> getAllInternalUsers() {
         return ResponseEntity.ok(adminService.getAllInternalUsers());
     }
+
+    @PostMapping("/roles/refresh")
+    public ResponseEntity<MessageResponse> refreshRoles() {
+        int count = roleRegistry.refresh();
+        log.info("Admin refreshed role registry, {} roles loaded", count);
+        return ResponseEntity.ok(new MessageResponse("Role registry refreshed: " + count + " roles loaded."));
+    }
+
+    // Queue depth and flush latency of the internal activity write-behind pipeline.
+    @GetMapping("/activity-write-behind")
+    public ResponseEntity<ActivityWriteBehindStatsDto> getActivityWriteBehindStats() {
+        return ResponseEntity.ok(activityWriteBehindService.getStats());
+    }
+
+    @GetMapping("/search-index")
+    public ResponseEntity<TicketSearchIndexStatsDto> getSearchIndexStats() {
+        return ResponseEntity.ok(ticketSearchService.getStats());
+    }
+
+    // Rebuilds the ticket search index from the database, e.g. after tickets were changed outside the application.
+    @PostMapping("/search-index/rebuild")
+    public ResponseEntity<TicketSearchIndexStatsDto> rebuildSearchIndex() {
+        log.info("Admin rebuilding ticket search index");
+        return ResponseEntity.ok(ticketSearchService.rebuild());
+    }
+
+    // Rebuilds the CXO report rollups for every day, e.g. after tickets or feedback were changed outside the application.
+    @PostMapping("/report-rollups/backfill")
+    public ResponseEntity<MessageResponse> backfillReportRollups() {
+        log.info("Admin rebuilding report rollups");
+        int days = reportRollupService.backfill();
+        return ResponseEntity.ok(new MessageResponse("Report rollups rebuilt for " + days + " days."));
+    }
 }
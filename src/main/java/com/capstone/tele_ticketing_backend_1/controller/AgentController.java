@@ -1,14 +1,18 @@
 package com.capstone.tele_ticketing_backend_1.controller;
 
 import com.capstone.tele_ticketing_backend_1.dto.*;
+import com.capstone.tele_ticketing_backend_1.security.service.UserDetailsImpl;
 import com.capstone.tele_ticketing_backend_1.service.AgentTicketService;
+import com.capstone.tele_ticketing_backend_1.service.NotificationStreamService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -19,6 +23,7 @@ import java.util.List;
 public class AgentController {
 
     private final AgentTicketService agentTicketService;
+    private final NotificationStreamService notificationStreamService;
 
     @PostMapping("/tickets")
     // 1. Change the return type here from Ticket to TicketDetailDto
@@ -31,10 +36,22 @@ public class AgentController {
         return new ResponseEntity<>(createdTicket, HttpStatus.CREATED);
     }
 
+    @PostMapping("/tickets/bulk")
+    public ResponseEntity<BulkTicketCreateResponseDto> createTicketsBulk(@Valid @RequestBody BulkTicketCreateRequestDto bulkDto) {
+        String agentUsername = SecurityContextHolder.getContext().getAuthentication().getName();
+        BulkTicketCreateResponseDto response = agentTicketService.createTicketsForCustomers(bulkDto.getTickets(), agentUsername);
+
+        // 207 tells the client to inspect the per-entry results when some entries failed.
+        HttpStatus status = response.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return new ResponseEntity<>(response, status);
+    }
+
     @GetMapping("/tickets/created-by-me")
-    public ResponseEntity<List<TicketSummaryDto>> getTicketsCreatedByMe() {
+    public ResponseEntity<CursorPageDto<TicketSummaryDto>> getTicketsCreatedByMe(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         String agentUsername = SecurityContextHolder.getContext().getAuthentication().getName();
-        List<TicketSummaryDto> tickets = agentTicketService.getAgentCreatedTickets(agentUsername);
+        CursorPageDto<TicketSummaryDto> tickets = agentTicketService.getAgentCreatedTickets(agentUsername, cursor, size);
         return ResponseEntity.ok(tickets);
     }
 
@@ -46,9 +63,18 @@ public class AgentController {
 
     // Dr. X's Addition: A dedicated endpoint for the agent's notification feed.
     @GetMapping("/notifications")
-    public ResponseEntity<List<NotificationDto>> getNotifications() {
+    public ResponseEntity<CursorPageDto<NotificationDto>> getNotifications(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         String agentUsername = SecurityContextHolder.getContext().getAuthentication().getName();
-        return ResponseEntity.ok(agentTicketService.getNotifications(agentUsername));
+        return ResponseEntity.ok(agentTicketService.getNotifications(agentUsername, cursor, size));
+    }
+
+    // Pushes new notifications as they happen; reconnecting clients send Last-Event-ID to resume.
+    @GetMapping(value = "/notifications/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        UserDetailsImpl user = (UserDetailsImpl) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return notificationStreamService.subscribe(NotificationStreamService.agentChannel(user.getId()), lastEventId);
     }
 
     @PostMapping("/tickets/{id}/feedback")
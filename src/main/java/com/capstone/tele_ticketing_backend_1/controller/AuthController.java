@@ -27,7 +27,6 @@ import com.capstone.tele_ticketing_backend_1.entities.Role;
 import com.capstone.tele_ticketing_backend_1.entities.UserSignupRequest;
 import com.capstone.tele_ticketing_backend_1.exceptions.RoleNotFoundException;
 import com.capstone.tele_ticketing_backend_1.exceptions.UserAlreadyExistsException;
-import com.capstone.tele_ticketing_backend_1.repo.RoleRepo;
 import com.capstone.tele_ticketing_backend_1.repo.UserRepo;
 import com.capstone.tele_ticketing_backend_1.repo.UserSignupRequestRepo;
 import com.capstone.tele_ticketing_backend_1.security.jwt.JwtUtils;
@@ -37,6 +36,7 @@ import com.capstone.tele_ticketing_backend_1.security.payload.response.JwtRespon
 import com.capstone.tele_ticketing_backend_1.security.payload.response.MessageResponse;
 import com.capstone.tele_ticketing_backend_1.security.service.UserDetailsImpl;
 import com.capstone.tele_ticketing_backend_1.service.GeocodingService;
+import com.capstone.tele_ticketing_backend_1.service.RoleRegistry;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -51,7 +51,7 @@ public class AuthController {
 
 	private final AuthenticationManager authenticationManager;
 	private final UserRepo userRepository;
-	private final RoleRepo roleRepository;
+	private final RoleRegistry roleRegistry;
 	private final PasswordEncoder encoder;
 	private final JwtUtils jwtUtils;
 	private final GeocodingService geocodingService;
@@ -120,76 +120,12 @@ public class AuthController {
 		}
 
 		strRoles.forEach(role -> {
-			switch (role) {
-				case "customer": {
-					Role foundRole = roleRepository.findByName(ERole.ROLE_CUSTOMER)
-							.orElseThrow(() -> new RoleNotFoundException("Error: Role 'CUSTOMER' is not found."));
-					roles.add(foundRole);
-					break;
-				}
-				case "agent": {
-					Role foundRole = roleRepository.findByName(ERole.ROLE_AGENT)
-							.orElseThrow(() -> new RoleNotFoundException("Error: Role 'AGENT' is not found."));
-					roles.add(foundRole);
-					break;
-				}
-				case "triage_officer": {
-					Role foundRole = roleRepository.findByName(ERole.ROLE_TRIAGE_OFFICER)
-							.orElseThrow(() -> new RoleNotFoundException("Error: Role 'TRIAGE_OFFICER' is not found."));
-					roles.add(foundRole);
-					break;
-				}
-				case "field_engineer": {
-					Role foundRole = roleRepository.findByName(ERole.ROLE_FIELD_ENGINEER)
-							.orElseThrow(() -> new RoleNotFoundException("Error: Role 'FIELD_ENGINEER' is not found."));
-					roles.add(foundRole);
-					break;
-				}
-				case "noc_engineer": {
-					Role foundRole = roleRepository.findByName(ERole.ROLE_NOC_ENGINEER)
-							.orElseThrow(() -> new RoleNotFoundException("Error: Role 'NOC_ENGINEER' is not found."));
-					roles.add(foundRole);
-					break;
-				}
-				case "l1_engineer": {
-					Role foundRole = roleRepository.findByName(ERole.ROLE_L1_ENGINEER)
-							.orElseThrow(() -> new RoleNotFoundException("Error: Role 'L1_ENGINEER' is not found."));
-					roles.add(foundRole);
-					break;
-				}
-				case "manager": {
-					Role foundRole = roleRepository.findByName(ERole.ROLE_MANAGER)
-							.orElseThrow(() -> new RoleNotFoundException("Error: Role 'MANAGER' is not found."));
-					roles.add(foundRole);
-					break;
-				}
-				case "team_lead": {
-					Role foundRole = roleRepository.findByName(ERole.ROLE_TEAM_LEAD)
-							.orElseThrow(() -> new RoleNotFoundException("Error: Role 'TEAM_LEAD' is not found."));
-					roles.add(foundRole);
-					break;
-				}
-				case "cxo": {
-					Role foundRole = roleRepository.findByName(ERole.ROLE_CXO)
-							.orElseThrow(() -> new RoleNotFoundException("Error: Role 'CXO' is not found."));
-					roles.add(foundRole);
-					break;
-				}
-				case "noc_admin": {
-					Role foundRole = roleRepository.findByName(ERole.ROLE_NOC_ADMIN)
-							.orElseThrow(() -> new RoleNotFoundException("Error: Role 'NOC_ADMIN' is not found."));
-					roles.add(foundRole);
-					break;
-				}
-				case "admin": {
-					Role foundRole = roleRepository.findByName(ERole.ROLE_ADMIN)
-							.orElseThrow(() -> new RoleNotFoundException("Error: Role 'ADMIN' is not found."));
-					roles.add(foundRole);
-					break;
-				}
-				default:
-					throw new RoleNotFoundException("Error: Invalid role specified: " + role);
-			}
+			ERole eRole = ERole.fromKey(role)
+					.orElseThrow(() -> new RoleNotFoundException("Error: Invalid role specified: " + role));
+			Role foundRole = roleRegistry.findRole(eRole)
+					.orElseThrow(() -> new RoleNotFoundException(
+							"Error: Role '" + eRole.key().toUpperCase() + "' is not found."));
+			roles.add(foundRole);
 		});
 
 		user.setRoles(roles);
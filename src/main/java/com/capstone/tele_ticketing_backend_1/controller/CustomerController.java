@@ -2,13 +2,17 @@ package com.capstone.tele_ticketing_backend_1.controller;
 
 
 import com.capstone.tele_ticketing_backend_1.dto.*;
+import com.capstone.tele_ticketing_backend_1.security.service.UserDetailsImpl;
 import com.capstone.tele_ticketing_backend_1.service.CustomerTicketService;
+import com.capstone.tele_ticketing_backend_1.service.NotificationStreamService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -19,6 +23,7 @@ import java.util.List;
 public class CustomerController {
 
     private final CustomerTicketService customerTicketService;
+    private final NotificationStreamService notificationStreamService;
 
     @PostMapping("/tickets")
     public ResponseEntity<TicketDetailDto> createTicket(@Valid @RequestBody CreateTicketRequestDto createTicketRequestDto) {
@@ -52,9 +57,18 @@ public class CustomerController {
     }
 
     @GetMapping("/notifications")
-    public ResponseEntity<List<NotificationDto>> getNotifications() {
+    public ResponseEntity<CursorPageDto<NotificationDto>> getNotifications(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        return ResponseEntity.ok(customerTicketService.getNotifications(username));
+        return ResponseEntity.ok(customerTicketService.getNotifications(username, cursor, size));
+    }
+
+    // Pushes new notifications as they happen; reconnecting clients send Last-Event-ID to resume.
+    @GetMapping(value = "/notifications/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        UserDetailsImpl user = (UserDetailsImpl) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return notificationStreamService.subscribe(NotificationStreamService.customerChannel(user.getId()), lastEventId);
     }
 
 
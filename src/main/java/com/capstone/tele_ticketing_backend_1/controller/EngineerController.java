@@ -1,4 +1,5 @@
 package com.capstone.tele_ticketing_backend_1.controller;
+import com.capstone.tele_ticketing_backend_1.dto.CursorPageDto;
 import com.capstone.tele_ticketing_backend_1.dto.EngineerUpdateDto;
 import com.capstone.tele_ticketing_backend_1.dto.TicketDetailDto;
 import com.capstone.tele_ticketing_backend_1.dto.TicketSummaryDto;
@@ -9,7 +10,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/engineer")
@@ -20,9 +20,11 @@ public class EngineerController {
     private final EngineerService engineerService;
 
     @GetMapping("/tickets/assigned")
-    public ResponseEntity<List<TicketSummaryDto>> getAssignedTickets() {
+    public ResponseEntity<CursorPageDto<TicketSummaryDto>> getAssignedTickets(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        return ResponseEntity.ok(engineerService.getAssignedTickets(username));
+        return ResponseEntity.ok(engineerService.getAssignedTickets(username, cursor, size));
     }
 
     @PatchMapping("/tickets/{id}")
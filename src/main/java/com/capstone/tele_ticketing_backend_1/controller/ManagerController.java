@@ -1,11 +1,19 @@
 package com.capstone.tele_ticketing_backend_1.controller;
 
 
+import com.capstone.tele_ticketing_backend_1.dto.TicketFacetCountsDto;
 import com.capstone.tele_ticketing_backend_1.dto.TicketFilterDto;
+import com.capstone.tele_ticketing_backend_1.dto.TicketSearchPageDto;
 import com.capstone.tele_ticketing_backend_1.dto.TicketSummaryDto;
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+import com.capstone.tele_ticketing_backend_1.entities.TicketPriority;
+import com.capstone.tele_ticketing_backend_1.entities.TicketSeverity;
+import com.capstone.tele_ticketing_backend_1.entities.TicketSortKey;
 import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
 import com.capstone.tele_ticketing_backend_1.service.ManagerService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,6 +21,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -28,17 +37,71 @@ public class ManagerController {
             @RequestParam(required = false) List<TicketStatus> statuses,
             @RequestParam(required = false) Long teamId,
             @RequestParam(required = false) String city,
+            @RequestParam(required = false) List<TicketCategory> categories,
+            @RequestParam(required = false) List<TicketPriority> priorities,
+            @RequestParam(required = false) List<TicketSeverity> severities,
             @RequestParam(required = false) Boolean slaAtRisk,
             @RequestParam(required = false) Boolean slaBreached
     ) {
+        TicketFilterDto filters = toFilters(statuses, teamId, city, categories, priorities, severities, slaAtRisk, slaBreached);
+        List<TicketSummaryDto> tickets = managerService.findTicketsByCriteria(filters);
+        return ResponseEntity.ok(tickets);
+    }
+
+    @GetMapping("/tickets/facets")
+    public ResponseEntity<TicketFacetCountsDto> getTicketFacets(
+            @RequestParam(required = false) List<TicketStatus> statuses,
+            @RequestParam(required = false) Long teamId,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) List<TicketCategory> categories,
+            @RequestParam(required = false) List<TicketPriority> priorities,
+            @RequestParam(required = false) List<TicketSeverity> severities,
+            @RequestParam(required = false) Boolean slaAtRisk,
+            @RequestParam(required = false) Boolean slaBreached
+    ) {
+        TicketFilterDto filters = toFilters(statuses, teamId, city, categories, priorities, severities, slaAtRisk, slaBreached);
+        return ResponseEntity.ok(managerService.getFacetCounts(filters));
+    }
+
+    // Paged, sortable variant of /tickets that also filters by assignee and creation time
+    // (ISO date-times, from inclusive, to exclusive) and returns facet counts with the first page.
+    @GetMapping("/tickets/search")
+    public ResponseEntity<TicketSearchPageDto> searchTickets(
+            @RequestParam(required = false) List<TicketStatus> statuses,
+            @RequestParam(required = false) Long teamId,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) List<TicketCategory> categories,
+            @RequestParam(required = false) List<TicketPriority> priorities,
+            @RequestParam(required = false) List<TicketSeverity> severities,
+            @RequestParam(required = false) Long assigneeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(required = false) Boolean slaAtRisk,
+            @RequestParam(required = false) Boolean slaBreached,
+            @RequestParam(defaultValue = "CREATED_AT") TicketSortKey sort,
+            @RequestParam(defaultValue = "DESC") Sort.Direction direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        TicketFilterDto filters = toFilters(statuses, teamId, city, categories, priorities, severities, slaAtRisk, slaBreached);
+        filters.setAssigneeId(assigneeId);
+        filters.setCreatedFrom(createdFrom);
+        filters.setCreatedTo(createdTo);
+        return ResponseEntity.ok(managerService.searchTickets(filters, sort, direction, cursor, size));
+    }
+
+    private static TicketFilterDto toFilters(List<TicketStatus> statuses, Long teamId, String city,
+                                             List<TicketCategory> categories, List<TicketPriority> priorities,
+                                             List<TicketSeverity> severities, Boolean slaAtRisk, Boolean slaBreached) {
         TicketFilterDto filters = new TicketFilterDto();
         filters.setStatuses(statuses);
         filters.setTeamId(teamId);
         filters.setCity(city);
+        filters.setCategories(categories);
+        filters.setPriorities(priorities);
+        filters.setSeverities(severities);
         filters.setSlaAtRisk(slaAtRisk != null && slaAtRisk);
         filters.setSlaBreached(slaBreached != null && slaBreached);
-
-        List<TicketSummaryDto> tickets = managerService.findTicketsByCriteria(filters);
-        return ResponseEntity.ok(tickets);
+        return filters;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,44 @@
+package com.capstone.tele_ticketing_backend_1.controller;
+
+import com.capstone.tele_ticketing_backend_1.dto.CursorPageDto;
+import com.capstone.tele_ticketing_backend_1.dto.NotificationDto;
+import com.capstone.tele_ticketing_backend_1.dto.UnreadCountDto;
+import com.capstone.tele_ticketing_backend_1.security.service.UserDetailsImpl;
+import com.capstone.tele_ticketing_backend_1.service.NotificationInboxService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+// The signed-in user's notification inbox, whatever their role.
+@RestController
+@RequestMapping("/api/v1/notifications")
+@PreAuthorize("isAuthenticated()")
+@RequiredArgsConstructor
+public class NotificationController {
+
+    private final NotificationInboxService notificationInboxService;
+
+    @GetMapping
+    public ResponseEntity<CursorPageDto<NotificationDto>> getInbox(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(notificationInboxService.getInbox(currentUserId(), cursor, size));
+    }
+
+    @GetMapping("/unread-count")
+    public ResponseEntity<UnreadCountDto> getUnreadCount() {
+        return ResponseEntity.ok(notificationInboxService.getUnreadCount(currentUserId()));
+    }
+
+    @PostMapping("/read")
+    public ResponseEntity<UnreadCountDto> markRead(@RequestParam(required = false) Long upToSeq) {
+        return ResponseEntity.ok(notificationInboxService.markRead(currentUserId(), upToSeq));
+    }
+
+    private Long currentUserId() {
+        UserDetailsImpl user = (UserDetailsImpl) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return user.getId();
+    }
+}
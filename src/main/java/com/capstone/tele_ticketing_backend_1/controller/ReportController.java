@@ -3,15 +3,23 @@ package com.capstone.tele_ticketing_backend_1.controller;
 
 import com.capstone.tele_ticketing_backend_1.dto.AverageResolutionTimeDto;
 import com.capstone.tele_ticketing_backend_1.dto.SatisfactionScoreDto;
+import com.capstone.tele_ticketing_backend_1.dto.TicketReportDto;
 import com.capstone.tele_ticketing_backend_1.dto.TimeSeriesDataPointDto;
+import com.capstone.tele_ticketing_backend_1.entities.ReportDimension;
+import com.capstone.tele_ticketing_backend_1.entities.ReportGranularity;
 import com.capstone.tele_ticketing_backend_1.service.ReportingService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/reports")
@@ -35,4 +43,15 @@ public class ReportController {
     public ResponseEntity<List<SatisfactionScoreDto>> getSatisfactionScores() {
         return ResponseEntity.ok(reportingService.getSatisfactionScoreReport());
     }
+
+    // Tickets created from..to (ISO dates, both inclusive) per HOUR, DAY, WEEK or MONTH, optionally
+    // broken down by any of CATEGORY, TEAM, CITY and SEVERITY, e.g. ?groupBy=CATEGORY,TEAM.
+    @GetMapping("/tickets")
+    public ResponseEntity<TicketReportDto> getTicketReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "DAY") ReportGranularity granularity,
+            @RequestParam(required = false) Set<ReportDimension> groupBy) {
+        return ResponseEntity.ok(reportingService.getTicketReport(from, to, granularity, groupBy));
+    }
 }
@@ -1,11 +1,15 @@
 package com.capstone.tele_ticketing_backend_1.controller;
 
+import com.capstone.tele_ticketing_backend_1.dto.TeamSlaCalendarDto;
 import com.capstone.tele_ticketing_backend_1.dto.TeamSummaryDto; // Import the new DTO
 import com.capstone.tele_ticketing_backend_1.service.TeamService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import java.util.List;
@@ -23,4 +27,14 @@ public class TeamController {
     public ResponseEntity<List<TeamSummaryDto>> getAllTeams() {
         return ResponseEntity.ok(teamService.getAllTeams());
     }
+
+    @GetMapping("/{teamId}/sla-calendar")
+    public ResponseEntity<TeamSlaCalendarDto> getSlaCalendar(@PathVariable Long teamId) {
+        return ResponseEntity.ok(teamService.getSlaCalendar(teamId));
+    }
+
+    @PutMapping("/{teamId}/sla-calendar")
+    public ResponseEntity<TeamSlaCalendarDto> updateSlaCalendar(@PathVariable Long teamId, @RequestBody TeamSlaCalendarDto dto) {
+        return ResponseEntity.ok(teamService.updateSlaCalendar(teamId, dto));
+    }
 }
\ No newline at end of file
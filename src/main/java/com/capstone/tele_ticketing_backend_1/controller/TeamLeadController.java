@@ -3,13 +3,17 @@ package com.capstone.tele_ticketing_backend_1.controller;
 
 
 import com.capstone.tele_ticketing_backend_1.dto.*;
+import com.capstone.tele_ticketing_backend_1.security.service.UserDetailsImpl;
+import com.capstone.tele_ticketing_backend_1.service.NotificationStreamService;
 import com.capstone.tele_ticketing_backend_1.service.TeamLeadService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.util.List;
 
 @RestController
@@ -19,6 +23,7 @@ import java.util.List;
 public class TeamLeadController {
 
     private final TeamLeadService teamLeadService;
+    private final NotificationStreamService notificationStreamService;
 
     @GetMapping("/tickets/active")
     public ResponseEntity<List<TicketSummaryDto>> getActiveTeamTickets() {
@@ -32,6 +37,19 @@ public class TeamLeadController {
         return ResponseEntity.ok(teamLeadService.getSlaRiskTeamTickets(username));
     }
 
+    @GetMapping("/tickets/sla-breached")
+    public ResponseEntity<List<TicketSummaryDto>> getSlaBreachedTeamTickets() {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        return ResponseEntity.ok(teamLeadService.getSlaBreachedTeamTickets(username));
+    }
+
+    // Pushes SLA at-risk and breach notices for the team's tickets; reconnecting clients send Last-Event-ID to resume.
+    @GetMapping(value = "/notifications/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        UserDetailsImpl user = (UserDetailsImpl) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return notificationStreamService.subscribe(NotificationStreamService.teamLeadChannel(user.getId()), lastEventId);
+    }
+
     @GetMapping("/team")
     public ResponseEntity<TeamDetailDto> getTeamDetails() {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
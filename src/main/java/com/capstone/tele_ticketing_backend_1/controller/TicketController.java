@@ -4,12 +4,18 @@ package com.capstone.tele_ticketing_backend_1.controller;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.capstone.tele_ticketing_backend_1.dto.TicketDetailDto;
+import com.capstone.tele_ticketing_backend_1.dto.TicketSearchResultDto;
+import com.capstone.tele_ticketing_backend_1.security.service.UserDetailsImpl;
+import com.capstone.tele_ticketing_backend_1.service.TicketSearchService;
 import com.capstone.tele_ticketing_backend_1.service.TicketService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/tickets")
 // Dr. X's Note: Any authenticated user can view a ticket's details.
@@ -19,6 +25,17 @@ import org.springframework.web.bind.annotation.*;
 public class TicketController {
 
     private final TicketService ticketService;
+    private final TicketSearchService ticketSearchService;
+
+    // Customers and agents only get matches among their own tickets; every other role searches all tickets.
+    @GetMapping("/search")
+    public ResponseEntity<List<TicketSearchResultDto>> searchTickets(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer size) {
+        UserDetailsImpl user = (UserDetailsImpl) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        boolean allTickets = TicketSearchService.canSearchAllTickets(user.getAuthorities());
+        return ResponseEntity.ok(ticketSearchService.search(q, size, user.getId(), allTickets));
+    }
 
     @GetMapping("/{id}")
     public ResponseEntity<TicketDetailDto> getTicketById(@PathVariable Long id) {
@@ -1,13 +1,16 @@
 package com.capstone.tele_ticketing_backend_1.controller;
 
 import com.capstone.tele_ticketing_backend_1.dto.*;
+import com.capstone.tele_ticketing_backend_1.service.NotificationStreamService;
 import com.capstone.tele_ticketing_backend_1.service.TriageOfficerService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -18,10 +21,13 @@ import java.util.List;
 public class TriageOfficerController {
 
     private final TriageOfficerService triageOfficerService;
+    private final NotificationStreamService notificationStreamService;
 
     @GetMapping("/tickets/pending")
-    public ResponseEntity<List<TicketSummaryDto>> getPendingTickets() {
-        return ResponseEntity.ok(triageOfficerService.getPendingTickets());
+    public ResponseEntity<CursorPageDto<PendingTicketDto>> getPendingTickets(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(triageOfficerService.getPendingTickets(cursor, size));
     }
 
     // Dr. X's Note: We use PATCH here because it's a partial update of the ticket resource.
@@ -38,7 +44,15 @@ public class TriageOfficerController {
     }
 
     @GetMapping("/notifications")
-    public ResponseEntity<List<NotificationDto>> getNotifications() {
-        return ResponseEntity.ok(triageOfficerService.getNotifications());
+    public ResponseEntity<CursorPageDto<NotificationDto>> getNotifications(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(triageOfficerService.getNotifications(cursor, size));
+    }
+
+    // Pushes new notifications as they happen; reconnecting clients send Last-Event-ID to resume.
+    @GetMapping(value = "/notifications/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return notificationStreamService.subscribe(NotificationStreamService.TRIAGE_CHANNEL, lastEventId);
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.capstone.tele_ticketing_backend_1.controller;
 
 
+import com.capstone.tele_ticketing_backend_1.dto.CursorPageDto;
 import com.capstone.tele_ticketing_backend_1.dto.UserSummaryDto;
 import com.capstone.tele_ticketing_backend_1.repo.UserRepo;
 import com.capstone.tele_ticketing_backend_1.service.UserService;
@@ -9,6 +10,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import java.util.List;
 
@@ -31,8 +33,10 @@ public class UserController {
     // Dr. X's Addition: The new endpoint for the agent's form.
     @GetMapping("/customers")
     @PreAuthorize("hasRole('AGENT')")
-    public ResponseEntity<List<UserSummaryDto>> getAllCustomers() {
-        return ResponseEntity.ok(userService.getAllCustomers());
+    public ResponseEntity<CursorPageDto<UserSummaryDto>> getAllCustomers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(userService.getAllCustomers(cursor, size));
     }
 
 
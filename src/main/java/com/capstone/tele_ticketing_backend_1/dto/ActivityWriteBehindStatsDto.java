@@ -0,0 +1,25 @@
+package com.capstone.tele_ticketing_backend_1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityWriteBehindStatsDto {
+    private boolean enabled;
+    // Activities waiting to be written, and the most the queue can hold.
+    private int queueDepth;
+    private int queueCapacity;
+    private long enqueued;
+    private long written;
+    // Activities that could not be written even one by one (e.g. their ticket was deleted).
+    private long failed;
+    // Activities the caller wrote itself because the queue was full.
+    private long overflowWrites;
+    private long flushes;
+    private double lastFlushMs;
+    private double maxFlushMs;
+    private double avgFlushMs;
+}
@@ -0,0 +1,40 @@
+package com.capstone.tele_ticketing_backend_1.dto;
+
+import com.capstone.tele_ticketing_backend_1.entities.AppUser;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssignmentDiff {
+    private List<AppUser> added = new ArrayList<>();
+    private List<AppUser> removed = new ArrayList<>();
+    // Assignees that were kept; their ticket_assignments rows were not touched.
+    private List<AppUser> unchanged = new ArrayList<>();
+
+    public boolean isChanged() {
+        return !added.isEmpty() || !removed.isEmpty();
+    }
+
+    // e.g. "added [Jane Doe]; removed [John Smith, Ann Lee]", for activity descriptions.
+    public String describe() {
+        List<String> parts = new ArrayList<>();
+        if (!added.isEmpty()) {
+            parts.add("added " + names(added));
+        }
+        if (!removed.isEmpty()) {
+            parts.add("removed " + names(removed));
+        }
+        return parts.isEmpty() ? "no change" : String.join("; ", parts);
+    }
+
+    private static String names(List<AppUser> users) {
+        return users.stream().map(AppUser::getFullName).collect(Collectors.joining(", ", "[", "]"));
+    }
+}
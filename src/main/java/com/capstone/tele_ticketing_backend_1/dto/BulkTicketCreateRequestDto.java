@@ -0,0 +1,18 @@
+package com.capstone.tele_ticketing_backend_1.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkTicketCreateRequestDto {
+
+    public static final int MAX_TICKETS = 500;
+
+    // Items are validated one by one in the service so a single bad entry does not reject the whole batch.
+    @NotEmpty(message = "At least one ticket must be provided")
+    @Size(max = MAX_TICKETS, message = "A bulk request can contain at most " + MAX_TICKETS + " tickets")
+    private List<AgentCreateTicketRequestDto> tickets;
+}
@@ -0,0 +1,18 @@
+package com.capstone.tele_ticketing_backend_1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTicketCreateResponseDto {
+    private int requested;
+    private int created;
+    private int failed;
+    // One entry per requested ticket, in request order.
+    private List<BulkTicketResultDto> results;
+}
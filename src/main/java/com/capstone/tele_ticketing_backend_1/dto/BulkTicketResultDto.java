@@ -0,0 +1,25 @@
+package com.capstone.tele_ticketing_backend_1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTicketResultDto {
+    // Position of the entry in the request's ticket list.
+    private int index;
+    private boolean created;
+    private Long ticketId;
+    private String ticketUid;
+    private String error;
+
+    public static BulkTicketResultDto success(int index, Long ticketId, String ticketUid) {
+        return new BulkTicketResultDto(index, true, ticketId, ticketUid, null);
+    }
+
+    public static BulkTicketResultDto failure(int index, String error) {
+        return new BulkTicketResultDto(index, false, null, null, error);
+    }
+}
@@ -0,0 +1,16 @@
+package com.capstone.tele_ticketing_backend_1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> {
+    private List<T> items;
+    // Pass back as ?cursor= to fetch the next page; null on the last page.
+    private String nextCursor;
+}
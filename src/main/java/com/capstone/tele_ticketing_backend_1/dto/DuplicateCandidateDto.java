@@ -0,0 +1,18 @@
+package com.capstone.tele_ticketing_backend_1.dto;
+
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateCandidateDto {
+    private Long ticketId;
+    private String ticketUid;
+    private String title;
+    private TicketStatus status;
+    // Estimated Jaccard similarity of the two tickets' word shingles, 0 to 1.
+    private double similarity;
+}
@@ -0,0 +1,27 @@
+package com.capstone.tele_ticketing_backend_1.dto;
+
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// A ticket in the triage queue: the TicketSummaryDto fields plus open tickets it probably duplicates.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingTicketDto {
+    private Long id;
+    private String ticketUid;
+    private String title;
+    private TicketStatus status;
+    private LocalDateTime createdAt;
+    private List<DuplicateCandidateDto> duplicateCandidates;
+
+    public PendingTicketDto(TicketSummaryDto summary, List<DuplicateCandidateDto> duplicateCandidates) {
+        this(summary.getId(), summary.getTicketUid(), summary.getTitle(), summary.getStatus(), summary.getCreatedAt(),
+                duplicateCandidates);
+    }
+}
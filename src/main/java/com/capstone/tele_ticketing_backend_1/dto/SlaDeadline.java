@@ -0,0 +1,14 @@
+package com.capstone.tele_ticketing_backend_1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// A ticket's SLA deadline and the start of its at-risk window, both placed in working time.
+@Data
+@AllArgsConstructor
+public class SlaDeadline {
+    private LocalDateTime breachAt;
+    private LocalDateTime atRiskAt;
+}
@@ -0,0 +1,17 @@
+package com.capstone.tele_ticketing_backend_1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamSlaCalendarDto {
+    // e.g. "MON-FRI 09:00-13:00 14:00-18:00; SAT 10:00-14:00"; null or blank for the default hours.
+    private String workingHours;
+    private Set<LocalDate> holidays;
+}
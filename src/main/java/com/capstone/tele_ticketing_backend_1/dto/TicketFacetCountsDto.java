@@ -0,0 +1,28 @@
+package com.capstone.tele_ticketing_backend_1.dto;
+
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+import com.capstone.tele_ticketing_backend_1.entities.TicketPriority;
+import com.capstone.tele_ticketing_backend_1.entities.TicketSeverity;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+// Number of tickets matching a manager filter, broken down by each facet. Values with no tickets are omitted.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketFacetCountsDto {
+    private long total;
+    private Map<TicketStatus, Long> statuses;
+    // Keyed by team id.
+    private Map<Long, Long> teams;
+    private Map<String, Long> cities;
+    private Map<TicketCategory, Long> categories;
+    private Map<TicketPriority, Long> priorities;
+    private Map<TicketSeverity, Long> severities;
+    private long slaAtRisk;
+    private long slaBreached;
+}
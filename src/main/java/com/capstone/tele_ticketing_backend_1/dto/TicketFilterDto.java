@@ -1,8 +1,13 @@
 package com.capstone.tele_ticketing_backend_1.dto;
 
 
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+import com.capstone.tele_ticketing_backend_1.entities.TicketPriority;
+import com.capstone.tele_ticketing_backend_1.entities.TicketSeverity;
 import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
 import lombok.Data;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
@@ -10,6 +15,12 @@ public class TicketFilterDto {
     private List<TicketStatus> statuses;
     private Long teamId;
     private String city;
+    private List<TicketCategory> categories;
+    private List<TicketPriority> priorities;
+    private List<TicketSeverity> severities;
+    private Long assigneeId;
+    private LocalDateTime createdFrom; // inclusive
+    private LocalDateTime createdTo; // exclusive
     private boolean isSlaAtRisk; // true if filtering for tickets at risk
     private boolean isSlaBreached; // true if filtering for breached tickets
-}
\ No newline at end of file
+}
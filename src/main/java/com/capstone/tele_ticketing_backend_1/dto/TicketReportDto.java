@@ -0,0 +1,24 @@
+package com.capstone.tele_ticketing_backend_1.dto;
+
+import com.capstone.tele_ticketing_backend_1.entities.ReportDimension;
+import com.capstone.tele_ticketing_backend_1.entities.ReportGranularity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+// Tickets created between from and to (both inclusive), per bucket and grouped dimensions. Buckets with
+// no tickets are omitted; rows are in bucket order, largest ticket count first within a bucket.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketReportDto {
+    private LocalDate from;
+    private LocalDate to;
+    private ReportGranularity granularity;
+    private Set<ReportDimension> groupBy;
+    private List<TicketReportRowDto> rows;
+}
@@ -0,0 +1,27 @@
+package com.capstone.tele_ticketing_backend_1.dto;
+
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+import com.capstone.tele_ticketing_backend_1.entities.TicketSeverity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One bucket of a range report for one combination of the grouped dimensions. Dimensions not grouped
+// by are null; a grouped one is null for tickets without a value (e.g. no team while unassigned).
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketReportRowDto {
+    private LocalDateTime bucket;
+    private TicketCategory category;
+    private TicketSeverity severity;
+    private Long teamId;
+    private String teamName;
+    private String city;
+    private long ticketCount;
+    // Of the tickets created in the bucket, those resolved so far and their mean time to resolution.
+    private long resolvedCount;
+    private Double averageResolutionHours;
+}
@@ -0,0 +1,21 @@
+package com.capstone.tele_ticketing_backend_1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketSearchIndexStatsDto {
+    private int documents;
+    // Superseded versions of re-indexed tickets, skipped at query time until the next rebuild.
+    private int deletedDocuments;
+    private int terms;
+    // Size of all compressed posting lists.
+    private long postingBytes;
+    private LocalDateTime lastRebuiltAt;
+    private long lastRebuildMs;
+}
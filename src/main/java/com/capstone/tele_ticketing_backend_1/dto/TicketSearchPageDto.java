@@ -0,0 +1,18 @@
+package com.capstone.tele_ticketing_backend_1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketSearchPageDto {
+    private List<TicketSummaryDto> items;
+    // Pass back as ?cursor= (with the same sort and direction) to fetch the next page; null on the last page.
+    private String nextCursor;
+    // Counts over every matching ticket, not just this page. Only returned with the first page.
+    private TicketFacetCountsDto facets;
+}
@@ -0,0 +1,26 @@
+package com.capstone.tele_ticketing_backend_1.dto;
+
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One row of a manager search page: the TicketSummaryDto fields plus the value it was sorted by,
+// which the next page's cursor is built from.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketSearchRowDto {
+    private Long id;
+    private String ticketUid;
+    private String title;
+    private TicketStatus status;
+    private LocalDateTime createdAt;
+    private LocalDateTime sortValue;
+
+    public TicketSummaryDto toSummary() {
+        return new TicketSummaryDto(id, ticketUid, title, status, createdAt);
+    }
+}
@@ -0,0 +1,14 @@
+package com.capstone.tele_ticketing_backend_1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnreadCountDto {
+    private long unread;
+    // Seq of the newest notification; pass back as ?upToSeq= to mark everything up to it as read.
+    private long latestSeq;
+}
@@ -8,5 +8,7 @@ public enum ActivityType {
     COMMENT,
     RESOLUTION,
     REOPENED,
-    ATTACHMENT_ADDED
+    ATTACHMENT_ADDED,
+    SLA_AT_RISK,
+    SLA_BREACHED
 }
\ No newline at end of file
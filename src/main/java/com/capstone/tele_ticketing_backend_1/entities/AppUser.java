@@ -17,7 +17,12 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_created", columnList = "created_at, id"),
+        // Manager ticket search by customer city.
+        @Index(name = "idx_users_city", columnList = "city, id")
+})
+@EntityListeners(UserFacetListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -74,6 +79,10 @@ public class AppUser {
     @JsonIgnore
     private Set<Ticket> assignedTickets = new HashSet<>();
 
+    // Bumped whenever the user's roles change; JWTs carrying an older epoch are rejected.
+    @Column(name = "token_epoch", nullable = false)
+    private long tokenEpoch = 0L;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
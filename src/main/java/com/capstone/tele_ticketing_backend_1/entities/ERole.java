@@ -1,5 +1,10 @@
 package com.capstone.tele_ticketing_backend_1.entities;
 
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
 public enum ERole {
     ROLE_CUSTOMER,
     ROLE_AGENT,
@@ -11,5 +16,31 @@ public enum ERole {
     ROLE_TEAM_LEAD,
     ROLE_CXO,
     ROLE_NOC_ADMIN,
-    ROLE_ADMIN
-}
\ No newline at end of file
+    ROLE_ADMIN;
+
+    private static final String PREFIX = "ROLE_";
+    private static final Map<String, ERole> BY_KEY = new HashMap<>();
+
+    static {
+        for (ERole role : values()) {
+            BY_KEY.put(role.key(), role);
+        }
+    }
+
+    /**
+     * The short, lowercase key used by the API (e.g. "field_engineer" for ROLE_FIELD_ENGINEER).
+     */
+    public String key() {
+        return name().substring(PREFIX.length()).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Resolves an API role key (case-insensitive, e.g. "agent" or "TEAM_LEAD") to its enum value.
+     */
+    public static Optional<ERole> fromKey(String key) {
+        if (key == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(BY_KEY.get(key.toLowerCase(Locale.ROOT)));
+    }
+}
@@ -0,0 +1,41 @@
+package com.capstone.tele_ticketing_backend_1.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Feedback given on a day, per rating: the satisfaction histogram, rebuilt by ReportRollupService
+ * for each day feedback is written on.
+ */
+@Entity
+@Table(name = "feedback_daily_rollups", indexes = {
+        @Index(name = "idx_feedback_rollups_day", columnList = "rollup_day")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollup_day", nullable = false)
+    private LocalDate day;
+
+    @Column(nullable = false)
+    private Integer rating;
+
+    @Column(name = "feedback_count", nullable = false)
+    private long feedbackCount;
+}
@@ -0,0 +1,59 @@
+package com.capstone.tele_ticketing_backend_1.entities;
+
+import com.capstone.tele_ticketing_backend_1.dto.NotificationDto;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One notification in a user's inbox, written when the activity is logged (fan-out on write).
+ * The ticket's uid and title are copied in so reading the inbox is a range scan on
+ * (recipient_user_id, seq) with no join back to tickets or activities.
+ */
+@Entity
+@Table(name = "notification_inbox", indexes = {
+        @Index(name = "idx_inbox_recipient_seq", columnList = "recipient_user_id, seq", unique = true)
+})
+@Data
+@NoArgsConstructor
+public class NotificationInboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_inbox_seq")
+    @SequenceGenerator(name = "notification_inbox_seq", sequenceName = "notification_inbox_seq", allocationSize = 50)
+    private Long id;
+
+    // Plain id rather than a relation: the inbox never needs the user row.
+    @Column(name = "recipient_user_id", nullable = false)
+    private Long recipientId;
+
+    // Per-recipient, gap-free and increasing in commit order; see NotificationInboxState.
+    @Column(nullable = false)
+    private long seq;
+
+    @Column(name = "activity_id", nullable = false)
+    private Long activityId;
+
+    @Column(name = "ticket_uid")
+    private String ticketUid;
+
+    @Column(name = "ticket_title")
+    private String ticketTitle;
+
+    @Lob
+    @Column(name = "description")
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "activity_type", nullable = false, length = 50)
+    private ActivityType activityType;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public NotificationDto toNotificationDto() {
+        return new NotificationDto(activityId, ticketUid, ticketTitle, description, activityType.name(), createdAt);
+    }
+}
@@ -0,0 +1,32 @@
+package com.capstone.tele_ticketing_backend_1.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-user inbox counters. lastSeq is the seq of the newest inbox entry and readSeq the user's
+ * read watermark, so the unread badge is lastSeq - readSeq from a single primary-key lookup.
+ * <p>
+ * Writers lock this row while appending, which keeps seq gap-free and in commit order per user:
+ * a reader that has seen seq N can never later be handed an entry below N.
+ */
+@Entity
+@Table(name = "notification_inbox_state")
+@Data
+@NoArgsConstructor
+public class NotificationInboxState {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "last_seq", nullable = false)
+    private long lastSeq;
+
+    @Column(name = "read_seq", nullable = false)
+    private long readSeq;
+}
@@ -0,0 +1,9 @@
+package com.capstone.tele_ticketing_backend_1.entities;
+
+// Ticket attributes the range reports can be grouped by. Team is the lowest team id among the assignees.
+public enum ReportDimension {
+    CATEGORY,
+    TEAM,
+    CITY,
+    SEVERITY
+}
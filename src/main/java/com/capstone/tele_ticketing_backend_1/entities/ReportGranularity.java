@@ -0,0 +1,22 @@
+package com.capstone.tele_ticketing_backend_1.entities;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+// Bucket sizes for the range reports. Weeks start on Monday; buckets are labelled by their start.
+public enum ReportGranularity {
+    HOUR,
+    DAY,
+    WEEK,
+    MONTH;
+
+    // The first day of the bucket a day falls in; an hourly bucket is within the day itself.
+    public LocalDate bucketStart(LocalDate day) {
+        return switch (this) {
+            case HOUR, DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package com.capstone.tele_ticketing_backend_1.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * When a day's report rollups were last rebuilt, on any node. Every node polls these to reload
+ * the days other nodes rebuilt into its in-memory report cube, and the row is locked first by a
+ * rebuild, so two nodes rebuilding the same day take turns.
+ */
+@Entity
+@Table(name = "report_rollup_days", indexes = {
+        @Index(name = "idx_report_rollup_days_refreshed", columnList = "refreshed_at_ms")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportRollupDay {
+
+    @Id
+    @Column(name = "rollup_day")
+    private LocalDate day;
+
+    // Epoch millis on the rebuilding node's clock.
+    @Column(name = "refreshed_at_ms", nullable = false)
+    private long refreshedAtMillis;
+}
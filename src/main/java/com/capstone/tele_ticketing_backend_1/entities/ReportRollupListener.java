@@ -0,0 +1,39 @@
+package com.capstone.tele_ticketing_backend_1.entities;
+
+import com.capstone.tele_ticketing_backend_1.events.ReportDayChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Publishes a {@link ReportDayChangedEvent} for the creation day of every ticket or feedback row
+ * written or deleted, so the report rollups of that day follow every path that changes them.
+ */
+@Component
+public class ReportRollupListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ReportRollupListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void publishChanged(Object entity) {
+        LocalDateTime createdAt = null;
+        if (entity instanceof Ticket ticket) {
+            createdAt = ticket.getCreatedAt();
+        } else if (entity instanceof Feedback feedback) {
+            createdAt = feedback.getCreatedAt();
+        }
+        if (createdAt != null) {
+            eventPublisher.publishEvent(new ReportDayChangedEvent(createdAt.toLocalDate()));
+        }
+    }
+}
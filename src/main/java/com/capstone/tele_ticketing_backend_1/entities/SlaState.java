@@ -0,0 +1,9 @@
+package com.capstone.tele_ticketing_backend_1.entities;
+
+// Where an open ticket stands against its SLA deadline; moved forward by SlaTimerService as the
+// deadline approaches. Null until triage sets a deadline.
+public enum SlaState {
+    ON_TRACK,
+    AT_RISK,  // due within tickets.sla.at-risk-minutes
+    BREACHED  // past the deadline
+}
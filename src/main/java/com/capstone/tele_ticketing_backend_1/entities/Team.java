@@ -7,6 +7,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -35,4 +36,16 @@ public class Team {
     @ToString.Exclude
     @JsonManagedReference("team-members")
     private Set<AppUser> members = new HashSet<>();
+
+    // Weekly working hours SLA deadlines are counted in, e.g. "MON-FRI 09:00-18:00" (see SlaCalendar).
+    // Null uses tickets.sla.calendar.default-hours.
+    @Column(name = "sla_working_hours")
+    private String slaWorkingHours;
+
+    // Days without working time, on top of tickets.sla.calendar.holidays.
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "team_sla_holidays", joinColumns = @JoinColumn(name = "team_id"))
+    @Column(name = "holiday", nullable = false)
+    @ToString.Exclude
+    private Set<LocalDate> slaHolidays = new HashSet<>();
 }
\ No newline at end of file
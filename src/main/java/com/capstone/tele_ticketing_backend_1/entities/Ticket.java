@@ -3,9 +3,12 @@ package com.capstone.tele_ticketing_backend_1.entities;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -15,13 +18,42 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "tickets")
+// Indexes back the keyset-paginated list queries in TicketRepo (ORDER BY created_at DESC, id DESC)
+// and the sort orders and most selective filters of the manager ticket search.
+@Table(name = "tickets", indexes = {
+        @Index(name = "idx_tickets_status_created", columnList = "status, created_at, id"),
+        @Index(name = "idx_tickets_created_by_created", columnList = "created_by_user_id, created_at, id"),
+        @Index(name = "idx_tickets_created_for_created", columnList = "created_for_user_id, created_at, id"),
+        @Index(name = "idx_tickets_category_created", columnList = "category, created_at, id"),
+        @Index(name = "idx_tickets_created", columnList = "created_at, id"),
+        @Index(name = "idx_tickets_updated", columnList = "updated_at, id"),
+        @Index(name = "idx_tickets_sla_breach", columnList = "sla_breach_at, id"),
+        @Index(name = "idx_tickets_sla_state", columnList = "sla_state, sla_breach_at")
+})
+@EntityListeners({TicketUidListener.class, TicketSearchListener.class, TicketFacetListener.class, ReportRollupListener.class})
+// Everything TicketService.mapTicketToDetailDto reads, fetched with the ticket in a single statement.
+// The user subgraph covers AppUser's eager roles and its inverse one-to-one ledTeam, which would
+// otherwise each be loaded with a separate SELECT per user.
+@NamedEntityGraph(name = Ticket.DETAIL_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode(value = "createdFor", subgraph = "user"),
+                @NamedAttributeNode(value = "assignedBy", subgraph = "user"),
+                @NamedAttributeNode(value = "assignedTo", subgraph = "user")
+        },
+        subgraphs = @NamedSubgraph(name = "user", attributeNodes = {
+                @NamedAttributeNode("roles"),
+                @NamedAttributeNode("ledTeam")
+        }))
 @Data
 @NoArgsConstructor
 public class Ticket {
 
+    public static final String DETAIL_GRAPH = "Ticket.detail";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence (a table on MySQL) instead of IDENTITY so Hibernate can batch the inserts.
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_seq")
+    @SequenceGenerator(name = "ticket_seq", sequenceName = "tickets_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "ticket_uid", unique = true, length = 50, updatable = false)
@@ -52,9 +84,20 @@ public class Ticket {
     @Column(name = "sla_duration_hours")
     private Integer slaDurationHours;
 
+    // Both are in working time on the assigned team's SLA calendar (see SlaCalendarService).
     @Column(name = "sla_breach_at")
     private LocalDateTime slaBreachAt;
 
+    // When the ticket enters the at-risk window: the at-risk working minutes before slaBreachAt.
+    // Null on tickets triaged before it was stored, which fall back to a wall-clock window.
+    @Column(name = "sla_at_risk_at")
+    private LocalDateTime slaAtRiskAt;
+
+    // Kept up to date by SlaTimerService, so SLA views filter on it instead of comparing deadlines to now.
+    @Enumerated(EnumType.STRING)
+    @Column(name = "sla_state", length = 20)
+    private SlaState slaState;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_for_user_id", nullable = false)
     private AppUser createdFor;
@@ -71,13 +114,20 @@ public class Ticket {
     @JoinTable(
             name = "ticket_assignments",
             joinColumns = @JoinColumn(name = "ticket_id"),
-            inverseJoinColumns = @JoinColumn(name = "user_id")
+            inverseJoinColumns = @JoinColumn(name = "user_id"),
+            // The primary key leads with ticket_id; this serves assignee- and team-driven lookups.
+            indexes = @Index(name = "idx_ticket_assignments_user", columnList = "user_id, ticket_id")
     )
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
     private Set<AppUser> assignedTo = new HashSet<>();
 
+    // Mapped only so activities are removed with their ticket. There is deliberately no getter or
+    // setter: appending through the collection loads the ticket's whole history first. Activities are
+    // inserted directly by ActivityLogService and read with TicketActivityRepo queries.
     @OneToMany(mappedBy = "ticket", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
     @JsonManagedReference
@@ -108,11 +158,9 @@ public class Ticket {
     @Column(name = "resolved_at")
     private LocalDateTime resolvedAt;
 
+    // ticketUid is assigned by TicketUidListener.
     @PrePersist
     private void onPrePersist() {
-        if (this.ticketUid == null) {
-            this.ticketUid = "TK-" + System.currentTimeMillis();
-        }
         if (this.status == null) {
             this.status = TicketStatus.CREATED;
         }
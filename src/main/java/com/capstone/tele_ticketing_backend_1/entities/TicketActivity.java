@@ -3,28 +3,39 @@ package com.capstone.tele_ticketing_backend_1.entities;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.CreationTimestamp;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "ticket_activities")
+@EntityListeners(TicketActivityListener.class)
+@Table(name = "ticket_activities", indexes = {
+        @Index(name = "idx_activities_ticket_created", columnList = "ticket_id, created_at, id"),
+        @Index(name = "idx_activities_type_created", columnList = "activity_type, created_at, id")
+})
 @Data
 @NoArgsConstructor
 public class TicketActivity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_activity_seq")
+    @SequenceGenerator(name = "ticket_activity_seq", sequenceName = "ticket_activities_seq", allocationSize = 50)
     private Long id;
 
+    // Excluded from equals/hashCode/toString so hashing an activity never initializes its lazy proxies.
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "ticket_id", nullable = false)
     @JsonBackReference
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Ticket ticket;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private AppUser user;
 
     @Enumerated(EnumType.STRING)
@@ -41,7 +52,14 @@ public class TicketActivity {
     @Column(name = "is_internal_only", nullable = false)
     private boolean internalOnly = false;
 
-    @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
+
+    // Not @CreationTimestamp: that overwrites the value, and write-behind logs must keep the time they were logged.
+    @PrePersist
+    private void onPrePersist() {
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.capstone.tele_ticketing_backend_1.entities;
+
+import com.capstone.tele_ticketing_backend_1.dto.NotificationDto;
+import com.capstone.tele_ticketing_backend_1.events.ActivityLoggedEvent;
+import jakarta.persistence.PostPersist;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Publishes an {@link ActivityLoggedEvent} for every inserted ticket activity. Activities are only ever
+ * inserted through TicketActivityRepo, by ActivityLogService or the activity write-behind flusher; nothing
+ * appends to Ticket.activities any more.
+ * Runs during flush, so it only reads state that is already loaded: the ticket's own columns and the
+ * ids of its createdFor/createdBy references, which Hibernate proxies answer without a query.
+ */
+@Component
+public class TicketActivityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TicketActivityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    public void publishActivityLogged(TicketActivity activity) {
+        Ticket ticket = activity.getTicket();
+        if (ticket == null) {
+            return;
+        }
+        LocalDateTime createdAt = activity.getCreatedAt() != null ? activity.getCreatedAt() : LocalDateTime.now();
+        NotificationDto notification = new NotificationDto(
+                activity.getId(),
+                ticket.getTicketUid(),
+                ticket.getTitle(),
+                activity.getDescription(),
+                activity.getActivityType().name(),
+                createdAt
+        );
+        eventPublisher.publishEvent(new ActivityLoggedEvent(
+                notification,
+                activity.getActivityType(),
+                activity.isInternalOnly(),
+                ticket.getCreatedFor() != null ? ticket.getCreatedFor().getId() : null,
+                ticket.getCreatedBy() != null ? ticket.getCreatedBy().getId() : null
+        ));
+    }
+}
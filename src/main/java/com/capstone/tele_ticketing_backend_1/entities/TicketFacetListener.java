@@ -0,0 +1,53 @@
+package com.capstone.tele_ticketing_backend_1.entities;
+
+import com.capstone.tele_ticketing_backend_1.events.TicketFacetsChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes a {@link TicketFacetsChangedEvent} whenever a ticket row is written or deleted, so the
+ * manager facet index follows every path that changes a ticket.
+ * Runs during flush and reads only loaded state: the assignees are passed on only when the
+ * collection is already initialized (an uninitialized one was not touched in this session).
+ */
+@Component
+public class TicketFacetListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TicketFacetListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void publishSaved(Ticket ticket) {
+        Set<Long> assigneeIds = Hibernate.isInitialized(ticket.getAssignedTo())
+                ? ticket.getAssignedTo().stream().map(AppUser::getId).collect(Collectors.toSet())
+                : null;
+        eventPublisher.publishEvent(new TicketFacetsChangedEvent(
+                ticket.getId(),
+                ticket.getStatus(),
+                ticket.getCategory(),
+                ticket.getPriority(),
+                ticket.getSeverity(),
+                ticket.getCreatedFor() != null ? ticket.getCreatedFor().getId() : null,
+                assigneeIds,
+                ticket.getSlaBreachAt(),
+                ticket.getSlaAtRiskAt(),
+                false
+        ));
+    }
+
+    @PostRemove
+    public void publishRemoved(Ticket ticket) {
+        eventPublisher.publishEvent(new TicketFacetsChangedEvent(ticket.getId(), null, null, null, null, null, null, null, null, true));
+    }
+}
@@ -0,0 +1,74 @@
+package com.capstone.tele_ticketing_backend_1.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Tickets created in an hour, per category, current status, severity, team and customer city, with
+ * the number resolved and their total resolution time, so the CXO reports read a few rows per hour
+ * instead of grouping the tickets table. ReportRollupService rebuilds a day's rows whenever one
+ * of its tickets changes.
+ * <p>
+ * A ticket is reported under its assignees' lowest team id (null while unassigned), and under the
+ * team and city its assignees and customer had when its day was last rebuilt.
+ */
+@Entity
+@Table(name = "ticket_hourly_rollups", indexes = {
+        @Index(name = "idx_ticket_rollups_day", columnList = "rollup_day, rollup_hour")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketHourlyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollup_day", nullable = false)
+    private LocalDate day;
+
+    // 0-23, the hour of the day the tickets were created in.
+    @Column(name = "rollup_hour", nullable = false)
+    private int hour;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private TicketCategory category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private TicketStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 50)
+    private TicketSeverity severity;
+
+    @Column(name = "team_id")
+    private Long teamId;
+
+    @Column(length = 100)
+    private String city;
+
+    @Column(name = "ticket_count", nullable = false)
+    private long ticketCount;
+
+    // Tickets with a resolvedAt, and the seconds from creation to resolution summed over them.
+    @Column(name = "resolved_count", nullable = false)
+    private long resolvedCount;
+
+    @Column(name = "resolution_seconds", nullable = false)
+    private long resolutionSeconds;
+}
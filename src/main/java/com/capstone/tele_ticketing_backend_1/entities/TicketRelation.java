@@ -0,0 +1,7 @@
+package com.capstone.tele_ticketing_backend_1.entities;
+
+// How a user relates to a ticket, for per-user ticket counters.
+public enum TicketRelation {
+    CREATED_FOR, // Ticket.createdFor - the customer (customer dashboard)
+    CREATED_BY   // Ticket.createdBy - whoever raised it (agent dashboard)
+}
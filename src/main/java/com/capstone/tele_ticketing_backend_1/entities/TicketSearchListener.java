@@ -0,0 +1,42 @@
+package com.capstone.tele_ticketing_backend_1.entities;
+
+import com.capstone.tele_ticketing_backend_1.events.TicketTextChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes a {@link TicketTextChangedEvent} whenever a ticket row is written or deleted, so the
+ * in-memory search index follows every path that changes a ticket. Status-only updates fire it too;
+ * the index ignores a ticket whose text and owners are unchanged.
+ * Runs during flush and reads only loaded state (the createdFor/createdBy ids come from their proxies).
+ */
+@Component
+public class TicketSearchListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TicketSearchListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void publishSaved(Ticket ticket) {
+        eventPublisher.publishEvent(new TicketTextChangedEvent(
+                ticket.getId(),
+                ticket.getCreatedFor() != null ? ticket.getCreatedFor().getId() : null,
+                ticket.getCreatedBy() != null ? ticket.getCreatedBy().getId() : null,
+                ticket.getTitle(),
+                ticket.getDescription(),
+                false
+        ));
+    }
+
+    @PostRemove
+    public void publishRemoved(Ticket ticket) {
+        eventPublisher.publishEvent(new TicketTextChangedEvent(ticket.getId(), null, null, null, null, true));
+    }
+}
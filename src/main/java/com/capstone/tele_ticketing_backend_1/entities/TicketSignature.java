@@ -0,0 +1,72 @@
+package com.capstone.tele_ticketing_backend_1.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * MinHash signature of a ticket's title and description, written when the ticket is created so the
+ * duplicate-detection index can be reloaded at startup without re-reading and re-hashing ticket text.
+ * The category and the customer's city are copied in because they partition the index.
+ * There is deliberately no foreign key to tickets; rows of deleted tickets are ignored on load.
+ */
+@Entity
+@Table(name = "ticket_signatures")
+@Getter
+@Setter
+@NoArgsConstructor
+public class TicketSignature implements Persistable<Long> {
+
+    @Id
+    @Column(name = "ticket_id")
+    private Long ticketId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private TicketCategory category;
+
+    @Column(length = 100)
+    private String city;
+
+    // 128 MinHash values as big-endian ints.
+    @Column(nullable = false, length = 512)
+    private byte[] signature;
+
+    // The id is assigned, so Spring Data cannot tell a new row from an existing one by its id;
+    // without this, saveAll would SELECT each row before inserting it.
+    @Transient
+    private boolean isNew = true;
+
+    public TicketSignature(Long ticketId, TicketCategory category, String city, byte[] signature) {
+        this.ticketId = ticketId;
+        this.category = category;
+        this.city = city;
+        this.signature = signature;
+    }
+
+    @Override
+    public Long getId() {
+        return ticketId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
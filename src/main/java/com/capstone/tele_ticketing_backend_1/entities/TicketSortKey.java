@@ -0,0 +1,18 @@
+package com.capstone.tele_ticketing_backend_1.entities;
+
+// Sort orders for the manager ticket search; each names the Ticket attribute it orders by (then id).
+public enum TicketSortKey {
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt"),
+    SLA_BREACH_AT("slaBreachAt"); // tickets without an SLA deadline sort first ascending, last descending
+
+    private final String attribute;
+
+    TicketSortKey(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+}
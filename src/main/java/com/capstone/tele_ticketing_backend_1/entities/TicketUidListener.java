@@ -0,0 +1,41 @@
+package com.capstone.tele_ticketing_backend_1.entities;
+
+import com.capstone.tele_ticketing_backend_1.service.SnowflakeTicketUidGenerator;
+import com.capstone.tele_ticketing_backend_1.service.TicketUidGenerator;
+import jakarta.persistence.PrePersist;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Assigns the ticket UID right before a new ticket is inserted.
+ * Hibernate resolves this listener through Spring, so the configured {@link TicketUidGenerator} bean is used;
+ * slices without that bean (e.g. repository tests) run on one node and fall back to a generator on node id 0.
+ */
+@Component
+public class TicketUidListener {
+
+    private final ObjectProvider<TicketUidGenerator> generatorProvider;
+    private volatile TicketUidGenerator generator;
+
+    public TicketUidListener(ObjectProvider<TicketUidGenerator> generatorProvider) {
+        this.generatorProvider = generatorProvider;
+    }
+
+    @PrePersist
+    public void assignTicketUid(Ticket ticket) {
+        if (ticket.getTicketUid() == null) {
+            ticket.setTicketUid(generator().nextUid());
+        }
+    }
+
+    // Looked up on the first insert: the generator claims its node id through job_leases, so it
+    // cannot be created while Hibernate is still creating this listener.
+    private TicketUidGenerator generator() {
+        TicketUidGenerator current = generator;
+        if (current == null) {
+            current = generatorProvider.getIfAvailable(() -> new SnowflakeTicketUidGenerator(0));
+            generator = current;
+        }
+        return current;
+    }
+}
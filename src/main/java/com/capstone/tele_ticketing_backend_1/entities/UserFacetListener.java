@@ -0,0 +1,39 @@
+package com.capstone.tele_ticketing_backend_1.entities;
+
+import com.capstone.tele_ticketing_backend_1.events.UserFacetsChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes a {@link UserFacetsChangedEvent} whenever a user row is written or deleted, so the
+ * manager facet index files tickets under the user's current city and team.
+ * Runs during flush; the team id comes from the team proxy without loading it.
+ */
+@Component
+public class UserFacetListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public UserFacetListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void publishSaved(AppUser user) {
+        eventPublisher.publishEvent(new UserFacetsChangedEvent(
+                user.getId(),
+                user.getCity(),
+                user.getTeam() != null ? user.getTeam().getId() : null,
+                false
+        ));
+    }
+
+    @PostRemove
+    public void publishRemoved(AppUser user) {
+        eventPublisher.publishEvent(new UserFacetsChangedEvent(user.getId(), null, null, true));
+    }
+}
@@ -0,0 +1,22 @@
+package com.capstone.tele_ticketing_backend_1.events;
+
+import com.capstone.tele_ticketing_backend_1.dto.NotificationDto;
+import com.capstone.tele_ticketing_backend_1.entities.ActivityType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a ticket activity is inserted. Carries a ready-to-send notification plus the
+ * ids needed to route it, captured while the activity's ticket was still loaded, so listeners
+ * never touch the persistence context.
+ */
+@Getter
+@AllArgsConstructor
+public class ActivityLoggedEvent {
+    private final NotificationDto notification;
+    private final ActivityType activityType;
+    private final boolean internalOnly;
+    // Ticket.createdFor / Ticket.createdBy
+    private final Long customerId;
+    private final Long agentId;
+}
@@ -0,0 +1,16 @@
+package com.capstone.tele_ticketing_backend_1.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * Published when a ticket created on the day, or feedback given on it, is written, so the day's
+ * report rollups are rebuilt.
+ */
+@Getter
+@AllArgsConstructor
+public class ReportDayChangedEvent {
+    private final LocalDate day;
+}
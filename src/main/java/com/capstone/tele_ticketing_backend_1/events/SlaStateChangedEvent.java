@@ -0,0 +1,21 @@
+package com.capstone.tele_ticketing_backend_1.events;
+
+import com.capstone.tele_ticketing_backend_1.dto.NotificationDto;
+import com.capstone.tele_ticketing_backend_1.entities.SlaState;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * Published when SlaTimerService moves a ticket to AT_RISK or BREACHED, with the notification for
+ * the activity it logged and the leads of the teams working the ticket.
+ */
+@Getter
+@AllArgsConstructor
+public class SlaStateChangedEvent {
+    private final Long ticketId;
+    private final SlaState slaState;
+    private final NotificationDto notification;
+    private final Set<Long> teamLeadIds;
+}
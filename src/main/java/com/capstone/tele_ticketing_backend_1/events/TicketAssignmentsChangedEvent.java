@@ -0,0 +1,17 @@
+package com.capstone.tele_ticketing_backend_1.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * Published by TicketAssignmentService when a ticket's assignees change. A change to the
+ * ticket_assignments rows alone does not update the ticket row, so no ticket entity callback fires.
+ */
+@Getter
+@AllArgsConstructor
+public class TicketAssignmentsChangedEvent {
+    private final Long ticketId;
+    private final Set<Long> assigneeIds;
+}
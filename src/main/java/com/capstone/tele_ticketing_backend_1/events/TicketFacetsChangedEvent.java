@@ -0,0 +1,32 @@
+package com.capstone.tele_ticketing_backend_1.events;
+
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+import com.capstone.tele_ticketing_backend_1.entities.TicketPriority;
+import com.capstone.tele_ticketing_backend_1.entities.TicketSeverity;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Published when a ticket is inserted, updated or deleted, with the columns the manager facet
+ * index and the SLA timers filter on, captured during flush so listeners never touch the persistence context.
+ */
+@Getter
+@AllArgsConstructor
+public class TicketFacetsChangedEvent {
+    private final Long ticketId;
+    private final TicketStatus status;
+    private final TicketCategory category;
+    private final TicketPriority priority;
+    private final TicketSeverity severity;
+    // Ticket.createdFor
+    private final Long customerId;
+    // Null when the assignees were not loaded, and so cannot have changed.
+    private final Set<Long> assigneeIds;
+    private final LocalDateTime slaBreachAt;
+    private final LocalDateTime slaAtRiskAt;
+    private final boolean removed;
+}
@@ -0,0 +1,20 @@
+package com.capstone.tele_ticketing_backend_1.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a ticket is inserted, updated or deleted, with the fields the search index needs,
+ * captured during flush so listeners never touch the persistence context.
+ */
+@Getter
+@AllArgsConstructor
+public class TicketTextChangedEvent {
+    private final Long ticketId;
+    // Ticket.createdFor / Ticket.createdBy
+    private final Long customerId;
+    private final Long agentId;
+    private final String title;
+    private final String description;
+    private final boolean removed;
+}
@@ -0,0 +1,17 @@
+package com.capstone.tele_ticketing_backend_1.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a user is inserted, updated or deleted, with the city and team the manager facet
+ * index files the user's tickets under.
+ */
+@Getter
+@AllArgsConstructor
+public class UserFacetsChangedEvent {
+    private final Long userId;
+    private final String city;
+    private final Long teamId;
+    private final boolean removed;
+}
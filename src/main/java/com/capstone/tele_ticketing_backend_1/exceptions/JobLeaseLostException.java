@@ -0,0 +1,7 @@
+package com.capstone.tele_ticketing_backend_1.exceptions;
+
+public class JobLeaseLostException extends RuntimeException {
+    public JobLeaseLostException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.capstone.tele_ticketing_backend_1.projections;
+
+import com.capstone.tele_ticketing_backend_1.entities.SlaState;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+
+import java.time.LocalDateTime;
+
+// A ticket's SLA deadline and state, read page by page when the SLA timers are loaded or synced.
+public interface SlaTimerSourceProjection {
+    Long getId();
+    LocalDateTime getSlaBreachAt();
+    LocalDateTime getSlaAtRiskAt();
+    SlaState getSlaState();
+    TicketStatus getStatus();
+}
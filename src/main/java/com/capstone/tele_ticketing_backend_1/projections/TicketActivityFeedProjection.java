@@ -0,0 +1,29 @@
+package com.capstone.tele_ticketing_backend_1.projections;
+
+import com.capstone.tele_ticketing_backend_1.dto.DashboardActivityDto;
+import com.capstone.tele_ticketing_backend_1.dto.NotificationDto;
+import com.capstone.tele_ticketing_backend_1.entities.ActivityType;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of an activity feed: the activity plus the uid and title of its ticket, selected
+ * together in a single query so feeds never initialise the lazy ticket association.
+ */
+public interface TicketActivityFeedProjection {
+    Long getId();
+    String getTicketUid();
+    String getTicketTitle();
+    String getDescription();
+    ActivityType getActivityType();
+    LocalDateTime getCreatedAt();
+
+    default NotificationDto toNotificationDto() {
+        return new NotificationDto(getId(), getTicketUid(), getTicketTitle(), getDescription(),
+                getActivityType().name(), getCreatedAt());
+    }
+
+    default DashboardActivityDto toDashboardActivityDto() {
+        return new DashboardActivityDto(getId(), getDescription(), getTicketUid(), getTicketTitle(), getCreatedAt());
+    }
+}
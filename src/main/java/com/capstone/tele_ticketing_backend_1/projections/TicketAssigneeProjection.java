@@ -0,0 +1,7 @@
+package com.capstone.tele_ticketing_backend_1.projections;
+
+// One ticket_assignments row.
+public interface TicketAssigneeProjection {
+    Long getTicketId();
+    Long getUserId();
+}
@@ -0,0 +1,20 @@
+package com.capstone.tele_ticketing_backend_1.projections;
+
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+import com.capstone.tele_ticketing_backend_1.entities.TicketPriority;
+import com.capstone.tele_ticketing_backend_1.entities.TicketSeverity;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+
+import java.time.LocalDateTime;
+
+// The columns the manager facet index is built from, read page by page when the index is rebuilt.
+public interface TicketFacetSourceProjection {
+    Long getId();
+    TicketStatus getStatus();
+    TicketCategory getCategory();
+    TicketPriority getPriority();
+    TicketSeverity getSeverity();
+    Long getCustomerId();
+    LocalDateTime getSlaBreachAt();
+    LocalDateTime getSlaAtRiskAt();
+}
@@ -0,0 +1,18 @@
+package com.capstone.tele_ticketing_backend_1.projections;
+
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+import com.capstone.tele_ticketing_backend_1.entities.TicketSeverity;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+
+import java.time.LocalDateTime;
+
+// The columns a ticket contributes to its day's report rollups; the customer's city is joined in.
+public interface TicketRollupSourceProjection {
+    Long getId();
+    TicketCategory getCategory();
+    TicketStatus getStatus();
+    TicketSeverity getSeverity();
+    String getCity();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getResolvedAt();
+}
@@ -0,0 +1,10 @@
+package com.capstone.tele_ticketing_backend_1.projections;
+
+// The columns the search index is built from, read page by page when the index is rebuilt.
+public interface TicketSearchSourceProjection {
+    Long getId();
+    Long getCustomerId();
+    Long getAgentId();
+    String getTitle();
+    String getDescription();
+}
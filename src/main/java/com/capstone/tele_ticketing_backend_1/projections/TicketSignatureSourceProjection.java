@@ -0,0 +1,12 @@
+package com.capstone.tele_ticketing_backend_1.projections;
+
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+
+// An open ticket that has no MinHash signature yet (e.g. created before duplicate detection existed).
+public interface TicketSignatureSourceProjection {
+    Long getId();
+    TicketCategory getCategory();
+    String getCity();
+    String getTitle();
+    String getDescription();
+}
@@ -0,0 +1,7 @@
+package com.capstone.tele_ticketing_backend_1.projections;
+
+// The team a ticket is reported under.
+public interface TicketTeamProjection {
+    Long getTicketId();
+    Long getTeamId();
+}
@@ -0,0 +1,8 @@
+package com.capstone.tele_ticketing_backend_1.projections;
+
+// A user's city and team, which decide where the manager facet index files their tickets.
+public interface UserFacetSourceProjection {
+    Long getId();
+    String getCity();
+    Long getTeamId();
+}
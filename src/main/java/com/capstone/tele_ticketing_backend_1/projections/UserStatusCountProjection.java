@@ -0,0 +1,9 @@
+package com.capstone.tele_ticketing_backend_1.projections;
+
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+
+public interface UserStatusCountProjection {
+    Long getUserId();
+    TicketStatus getStatus();
+    Long getCount();
+}
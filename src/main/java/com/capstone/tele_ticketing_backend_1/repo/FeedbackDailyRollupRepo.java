@@ -0,0 +1,24 @@
+package com.capstone.tele_ticketing_backend_1.repo;
+
+import com.capstone.tele_ticketing_backend_1.entities.FeedbackDailyRollup;
+import com.capstone.tele_ticketing_backend_1.projections.SatisfactionScoreProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface FeedbackDailyRollupRepo extends JpaRepository<FeedbackDailyRollup, Long> {
+
+    @Query("SELECT r.rating AS rating, SUM(r.feedbackCount) AS count FROM FeedbackDailyRollup r " +
+            "GROUP BY r.rating ORDER BY r.rating ASC")
+    List<SatisfactionScoreProjection> getSatisfactionScoreDistribution();
+
+    @Modifying
+    @Query("DELETE FROM FeedbackDailyRollup r WHERE r.day = :day")
+    int deleteByDay(@Param("day") LocalDate day);
+}
@@ -7,8 +7,12 @@ import com.capstone.tele_ticketing_backend_1.entities.Feedback;
 import com.capstone.tele_ticketing_backend_1.projections.SatisfactionScoreProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface FeedbackRepo extends JpaRepository<Feedback, Long> {
@@ -18,9 +22,14 @@ public interface FeedbackRepo extends JpaRepository<Feedback, Long> {
     // and filtering on the 'createdBy' user, ordering by the most recent feedback.
     List<Feedback> findAllByTicket_CreatedByOrderByCreatedAtDesc(AppUser agent);
 
+    // Report rollups: feedback given in [from, to), per rating.
     @Query("SELECT f.rating as rating, COUNT(f) as count " +
             "FROM Feedback f " +
-            "GROUP BY f.rating " +
-            "ORDER BY f.rating ASC")
-    List<SatisfactionScoreProjection> getSatisfactionScoreDistribution();
+            "WHERE f.createdAt >= :from AND f.createdAt < :to " +
+            "GROUP BY f.rating")
+    List<SatisfactionScoreProjection> countByRatingCreatedBetween(@Param("from") LocalDateTime from,
+                                                                  @Param("to") LocalDateTime to);
+
+    @Query("SELECT MIN(f.createdAt) FROM Feedback f")
+    Optional<LocalDateTime> findEarliestCreatedAt();
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.capstone.tele_ticketing_backend_1.repo;
+
+import com.capstone.tele_ticketing_backend_1.entities.JobLease;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+// Every lease change is one conditional statement, so two nodes racing for a lease cannot both win.
+@Repository
+public interface JobLeaseRepo extends JpaRepository<JobLease, String> {
+
+    // Extends a lease this node still holds. Returns 0 if it has expired or been taken over.
+    @Modifying
+    @Query("UPDATE JobLease l SET l.expiresAt = :expiresAt WHERE l.name = :name AND l.owner = :owner AND l.expiresAt > :now")
+    int renew(@Param("name") String name, @Param("owner") String owner,
+              @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Takes over an expired lease under the next fencing token. Returns 0 if it is still held.
+    @Modifying
+    @Query("UPDATE JobLease l SET l.owner = :owner, l.fencingToken = l.fencingToken + 1, l.expiresAt = :expiresAt " +
+            "WHERE l.name = :name AND l.expiresAt <= :now")
+    int takeOver(@Param("name") String name, @Param("owner") String owner,
+                 @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    // First lease for a job. A plain insert, so a node racing to create the same lease fails on the primary key.
+    @Modifying
+    @Query(value = "INSERT INTO job_leases (job_name, owner, fencing_token, expires_at) VALUES (:name, :owner, 1, :expiresAt)",
+            nativeQuery = true)
+    int create(@Param("name") String name, @Param("owner") String owner, @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Ends this node's leases early, e.g. on shutdown, so another node can take them over at once.
+    @Modifying
+    @Query("UPDATE JobLease l SET l.expiresAt = :now WHERE l.name IN :names AND l.owner = :owner AND l.expiresAt > :now")
+    int release(@Param("names") Collection<String> names, @Param("owner") String owner, @Param("now") LocalDateTime now);
+
+    @Query("SELECT l.fencingToken FROM JobLease l WHERE l.name = :name AND l.owner = :owner")
+    Optional<Long> findFencingToken(@Param("name") String name, @Param("owner") String owner);
+
+    // SELECT ... FOR UPDATE: the lease cannot be renewed, taken over or released until the calling transaction ends.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM JobLease l WHERE l.name = :name")
+    Optional<JobLease> findByNameForUpdate(@Param("name") String name);
+
+    boolean existsByNameAndFencingTokenAndExpiresAtAfter(String name, long fencingToken, LocalDateTime now);
+}
@@ -0,0 +1,18 @@
+package com.capstone.tele_ticketing_backend_1.repo;
+
+import com.capstone.tele_ticketing_backend_1.entities.NotificationInboxEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface NotificationInboxRepo extends JpaRepository<NotificationInboxEntry, Long> {
+
+    // Newest first, strictly below seq. Pass KeysetPagination.limit() as the pageable.
+    List<NotificationInboxEntry> findByRecipientIdAndSeqLessThanOrderBySeqDesc(Long recipientId, long seq, Pageable pageable);
+
+    Optional<NotificationInboxEntry> findFirstByOrderByIdAsc();
+}
@@ -0,0 +1,32 @@
+package com.capstone.tele_ticketing_backend_1.repo;
+
+import com.capstone.tele_ticketing_backend_1.entities.NotificationInboxState;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface NotificationInboxStateRepo extends JpaRepository<NotificationInboxState, Long> {
+
+    // Locks in user id order, so two writers touching the same users cannot deadlock each other.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM NotificationInboxState s WHERE s.userId IN :userIds ORDER BY s.userId")
+    List<NotificationInboxState> findAllForUpdate(@Param("userIds") Collection<Long> userIds);
+
+    // The watermark only moves forward and never past the newest entry.
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE NotificationInboxState s SET s.readSeq = CASE WHEN :seq > s.lastSeq THEN s.lastSeq ELSE :seq END " +
+            "WHERE s.userId = :userId AND s.readSeq < :seq")
+    int advanceReadSeq(@Param("userId") Long userId, @Param("seq") long seq);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE NotificationInboxState s SET s.readSeq = s.lastSeq WHERE s.userId = :userId")
+    int markAllRead(@Param("userId") Long userId);
+}
@@ -0,0 +1,25 @@
+package com.capstone.tele_ticketing_backend_1.repo;
+
+import com.capstone.tele_ticketing_backend_1.entities.ReportRollupDay;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReportRollupDayRepo extends JpaRepository<ReportRollupDay, LocalDate> {
+
+    // Locks the day's row until the rebuild commits. Returns 0 for a day never rebuilt before.
+    @Modifying
+    @Query("UPDATE ReportRollupDay d SET d.refreshedAtMillis = :at WHERE d.day = :day")
+    int markRefreshed(@Param("day") LocalDate day, @Param("at") long at);
+
+    List<ReportRollupDay> findByRefreshedAtMillisGreaterThanEqual(long since);
+
+    Optional<ReportRollupDay> findFirstBy();
+}
@@ -3,9 +3,14 @@ package com.capstone.tele_ticketing_backend_1.repo;
 import com.capstone.tele_ticketing_backend_1.entities.ActivityType;
 import com.capstone.tele_ticketing_backend_1.entities.AppUser;
 import com.capstone.tele_ticketing_backend_1.entities.TicketActivity;
+import com.capstone.tele_ticketing_backend_1.projections.TicketActivityFeedProjection;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -17,15 +22,35 @@ public interface TicketActivityRepo extends JpaRepository<TicketActivity, Long>
     // Gets only public logs for a ticket. (For customers/agents)
     List<TicketActivity> findByTicketIdAndInternalOnlyFalseOrderByCreatedAtDesc(Long ticketId);
 
-    List<TicketActivity> findFirst8ByTicket_CreatedForAndInternalOnlyFalseOrderByCreatedAtDesc(AppUser user);
+    List<TicketActivity> findAllByActivityTypeAndInternalOnlyTrueOrderByCreatedAtDesc(ActivityType activityType);
 
-    List<TicketActivity> findAllByTicket_CreatedForAndInternalOnlyFalseOrderByCreatedAtDesc(AppUser user);
+    // --- Activity feeds (notifications, dashboards). Rows come back as TicketActivityFeedProjection with the
+    // ticket's uid and title joined in, so no ticket entity is loaded per activity. ---
 
-    List<TicketActivity> findFirst8ByTicket_CreatedByAndInternalOnlyFalseOrderByCreatedAtDesc(AppUser user);
+    String SELECT_FEED = "SELECT a.id AS id, t.ticketUid AS ticketUid, t.title AS ticketTitle, " +
+            "a.description AS description, a.activityType AS activityType, a.createdAt AS createdAt " +
+            "FROM TicketActivity a JOIN a.ticket t ";
 
-    // Finds all public activities for tickets CREATED BY a specific user, ordered by most recent.
-    List<TicketActivity> findAllByTicket_CreatedByAndInternalOnlyFalseOrderByCreatedAtDesc(AppUser user);
+    // Most recent public activities; pass PageRequest.of(0, n) to bound the feed.
+    @Query(SELECT_FEED + "WHERE t.createdFor = :user AND a.internalOnly = false ORDER BY a.createdAt DESC, a.id DESC")
+    List<TicketActivityFeedProjection> findRecentPublicFeedByTicketCreatedFor(@Param("user") AppUser user, Pageable pageable);
 
-    List<TicketActivity> findAllByActivityTypeAndInternalOnlyTrueOrderByCreatedAtDesc(ActivityType activityType);
-    List<TicketActivity> findAllByActivityTypeInOrderByCreatedAtDesc(List<ActivityType> activityTypes);
-}
\ No newline at end of file
+    @Query(SELECT_FEED + "WHERE t.createdBy = :user AND a.internalOnly = false ORDER BY a.createdAt DESC, a.id DESC")
+    List<TicketActivityFeedProjection> findRecentPublicFeedByTicketCreatedBy(@Param("user") AppUser user, Pageable pageable);
+
+    // Keyset page, newest first. Pass KeysetPagination cursor values and limit().
+    @Query(SELECT_FEED + "WHERE a.activityType IN :activityTypes " +
+            "AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)) " +
+            "ORDER BY a.createdAt DESC, a.id DESC")
+    List<TicketActivityFeedProjection> findFeedPageByActivityTypeIn(@Param("activityTypes") List<ActivityType> activityTypes,
+                                                                    @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    // --- Notification inbox backfill: public activities in id order, with their tickets. ---
+
+    @Query("SELECT MAX(a.id) FROM TicketActivity a")
+    Long findMaxId();
+
+    @Query("SELECT a FROM TicketActivity a JOIN FETCH a.ticket " +
+            "WHERE a.internalOnly = false AND a.id > :afterId AND a.id <= :maxId ORDER BY a.id")
+    List<TicketActivity> findPublicWithTicketInIdRange(@Param("afterId") Long afterId, @Param("maxId") Long maxId, Pageable pageable);
+}
@@ -0,0 +1,38 @@
+package com.capstone.tele_ticketing_backend_1.repo;
+
+import com.capstone.tele_ticketing_backend_1.entities.TicketHourlyRollup;
+import com.capstone.tele_ticketing_backend_1.projections.TicketVolumeProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TicketHourlyRollupRepo extends JpaRepository<TicketHourlyRollup, Long> {
+
+    @Query("SELECT r.day AS date, SUM(r.ticketCount) AS count FROM TicketHourlyRollup r " +
+            "WHERE r.day >= :from GROUP BY r.day ORDER BY r.day ASC")
+    List<TicketVolumeProjection> getTicketVolumeByDay(@Param("from") LocalDate from);
+
+    // Null when no ticket created since from has been resolved.
+    @Query("SELECT SUM(r.resolutionSeconds) / 3600.0 / SUM(r.resolvedCount) FROM TicketHourlyRollup r " +
+            "WHERE r.day >= :from AND r.resolvedCount > 0")
+    Double getAverageResolutionTimeInHours(@Param("from") LocalDate from);
+
+    @Modifying
+    @Query("DELETE FROM TicketHourlyRollup r WHERE r.day = :day")
+    int deleteByDay(@Param("day") LocalDate day);
+
+    // Report cube loads and syncs.
+    List<TicketHourlyRollup> findByDay(LocalDate day);
+
+    List<TicketHourlyRollup> findByDayBetween(LocalDate from, LocalDate to);
+
+    @Query("SELECT MIN(r.day) FROM TicketHourlyRollup r")
+    Optional<LocalDate> findEarliestDay();
+}
@@ -1,71 +1,192 @@
 package com.capstone.tele_ticketing_backend_1.repo;
 
+import com.capstone.tele_ticketing_backend_1.dto.TicketSummaryDto;
 import com.capstone.tele_ticketing_backend_1.entities.AppUser;
+import com.capstone.tele_ticketing_backend_1.entities.SlaState;
 import com.capstone.tele_ticketing_backend_1.entities.Ticket;
 import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
-import com.capstone.tele_ticketing_backend_1.projections.TicketVolumeProjection;
+import com.capstone.tele_ticketing_backend_1.projections.SlaTimerSourceProjection;
+import com.capstone.tele_ticketing_backend_1.projections.TicketAssigneeProjection;
+import com.capstone.tele_ticketing_backend_1.projections.TicketFacetSourceProjection;
+import com.capstone.tele_ticketing_backend_1.projections.TicketSearchSourceProjection;
+import com.capstone.tele_ticketing_backend_1.projections.TicketRollupSourceProjection;
+import com.capstone.tele_ticketing_backend_1.projections.TicketTeamProjection;
+import com.capstone.tele_ticketing_backend_1.projections.UserStatusCountProjection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TicketRepo extends JpaRepository<Ticket, Long>, JpaSpecificationExecutor<Ticket> {
+public interface TicketRepo extends JpaRepository<Ticket, Long>, JpaSpecificationExecutor<Ticket>, TicketSearchQueries {
 
-    List<Ticket> findAllByCreatedForAndStatusIn(AppUser user, List<TicketStatus> statuses);
+    // Summary lists select just the five TicketSummaryDto columns, so the @Lob description and
+    // the lazy collections are never read or turned into managed entities.
+    String SELECT_SUMMARY = "SELECT new com.capstone.tele_ticketing_backend_1.dto.TicketSummaryDto(" +
+            "t.id, t.ticketUid, t.title, t.status, t.createdAt) ";
+
+    @Query(SELECT_SUMMARY + "FROM Ticket t WHERE t.createdFor = :user AND t.status IN :statuses")
+    List<TicketSummaryDto> findSummariesByCreatedForAndStatusIn(@Param("user") AppUser user, @Param("statuses") List<TicketStatus> statuses);
 
     // Dr. X's Note: This finds all tickets FOR a user with the specific status 'FIXED'.
     // This will serve the "my feedback tickets" endpoint.
-    List<Ticket> findAllByCreatedForAndStatus(AppUser user, TicketStatus status);
-
-    // In: com/capstone/tele_ticketing_backend_1/repo/TicketRepo.java
-
-// ... existing methods ...
+    @Query(SELECT_SUMMARY + "FROM Ticket t WHERE t.createdFor = :user AND t.status = :status")
+    List<TicketSummaryDto> findSummariesByCreatedForAndStatus(@Param("user") AppUser user, @Param("status") TicketStatus status);
 
     // Dr. X's Note: This query finds all tickets CREATED BY a specific user (our agent)
-// that have one of the given statuses.
-    List<Ticket> findAllByCreatedByAndStatusIn(AppUser user, List<TicketStatus> statuses);
-
+    // that have one of the given statuses.
+    @Query(SELECT_SUMMARY + "FROM Ticket t WHERE t.createdBy = :user AND t.status IN :statuses")
+    List<TicketSummaryDto> findSummariesByCreatedByAndStatusIn(@Param("user") AppUser user, @Param("statuses") List<TicketStatus> statuses);
+
+    // Search results, looked up by the ids the search index ranked.
+    @Query(SELECT_SUMMARY + "FROM Ticket t WHERE t.id IN :ids")
+    List<TicketSummaryDto> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Search index rebuild: the next page of tickets after afterId, in id order. Pass PageRequest.of(0, size).
+    @Query("SELECT t.id AS id, t.createdFor.id AS customerId, t.createdBy.id AS agentId, " +
+            "t.title AS title, t.description AS description FROM Ticket t WHERE t.id > :afterId ORDER BY t.id")
+    List<TicketSearchSourceProjection> findSearchSourcePage(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Search index sync: the next page of tickets updated since a point in time, in id order. Pass PageRequest.of(0, size).
+    @Query("SELECT t.id AS id, t.createdFor.id AS customerId, t.createdBy.id AS agentId, " +
+            "t.title AS title, t.description AS description FROM Ticket t " +
+            "WHERE t.updatedAt >= :since AND t.id > :afterId ORDER BY t.id")
+    List<TicketSearchSourceProjection> findSearchSourcesUpdatedSince(@Param("since") LocalDateTime since,
+                                                                     @Param("afterId") Long afterId, Pageable pageable);
+
+    // Facet index rebuild: the next page of tickets after afterId, in id order. Pass PageRequest.of(0, size).
+    @Query("SELECT t.id AS id, t.status AS status, t.category AS category, t.priority AS priority, " +
+            "t.severity AS severity, t.createdFor.id AS customerId, t.slaBreachAt AS slaBreachAt, " +
+            "t.slaAtRiskAt AS slaAtRiskAt FROM Ticket t WHERE t.id > :afterId ORDER BY t.id")
+    List<TicketFacetSourceProjection> findFacetSourcePage(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Facet index sync: the next page of tickets updated since a point in time, in id order. Pass PageRequest.of(0, size).
+    @Query("SELECT t.id AS id, t.status AS status, t.category AS category, t.priority AS priority, " +
+            "t.severity AS severity, t.createdFor.id AS customerId, t.slaBreachAt AS slaBreachAt, " +
+            "t.slaAtRiskAt AS slaAtRiskAt FROM Ticket t WHERE t.updatedAt >= :since AND t.id > :afterId ORDER BY t.id")
+    List<TicketFacetSourceProjection> findFacetSourcesUpdatedSince(@Param("since") LocalDateTime since,
+                                                                   @Param("afterId") Long afterId, Pageable pageable);
+
+    // Facet index rebuild and sync: the assignees of one page of tickets.
+    @Query("SELECT t.id AS ticketId, u.id AS userId FROM Ticket t JOIN t.assignedTo u WHERE t.id IN :ids")
+    List<TicketAssigneeProjection> findAssigneesByTicketIdIn(@Param("ids") Collection<Long> ids);
+
+    // Full entities: the AI triage prompt needs the description.
     List<Ticket> findAllByStatusIn(List<TicketStatus> statuses);
-    List<Ticket> findAllByAssignedToContainsAndStatusIn(AppUser user, List<TicketStatus> statuses);
 
-    long countByCreatedForAndStatus(AppUser user, TicketStatus status);
+    // Ticket counts per (user, status), for rebuilding ticket_status_counters.
+    @Query("SELECT t.createdFor.id AS userId, t.status AS status, COUNT(t) AS count FROM Ticket t " +
+            "WHERE t.createdFor IS NOT NULL GROUP BY t.createdFor.id, t.status")
+    List<UserStatusCountProjection> countGroupedByCreatedForAndStatus();
 
-    // Efficiently counts tickets for a user with any of the given statuses.
-    long countByCreatedForAndStatusIn(AppUser user, List<TicketStatus> statuses);
+    @Query("SELECT t.createdBy.id AS userId, t.status AS status, COUNT(t) AS count FROM Ticket t " +
+            "WHERE t.createdBy IS NOT NULL GROUP BY t.createdBy.id, t.status")
+    List<UserStatusCountProjection> countGroupedByCreatedByAndStatus();
 
-    long countByCreatedByAndStatus(AppUser user, TicketStatus status);
+    // One user's ticket counts per status, for recounting that user's drifted counters.
+    @Query("SELECT t.createdFor.id AS userId, t.status AS status, COUNT(t) AS count FROM Ticket t " +
+            "WHERE t.createdFor.id = :userId GROUP BY t.createdFor.id, t.status")
+    List<UserStatusCountProjection> countByCreatedForGroupedByStatus(@Param("userId") Long userId);
 
-    // Efficiently counts tickets CREATED BY a user with any of the given statuses.
-    long countByCreatedByAndStatusIn(AppUser user, List<TicketStatus> statuses);
+    @Query("SELECT t.createdBy.id AS userId, t.status AS status, COUNT(t) AS count FROM Ticket t " +
+            "WHERE t.createdBy.id = :userId GROUP BY t.createdBy.id, t.status")
+    List<UserStatusCountProjection> countByCreatedByGroupedByStatus(@Param("userId") Long userId);
 
     // Finds all tickets CREATED BY a user with a specific status.
-    List<Ticket> findAllByCreatedByAndStatus(AppUser user, TicketStatus status);
-
-    @Query("SELECT DISTINCT t FROM Ticket t JOIN t.assignedTo a WHERE a.team.id = :teamId AND t.status IN :statuses")
-    List<Ticket> findTicketsByTeamAndStatus(@Param("teamId") Long teamId, @Param("statuses") List<TicketStatus> statuses);
-
-
-    @Query("SELECT DISTINCT t FROM Ticket t JOIN t.assignedTo a WHERE a.team.id = :teamId AND t.status NOT IN ('RESOLVED', 'FIXED') AND t.slaBreachAt BETWEEN :now AND :slaRiskThreshold")
-    List<Ticket> findSlaRiskTicketsByTeam(@Param("teamId") Long teamId, @Param("now") LocalDateTime now, @Param("slaRiskThreshold") LocalDateTime slaRiskThreshold);
-
-    @Query("SELECT FUNCTION('DATE', t.createdAt) as date, COUNT(t) as count " +
-            "FROM Ticket t " +
-            "WHERE t.createdAt >= :startDate " +
-            "GROUP BY FUNCTION('DATE', t.createdAt) " +
-            "ORDER BY date ASC")
-    List<TicketVolumeProjection> getTicketVolumeByDay(@Param("startDate") LocalDateTime startDate);
-
-    // Dr. X's Fix: We extract the epoch from each timestamp first, then subtract.
-    @Query("SELECT AVG((EXTRACT(EPOCH FROM t.resolvedAt) - EXTRACT(EPOCH FROM t.createdAt)) / 3600.0) " +
-            "FROM Ticket t " +
-            "WHERE t.resolvedAt IS NOT NULL AND t.createdAt >= :startDate")
-    Double getAverageResolutionTimeInHours(@Param("startDate") LocalDateTime startDate);
-
-    Optional<Ticket> findByTicketUid(String ticketUid);
+    @Query(SELECT_SUMMARY + "FROM Ticket t WHERE t.createdBy = :user AND t.status = :status")
+    List<TicketSummaryDto> findSummariesByCreatedByAndStatus(@Param("user") AppUser user, @Param("status") TicketStatus status);
+
+    @Query("SELECT DISTINCT new com.capstone.tele_ticketing_backend_1.dto.TicketSummaryDto(t.id, t.ticketUid, t.title, t.status, t.createdAt) " +
+            "FROM Ticket t JOIN t.assignedTo a WHERE a.team.id = :teamId AND t.status IN :statuses")
+    List<TicketSummaryDto> findSummariesByTeamAndStatus(@Param("teamId") Long teamId, @Param("statuses") List<TicketStatus> statuses);
+
+
+    // SLA views read the state SlaTimerService maintains rather than comparing deadlines to the clock.
+    @Query("SELECT DISTINCT new com.capstone.tele_ticketing_backend_1.dto.TicketSummaryDto(t.id, t.ticketUid, t.title, t.status, t.createdAt) " +
+            "FROM Ticket t JOIN t.assignedTo a WHERE a.team.id = :teamId AND t.status NOT IN ('RESOLVED', 'FIXED') AND t.slaState = :slaState")
+    List<TicketSummaryDto> findSummariesByTeamAndSlaState(@Param("teamId") Long teamId, @Param("slaState") SlaState slaState);
+
+    // SLA timer load: the next page of open tickets with a deadline after afterId, in id order. Pass PageRequest.of(0, size).
+    @Query("SELECT t.id AS id, t.slaBreachAt AS slaBreachAt, t.slaAtRiskAt AS slaAtRiskAt, t.slaState AS slaState, " +
+            "t.status AS status FROM Ticket t " +
+            "WHERE t.id > :afterId AND t.slaBreachAt IS NOT NULL AND t.status NOT IN :closed ORDER BY t.id")
+    List<SlaTimerSourceProjection> findSlaTimerSourcePage(@Param("afterId") Long afterId, @Param("closed") Collection<TicketStatus> closed,
+                                                          Pageable pageable);
+
+    // SLA timer sync: the next page of tickets updated since a point in time, in id order, closed or
+    // without a deadline included so their timers can be cancelled. Pass PageRequest.of(0, size).
+    @Query("SELECT t.id AS id, t.slaBreachAt AS slaBreachAt, t.slaAtRiskAt AS slaAtRiskAt, t.slaState AS slaState, " +
+            "t.status AS status FROM Ticket t WHERE t.updatedAt >= :since AND t.id > :afterId ORDER BY t.id")
+    List<SlaTimerSourceProjection> findSlaTimerSourcesUpdatedSince(@Param("since") LocalDateTime since,
+                                                                   @Param("afterId") Long afterId, Pageable pageable);
+
+    // Moves an open ticket's SLA state forward, but only while its deadline is still the one the timer was
+    // set for and it is in one of the from states. Returns 0 when another node got there first or the
+    // ticket changed since, so each transition is applied and announced once.
+    @Modifying
+    @Query("UPDATE Ticket t SET t.slaState = :to WHERE t.id = :id AND t.slaBreachAt >= :deadlineFrom " +
+            "AND t.slaBreachAt < :deadlineTo AND (t.slaState IS NULL OR t.slaState IN :from) AND t.status NOT IN :closed")
+    int advanceSlaState(@Param("id") Long id, @Param("deadlineFrom") LocalDateTime deadlineFrom,
+                        @Param("deadlineTo") LocalDateTime deadlineTo, @Param("from") Collection<SlaState> from,
+                        @Param("to") SlaState to, @Param("closed") Collection<TicketStatus> closed);
+
+    // Leads of the teams the ticket is assigned to, who are told when its SLA is at risk or breached.
+    @Query("SELECT DISTINCT a.team.teamLead.id FROM Ticket t JOIN t.assignedTo a WHERE t.id = :ticketId AND a.team.teamLead IS NOT NULL")
+    List<Long> findTeamLeadIdsByTicketId(@Param("ticketId") Long ticketId);
+
+    // Report rollups: the tickets created in [from, to), with their customer's city.
+    @Query("SELECT t.id AS id, t.category AS category, t.status AS status, t.severity AS severity, c.city AS city, " +
+            "t.createdAt AS createdAt, t.resolvedAt AS resolvedAt " +
+            "FROM Ticket t LEFT JOIN t.createdFor c WHERE t.createdAt >= :from AND t.createdAt < :to")
+    List<TicketRollupSourceProjection> findRollupSourcesCreatedBetween(@Param("from") LocalDateTime from,
+                                                                        @Param("to") LocalDateTime to);
+
+    // Report rollups: the team each assigned ticket created in [from, to) is reported under.
+    @Query("SELECT t.id AS ticketId, MIN(a.team.id) AS teamId FROM Ticket t JOIN t.assignedTo a " +
+            "WHERE t.createdAt >= :from AND t.createdAt < :to AND a.team IS NOT NULL GROUP BY t.id")
+    List<TicketTeamProjection> findRollupTeamsCreatedBetween(@Param("from") LocalDateTime from,
+                                                             @Param("to") LocalDateTime to);
+
+    @Query("SELECT t.createdAt FROM Ticket t WHERE t.id = :id")
+    Optional<LocalDateTime> findCreatedAtById(@Param("id") Long id);
+
+    @Query("SELECT MIN(t.createdAt) FROM Ticket t")
+    Optional<LocalDateTime> findEarliestCreatedAt();
+
+    // Ticket detail lookups: loads createdFor, assignedBy and assignedTo with the ticket so that
+    // mapping to TicketDetailDto does not fire a lazy SELECT per association.
+    @EntityGraph(Ticket.DETAIL_GRAPH)
+    Optional<Ticket> findDetailById(Long id);
+
+    @EntityGraph(Ticket.DETAIL_GRAPH)
+    Optional<Ticket> findDetailByTicketUid(String ticketUid);
+
+    // --- Keyset pages, newest first. Pass KeysetPagination cursor values and limit(). ---
+
+    @Query(SELECT_SUMMARY + "FROM Ticket t WHERE t.status IN :statuses " +
+            "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TicketSummaryDto> findSummaryPageByStatusIn(@Param("statuses") List<TicketStatus> statuses,
+                                                     @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query(SELECT_SUMMARY + "FROM Ticket t WHERE t.createdBy = :user AND t.status IN :statuses " +
+            "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TicketSummaryDto> findSummaryPageByCreatedByAndStatusIn(@Param("user") AppUser user, @Param("statuses") List<TicketStatus> statuses,
+                                                                 @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query(SELECT_SUMMARY + "FROM Ticket t JOIN t.assignedTo a WHERE a = :user AND t.status IN :statuses " +
+            "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TicketSummaryDto> findSummaryPageByAssignedToAndStatusIn(@Param("user") AppUser user, @Param("statuses") List<TicketStatus> statuses,
+                                                                  @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
 }
\ No newline at end of file
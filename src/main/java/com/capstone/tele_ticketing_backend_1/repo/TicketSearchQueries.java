@@ -0,0 +1,31 @@
+package com.capstone.tele_ticketing_backend_1.repo;
+
+import com.capstone.tele_ticketing_backend_1.dto.TicketSearchRowDto;
+import com.capstone.tele_ticketing_backend_1.entities.Ticket;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Criteria queries for the manager ticket search that a derived or @Query method cannot express:
+ * a projected, dynamically sorted page and GROUP BY counts under an arbitrary Specification.
+ * Implemented by TicketSearchQueriesImpl and mixed into {@link TicketRepo}.
+ */
+public interface TicketSearchQueries {
+
+    /**
+     * @param sortAttribute The LocalDateTime Ticket attribute to order by; id breaks ties in the same direction.
+     * @param limit Maximum rows to return (the page size plus one look-ahead row).
+     */
+    List<TicketSearchRowDto> findSearchPage(Specification<Ticket> spec, String sortAttribute, boolean ascending, int limit);
+
+    // Matching tickets per value of a single-valued Ticket attribute; tickets with no value are not counted.
+    <T> Map<T, Long> countGroupedBy(Specification<Ticket> spec, String attribute);
+
+    // Matching tickets per team of their assignees; a ticket counts once per team it is assigned into.
+    Map<Long, Long> countGroupedByAssigneeTeam(Specification<Ticket> spec);
+
+    // Matching tickets per city of the customer they were raised for.
+    Map<String, Long> countGroupedByCustomerCity(Specification<Ticket> spec);
+}
@@ -0,0 +1,95 @@
+package com.capstone.tele_ticketing_backend_1.repo;
+
+import com.capstone.tele_ticketing_backend_1.dto.TicketSearchRowDto;
+import com.capstone.tele_ticketing_backend_1.entities.AppUser;
+import com.capstone.tele_ticketing_backend_1.entities.Ticket;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class TicketSearchQueriesImpl implements TicketSearchQueries {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<TicketSearchRowDto> findSearchPage(Specification<Ticket> spec, String sortAttribute, boolean ascending, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TicketSearchRowDto> query = criteriaBuilder.createQuery(TicketSearchRowDto.class);
+        Root<Ticket> ticket = query.from(Ticket.class);
+        // Same five columns as TicketRepo.SELECT_SUMMARY, plus the sort key for the next cursor.
+        query.select(criteriaBuilder.construct(TicketSearchRowDto.class,
+                ticket.get("id"), ticket.get("ticketUid"), ticket.get("title"), ticket.get("status"),
+                ticket.get("createdAt"), ticket.get(sortAttribute)));
+        where(query, spec, ticket, criteriaBuilder);
+        if (ascending) {
+            query.orderBy(criteriaBuilder.asc(ticket.get(sortAttribute)), criteriaBuilder.asc(ticket.get("id")));
+        } else {
+            query.orderBy(criteriaBuilder.desc(ticket.get(sortAttribute)), criteriaBuilder.desc(ticket.get("id")));
+        }
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public <T> Map<T, Long> countGroupedBy(Specification<Ticket> spec, String attribute) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Ticket> ticket = query.from(Ticket.class);
+        return grouped(query, spec, ticket, ticket.get(attribute), criteriaBuilder.count(ticket), criteriaBuilder);
+    }
+
+    @Override
+    public Map<Long, Long> countGroupedByAssigneeTeam(Specification<Ticket> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Ticket> ticket = query.from(Ticket.class);
+        Join<Ticket, AppUser> assignee = ticket.join("assignedTo");
+        // DISTINCT: two assignees on the same team still count the ticket once for that team.
+        return grouped(query, spec, ticket, assignee.get("team").get("id"), criteriaBuilder.countDistinct(ticket), criteriaBuilder);
+    }
+
+    @Override
+    public Map<String, Long> countGroupedByCustomerCity(Specification<Ticket> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Ticket> ticket = query.from(Ticket.class);
+        Join<Ticket, AppUser> customer = ticket.join("createdFor");
+        return grouped(query, spec, ticket, customer.get("city"), criteriaBuilder.count(ticket), criteriaBuilder);
+    }
+
+    private <T> Map<T, Long> grouped(CriteriaQuery<Tuple> query, Specification<Ticket> spec, Root<Ticket> ticket,
+                                     Expression<?> key, Expression<Long> count, CriteriaBuilder criteriaBuilder) {
+        query.multiselect(key, count);
+        where(query, spec, ticket, criteriaBuilder);
+        query.groupBy(key);
+
+        Map<T, Long> counts = new LinkedHashMap<>();
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            @SuppressWarnings("unchecked")
+            T value = (T) row.get(0);
+            if (value != null) {
+                counts.put(value, row.get(1, Long.class));
+            }
+        }
+        return counts;
+    }
+
+    private static void where(CriteriaQuery<?> query, Specification<Ticket> spec, Root<Ticket> ticket,
+                              CriteriaBuilder criteriaBuilder) {
+        Predicate predicate = spec.toPredicate(ticket, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.capstone.tele_ticketing_backend_1.repo;
+
+import com.capstone.tele_ticketing_backend_1.entities.TicketSignature;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+import com.capstone.tele_ticketing_backend_1.projections.TicketSignatureSourceProjection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TicketSignatureRepo extends JpaRepository<TicketSignature, Long> {
+
+    // Startup load: the next page of signatures of tickets that are still open, in id order. Pass PageRequest.of(0, size).
+    @Query("SELECT s FROM TicketSignature s WHERE s.ticketId > :afterId " +
+            "AND EXISTS (SELECT t.id FROM Ticket t WHERE t.id = s.ticketId AND t.status IN :statuses) ORDER BY s.ticketId")
+    List<TicketSignature> findOpenPage(@Param("afterId") Long afterId, @Param("statuses") Collection<TicketStatus> statuses,
+                                       Pageable pageable);
+
+    // Index sync: the next page of signatures of open tickets updated since a point in time, in id order.
+    // Driven from the tickets' updated_at index, since only a few tickets change between syncs.
+    @Query("SELECT s FROM Ticket t JOIN TicketSignature s ON s.ticketId = t.id " +
+            "WHERE t.updatedAt >= :since AND t.status IN :statuses AND t.id > :afterId ORDER BY t.id")
+    List<TicketSignature> findOpenUpdatedSincePage(@Param("since") LocalDateTime since, @Param("afterId") Long afterId,
+                                                   @Param("statuses") Collection<TicketStatus> statuses, Pageable pageable);
+
+    // Startup backfill: open tickets that have no signature row yet, in id order.
+    @Query("SELECT t.id AS id, t.category AS category, u.city AS city, t.title AS title, t.description AS description " +
+            "FROM Ticket t JOIN t.createdFor u WHERE t.id > :afterId AND t.status IN :statuses " +
+            "AND NOT EXISTS (SELECT s.ticketId FROM TicketSignature s WHERE s.ticketId = t.id) ORDER BY t.id")
+    List<TicketSignatureSourceProjection> findOpenWithoutSignaturePage(@Param("afterId") Long afterId,
+                                                                       @Param("statuses") Collection<TicketStatus> statuses,
+                                                                       Pageable pageable);
+}
@@ -0,0 +1,42 @@
+package com.capstone.tele_ticketing_backend_1.repo;
+
+import com.capstone.tele_ticketing_backend_1.entities.TicketRelation;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatusCounter;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatusCounterId;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TicketStatusCounterRepo extends JpaRepository<TicketStatusCounter, TicketStatusCounterId> {
+
+    // One statement for a whole dashboard: the user is resolved in a subquery.
+    @Query("SELECT c FROM TicketStatusCounter c WHERE c.id.relation = :relation " +
+            "AND c.id.userId = (SELECT u.id FROM AppUser u WHERE u.username = :username)")
+    List<TicketStatusCounter> findByUsernameAndRelation(@Param("username") String username,
+                                                        @Param("relation") TicketRelation relation);
+
+    // Atomic in the database, so concurrent transitions never lose an update. Returns 0 if the row is missing.
+    @Modifying
+    @Query("UPDATE TicketStatusCounter c SET c.ticketCount = c.ticketCount + :delta WHERE c.id = :id")
+    int increment(@Param("id") TicketStatusCounterId id, @Param("delta") long delta);
+
+    // Sets a counter to a recounted value. Returns 0 if it already held it, or the row is missing.
+    @Modifying
+    @Query("UPDATE TicketStatusCounter c SET c.ticketCount = :count WHERE c.id = :id AND c.ticketCount <> :count")
+    int setCount(@Param("id") TicketStatusCounterId id, @Param("count") long count);
+
+    // SELECT ... FOR UPDATE on one counter row, so the reconcile can take rows in the same order as increments do.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM TicketStatusCounter c WHERE c.id = :id")
+    Optional<TicketStatusCounter> findForUpdate(@Param("id") TicketStatusCounterId id);
+
+    Optional<TicketStatusCounter> findFirstBy();
+}
@@ -2,10 +2,15 @@ package com.capstone.tele_ticketing_backend_1.repo;
 
 import com.capstone.tele_ticketing_backend_1.entities.AppUser;
 import com.capstone.tele_ticketing_backend_1.entities.ERole;
+import com.capstone.tele_ticketing_backend_1.projections.UserFacetSourceProjection;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,13 +19,30 @@ public interface UserRepo extends JpaRepository<AppUser, Long> {
     Optional<AppUser> findByUsername(String username);
     Boolean existsByUsername(String username);
 
-    List<AppUser> findAllByRoles_NameIn(List<ERole> roles);
+    List<AppUser> findAllByUsernameIn(Collection<String> usernames);
 
-    List<AppUser> findAllByRoles_Name(ERole roleName);
+    List<AppUser> findAllByRoles_NameIn(List<ERole> roles);
 
     List<AppUser> findByTeamIsNullAndRoles_NameIn(List<ERole> roles);
     @Query("SELECT DISTINCT u.city FROM AppUser u WHERE u.city IS NOT NULL AND u.city != '' ORDER BY u.city")
     List<String> findDistinctCities();
 
     List<AppUser> findAllByRoles_NameNot(ERole roleName);
+
+    @Query("SELECT u FROM AppUser u JOIN u.roles r WHERE r.name = :role " +
+            "AND (u.createdAt < :createdAt OR (u.createdAt = :createdAt AND u.id < :id)) " +
+            "ORDER BY u.createdAt DESC, u.id DESC")
+    List<AppUser> findPageByRole(@Param("role") ERole role,
+                                 @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT u.tokenEpoch FROM AppUser u WHERE u.id = :id")
+    Optional<Long> findTokenEpochById(@Param("id") Long id);
+
+    // Facet index rebuild: every user's city and team.
+    @Query("SELECT u.id AS id, u.city AS city, tm.id AS teamId FROM AppUser u LEFT JOIN u.team tm")
+    List<UserFacetSourceProjection> findFacetSources();
+
+    // Facet index sync: the city and team of users updated since a point in time.
+    @Query("SELECT u.id AS id, u.city AS city, tm.id AS teamId FROM AppUser u LEFT JOIN u.team tm WHERE u.updatedAt >= :since")
+    List<UserFacetSourceProjection> findFacetSourcesUpdatedSince(@Param("since") LocalDateTime since);
 }
@@ -1,9 +1,20 @@
 package com.capstone.tele_ticketing_backend_1.repo;
 
 import com.capstone.tele_ticketing_backend_1.entities.UserSignupRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface UserSignupRequestRepo extends JpaRepository<UserSignupRequest, Long> {
+
+    @Query("SELECT r FROM UserSignupRequest r " +
+            "WHERE r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<UserSignupRequest> findPage(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
 }
@@ -4,6 +4,7 @@ package com.capstone.tele_ticketing_backend_1.security.config;
 import com.capstone.tele_ticketing_backend_1.security.jwt.AuthEntryPointJwt;
 import com.capstone.tele_ticketing_backend_1.security.jwt.AuthTokenFilter;
 import com.capstone.tele_ticketing_backend_1.security.service.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -66,7 +67,9 @@ public class WebSecurityConfig {
 				.csrf(AbstractHttpConfigurer::disable)
 				// Dr. X's Note: We are defining the authorization rules here.
 				.authorizeHttpRequests(auth -> auth.
-						requestMatchers(PUBLIC_REQUEST_MATCHERS).permitAll()
+						// SSE streams finish on an async dispatch after the request was authorised; the JWT filter does not run again there.
+						dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+						.requestMatchers(PUBLIC_REQUEST_MATCHERS).permitAll()
 						.requestMatchers("/api/v1/customer/**").hasRole("CUSTOMER")
 						.requestMatchers("/api/v1/agent/**").hasRole("AGENT")
 						.requestMatchers("/api/v1/triage/**").hasRole("TRIAGE_OFFICER")
@@ -1,7 +1,10 @@
 package com.capstone.tele_ticketing_backend_1.security.jwt;
 
 
+import com.capstone.tele_ticketing_backend_1.security.service.TokenEpochService;
+import com.capstone.tele_ticketing_backend_1.security.service.UserDetailsImpl;
 import com.capstone.tele_ticketing_backend_1.security.service.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,6 +12,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -24,24 +28,35 @@ import java.io.IOException;
 public class AuthTokenFilter extends OncePerRequestFilter {
   private final JwtUtils jwtUtils;
   private final UserDetailsServiceImpl userDetailsService;
+  private final TokenEpochService tokenEpochService;
 
   private static final Logger log = LoggerFactory.getLogger(AuthTokenFilter.class);
 
+  // When enabled, the principal is rebuilt from the verified token claims instead of loading the user on every request.
+  @Value("${jwtStatelessPrincipal:false}")
+  private boolean statelessPrincipal;
+
+  // Only relevant in stateless mode: rejects tokens issued before the user's last role change.
+  @Value("${jwtTokenEpochCheck:true}")
+  private boolean tokenEpochCheck;
+
 
   @Override
   protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
       throws ServletException, IOException {
     try {
       String jwt = parseJwt(request);
-      if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-        String username = jwtUtils.getUserNameFromJwtToken(jwt);
-        //Validate user specific keys
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userDetails, null,
-            userDetails.getAuthorities());
-        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+      // Single verification per request; the claims are reused below instead of re-parsing the token.
+      Claims claims = jwt != null ? jwtUtils.verifyJwtToken(jwt) : null;
+      if (claims != null) {
+        UserDetails userDetails = resolveUserDetails(claims);
+        if (userDetails != null) {
+          UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userDetails, null,
+              userDetails.getAuthorities());
+          authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+          SecurityContextHolder.getContext().setAuthentication(authentication);
+        }
       }
     } catch (Exception e) {
       log.error("Cannot set user authentication", e);
@@ -50,6 +65,23 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     filterChain.doFilter(request, response);
   }
 
+  private UserDetails resolveUserDetails(Claims claims) {
+    if (statelessPrincipal) {
+      UserDetailsImpl principal = jwtUtils.buildUserDetailsFromClaims(claims);
+      if (principal != null) {
+        if (tokenEpochCheck && !tokenEpochService.isCurrent(principal.getId(), principal.getTokenEpoch())) {
+          log.warn("Rejected revoked token for user {}", principal.getUsername());
+          return null;
+        }
+        return principal;
+      }
+      // Tokens issued before the uid/epoch claims existed fall through to the database lookup.
+    }
+
+    //Validate user specific keys
+    return userDetailsService.loadUserByUsername(claims.getSubject());
+  }
+
   private String parseJwt(HttpServletRequest request) {
     String headerAuth = request.getHeader("Authorization");
 
@@ -10,6 +10,9 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import jakarta.annotation.PostConstruct;
 
 import com.capstone.tele_ticketing_backend_1.security.service.UserDetailsImpl;
 
@@ -21,12 +24,32 @@ import io.jsonwebtoken.security.Keys;
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+    static final String CLAIM_AUTHORITIES = "authorities";
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_TOKEN_EPOCH = "epoch";
+
     @Value("${jwtSecret}")
     private String jwtSecret;
 
     @Value("${jwtExpirationMs}")
     private int jwtExpirationMs;
 
+    // Number of verified tokens kept in memory; 0 disables the cache.
+    @Value("${jwtVerifiedCacheSize:10000}")
+    private int verifiedCacheSize;
+
+    // The key and parser are immutable and thread-safe, so they are built once instead of per call.
+    private Key signInKey;
+    private JwtParser jwtParser;
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @PostConstruct
+    void init() {
+        signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        jwtParser = Jwts.parserBuilder().setSigningKey(signInKey).build();
+        verifiedTokenCache = new VerifiedTokenCache(verifiedCacheSize);
+    }
+
     public String generateJwtToken(Authentication authentication) {
 
         UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
@@ -44,20 +67,70 @@ public class JwtUtils {
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
 
                 // 2. This is the critical new line that adds the roles to the token's payload.
-                .claim("authorities", roles)
+                .claim(CLAIM_AUTHORITIES, roles)
+                // User id and token epoch let AuthTokenFilter rebuild the principal without a DB lookup.
+                .claim(CLAIM_USER_ID, userPrincipal.getId())
+                .claim(CLAIM_TOKEN_EPOCH, userPrincipal.getTokenEpoch())
 
-                .signWith(getSignInKey(), SignatureAlgorithm.HS512)
+                .signWith(signInKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
+    /**
+     * Verifies the token signature and expiry and returns its claims. Tokens that were already
+     * verified are served from {@link VerifiedTokenCache} until they expire.
+     *
+     * @throws JwtException if the token is malformed, expired, unsupported or badly signed
+     */
+    public Claims parseAndVerify(String token) {
+        if (!StringUtils.hasText(token)) {
+            throw new IllegalArgumentException("JWT String argument cannot be null or empty.");
+        }
+        long now = System.currentTimeMillis();
+        String digest = VerifiedTokenCache.digest(token);
+        Claims cached = verifiedTokenCache.get(digest, now);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        verifiedTokenCache.put(digest, claims, now);
+        return claims;
+    }
+
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSignInKey()).build().parseClaimsJws(token).getBody().getSubject();
+        return parseAndVerify(token).getSubject();
+    }
+
+    /**
+     * Rebuilds the principal from verified claims. Returns null for tokens issued before the
+     * id/epoch claims existed, so the caller can fall back to loading the user from the database.
+     */
+    public UserDetailsImpl buildUserDetailsFromClaims(Claims claims) {
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        Number tokenEpoch = claims.get(CLAIM_TOKEN_EPOCH, Number.class);
+        Object authorities = claims.get(CLAIM_AUTHORITIES);
+        if (userId == null || tokenEpoch == null || !(authorities instanceof List<?> authorityList)) {
+            return null;
+        }
+
+        List<String> authorityNames = authorityList.stream().map(String::valueOf).toList();
+        return UserDetailsImpl.fromClaims(userId.longValue(), claims.getSubject(), authorityNames, tokenEpoch.longValue());
     }
 
     public boolean validateJwtToken(String authToken) {
+        return verifyJwtToken(authToken) != null;
+    }
+
+    /**
+     * Same checks as {@link #validateJwtToken(String)}, but hands back the verified claims
+     * so callers do not have to parse the token a second time.
+     *
+     * @return the claims, or null if the token is not valid
+     */
+    public Claims verifyJwtToken(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(getSignInKey()).build().parseClaimsJws(authToken);
-            return true;
+            return parseAndVerify(authToken);
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -68,11 +141,6 @@ public class JwtUtils {
             logger.error("JWT claims string is empty: {}", e.getMessage());
         }
 
-        return false;
-    }
-
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return null;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,76 @@
+package com.capstone.tele_ticketing_backend_1.security.jwt;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of already-verified tokens, keyed by the SHA-256 digest of the raw token
+ * so the tokens themselves are never kept in memory.
+ * Entries expire together with the token they were built from, so an expired token is
+ * never served from the cache.
+ */
+class VerifiedTokenCache {
+
+    private final int maxEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private record Entry(Claims claims, long expiresAtMs) {
+    }
+
+    VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    Claims get(String digest, long nowMs) {
+        Entry entry = entries.get(digest);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMs() <= nowMs) {
+            entries.remove(digest, entry);
+            return null;
+        }
+        return entry.claims();
+    }
+
+    void put(String digest, Claims claims, long nowMs) {
+        Date expiration = claims.getExpiration();
+        // Tokens without an expiry are never cached; there is no safe point to drop them.
+        if (maxEntries <= 0 || expiration == null || expiration.getTime() <= nowMs) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evict(nowMs);
+        }
+        entries.put(digest, new Entry(claims, expiration.getTime()));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evict(long nowMs) {
+        entries.values().removeIf(entry -> entry.expiresAtMs() <= nowMs);
+        // Still full of live tokens: start over rather than tracking recency on the hot path.
+        if (entries.size() >= maxEntries) {
+            entries.clear();
+        }
+    }
+
+    static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
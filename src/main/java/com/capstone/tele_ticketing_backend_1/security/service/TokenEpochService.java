@@ -0,0 +1,90 @@
+package com.capstone.tele_ticketing_backend_1.security.service;
+
+import com.capstone.tele_ticketing_backend_1.entities.AppUser;
+import com.capstone.tele_ticketing_backend_1.repo.UserRepo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the per-user "token epoch" used to revoke stateless JWTs.
+ * Every token carries the epoch the user had when it was issued; bumping the epoch
+ * (e.g. on a role change) invalidates all tokens issued before it.
+ * Lookups are cached for a short TTL so the JWT filter does not query the database on every request.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenEpochService {
+
+    private static final int MAX_CACHED_USERS = 50_000;
+
+    private final UserRepo userRepo;
+
+    @Value("${jwtEpochCacheTtlMs:30000}")
+    private long cacheTtlMs;
+
+    private final Map<Long, CachedEpoch> cache = new ConcurrentHashMap<>();
+
+    private record CachedEpoch(long epoch, long loadedAtMs) {
+    }
+
+    /**
+     * @return true if a token issued with {@code tokenEpoch} is still valid for the user.
+     * Unknown (e.g. deleted) users are always rejected.
+     */
+    public boolean isCurrent(Long userId, long tokenEpoch) {
+        if (userId == null) {
+            return false;
+        }
+        Long current = currentEpoch(userId);
+        return current != null && tokenEpoch >= current;
+    }
+
+    /**
+     * Invalidates every token previously issued to the user. Must be called inside the
+     * transaction that persists the user; the cached epoch is dropped only after commit so a
+     * concurrent request cannot re-cache the old value.
+     */
+    public void revokeTokens(AppUser user) {
+        user.setTokenEpoch(user.getTokenEpoch() + 1);
+
+        Long userId = user.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.remove(userId);
+                }
+            });
+        } else {
+            cache.remove(userId);
+        }
+        log.info("Revoked existing tokens for user ID: {} (epoch now {})", userId, user.getTokenEpoch());
+    }
+
+    private Long currentEpoch(Long userId) {
+        long now = System.currentTimeMillis();
+        CachedEpoch cached = cache.get(userId);
+        if (cached != null && now - cached.loadedAtMs() < cacheTtlMs) {
+            return cached.epoch();
+        }
+
+        Long epoch = userRepo.findTokenEpochById(userId).orElse(null);
+        if (epoch == null) {
+            cache.remove(userId);
+            return null;
+        }
+        if (cache.size() >= MAX_CACHED_USERS) {
+            cache.clear();
+        }
+        cache.put(userId, new CachedEpoch(epoch, now));
+        return epoch;
+    }
+}
@@ -23,12 +23,20 @@ public class UserDetailsImpl implements UserDetails {
 
 	private Collection<? extends GrantedAuthority> authorities;
 
+	private long tokenEpoch;
+
 	public UserDetailsImpl(Long id, String username, String password,
 						   Collection<? extends GrantedAuthority> authorities) {
+		this(id, username, password, authorities, 0L);
+	}
+
+	public UserDetailsImpl(Long id, String username, String password,
+						   Collection<? extends GrantedAuthority> authorities, long tokenEpoch) {
 		this.id = id;
 		this.username = username;
 		this.password = password;
 		this.authorities = authorities;
+		this.tokenEpoch = tokenEpoch;
 	}
 
 	public static UserDetailsImpl build(AppUser user) {
@@ -40,7 +48,20 @@ public class UserDetailsImpl implements UserDetails {
 				user.getId(),
 				user.getUsername(),
 				user.getPassword(),
-				authorities);
+				authorities,
+				user.getTokenEpoch());
+	}
+
+	/**
+	 * Builds a principal from already-verified JWT claims, without touching the database.
+	 * The password is left null because a token-authenticated principal never needs it.
+	 */
+	public static UserDetailsImpl fromClaims(Long id, String username, List<String> authorityNames, long tokenEpoch) {
+		List<GrantedAuthority> authorities = authorityNames.stream()
+				.map(name -> (GrantedAuthority) new SimpleGrantedAuthority(name))
+				.collect(Collectors.toList());
+
+		return new UserDetailsImpl(id, username, null, authorities, tokenEpoch);
 	}
 
 	@Override
@@ -52,6 +73,10 @@ public class UserDetailsImpl implements UserDetails {
 		return id;
 	}
 
+	public long getTokenEpoch() {
+		return tokenEpoch;
+	}
+
 	@Override
 	public String getPassword() {
 		return password;
@@ -23,21 +23,46 @@ public class ActivityLogService implements ActivityLogServiceInterface {
 
     private final TicketActivityRepo activityRepo;
     private final TicketRepo ticketRepo;
+    private final NotificationInboxService notificationInboxService;
+    private final ActivityWriteBehindService activityWriteBehindService;
 
     /**
      * Core method to create a new log entry. This will be called by other services.
+     * Internal-only entries go through the write-behind pipeline when it is enabled, and are
+     * written shortly after the caller's transaction commits.
      */
     @Transactional
     public void createLog(Ticket ticket, AppUser user, ActivityType type, String description, boolean isInternal) {
         log.debug("Creating activity log for ticket {} by user {}: {} (internal: {})", 
                 ticket.getTicketUid(), user.getUsername(), description, isInternal);
-        TicketActivity log = new TicketActivity();
-        log.setTicket(ticket);
-        log.setUser(user);
-        log.setActivityType(type);
-        log.setDescription(description);
-        log.setInternalOnly(isInternal);
-        activityRepo.save(log);
+        if (isInternal && activityWriteBehindService.isEnabled()) {
+            activityWriteBehindService.submit(buildLog(ticket, user, type, description, true));
+            return;
+        }
+        TicketActivity activity = activityRepo.save(buildLog(ticket, user, type, description, isInternal));
+        notificationInboxService.deliver(List.of(activity));
+    }
+
+    /**
+     * Saves several log entries in one go, so they can be written as a single JDBC batch.
+     */
+    @Transactional
+    public void createLogs(List<TicketActivity> activities) {
+        log.debug("Creating {} activity logs", activities.size());
+        notificationInboxService.deliver(activityRepo.saveAll(activities));
+    }
+
+    /**
+     * Builds an unsaved log entry, e.g. to collect several for {@link #createLogs(List)}.
+     */
+    public TicketActivity buildLog(Ticket ticket, AppUser user, ActivityType type, String description, boolean isInternal) {
+        TicketActivity activity = new TicketActivity();
+        activity.setTicket(ticket);
+        activity.setUser(user);
+        activity.setActivityType(type);
+        activity.setDescription(description);
+        activity.setInternalOnly(isInternal);
+        return activity;
     }
 
     /**
@@ -4,15 +4,27 @@ import com.capstone.tele_ticketing_backend_1.dto.ActivityLogDto;
 import com.capstone.tele_ticketing_backend_1.entities.AppUser;
 import com.capstone.tele_ticketing_backend_1.entities.ActivityType;
 import com.capstone.tele_ticketing_backend_1.entities.Ticket;
+import com.capstone.tele_ticketing_backend_1.entities.TicketActivity;
 import java.util.List;
 
 public interface ActivityLogServiceInterface {
 
     /**
      * Core method to create a new log entry. This will be called by other services.
+     * Internal-only entries may be written after the caller's transaction commits (see ActivityWriteBehindService).
      */
     void createLog(Ticket ticket, AppUser user, ActivityType type, String description, boolean isInternal);
 
+    /**
+     * Saves several log entries in one go, so they can be written as a single JDBC batch.
+     */
+    void createLogs(List<TicketActivity> activities);
+
+    /**
+     * Builds an unsaved log entry, e.g. to collect several for {@link #createLogs(List)}.
+     */
+    TicketActivity buildLog(Ticket ticket, AppUser user, ActivityType type, String description, boolean isInternal);
+
     /**
      * Retrieves logs for a ticket based on the requesting user's role and permissions.
      */
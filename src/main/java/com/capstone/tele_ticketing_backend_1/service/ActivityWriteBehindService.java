@@ -0,0 +1,230 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.dto.ActivityWriteBehindStatsDto;
+import com.capstone.tele_ticketing_backend_1.entities.TicketActivity;
+import com.capstone.tele_ticketing_backend_1.repo.TicketActivityRepo;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Write-behind pipeline for internal-only activity logs. Callers hand over the unsaved activity
+ * and return; a single flusher thread writes the queue every flush interval, or as soon as a full
+ * batch is waiting, as JDBC batches in one transaction per batch. Customer-visible logs never come
+ * here: they stay synchronous because the notification inbox is written alongside them.
+ * <p>
+ * The queue is drained when the application shuts down. Activities still queued when the process
+ * dies without a shutdown are lost, which is the trade-off accepted for internal audit entries.
+ */
+@Service
+@Slf4j
+public class ActivityWriteBehindService implements ActivityWriteBehindServiceInterface {
+
+    private final TicketActivityRepo activityRepo;
+    // REQUIRES_NEW: overflow writes run from afterCommit, where the caller's transaction is finished but still bound.
+    private final TransactionTemplate writeTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long shutdownTimeoutMs;
+    private final BoundedRingBuffer<TicketActivity> ring;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong overflowWrites = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong totalFlushNanos = new AtomicLong();
+    private final AtomicLong lastFlushNanos = new AtomicLong();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+
+    private volatile Thread flusher;
+    private volatile boolean stopped;
+
+    public ActivityWriteBehindService(TicketActivityRepo activityRepo,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${activity.write-behind.enabled:false}") boolean enabled,
+                                      @Value("${activity.write-behind.capacity:8192}") int capacity,
+                                      @Value("${activity.write-behind.batch-size:200}") int batchSize,
+                                      @Value("${activity.write-behind.flush-interval-ms:200}") long flushIntervalMs,
+                                      @Value("${activity.write-behind.shutdown-timeout-ms:10000}") long shutdownTimeoutMs) {
+        this.activityRepo = activityRepo;
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.writeTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.ring = new BoundedRingBuffer<>(capacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::runFlusher, "activity-write-behind");
+        thread.setDaemon(true);
+        flusher = thread;
+        thread.start();
+        log.info("Activity write-behind enabled: capacity {}, batch size {}, flush interval {} ms",
+                ring.capacity(), batchSize, TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopped = true;
+        Thread thread = flusher;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(shutdownTimeoutMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Whatever the flusher did not get to before the timeout, plus anything queued while it stopped.
+        int drained = flush();
+        if (drained > 0) {
+            log.info("Wrote {} queued activities on shutdown", drained);
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void submit(TicketActivity activity) {
+        // Stamp the time it was logged, not the time it happens to be written.
+        if (activity.getCreatedAt() == null) {
+            activity.setCreatedAt(LocalDateTime.now());
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(activity);
+                }
+            });
+        } else {
+            enqueue(activity);
+        }
+    }
+
+    @Override
+    public synchronized int flush() {
+        int total = 0;
+        while (true) {
+            List<TicketActivity> batch = new ArrayList<>(batchSize);
+            TicketActivity activity;
+            while (batch.size() < batchSize && (activity = ring.poll()) != null) {
+                batch.add(activity);
+            }
+            if (batch.isEmpty()) {
+                return total;
+            }
+            total += write(batch);
+        }
+    }
+
+    @Override
+    public ActivityWriteBehindStatsDto getStats() {
+        long flushCount = flushes.get();
+        return new ActivityWriteBehindStatsDto(
+                enabled,
+                ring.size(),
+                ring.capacity(),
+                enqueued.get(),
+                written.get(),
+                failed.get(),
+                overflowWrites.get(),
+                flushCount,
+                toMillis(lastFlushNanos.get()),
+                toMillis(maxFlushNanos.get()),
+                flushCount == 0 ? 0 : toMillis(totalFlushNanos.get()) / flushCount
+        );
+    }
+
+    private void enqueue(TicketActivity activity) {
+        if (!ring.offer(activity)) {
+            // Backpressure: the caller pays for its own write rather than the log being dropped.
+            overflowWrites.incrementAndGet();
+            write(List.of(activity));
+            return;
+        }
+        enqueued.incrementAndGet();
+        Thread thread = flusher;
+        if (stopped) {
+            // Queued after the shutdown drain started; don't leave it behind.
+            flush();
+        } else if (thread != null && ring.size() >= batchSize) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void runFlusher() {
+        while (!stopped) {
+            if (ring.size() < batchSize) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                log.error("Activity write-behind flush failed", e);
+            }
+        }
+    }
+
+    // Writes one batch; if it fails, retries entry by entry so one bad activity does not sink its neighbours.
+    private int write(List<TicketActivity> batch) {
+        long start = System.nanoTime();
+        try {
+            writeTemplate.executeWithoutResult(status -> activityRepo.saveAll(batch));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                failed.incrementAndGet();
+                log.error("Dropping internal activity for ticket {}: {}",
+                        batch.get(0).getTicket() != null ? batch.get(0).getTicket().getId() : null, e.getMessage());
+                return 0;
+            }
+            log.warn("Activity batch of {} failed, retrying one by one", batch.size(), e);
+            int saved = 0;
+            for (TicketActivity activity : batch) {
+                // The failed transaction may already have handed out an id.
+                activity.setId(null);
+                saved += write(List.of(activity));
+            }
+            return saved;
+        }
+        recordFlush(System.nanoTime() - start);
+        written.addAndGet(batch.size());
+        return batch.size();
+    }
+
+    private void recordFlush(long nanos) {
+        flushes.incrementAndGet();
+        totalFlushNanos.addAndGet(nanos);
+        lastFlushNanos.set(nanos);
+        maxFlushNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
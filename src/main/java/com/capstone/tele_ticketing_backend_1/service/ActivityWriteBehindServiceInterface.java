@@ -0,0 +1,33 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.dto.ActivityWriteBehindStatsDto;
+import com.capstone.tele_ticketing_backend_1.entities.TicketActivity;
+
+public interface ActivityWriteBehindServiceInterface {
+
+    /**
+     * @return Whether internal activities should be handed to {@link #submit(TicketActivity)}
+     *         instead of being saved in the caller's transaction.
+     */
+    boolean isEnabled();
+
+    /**
+     * Queues an unsaved activity to be written in a later batch. Inside a transaction it is only
+     * queued once that transaction commits, so a rolled-back action leaves no log behind.
+     * If the queue is full the activity is written straight away on the calling thread.
+     * @param activity The activity, built with {@code ActivityLogService.buildLog}.
+     */
+    void submit(TicketActivity activity);
+
+    /**
+     * Writes everything queued so far, in batches.
+     * @return The number of activities written.
+     */
+    int flush();
+
+    /**
+     * Retrieves the queue depth, throughput and flush latency of the pipeline.
+     * @return The current statistics.
+     */
+    ActivityWriteBehindStatsDto getStats();
+}
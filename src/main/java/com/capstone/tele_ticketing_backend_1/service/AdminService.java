@@ -9,6 +9,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.capstone.tele_ticketing_backend_1.dto.ApproveSignupRequestDto;
+import com.capstone.tele_ticketing_backend_1.dto.CursorPageDto;
 import com.capstone.tele_ticketing_backend_1.dto.RoleChangeRequestDto;
 import com.capstone.tele_ticketing_backend_1.dto.UserDetailsDto;
 import com.capstone.tele_ticketing_backend_1.entities.AppUser;
@@ -19,9 +20,9 @@ import com.capstone.tele_ticketing_backend_1.exceptions.BadRequestException;
 import com.capstone.tele_ticketing_backend_1.exceptions.ResourceNotFoundException;
 import com.capstone.tele_ticketing_backend_1.exceptions.RoleNotFoundException;
 import com.capstone.tele_ticketing_backend_1.exceptions.UserNotFoundException;
-import com.capstone.tele_ticketing_backend_1.repo.RoleRepo;
 import com.capstone.tele_ticketing_backend_1.repo.UserRepo;
 import com.capstone.tele_ticketing_backend_1.repo.UserSignupRequestRepo;
+import com.capstone.tele_ticketing_backend_1.security.service.TokenEpochService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -33,11 +34,17 @@ public class AdminService implements AdminServiceInterface {
 
     private final UserSignupRequestRepo signupRequestRepo;
     private final UserRepo userRepo;
-    private final RoleRepo roleRepo;
+    private final RoleRegistry roleRegistry;
+    private final TokenEpochService tokenEpochService;
 
     @Transactional(readOnly = true)
-    public List<UserSignupRequest> getPendingSignupRequests() {
-        return signupRequestRepo.findAll();
+    public CursorPageDto<UserSignupRequest> getPendingSignupRequests(String cursor, Integer size) {
+        int pageSize = KeysetPagination.pageSize(size);
+        KeysetPagination.Cursor position = KeysetPagination.decode(cursor);
+        List<UserSignupRequest> requests = signupRequestRepo.findPage(position.createdAt(), position.id(),
+                KeysetPagination.limit(pageSize));
+        return KeysetPagination.toPage(requests, pageSize, UserSignupRequest::getCreatedAt, UserSignupRequest::getId,
+                request -> request);
     }
 
     @Transactional
@@ -85,6 +92,8 @@ public class AdminService implements AdminServiceInterface {
         Set<Role> newRoles = new HashSet<>();
         newRoles.add(newRole);
         user.setRoles(newRoles); // This is now safe
+        // Tokens issued under the old role must stop working, even in stateless JWT mode.
+        tokenEpochService.revokeTokens(user);
 
         return userRepo.save(user);
     }
@@ -98,8 +107,8 @@ public class AdminService implements AdminServiceInterface {
     }
 
     private Role findRole(String roleName) {
-        ERole eRole = ERole.valueOf("ROLE_" + roleName.toUpperCase());
-        return roleRepo.findByName(eRole)
+        return ERole.fromKey(roleName)
+                .flatMap(roleRegistry::findRole)
                 .orElseThrow(() -> new RoleNotFoundException("Role " + roleName + " not found."));
     }
 
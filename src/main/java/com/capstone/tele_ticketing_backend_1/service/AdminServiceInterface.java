@@ -1,6 +1,7 @@
 package com.capstone.tele_ticketing_backend_1.service;
 
 
+import com.capstone.tele_ticketing_backend_1.dto.CursorPageDto;
 import com.capstone.tele_ticketing_backend_1.dto.ApproveSignupRequestDto;
 import com.capstone.tele_ticketing_backend_1.dto.RoleChangeRequestDto;
 import com.capstone.tele_ticketing_backend_1.dto.UserDetailsDto;
@@ -11,10 +12,12 @@ import java.util.List;
 public interface AdminServiceInterface {
 
     /**
-     * Retrieves all pending user signup requests.
-     * @return A list of UserSignupRequest entities.
+     * Retrieves one page of pending user signup requests, newest first.
+     * @param cursor The nextCursor of the previous page, or null for the first page.
+     * @param size Page size (default 20, capped at 100).
+     * @return A page of UserSignupRequest entities.
      */
-    List<UserSignupRequest> getPendingSignupRequests();
+    CursorPageDto<UserSignupRequest> getPendingSignupRequests(String cursor, Integer size);
 
     /**
      * Approves a signup request, creates a new AppUser, and deletes the request.
@@ -4,23 +4,29 @@ package com.capstone.tele_ticketing_backend_1.service;
 import com.capstone.tele_ticketing_backend_1.dto.DashboardActivityDto;
 import com.capstone.tele_ticketing_backend_1.dto.DashboardStatsDto;
 import com.capstone.tele_ticketing_backend_1.entities.AppUser;
+import com.capstone.tele_ticketing_backend_1.entities.TicketRelation;
 import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
 import com.capstone.tele_ticketing_backend_1.exceptions.UserNotFoundException;
+import com.capstone.tele_ticketing_backend_1.projections.TicketActivityFeedProjection;
 import com.capstone.tele_ticketing_backend_1.repo.TicketActivityRepo;
-import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
 import com.capstone.tele_ticketing_backend_1.repo.UserRepo;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AgentDashboardService implements AgentDashboardServiceInterface {
 
-    private final TicketRepo ticketRepo;
+    // Number of entries shown in the dashboard's recent-activity widget.
+    private static final int RECENT_ACTIVITY_LIMIT = 8;
+
+    private final TicketStatusCounterService ticketStatusCounterService;
     private final TicketActivityRepo activityRepo;
     private final UserRepo userRepo;
 
@@ -28,25 +34,15 @@ public class AgentDashboardService implements AgentDashboardServiceInterface {
     public DashboardStatsDto getDashboardStats(String agentUsername) {
         log.info("Fetching dashboard stats for agent: {}", agentUsername);
         try {
-            AppUser agent = userRepo.findByUsername(agentUsername)
-                    .orElseThrow(() -> new UserNotFoundException("Agent not found: " + agentUsername));
-
-            List<TicketStatus> activeStatuses = List.of(
-                    TicketStatus.CREATED, TicketStatus.ASSIGNED, TicketStatus.IN_PROGRESS,
-                    TicketStatus.NEEDS_TRIAGING, TicketStatus.REOPENED, TicketStatus.FIXED
-            );
-
-            long activeCount = ticketRepo.countByCreatedByAndStatusIn(agent, activeStatuses);
-            long resolvedCount = ticketRepo.countByCreatedByAndStatus(agent, TicketStatus.RESOLVED);
-            long feedbackCount = ticketRepo.countByCreatedByAndStatus(agent, TicketStatus.FIXED);
-
-            DashboardStatsDto stats = new DashboardStatsDto();
-            stats.setActiveTickets(activeCount);
-            stats.setResolvedTickets(resolvedCount);
-            stats.setFeedbackRequiredTickets(feedbackCount);
+            // One statement against the per-user status counters; the user lookup only runs when there are none.
+            Map<TicketStatus, Long> counts = ticketStatusCounterService.getCounts(agentUsername, TicketRelation.CREATED_BY);
+            if (counts.isEmpty() && !userRepo.existsByUsername(agentUsername)) {
+                throw new UserNotFoundException("Agent not found: " + agentUsername);
+            }
+            DashboardStatsDto stats = TicketStatusCounterService.toDashboardStats(counts);
 
             log.info("Successfully fetched stats for agent {}: Active={}, Resolved={}, Feedback={}",
-                    agentUsername, activeCount, resolvedCount, feedbackCount);
+                    agentUsername, stats.getActiveTickets(), stats.getResolvedTickets(), stats.getFeedbackRequiredTickets());
 
             return stats;
 
@@ -68,15 +64,10 @@ public class AgentDashboardService implements AgentDashboardServiceInterface {
             AppUser agent = userRepo.findByUsername(agentUsername)
                     .orElseThrow(() -> new UserNotFoundException("Agent not found: " + agentUsername));
 
-            List<DashboardActivityDto> activities = activityRepo.findFirst8ByTicket_CreatedByAndInternalOnlyFalseOrderByCreatedAtDesc(agent)
+            List<DashboardActivityDto> activities = activityRepo
+                    .findRecentPublicFeedByTicketCreatedBy(agent, PageRequest.of(0, RECENT_ACTIVITY_LIMIT))
                     .stream()
-                    .map(activity -> new DashboardActivityDto(
-                            activity.getId(),
-                            activity.getDescription(),
-                            activity.getTicket().getTicketUid(),
-                            activity.getTicket().getTitle(),
-                            activity.getCreatedAt()
-                    ))
+                    .map(TicketActivityFeedProjection::toDashboardActivityDto)
                     .toList();
 
             log.info("Found {} recent activities for agent: {}", activities.size(), agentUsername);
@@ -1,13 +1,24 @@
 package com.capstone.tele_ticketing_backend_1.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.capstone.tele_ticketing_backend_1.dto.AgentCreateTicketRequestDto;
+import com.capstone.tele_ticketing_backend_1.dto.BulkTicketCreateRequestDto;
+import com.capstone.tele_ticketing_backend_1.dto.BulkTicketCreateResponseDto;
+import com.capstone.tele_ticketing_backend_1.dto.BulkTicketResultDto;
+import com.capstone.tele_ticketing_backend_1.dto.CursorPageDto;
 import com.capstone.tele_ticketing_backend_1.dto.FeedbackRequestDto;
 import com.capstone.tele_ticketing_backend_1.dto.NotificationDto;
 import com.capstone.tele_ticketing_backend_1.dto.TicketDetailDto;
@@ -17,32 +28,41 @@ import com.capstone.tele_ticketing_backend_1.entities.AppUser;
 import com.capstone.tele_ticketing_backend_1.entities.Attachment;
 import com.capstone.tele_ticketing_backend_1.entities.Feedback;
 import com.capstone.tele_ticketing_backend_1.entities.Ticket;
-import com.capstone.tele_ticketing_backend_1.entities.TicketActivity;
 import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
 import com.capstone.tele_ticketing_backend_1.exceptions.AuthorizationException;
+import com.capstone.tele_ticketing_backend_1.exceptions.BadRequestException;
 import com.capstone.tele_ticketing_backend_1.exceptions.InvalidTicketStatusException;
 import com.capstone.tele_ticketing_backend_1.exceptions.TicketNotFoundException;
 import com.capstone.tele_ticketing_backend_1.exceptions.UserNotFoundException;
 import com.capstone.tele_ticketing_backend_1.repo.FeedbackRepo;
-import com.capstone.tele_ticketing_backend_1.repo.TicketActivityRepo;
 import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
 import com.capstone.tele_ticketing_backend_1.repo.UserRepo;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 
 public class AgentTicketService implements AgentTicketServiceInterface {
 
     private final static String noAgent = "Agent not found";
+    private static final String AGENT_CREATION_LOG = "Ticket was created by an agent on behalf of the customer.";
+    private static final int BULK_CHUNK_SIZE = 100;
 
     private final TicketRepo ticketRepo;
     private final UserRepo userRepo;
     private final TicketService ticketService;
     private final ActivityLogService activityLogService;
-    private final TicketActivityRepo activityRepo;
+    private final NotificationInboxService notificationInboxService;
+    private final TicketStatusCounterService ticketStatusCounterService;
+    private final TicketDuplicateService ticketDuplicateService;
     private final FeedbackRepo feedbackRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
 
 
 
@@ -54,6 +74,126 @@ public class AgentTicketService implements AgentTicketServiceInterface {
         AppUser customer = userRepo.findByUsername(dto.getCustomerUsername())
                 .orElseThrow(() -> new UserNotFoundException("Customer not found: " + dto.getCustomerUsername()));
 
+        Ticket savedTicket = ticketRepo.save(buildTicket(dto, agent, customer));
+        ticketStatusCounterService.recordCreated(List.of(savedTicket));
+        ticketDuplicateService.register(List.of(savedTicket));
+
+        // Dr. X's Fix: Now, we use the 'savedTicket' object, which is a persisted entity, to create the log.
+        activityLogService.createLog(savedTicket, agent, ActivityType.CREATION, AGENT_CREATION_LOG, false);
+
+        // As per our established pattern, we return a DTO to prevent lazy loading exceptions.
+        return ticketService.mapTicketToDetailDto(savedTicket);
+    }
+
+    /**
+     * Creates many tickets for customers in one request. Entries are validated individually,
+     * all customers are resolved with a single query, and tickets are written in chunks of
+     * BULK_CHUNK_SIZE per transaction (tickets, attachments and CREATION logs as JDBC batches).
+     * A failing chunk is retried entry by entry so one bad ticket does not sink its neighbours.
+     */
+    public BulkTicketCreateResponseDto createTicketsForCustomers(List<AgentCreateTicketRequestDto> dtos, String agentUsername) {
+        if (dtos == null || dtos.isEmpty()) {
+            throw new BadRequestException("At least one ticket must be provided.");
+        }
+        if (dtos.size() > BulkTicketCreateRequestDto.MAX_TICKETS) {
+            throw new BadRequestException("A bulk request can contain at most " + BulkTicketCreateRequestDto.MAX_TICKETS + " tickets.");
+        }
+
+        AppUser agent = userRepo.findByUsername(agentUsername)
+                .orElseThrow(() -> new UserNotFoundException(noAgent + agentUsername));
+
+        BulkTicketResultDto[] results = new BulkTicketResultDto[dtos.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            String error = validateBulkEntry(dtos.get(i));
+            if (error != null) {
+                results[i] = BulkTicketResultDto.failure(i, error);
+            } else {
+                validIndexes.add(i);
+            }
+        }
+
+        // One query for every customer referenced by the request.
+        Set<String> customerUsernames = validIndexes.stream()
+                .map(i -> dtos.get(i).getCustomerUsername())
+                .collect(Collectors.toSet());
+        Map<String, AppUser> customersByUsername = customerUsernames.isEmpty() ? Map.of()
+                : userRepo.findAllByUsernameIn(customerUsernames).stream()
+                .collect(Collectors.toMap(AppUser::getUsername, Function.identity()));
+
+        List<Integer> readyIndexes = new ArrayList<>();
+        for (Integer i : validIndexes) {
+            String customerUsername = dtos.get(i).getCustomerUsername();
+            if (customersByUsername.containsKey(customerUsername)) {
+                readyIndexes.add(i);
+            } else {
+                results[i] = BulkTicketResultDto.failure(i, "Customer not found: " + customerUsername);
+            }
+        }
+
+        for (int from = 0; from < readyIndexes.size(); from += BULK_CHUNK_SIZE) {
+            List<Integer> chunk = readyIndexes.subList(from, Math.min(from + BULK_CHUNK_SIZE, readyIndexes.size()));
+            try {
+                saveBulkChunk(chunk, dtos, customersByUsername, agent, results);
+            } catch (RuntimeException chunkError) {
+                log.warn("Bulk ticket chunk of {} failed for agent {}, retrying entries individually", chunk.size(), agentUsername, chunkError);
+                for (Integer i : chunk) {
+                    try {
+                        saveBulkChunk(List.of(i), dtos, customersByUsername, agent, results);
+                    } catch (RuntimeException itemError) {
+                        log.warn("Bulk ticket entry {} failed for agent {}", i, agentUsername, itemError);
+                        results[i] = BulkTicketResultDto.failure(i, "Ticket could not be saved.");
+                    }
+                }
+            }
+        }
+
+        List<BulkTicketResultDto> resultList = Arrays.asList(results);
+        int created = (int) resultList.stream().filter(BulkTicketResultDto::isCreated).count();
+        log.info("Agent {} bulk-created {} of {} tickets", agentUsername, created, dtos.size());
+        return new BulkTicketCreateResponseDto(dtos.size(), created, dtos.size() - created, resultList);
+    }
+
+    private void saveBulkChunk(List<Integer> indexes, List<AgentCreateTicketRequestDto> dtos,
+                               Map<String, AppUser> customersByUsername, AppUser agent, BulkTicketResultDto[] results) {
+        List<Ticket> savedTickets = transactionTemplate.execute(status -> {
+            List<Ticket> tickets = new ArrayList<>(indexes.size());
+            for (Integer i : indexes) {
+                AgentCreateTicketRequestDto dto = dtos.get(i);
+                tickets.add(buildTicket(dto, agent, customersByUsername.get(dto.getCustomerUsername())));
+            }
+            List<Ticket> saved = ticketRepo.saveAll(tickets);
+            ticketStatusCounterService.recordCreated(saved);
+            ticketDuplicateService.register(saved);
+            activityLogService.createLogs(saved.stream()
+                    .map(ticket -> activityLogService.buildLog(ticket, agent, ActivityType.CREATION, AGENT_CREATION_LOG, false))
+                    .toList());
+            return saved;
+        });
+
+        for (int k = 0; k < indexes.size(); k++) {
+            Ticket ticket = savedTickets.get(k);
+            results[indexes.get(k)] = BulkTicketResultDto.success(indexes.get(k), ticket.getId(), ticket.getTicketUid());
+        }
+    }
+
+    // Checks an entry against the constraints on AgentCreateTicketRequestDto; null when it is valid.
+    private String validateBulkEntry(AgentCreateTicketRequestDto dto) {
+        if (dto == null) {
+            return "Ticket entry cannot be empty";
+        }
+        Set<ConstraintViolation<AgentCreateTicketRequestDto>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .sorted(Comparator.comparing((ConstraintViolation<AgentCreateTicketRequestDto> v) -> v.getPropertyPath().toString())
+                        .thenComparing(ConstraintViolation::getMessage))
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.joining("; "));
+    }
+
+    private Ticket buildTicket(AgentCreateTicketRequestDto dto, AppUser agent, AppUser customer) {
         Ticket ticket = new Ticket();
         ticket.setTitle(dto.getTitle());
         ticket.setDescription(dto.getDescription());
@@ -71,16 +211,11 @@ public class AgentTicketService implements AgentTicketServiceInterface {
                 ticket.getAttachments().add(attachment);
             });
         }
-        Ticket savedTicket = ticketRepo.save(ticket);
-
-        // Dr. X's Fix: Now, we use the 'savedTicket' object, which is a persisted entity, to create the log.
-        activityLogService.createLog(savedTicket, agent, ActivityType.CREATION, "Ticket was created by an agent on behalf of the customer.", false);
-
-        // As per our established pattern, we return a DTO to prevent lazy loading exceptions.
-        return ticketService.mapTicketToDetailDto(savedTicket);
+        return ticket;
     }
 
-    public List<TicketSummaryDto> getAgentCreatedTickets(String agentUsername) {
+    @Transactional(readOnly = true)
+    public CursorPageDto<TicketSummaryDto> getAgentCreatedTickets(String agentUsername, String cursor, Integer size) {
         AppUser agent = userRepo.findByUsername(agentUsername)
                 .orElseThrow(() -> new UserNotFoundException(noAgent + agentUsername));
 
@@ -94,12 +229,13 @@ public class AgentTicketService implements AgentTicketServiceInterface {
                 TicketStatus.RESOLVED
         );
 
-        // We use our new repository method here.
-        List<Ticket> tickets = ticketRepo.findAllByCreatedByAndStatusIn(agent, activeStatuses);
+        int pageSize = KeysetPagination.pageSize(size);
+        KeysetPagination.Cursor position = KeysetPagination.decode(cursor);
+        List<TicketSummaryDto> tickets = ticketRepo.findSummaryPageByCreatedByAndStatusIn(agent, activeStatuses,
+                position.createdAt(), position.id(), KeysetPagination.limit(pageSize));
 
-        return tickets.stream()
-                .map(ticket -> new TicketSummaryDto(ticket.getId(), ticket.getTicketUid(), ticket.getTitle(), ticket.getStatus(), ticket.getCreatedAt()))
-                .toList();
+        return KeysetPagination.toPage(tickets, pageSize, TicketSummaryDto::getCreatedAt, TicketSummaryDto::getId,
+                Function.identity());
     }
 
     @Transactional(readOnly = true)
@@ -112,38 +248,24 @@ public class AgentTicketService implements AgentTicketServiceInterface {
                 TicketStatus.IN_PROGRESS, TicketStatus.NEEDS_TRIAGING, TicketStatus.REOPENED
         );
 
-        List<Ticket> tickets = ticketRepo.findAllByCreatedByAndStatusIn(agent, activeStatuses);
-
-        return tickets.stream()
-                .map(ticket -> new TicketSummaryDto(ticket.getId(), ticket.getTicketUid(), ticket.getTitle(), ticket.getStatus(), ticket.getCreatedAt()))
-                .toList();
+        return ticketRepo.findSummariesByCreatedByAndStatusIn(agent, activeStatuses);
     }
 
     // Dr. X's Addition: Method to get all notifications relevant to the agent.
     @Transactional(readOnly = true)
-    public List<NotificationDto> getNotifications(String agentUsername) {
+    public CursorPageDto<NotificationDto> getNotifications(String agentUsername, String cursor, Integer size) {
         AppUser agent = userRepo.findByUsername(agentUsername)
                 .orElseThrow(() -> new UserNotFoundException(noAgent + agentUsername));
 
-        List<TicketActivity> activities = activityRepo.findAllByTicket_CreatedByAndInternalOnlyFalseOrderByCreatedAtDesc(agent);
-
-        return activities.stream()
-                .map(activity -> new NotificationDto(
-                        activity.getId(),
-                        activity.getTicket().getTicketUid(),
-                        activity.getTicket().getTitle(),
-                        activity.getDescription(),
-                        activity.getActivityType().name(),
-                        activity.getCreatedAt()
-                ))
-                .toList();
+        // Served from the user's materialized inbox rather than joining their tickets' activity history.
+        return notificationInboxService.getInbox(agent.getId(), cursor, size);
     }
     @Transactional
     public TicketDetailDto addFeedbackForCustomer(Long ticketId, FeedbackRequestDto dto, String agentUsername) {
         AppUser agent = userRepo.findByUsername(agentUsername)
                 .orElseThrow(() -> new UserNotFoundException(noAgent + agentUsername));
 
-        Ticket ticket = ticketRepo.findById(ticketId)
+        Ticket ticket = ticketRepo.findDetailById(ticketId)
                 .orElseThrow(() -> new TicketNotFoundException("Ticket not found with id: " + ticketId));
 
         // Dr. X's Note: THIS IS THE NEW, CRITICAL SECURITY CHECK.
@@ -182,6 +304,7 @@ public class AgentTicketService implements AgentTicketServiceInterface {
         }
 
         Ticket savedTicket = ticketRepo.save(ticket);
+        ticketStatusCounterService.recordTransition(savedTicket, TicketStatus.FIXED, savedTicket.getStatus());
         return ticketService.mapTicketToDetailDto(savedTicket);
     }
 
@@ -190,10 +313,6 @@ public class AgentTicketService implements AgentTicketServiceInterface {
         AppUser agent = userRepo.findByUsername(agentUsername)
                 .orElseThrow(() -> new UserNotFoundException(noAgent + agentUsername));
 
-        List<Ticket> tickets = ticketRepo.findAllByCreatedByAndStatus(agent, TicketStatus.FIXED);
-
-        return tickets.stream()
-                .map(ticket -> new TicketSummaryDto(ticket.getId(), ticket.getTicketUid(), ticket.getTitle(), ticket.getStatus(), ticket.getCreatedAt()))
-                .toList();
+        return ticketRepo.findSummariesByCreatedByAndStatus(agent, TicketStatus.FIXED);
     }
 }
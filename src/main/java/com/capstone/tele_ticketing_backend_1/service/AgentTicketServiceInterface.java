@@ -1,7 +1,9 @@
 package com.capstone.tele_ticketing_backend_1.service;
 
 
+import com.capstone.tele_ticketing_backend_1.dto.CursorPageDto;
 import com.capstone.tele_ticketing_backend_1.dto.AgentCreateTicketRequestDto;
+import com.capstone.tele_ticketing_backend_1.dto.BulkTicketCreateResponseDto;
 import com.capstone.tele_ticketing_backend_1.dto.FeedbackRequestDto;
 import com.capstone.tele_ticketing_backend_1.dto.NotificationDto;
 import com.capstone.tele_ticketing_backend_1.dto.TicketDetailDto;
@@ -19,11 +21,21 @@ public interface AgentTicketServiceInterface {
     TicketDetailDto createTicketForCustomer(AgentCreateTicketRequestDto dto, String agentUsername);
 
     /**
-     * Gets a summary of all tickets created by the agent (active, resolved, etc.).
+     * Creates many tickets on behalf of customers in batched transactions.
+     * @param dtos The ticket entries; each is validated and saved independently of the others.
+     * @param agentUsername The username of the agent creating the tickets.
+     * @return Per-entry results, including the reason for every entry that was not created.
+     */
+    BulkTicketCreateResponseDto createTicketsForCustomers(List<AgentCreateTicketRequestDto> dtos, String agentUsername);
+
+    /**
+     * Gets one page of tickets created by the agent (active, resolved, etc.), newest first.
      * @param agentUsername The username of the agent.
-     * @return A list of ticket summaries.
+     * @param cursor The nextCursor of the previous page, or null for the first page.
+     * @param size Page size (default 20, capped at 100).
+     * @return A page of ticket summaries.
      */
-    List<TicketSummaryDto> getAgentCreatedTickets(String agentUsername);
+    CursorPageDto<TicketSummaryDto> getAgentCreatedTickets(String agentUsername, String cursor, Integer size);
 
     /**
      * Gets a summary of all active (non-resolved) tickets created by the agent.
@@ -33,11 +45,13 @@ public interface AgentTicketServiceInterface {
     List<TicketSummaryDto> getAgentActiveTickets(String agentUsername);
 
     /**
-     * Gets a list of all public notifications for tickets created by the agent.
+     * Gets one page of public notifications for tickets created by the agent, newest first.
      * @param agentUsername The username of the agent.
-     * @return A list of notification DTOs.
+     * @param cursor The nextCursor of the previous page, or null for the first page.
+     * @param size Page size (default 20, capped at 100).
+     * @return A page of notification DTOs.
      */
-    List<NotificationDto> getNotifications(String agentUsername);
+    CursorPageDto<NotificationDto> getNotifications(String agentUsername, String cursor, Integer size);
 
     /**
      * Allows an agent to submit feedback on behalf of a customer for a 'FIXED' ticket.
@@ -5,7 +5,6 @@ import com.capstone.tele_ticketing_backend_1.dto.*;
 import com.capstone.tele_ticketing_backend_1.entities.*;
 import com.capstone.tele_ticketing_backend_1.exceptions.*;
 import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
-import com.capstone.tele_ticketing_backend_1.repo.TicketActivityRepo;
 import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
 import com.capstone.tele_ticketing_backend_1.repo.UserRepo;
 import lombok.RequiredArgsConstructor;
@@ -15,7 +14,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -25,7 +23,9 @@ public class CustomerTicketService implements CustomerTicketServiceInterface {
     private final UserRepo userRepo;
     private final TicketService ticketService;
     private final ActivityLogService activityLogService;
-    private final TicketActivityRepo activityRepo;
+    private final NotificationInboxService notificationInboxService;
+    private final TicketStatusCounterService ticketStatusCounterService;
+    private final TicketDuplicateService ticketDuplicateService;
 
 
     @Transactional
@@ -52,6 +52,8 @@ public class CustomerTicketService implements CustomerTicketServiceInterface {
         }
 
         Ticket savedTicket = ticketRepo.save(ticket);
+        ticketStatusCounterService.recordCreated(List.of(savedTicket));
+        ticketDuplicateService.register(List.of(savedTicket));
 
         // Dr. X's Addition: Create a public log entry for the ticket creation.
         activityLogService.createLog(savedTicket, user, ActivityType.CREATION, "Ticket was created.", false);
@@ -64,7 +66,7 @@ public class CustomerTicketService implements CustomerTicketServiceInterface {
         AppUser user = userRepo.findByUsername(username)
                 .orElseThrow(() -> new UserNotFoundException("User not found: " + username));
 
-        Ticket ticket = ticketRepo.findById(ticketId)
+        Ticket ticket = ticketRepo.findDetailById(ticketId)
                 .orElseThrow(() -> new TicketNotFoundException("Ticket not found with id: " + ticketId));
 
         // ... security and state checks ...
@@ -94,6 +96,7 @@ public class CustomerTicketService implements CustomerTicketServiceInterface {
         }
 
         Ticket savedTicket = ticketRepo.save(ticket);
+        ticketStatusCounterService.recordTransition(savedTicket, TicketStatus.FIXED, savedTicket.getStatus());
         return ticketService.mapTicketToDetailDto(savedTicket);
     }
 
@@ -109,41 +112,23 @@ public class CustomerTicketService implements CustomerTicketServiceInterface {
                 TicketStatus.REOPENED
         );
 
-        List<Ticket> tickets = ticketRepo.findAllByCreatedForAndStatusIn(user, activeStatuses);
-
-        // Dr. X's Note: Map entities to DTOs to control what data is exposed to the client.
-        return tickets.stream()
-                .map(ticket -> new TicketSummaryDto(ticket.getId(), ticket.getTicketUid(), ticket.getTitle(), ticket.getStatus(), ticket.getCreatedAt()))
-                .collect(Collectors.toList());
+        // Dr. X's Note: Project straight into DTOs to control what data is exposed to the client.
+        return ticketRepo.findSummariesByCreatedForAndStatusIn(user, activeStatuses);
     }
 
     public List<TicketSummaryDto> getCustomerFeedbackTickets(String username) {
         AppUser user = userRepo.findByUsername(username)
                 .orElseThrow(() -> new UserNotFoundException("User not found: " + username));
 
-        List<Ticket> tickets = ticketRepo.findAllByCreatedForAndStatus(user, TicketStatus.FIXED);
-
-        return tickets.stream()
-                .map(ticket -> new TicketSummaryDto(ticket.getId(), ticket.getTicketUid(), ticket.getTitle(), ticket.getStatus(), ticket.getCreatedAt()))
-                .collect(Collectors.toList());
+        return ticketRepo.findSummariesByCreatedForAndStatus(user, TicketStatus.FIXED);
     }
 
     @Transactional(readOnly = true)
-    public List<NotificationDto> getNotifications(String username) {
+    public CursorPageDto<NotificationDto> getNotifications(String username, String cursor, Integer size) {
         AppUser user = userRepo.findByUsername(username)
                 .orElseThrow(() -> new UserNotFoundException("User not found: " + username));
 
-        List<TicketActivity> activities = activityRepo.findAllByTicket_CreatedForAndInternalOnlyFalseOrderByCreatedAtDesc(user);
-
-        return activities.stream()
-                .map(activity -> new NotificationDto(
-                        activity.getId(),
-                        activity.getTicket().getTicketUid(),
-                        activity.getTicket().getTitle(),
-                        activity.getDescription(),
-                        activity.getActivityType().name(),
-                        activity.getCreatedAt()
-                ))
-                .collect(Collectors.toList());
+        // Served from the user's materialized inbox rather than joining their tickets' activity history.
+        return notificationInboxService.getInbox(user.getId(), cursor, size);
     }
 }
\ No newline at end of file
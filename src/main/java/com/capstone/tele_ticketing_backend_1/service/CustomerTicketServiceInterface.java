@@ -1,5 +1,6 @@
 package com.capstone.tele_ticketing_backend_1.service;
 
+import com.capstone.tele_ticketing_backend_1.dto.CursorPageDto;
 import com.capstone.tele_ticketing_backend_1.dto.CreateTicketRequestDto;
 import com.capstone.tele_ticketing_backend_1.dto.FeedbackRequestDto;
 import com.capstone.tele_ticketing_backend_1.dto.NotificationDto;
@@ -42,9 +43,11 @@ public interface CustomerTicketServiceInterface {
     List<TicketSummaryDto> getCustomerFeedbackTickets(String username);
 
     /**
-     * Gets a list of all public notifications for tickets created for the customer.
+     * Gets one page of public notifications for tickets created for the customer, newest first.
      * @param username The username of the customer.
-     * @return A list of notification DTOs.
+     * @param cursor The nextCursor of the previous page, or null for the first page.
+     * @param size Page size (default 20, capped at 100).
+     * @return A page of notification DTOs.
      */
-    List<NotificationDto> getNotifications(String username);
+    CursorPageDto<NotificationDto> getNotifications(String username, String cursor, Integer size);
 }
\ No newline at end of file
@@ -3,45 +3,40 @@ package com.capstone.tele_ticketing_backend_1.service;
 import com.capstone.tele_ticketing_backend_1.dto.DashboardActivityDto;
 import com.capstone.tele_ticketing_backend_1.dto.DashboardStatsDto;
 import com.capstone.tele_ticketing_backend_1.entities.AppUser;
+import com.capstone.tele_ticketing_backend_1.entities.TicketRelation;
 import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
 import com.capstone.tele_ticketing_backend_1.exceptions.UserNotFoundException;
+import com.capstone.tele_ticketing_backend_1.projections.TicketActivityFeedProjection;
 import com.capstone.tele_ticketing_backend_1.repo.TicketActivityRepo;
-import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
 import com.capstone.tele_ticketing_backend_1.repo.UserRepo;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class DashboardService implements DashboardServiceInterface {
 
-    private final TicketRepo ticketRepo;
+    // Number of entries shown in the dashboard's recent-activity widget.
+    private static final int RECENT_ACTIVITY_LIMIT = 8;
+
+    private final TicketStatusCounterService ticketStatusCounterService;
     private final TicketActivityRepo activityRepo;
     private final UserRepo userRepo;
 
+    // Read from the per-user status counters in one statement. Only a user with no counters
+    // at all costs a second query, to tell "no tickets yet" apart from "no such user".
     @Transactional(readOnly = true)
     public DashboardStatsDto getDashboardStats(String username) {
-        AppUser user = userRepo.findByUsername(username)
-                .orElseThrow(() -> new UserNotFoundException("User not found: " + username));
-
-        List<TicketStatus> activeStatuses = List.of(
-                TicketStatus.CREATED, TicketStatus.ASSIGNED, TicketStatus.IN_PROGRESS,
-                TicketStatus.NEEDS_TRIAGING, TicketStatus.REOPENED, TicketStatus.FIXED
-        );
-
-        long activeCount = ticketRepo.countByCreatedForAndStatusIn(user, activeStatuses);
-        long resolvedCount = ticketRepo.countByCreatedForAndStatus(user, TicketStatus.RESOLVED);
-        long feedbackCount = ticketRepo.countByCreatedForAndStatus(user, TicketStatus.FIXED);
-
-        DashboardStatsDto stats = new DashboardStatsDto();
-        stats.setActiveTickets(activeCount);
-        stats.setResolvedTickets(resolvedCount);
-        stats.setFeedbackRequiredTickets(feedbackCount);
-
-        return stats;
+        Map<TicketStatus, Long> counts = ticketStatusCounterService.getCounts(username, TicketRelation.CREATED_FOR);
+        if (counts.isEmpty() && !userRepo.existsByUsername(username)) {
+            throw new UserNotFoundException("User not found: " + username);
+        }
+        return TicketStatusCounterService.toDashboardStats(counts);
     }
 
     @Transactional(readOnly = true)
@@ -49,15 +44,9 @@ public class DashboardService implements DashboardServiceInterface {
         AppUser user = userRepo.findByUsername(username)
                 .orElseThrow(() -> new UserNotFoundException("User not found: " + username));
 
-        return activityRepo.findFirst8ByTicket_CreatedForAndInternalOnlyFalseOrderByCreatedAtDesc(user)
+        return activityRepo.findRecentPublicFeedByTicketCreatedFor(user, PageRequest.of(0, RECENT_ACTIVITY_LIMIT))
                 .stream()
-                .map(activity -> new DashboardActivityDto(
-                        activity.getId(),
-                        activity.getDescription(),
-                        activity.getTicket().getTicketUid(),
-                        activity.getTicket().getTitle(),
-                        activity.getCreatedAt()
-                ))
+                .map(TicketActivityFeedProjection::toDashboardActivityDto)
                 .collect(Collectors.toList());
     }
 }
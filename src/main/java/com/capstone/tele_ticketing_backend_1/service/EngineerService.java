@@ -1,11 +1,12 @@
 package com.capstone.tele_ticketing_backend_1.service;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.capstone.tele_ticketing_backend_1.dto.CursorPageDto;
 import com.capstone.tele_ticketing_backend_1.dto.EngineerUpdateDto;
 import com.capstone.tele_ticketing_backend_1.dto.TicketDetailDto;
 import com.capstone.tele_ticketing_backend_1.dto.TicketSummaryDto;
@@ -13,7 +14,6 @@ import com.capstone.tele_ticketing_backend_1.dto.UserSummaryDto;
 import com.capstone.tele_ticketing_backend_1.entities.ActivityType;
 import com.capstone.tele_ticketing_backend_1.entities.AppUser;
 import com.capstone.tele_ticketing_backend_1.entities.Ticket;
-import com.capstone.tele_ticketing_backend_1.entities.TicketActivity;
 import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
 import com.capstone.tele_ticketing_backend_1.exceptions.TicketNotFoundException;
 import com.capstone.tele_ticketing_backend_1.exceptions.UserNotFoundException;
@@ -29,19 +29,24 @@ public class EngineerService implements EngineerServiceInterface {
     private final TicketRepo ticketRepo;
     private final UserRepo userRepo;
     private final TicketService ticketService;
+    private final ActivityLogService activityLogService;
+    private final TicketStatusCounterService ticketStatusCounterService;
 
-    public List<TicketSummaryDto> getAssignedTickets(String username) {
+    @Transactional(readOnly = true)
+    public CursorPageDto<TicketSummaryDto> getAssignedTickets(String username, String cursor, Integer size) {
         AppUser engineer = userRepo.findByUsername(username)
                 .orElseThrow(() -> new UserNotFoundException("User not found: " + username));
 
         // Define the statuses that are considered "active work" for an engineer.
         List<TicketStatus> activeStatuses = List.of(TicketStatus.ASSIGNED, TicketStatus.IN_PROGRESS);
 
-        List<Ticket> tickets = ticketRepo.findAllByAssignedToContainsAndStatusIn(engineer, activeStatuses);
+        int pageSize = KeysetPagination.pageSize(size);
+        KeysetPagination.Cursor position = KeysetPagination.decode(cursor);
+        List<TicketSummaryDto> tickets = ticketRepo.findSummaryPageByAssignedToAndStatusIn(engineer, activeStatuses,
+                position.createdAt(), position.id(), KeysetPagination.limit(pageSize));
 
-        return tickets.stream()
-                .map(ticket -> new TicketSummaryDto(ticket.getId(), ticket.getTicketUid(), ticket.getTitle(), ticket.getStatus(), ticket.getCreatedAt()))
-                .collect(Collectors.toList());
+        return KeysetPagination.toPage(tickets, pageSize, TicketSummaryDto::getCreatedAt, TicketSummaryDto::getId,
+                Function.identity());
     }
 
     @Transactional
@@ -49,31 +54,25 @@ public class EngineerService implements EngineerServiceInterface {
         AppUser engineer = userRepo.findByUsername(username)
                 .orElseThrow(() -> new UserNotFoundException("User not found: " + username));
 
-        Ticket ticket = ticketRepo.findById(ticketId)
+        Ticket ticket = ticketRepo.findDetailById(ticketId)
                 .orElseThrow(() -> new TicketNotFoundException("Ticket not found with id: " + ticketId));
 
         // Create an activity log for the update text, if provided.
+        // Logged through ActivityLogService (not ticket.getActivities()) so the notification inbox sees it too.
         if (dto.getUpdateText() != null && !dto.getUpdateText().isBlank()) {
-            TicketActivity activity = new TicketActivity();
-            activity.setTicket(ticket);
-            activity.setUser(engineer);
-            activity.setDescription(dto.getUpdateText());
-            activity.setActivityType(ActivityType.COMMENT);
-            ticket.getActivities().add(activity);
+            activityLogService.createLog(ticket, engineer, ActivityType.COMMENT, dto.getUpdateText(), false);
         }
 
         // Update the status and create a corresponding status change log.
+        TicketStatus previousStatus = ticket.getStatus();
         if (dto.getNewStatus() != ticket.getStatus()) {
-            TicketActivity statusChangeActivity = new TicketActivity();
-            statusChangeActivity.setTicket(ticket);
-            statusChangeActivity.setUser(engineer);
-            statusChangeActivity.setDescription("Status changed from " + ticket.getStatus() + " to " + dto.getNewStatus());
-            statusChangeActivity.setActivityType(ActivityType.STATUS_CHANGE);
-            ticket.getActivities().add(statusChangeActivity);
+            activityLogService.createLog(ticket, engineer, ActivityType.STATUS_CHANGE,
+                    "Status changed from " + ticket.getStatus() + " to " + dto.getNewStatus(), false);
             ticket.setStatus(dto.getNewStatus());
         }
 
         Ticket savedTicket = ticketRepo.save(ticket);
+        ticketStatusCounterService.recordTransition(savedTicket, previousStatus, savedTicket.getStatus());
 
         // Map the saved entity to our clean DTO before returning to prevent lazy loading errors.
         return ticketService.mapTicketToDetailDto(savedTicket);
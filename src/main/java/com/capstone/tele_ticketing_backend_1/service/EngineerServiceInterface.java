@@ -1,5 +1,6 @@
 package com.capstone.tele_ticketing_backend_1.service;
 
+import com.capstone.tele_ticketing_backend_1.dto.CursorPageDto;
 import com.capstone.tele_ticketing_backend_1.dto.EngineerUpdateDto;
 import com.capstone.tele_ticketing_backend_1.dto.TicketDetailDto;
 import com.capstone.tele_ticketing_backend_1.dto.TicketSummaryDto;
@@ -8,11 +9,13 @@ import java.util.List;
 public interface EngineerServiceInterface {
 
     /**
-     * Gets a summary of all active (ASSIGNED, IN_PROGRESS) tickets assigned to the engineer.
+     * Gets one page of active (ASSIGNED, IN_PROGRESS) tickets assigned to the engineer, newest first.
      * @param username The username of the engineer.
-     * @return A list of active ticket summaries.
+     * @param cursor The nextCursor of the previous page, or null for the first page.
+     * @param size Page size (default 20, capped at 100).
+     * @return A page of active ticket summaries.
      */
-    List<TicketSummaryDto> getAssignedTickets(String username);
+    CursorPageDto<TicketSummaryDto> getAssignedTickets(String username, String cursor, Integer size);
 
     /**
      * Allows an engineer to update a ticket's status and add an activity log.
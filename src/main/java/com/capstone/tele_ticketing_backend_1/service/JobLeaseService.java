@@ -0,0 +1,236 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.entities.JobLease;
+import com.capstone.tele_ticketing_backend_1.exceptions.JobLeaseLostException;
+import com.capstone.tele_ticketing_backend_1.repo.JobLeaseRepo;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lets one application node at a time run each background job, through leases in the job_leases table.
+ * <p>
+ * A node takes a job's lease the first time it wants to run the job and renews it on every
+ * heartbeat. The heartbeat has a thread of its own, so a job running longer than the TTL on the
+ * scheduler's threads keeps its lease. When the holder stops renewing (it crashed, hung or lost the database) the lease
+ * expires after jobs.lease.ttl-ms, and the next node to try takes it over under a new fencing
+ * token. A node shutting down releases its leases, so another takes over on its next attempt.
+ * Expiry is judged by each node's own clock, so clocks must agree to well within the TTL.
+ * <p>
+ * Jobs normally go through {@code @LeaderOnly} rather than calling this directly. A node can still
+ * be running a job after its lease has passed to another (a long GC pause, a slow query), so a job
+ * calls {@link #checkFencingToken()} in each of its write transactions: the transaction then holds
+ * the lease row until it commits, and rolls back if the lease has moved on.
+ */
+@Service
+@Slf4j
+public class JobLeaseService implements JobLeaseServiceInterface {
+
+    private static final ThreadLocal<RunningJob> CURRENT_JOB = new ThreadLocal<>();
+
+    private final JobLeaseRepo leaseRepo;
+    // REQUIRES_NEW: lease changes commit on their own, whatever the calling job does afterwards.
+    private final TransactionTemplate leaseTemplate;
+    private final String nodeId;
+    private final long ttlMillis;
+    private final long heartbeatMillis;
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "job-lease-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Leases this node holds: job name -> fencing token and local expiry.
+    private final ConcurrentMap<String, HeldLease> held = new ConcurrentHashMap<>();
+
+    private record HeldLease(long fencingToken, LocalDateTime expiresAt) {
+    }
+
+    private record RunningJob(String jobName, long fencingToken) {
+    }
+
+    public JobLeaseService(JobLeaseRepo leaseRepo, PlatformTransactionManager transactionManager,
+                           @Value("${jobs.lease.node-id:}") String nodeId,
+                           @Value("${jobs.lease.ttl-ms:10000}") long ttlMillis,
+                           @Value("${jobs.lease.heartbeat-ms:3000}") long heartbeatMillis) {
+        this.leaseRepo = leaseRepo;
+        this.leaseTemplate = new TransactionTemplate(transactionManager);
+        this.leaseTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.nodeId = nodeId == null || nodeId.isBlank() ? defaultNodeId() : nodeId;
+        this.ttlMillis = ttlMillis;
+        this.heartbeatMillis = heartbeatMillis;
+    }
+
+    @PostConstruct
+    void startHeartbeat() {
+        heartbeat.scheduleWithFixedDelay(() -> {
+            try {
+                renewHeld();
+            } catch (RuntimeException e) {
+                // An exception escaping would cancel every later heartbeat.
+                log.warn("Job lease heartbeat failed", e);
+            }
+        }, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public Long tryAcquire(String jobName) {
+        LocalDateTime now = LocalDateTime.now();
+        HeldLease lease = held.get(jobName);
+        // Between heartbeats a held lease needs no round trip.
+        if (lease != null && lease.expiresAt().isAfter(now)) {
+            return lease.fencingToken();
+        }
+        LocalDateTime expiresAt = now.plusNanos(ttlMillis * 1_000_000);
+        Long token = leaseTemplate.execute(status -> {
+            if (leaseRepo.renew(jobName, nodeId, now, expiresAt) == 0 && leaseRepo.takeOver(jobName, nodeId, now, expiresAt) == 0) {
+                return null;
+            }
+            return leaseRepo.findFencingToken(jobName, nodeId).orElse(null);
+        });
+        if (token == null && !leaseRepo.existsById(jobName)) {
+            token = create(jobName, expiresAt);
+        }
+        if (token == null) {
+            held.remove(jobName);
+            return null;
+        }
+        if (lease == null || lease.fencingToken() != token) {
+            log.info("Node {} now runs job {} (fencing token {})", nodeId, jobName, token);
+        }
+        held.put(jobName, new HeldLease(token, expiresAt));
+        return token;
+    }
+
+    public boolean isCurrent(String jobName, long fencingToken) {
+        return leaseRepo.existsByNameAndFencingTokenAndExpiresAtAfter(jobName, fencingToken, LocalDateTime.now());
+    }
+
+    public Long currentFencingToken() {
+        RunningJob job = CURRENT_JOB.get();
+        return job == null ? null : job.fencingToken();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void checkFencingToken() {
+        RunningJob job = CURRENT_JOB.get();
+        if (job == null) {
+            return;
+        }
+        JobLease lease = leaseRepo.findByNameForUpdate(job.jobName()).orElse(null);
+        if (lease == null || lease.getFencingToken() != job.fencingToken() || !lease.getExpiresAt().isAfter(LocalDateTime.now())) {
+            held.remove(job.jobName());
+            throw new JobLeaseLostException("Node " + nodeId + " no longer holds the lease on job " + job.jobName()
+                    + " under fencing token " + job.fencingToken());
+        }
+    }
+
+    /**
+     * Runs a job body with its lease visible through {@link #currentFencingToken()} and {@link #checkFencingToken()}.
+     */
+    public <T> T runWithToken(String jobName, long fencingToken, ThrowingSupplier<T> body) throws Throwable {
+        RunningJob previous = CURRENT_JOB.get();
+        CURRENT_JOB.set(new RunningJob(jobName, fencingToken));
+        try {
+            return body.get();
+        } finally {
+            if (previous == null) {
+                CURRENT_JOB.remove();
+            } else {
+                CURRENT_JOB.set(previous);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface ThrowingSupplier<T> {
+        T get() throws Throwable;
+    }
+
+    public int renewHeld() {
+        for (Map.Entry<String, HeldLease> entry : held.entrySet()) {
+            String jobName = entry.getKey();
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime expiresAt = now.plusNanos(ttlMillis * 1_000_000);
+            try {
+                Integer renewed = leaseTemplate.execute(status -> leaseRepo.renew(jobName, nodeId, now, expiresAt));
+                if (renewed != null && renewed > 0) {
+                    held.put(jobName, new HeldLease(entry.getValue().fencingToken(), expiresAt));
+                } else {
+                    held.remove(jobName);
+                    log.warn("Node {} lost the lease on job {}", nodeId, jobName);
+                }
+            } catch (RuntimeException e) {
+                // Kept until its local expiry; after that the job stops running here until the lease is taken again.
+                log.warn("Could not renew the lease on job {}", jobName, e);
+            }
+        }
+        return held.size();
+    }
+
+    public void release(String jobName) {
+        if (held.remove(jobName) != null) {
+            leaseTemplate.executeWithoutResult(status -> leaseRepo.release(List.of(jobName), nodeId, LocalDateTime.now()));
+        }
+    }
+
+    @PreDestroy
+    public void releaseAll() {
+        heartbeat.shutdownNow();
+        List<String> names = List.copyOf(held.keySet());
+        held.clear();
+        if (names.isEmpty()) {
+            return;
+        }
+        try {
+            leaseTemplate.executeWithoutResult(status -> leaseRepo.release(names, nodeId, LocalDateTime.now()));
+            log.info("Node {} released leases on {}", nodeId, names);
+        } catch (RuntimeException e) {
+            log.warn("Could not release job leases on shutdown; they expire within {} ms", ttlMillis, e);
+        }
+    }
+
+    private Long create(String jobName, LocalDateTime expiresAt) {
+        try {
+            leaseTemplate.executeWithoutResult(status -> leaseRepo.create(jobName, nodeId, expiresAt));
+            return 1L;
+        } catch (DataIntegrityViolationException e) {
+            // Another node created it first.
+            return null;
+        }
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "node";
+        }
+        // Unique per process, so two instances on one host are still told apart.
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,51 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+public interface JobLeaseServiceInterface {
+
+    /**
+     * @return The id this node holds leases under.
+     */
+    String getNodeId();
+
+    /**
+     * Takes or extends the lease on a job for this node, if no other node holds it.
+     * @param jobName The job's lease name, e.g. from {@code @LeaderOnly}.
+     * @return The lease's fencing token while this node holds it, or null if another node does.
+     */
+    Long tryAcquire(String jobName);
+
+    /**
+     * Checks that a fencing token is still the current one for a job, e.g. before a job commits its results.
+     * @param jobName The job's lease name.
+     * @param fencingToken The token the job was started under.
+     * @return False once the lease has expired or another node has taken it over.
+     */
+    boolean isCurrent(String jobName, long fencingToken);
+
+    /**
+     * @return The fencing token of the {@code @LeaderOnly} job running on this thread, or null outside one.
+     */
+    Long currentFencingToken();
+
+    /**
+     * Inside a {@code @LeaderOnly} job, locks the job's lease row (SELECT ... FOR UPDATE) for the rest of the
+     * current transaction and checks that it still carries the job's fencing token and has not expired.
+     * Called in the job's write transaction, it keeps another node from taking the lease over until the
+     * writes commit, and rolls them back if it already has. Does nothing outside a {@code @LeaderOnly} job.
+     * @throws com.capstone.tele_ticketing_backend_1.exceptions.JobLeaseLostException If the lease has expired or moved to another node.
+     */
+    void checkFencingToken();
+
+    /**
+     * Extends every lease this node holds, and forgets those it has lost. Runs every heartbeat-ms on
+     * a thread of its own, apart from the scheduler the jobs run on.
+     * @return The number of leases still held.
+     */
+    int renewHeld();
+
+    /**
+     * Gives up a lease so another node can take it over straight away.
+     * @param jobName The job's lease name.
+     */
+    void release(String jobName);
+}
@@ -0,0 +1,84 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.dto.CursorPageDto;
+import com.capstone.tele_ticketing_backend_1.exceptions.BadRequestException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Shared helpers for keyset ("seek") pagination over (createdAt DESC, id DESC).
+ * <p>
+ * The cursor is an opaque, URL-safe token holding the (createdAt, id) of the last row of the
+ * previous page; the next page continues strictly after it, so deep pages cost the same as the first.
+ * Repository queries take the cursor values plus {@link #limit(int)}, which asks for one extra row
+ * to detect whether another page exists.
+ */
+public final class KeysetPagination {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // Starting point for the first page: sorts after every real row.
+    private static final Cursor FIRST_PAGE = new Cursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    public record Cursor(LocalDateTime createdAt, Long id) {
+    }
+
+    private KeysetPagination() {
+    }
+
+    public static int pageSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(requested, MAX_PAGE_SIZE);
+    }
+
+    public static Cursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST_PAGE;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('_');
+            return new Cursor(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid page cursor.");
+        }
+    }
+
+    public static String encode(LocalDateTime createdAt, Long id) {
+        String raw = createdAt + "_" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return A pageable fetching one row more than the page size.
+     */
+    public static Pageable limit(int pageSize) {
+        return PageRequest.of(0, pageSize + 1);
+    }
+
+    /**
+     * Trims the extra look-ahead row, maps the rest and derives the next cursor from the last row kept.
+     */
+    public static <E, T> CursorPageDto<T> toPage(List<E> rows, int pageSize,
+                                                 Function<E, LocalDateTime> createdAt, Function<E, Long> id,
+                                                 Function<E, T> mapper) {
+        boolean hasMore = rows.size() > pageSize;
+        List<E> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            E last = pageRows.get(pageRows.size() - 1);
+            nextCursor = encode(createdAt.apply(last), id.apply(last));
+        }
+        return new CursorPageDto<>(pageRows.stream().map(mapper).toList(), nextCursor);
+    }
+}
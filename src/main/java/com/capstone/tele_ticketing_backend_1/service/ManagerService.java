@@ -1,16 +1,25 @@
 package com.capstone.tele_ticketing_backend_1.service;
 
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.capstone.tele_ticketing_backend_1.dto.TicketFacetCountsDto;
 import com.capstone.tele_ticketing_backend_1.dto.TicketFilterDto;
+import com.capstone.tele_ticketing_backend_1.dto.TicketSearchPageDto;
+import com.capstone.tele_ticketing_backend_1.dto.TicketSearchRowDto;
 import com.capstone.tele_ticketing_backend_1.dto.TicketSummaryDto;
 import com.capstone.tele_ticketing_backend_1.entities.Ticket;
+import com.capstone.tele_ticketing_backend_1.entities.TicketSortKey;
 import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
 
 import lombok.RequiredArgsConstructor;
@@ -19,36 +28,84 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class ManagerService implements ManagerServiceInterface {
 
+    // Matching ids are read back in IN lists of this size.
+    private static final int ID_BATCH_SIZE = 1000;
+
     private final TicketRepo ticketRepo;
+    private final TicketFacetService ticketFacetService;
 
     @Transactional(readOnly = true)
     public List<TicketSummaryDto> findTicketsByCriteria(TicketFilterDto filters) {
-        // Dr. X's Fix: This is the non-deprecated way to start a dynamic query.
-        Specification<Ticket> spec = (root, query, criteriaBuilder) -> criteriaBuilder.conjunction();
-
-        // The rest of the logic remains unchanged.
-        if (filters.getStatuses() != null && !filters.getStatuses().isEmpty()) {
-            spec = spec.and(TicketSpecification.hasStatusIn(filters.getStatuses()));
-        }
-        if (filters.getTeamId() != null) {
-            spec = spec.and(TicketSpecification.inTeam(filters.getTeamId()));
-        }
-        if (filters.getCity() != null) {
-            spec = spec.and(TicketSpecification.inCity(filters.getCity()));
+        long[] ticketIds = ticketFacetService.findTicketIds(filters);
+        if (ticketIds == null) {
+            // The facet index is still being built, or the filter needs creation dates it does not
+            // hold: filter on the tickets table.
+            return ticketRepo.findAll(TicketSpecification.matching(filters)).stream()
+                    .map(ticket -> new TicketSummaryDto(
+                            ticket.getId(), ticket.getTicketUid(), ticket.getTitle(),
+                            ticket.getStatus(), ticket.getCreatedAt()))
+                    .collect(Collectors.toList());
         }
-        if (filters.isSlaAtRisk()) {
-            spec = spec.and(TicketSpecification.isAtSlaRisk());
-        }
-        if (filters.isSlaBreached()) {
-            spec = spec.and(TicketSpecification.isSlaBreached());
+
+        List<TicketSummaryDto> tickets = new ArrayList<>(ticketIds.length);
+        for (int from = 0; from < ticketIds.length; from += ID_BATCH_SIZE) {
+            List<Long> batch = Arrays.stream(ticketIds, from, Math.min(from + ID_BATCH_SIZE, ticketIds.length)).boxed().toList();
+            Map<Long, TicketSummaryDto> summaries = ticketRepo.findSummariesByIdIn(batch).stream()
+                    .collect(Collectors.toMap(TicketSummaryDto::getId, Function.identity()));
+            for (Long id : batch) {
+                // Absent if deleted after the index was read.
+                TicketSummaryDto summary = summaries.get(id);
+                if (summary != null) {
+                    tickets.add(summary);
+                }
+            }
         }
+        return tickets;
+    }
 
-        List<Ticket> tickets = ticketRepo.findAll(spec);
+    @Transactional(readOnly = true)
+    public TicketFacetCountsDto getFacetCounts(TicketFilterDto filters) {
+        return countFacets(filters, TicketSpecification.matching(filters));
+    }
+
+    @Transactional(readOnly = true)
+    public TicketSearchPageDto searchTickets(TicketFilterDto filters, TicketSortKey sort, Sort.Direction direction,
+                                             String cursor, Integer size) {
+        int pageSize = KeysetPagination.pageSize(size);
+        TicketSearchCursor position = TicketSearchCursor.decode(cursor, sort, direction);
+        Specification<Ticket> matching = TicketSpecification.matching(filters);
+        Specification<Ticket> page = position == null ? matching : matching.and(
+                TicketSpecification.after(sort.getAttribute(), direction.isAscending(), position.value(), position.id()));
 
-        return tickets.stream()
-                .map(ticket -> new TicketSummaryDto(
-                        ticket.getId(), ticket.getTicketUid(), ticket.getTitle(),
-                        ticket.getStatus(), ticket.getCreatedAt()))
-                .collect(Collectors.toList());
+        List<TicketSearchRowDto> rows = ticketRepo.findSearchPage(page, sort.getAttribute(), direction.isAscending(), pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<TicketSearchRowDto> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            TicketSearchRowDto last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new TicketSearchCursor(sort, direction, last.getSortValue(), last.getId()).encode();
+        }
+        // Facets describe the whole result rather than the page, so they are counted once, with the first page.
+        TicketFacetCountsDto facets = position == null ? countFacets(filters, matching) : null;
+        return new TicketSearchPageDto(pageRows.stream().map(TicketSearchRowDto::toSummary).toList(), nextCursor, facets);
+    }
+
+    private TicketFacetCountsDto countFacets(TicketFilterDto filters, Specification<Ticket> matching) {
+        TicketFacetCountsDto indexed = ticketFacetService.findFacetCounts(filters);
+        if (indexed != null) {
+            return indexed;
+        }
+        // The facet index is still being built, or the filter needs creation dates it does not hold:
+        // count on the tickets table.
+        return new TicketFacetCountsDto(
+                ticketRepo.count(matching),
+                ticketRepo.countGroupedBy(matching, "status"),
+                ticketRepo.countGroupedByAssigneeTeam(matching),
+                ticketRepo.countGroupedByCustomerCity(matching),
+                ticketRepo.countGroupedBy(matching, "category"),
+                ticketRepo.countGroupedBy(matching, "priority"),
+                ticketRepo.countGroupedBy(matching, "severity"),
+                ticketRepo.count(matching.and(TicketSpecification.isAtSlaRisk())),
+                ticketRepo.count(matching.and(TicketSpecification.isSlaBreached())));
     }
-}
\ No newline at end of file
+}
@@ -1,15 +1,37 @@
 package com.capstone.tele_ticketing_backend_1.service;
 
+import com.capstone.tele_ticketing_backend_1.dto.TicketFacetCountsDto;
 import com.capstone.tele_ticketing_backend_1.dto.TicketFilterDto;
+import com.capstone.tele_ticketing_backend_1.dto.TicketSearchPageDto;
 import com.capstone.tele_ticketing_backend_1.dto.TicketSummaryDto;
+import com.capstone.tele_ticketing_backend_1.entities.TicketSortKey;
+import org.springframework.data.domain.Sort;
 import java.util.List;
 
 public interface ManagerServiceInterface {
 
     /**
      * Finds a list of tickets based on a dynamic set of filters.
-     * @param filters A DTO containing optional filters for status, team, location, and SLA risk.
+     * @param filters A DTO containing optional filters for status, team, location, category, priority, severity and SLA risk.
      * @return A list of ticket summaries matching the criteria.
      */
     List<TicketSummaryDto> findTicketsByCriteria(TicketFilterDto filters);
+
+    /**
+     * Counts the tickets matching a set of filters per status, team, city, category, priority, severity and SLA state.
+     * @param filters A DTO containing optional filters, as for findTicketsByCriteria.
+     * @return The total and the per-facet counts of the matching tickets.
+     */
+    TicketFacetCountsDto getFacetCounts(TicketFilterDto filters);
+
+    /**
+     * Retrieves one sorted page of the tickets matching a set of filters.
+     * @param filters A DTO containing optional filters, as for findTicketsByCriteria, plus assignee and creation date range.
+     * @param sort The ticket timestamp to order by; ties are broken by id.
+     * @param direction The sort direction.
+     * @param cursor The nextCursor of the previous page (issued for the same sort and direction), or null for the first page.
+     * @param size Page size (default 20, capped at 100).
+     * @return The page of ticket summaries and, with the first page only, facet counts over all matching tickets.
+     */
+    TicketSearchPageDto searchTickets(TicketFilterDto filters, TicketSortKey sort, Sort.Direction direction, String cursor, Integer size);
 }
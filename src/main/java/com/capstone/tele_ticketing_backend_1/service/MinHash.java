@@ -0,0 +1,102 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * MinHash signatures over the word shingles (single words and adjacent word pairs) of ticket text.
+ * The fraction of positions at which two signatures agree estimates the Jaccard similarity of the
+ * two shingle sets, at a fixed 128 ints per ticket however long its description is.
+ * <p>
+ * Signatures are persisted, so the seeds are fixed: changing them or {@link #LENGTH} makes every
+ * stored signature meaningless (empty ticket_signatures and restart to rebuild it).
+ */
+final class MinHash {
+
+    static final int LENGTH = 128;
+
+    private static final long[] SEEDS = new long[LENGTH];
+
+    static {
+        long state = 0x7E1E7C0DE5EEDL;
+        for (int i = 0; i < LENGTH; i++) {
+            state += 0x9E3779B97F4A7C15L;
+            SEEDS[i] = mix(state);
+        }
+    }
+
+    private MinHash() {
+    }
+
+    /**
+     * @return The signature, or null if the text has no words to hash.
+     */
+    static int[] signature(String title, String description) {
+        Set<Long> shingles = new HashSet<>();
+        addShingles(TicketSearchTokenizer.tokenize(title), shingles);
+        addShingles(TicketSearchTokenizer.tokenize(description), shingles);
+        if (shingles.isEmpty()) {
+            return null;
+        }
+        int[] signature = new int[LENGTH];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (long shingle : shingles) {
+            for (int i = 0; i < LENGTH; i++) {
+                // Top 31 bits of a seeded 64-bit mix: an independent hash function per position.
+                int hash = (int) (mix(shingle ^ SEEDS[i]) >>> 33);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / LENGTH;
+    }
+
+    static byte[] toBytes(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(LENGTH * Integer.BYTES);
+        buffer.asIntBuffer().put(signature);
+        return buffer.array();
+    }
+
+    static int[] fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != LENGTH * Integer.BYTES) {
+            return null;
+        }
+        int[] signature = new int[LENGTH];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(signature);
+        return signature;
+    }
+
+    // SplitMix64 finalizer.
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static void addShingles(List<String> words, Set<Long> shingles) {
+        long previous = 0;
+        for (int i = 0; i < words.size(); i++) {
+            // String.hashCode is specified, so shingle hashes are stable across restarts.
+            long word = mix(words.get(i).hashCode());
+            shingles.add(word);
+            if (i > 0) {
+                shingles.add(mix(previous * 31 + word));
+            }
+            previous = word;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Locality-sensitive hashing over {@link MinHash} signatures, so near-duplicates are found without
+ * comparing a ticket against every other one.
+ * <p>
+ * Each signature is cut into {@value #BANDS} bands of {@value #ROWS} values, and a ticket is filed
+ * under one bucket per band, keyed by the band's values and the ticket's partition. Tickets sharing
+ * any bucket are candidates, which are then checked against the full signature. With 32 bands of 4,
+ * a pair with Jaccard similarity 0.5 shares a bucket with probability ~0.87, at 0.7 ~0.9998, and at
+ * 0.3 only ~0.23, so dissimilar tickets are rarely compared at all.
+ * <p>
+ * Lookups share a read lock; changes take the write lock.
+ */
+final class MinHashLshIndex {
+
+    static final int BANDS = 32;
+    static final int ROWS = MinHash.LENGTH / BANDS;
+
+    record Match(long ticketId, double similarity) {
+    }
+
+    private record Entry(String partition, int[] signature) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<Long, List<Long>> buckets = new HashMap<>();
+
+    void add(long ticketId, String partition, int[] signature) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(ticketId);
+            entries.put(ticketId, new Entry(partition, signature));
+            for (int band = 0; band < BANDS; band++) {
+                buckets.computeIfAbsent(bandKey(partition, band, signature), key -> new ArrayList<>(2)).add(ticketId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    boolean remove(long ticketId) {
+        lock.writeLock().lock();
+        try {
+            return removeLocked(ticketId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return Indexed tickets in the same partition whose estimated similarity to this ticket is at
+     * least threshold, most similar first. Empty if the ticket is not indexed.
+     */
+    List<Match> candidatesOf(long ticketId, double threshold, int limit) {
+        lock.readLock().lock();
+        try {
+            Entry entry = entries.get(ticketId);
+            return entry == null ? List.of() : match(entry.partition(), entry.signature(), ticketId, threshold, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    boolean contains(long ticketId) {
+        lock.readLock().lock();
+        try {
+            return entries.containsKey(ticketId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Match> match(String partition, int[] signature, long excludeId, double threshold, int limit) {
+        Set<Long> compared = new HashSet<>();
+        List<Match> matches = new ArrayList<>();
+        for (int band = 0; band < BANDS; band++) {
+            List<Long> bucket = buckets.get(bandKey(partition, band, signature));
+            if (bucket == null) {
+                continue;
+            }
+            for (Long candidateId : bucket) {
+                if (candidateId == excludeId || !compared.add(candidateId)) {
+                    continue;
+                }
+                Entry candidate = entries.get(candidateId);
+                // Bucket keys can collide across partitions; the partition itself decides.
+                if (!candidate.partition().equals(partition)) {
+                    continue;
+                }
+                double similarity = MinHash.similarity(signature, candidate.signature());
+                if (similarity >= threshold) {
+                    matches.add(new Match(candidateId, similarity));
+                }
+            }
+        }
+        matches.sort(Comparator.comparingDouble(Match::similarity).reversed()
+                .thenComparing(Comparator.comparingLong(Match::ticketId).reversed()));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    private boolean removeLocked(long ticketId) {
+        Entry entry = entries.remove(ticketId);
+        if (entry == null) {
+            return false;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            long key = bandKey(entry.partition(), band, entry.signature());
+            List<Long> bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.remove(Long.valueOf(ticketId));
+                if (bucket.isEmpty()) {
+                    buckets.remove(key);
+                }
+            }
+        }
+        return true;
+    }
+
+    private static long bandKey(String partition, int band, int[] signature) {
+        long key = MinHash.mix(partition.hashCode() * 31L + band);
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            key = MinHash.mix(key ^ signature[i]);
+        }
+        return key;
+    }
+}
@@ -0,0 +1,165 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.dto.CursorPageDto;
+import com.capstone.tele_ticketing_backend_1.dto.NotificationDto;
+import com.capstone.tele_ticketing_backend_1.dto.UnreadCountDto;
+import com.capstone.tele_ticketing_backend_1.entities.NotificationInboxEntry;
+import com.capstone.tele_ticketing_backend_1.entities.NotificationInboxState;
+import com.capstone.tele_ticketing_backend_1.entities.Ticket;
+import com.capstone.tele_ticketing_backend_1.entities.TicketActivity;
+import com.capstone.tele_ticketing_backend_1.repo.NotificationInboxRepo;
+import com.capstone.tele_ticketing_backend_1.repo.NotificationInboxStateRepo;
+import com.capstone.tele_ticketing_backend_1.repo.TicketActivityRepo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationInboxService implements NotificationInboxServiceInterface {
+
+    // Plain JDBC so a duplicate from a concurrent first delivery doesn't mark the JPA transaction rollback-only.
+    private static final String INSERT_STATE_SQL =
+            "INSERT INTO notification_inbox_state (user_id, last_seq, read_seq) VALUES (?, 0, 0)";
+
+    private final NotificationInboxRepo inboxRepo;
+    private final NotificationInboxStateRepo stateRepo;
+    private final TicketActivityRepo activityRepo;
+    private final JdbcTemplate jdbcTemplate;
+    private final JobLeaseService jobLeaseService;
+
+    @Transactional
+    public void deliver(List<TicketActivity> activities) {
+        // Sorted by recipient id, matching the lock order in findAllForUpdate.
+        Map<Long, List<TicketActivity>> byRecipient = new TreeMap<>();
+        for (TicketActivity activity : activities) {
+            if (activity.isInternalOnly()) {
+                continue;
+            }
+            for (Long recipientId : recipientsOf(activity.getTicket())) {
+                byRecipient.computeIfAbsent(recipientId, id -> new ArrayList<>()).add(activity);
+            }
+        }
+        if (byRecipient.isEmpty()) {
+            return;
+        }
+
+        Map<Long, NotificationInboxState> states = lockStates(byRecipient.keySet());
+        List<NotificationInboxEntry> entries = new ArrayList<>();
+        byRecipient.forEach((recipientId, recipientActivities) -> {
+            NotificationInboxState state = states.get(recipientId);
+            for (TicketActivity activity : recipientActivities) {
+                state.setLastSeq(state.getLastSeq() + 1);
+                entries.add(toEntry(recipientId, state.getLastSeq(), activity));
+            }
+        });
+        inboxRepo.saveAll(entries);
+        log.debug("Delivered {} inbox entries to {} users", entries.size(), states.size());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<NotificationDto> getInbox(Long userId, String cursor, Integer size) {
+        int pageSize = KeysetPagination.pageSize(size);
+        // The inbox is ordered by seq alone; it rides in the cursor's id slot.
+        KeysetPagination.Cursor position = KeysetPagination.decode(cursor);
+        List<NotificationInboxEntry> entries = inboxRepo.findByRecipientIdAndSeqLessThanOrderBySeqDesc(userId,
+                position.id(), KeysetPagination.limit(pageSize));
+
+        return KeysetPagination.toPage(entries, pageSize, NotificationInboxEntry::getCreatedAt,
+                NotificationInboxEntry::getSeq, NotificationInboxEntry::toNotificationDto);
+    }
+
+    @Transactional(readOnly = true)
+    public UnreadCountDto getUnreadCount(Long userId) {
+        return stateRepo.findById(userId)
+                .map(state -> new UnreadCountDto(state.getLastSeq() - state.getReadSeq(), state.getLastSeq()))
+                .orElseGet(() -> new UnreadCountDto(0, 0));
+    }
+
+    @Transactional
+    public UnreadCountDto markRead(Long userId, Long upToSeq) {
+        if (upToSeq == null) {
+            stateRepo.markAllRead(userId);
+        } else {
+            stateRepo.advanceReadSeq(userId, upToSeq);
+        }
+        return getUnreadCount(userId);
+    }
+
+    @Transactional
+    public Long backfillChunk(Long afterActivityId, Long maxActivityId, int chunkSize) {
+        List<TicketActivity> activities = activityRepo.findPublicWithTicketInIdRange(afterActivityId, maxActivityId,
+                PageRequest.of(0, chunkSize));
+        if (activities.isEmpty()) {
+            return null;
+        }
+        deliver(activities);
+        jobLeaseService.checkFencingToken();
+        return activities.get(activities.size() - 1).getId();
+    }
+
+    private Set<Long> recipientsOf(Ticket ticket) {
+        // Reading the id of a lazy reference does not load the user.
+        Set<Long> recipients = new LinkedHashSet<>();
+        if (ticket.getCreatedFor() != null) {
+            recipients.add(ticket.getCreatedFor().getId());
+        }
+        if (ticket.getCreatedBy() != null) {
+            recipients.add(ticket.getCreatedBy().getId());
+        }
+        return recipients;
+    }
+
+    private Map<Long, NotificationInboxState> lockStates(Set<Long> userIds) {
+        Map<Long, NotificationInboxState> states = lockExisting(userIds);
+        if (states.size() < userIds.size()) {
+            // First notification for these users: create their state rows, then lock them like the rest.
+            for (Long userId : userIds) {
+                if (!states.containsKey(userId)) {
+                    try {
+                        jdbcTemplate.update(INSERT_STATE_SQL, userId);
+                    } catch (DuplicateKeyException e) {
+                        log.debug("Inbox state for user {} was created concurrently", userId);
+                    }
+                }
+            }
+            states = lockExisting(userIds);
+        }
+        return states;
+    }
+
+    private Map<Long, NotificationInboxState> lockExisting(Set<Long> userIds) {
+        return stateRepo.findAllForUpdate(userIds).stream()
+                .collect(Collectors.toMap(NotificationInboxState::getUserId, Function.identity()));
+    }
+
+    private NotificationInboxEntry toEntry(Long recipientId, long seq, TicketActivity activity) {
+        Ticket ticket = activity.getTicket();
+        NotificationInboxEntry entry = new NotificationInboxEntry();
+        entry.setRecipientId(recipientId);
+        entry.setSeq(seq);
+        entry.setActivityId(activity.getId());
+        entry.setTicketUid(ticket.getTicketUid());
+        entry.setTicketTitle(ticket.getTitle());
+        entry.setDescription(activity.getDescription());
+        entry.setActivityType(activity.getActivityType());
+        // createdAt is only stamped when the activity row is flushed.
+        entry.setCreatedAt(activity.getCreatedAt() != null ? activity.getCreatedAt() : LocalDateTime.now());
+        return entry;
+    }
+}
@@ -0,0 +1,52 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.dto.CursorPageDto;
+import com.capstone.tele_ticketing_backend_1.dto.NotificationDto;
+import com.capstone.tele_ticketing_backend_1.dto.UnreadCountDto;
+import com.capstone.tele_ticketing_backend_1.entities.TicketActivity;
+
+import java.util.List;
+
+public interface NotificationInboxServiceInterface {
+
+    /**
+     * Appends saved activities to the inboxes of their tickets' customer (createdFor) and agent (createdBy).
+     * Internal-only activities are skipped. Must run in the transaction that saved the activities.
+     * @param activities Activities that already have ids, with their tickets loaded.
+     */
+    void deliver(List<TicketActivity> activities);
+
+    /**
+     * Retrieves a page of a user's inbox, newest first.
+     * @param userId The recipient's id.
+     * @param cursor The nextCursor of the previous page, or null for the first page.
+     * @param size The page size (defaults to 20, capped at 100).
+     * @return A page of notifications.
+     */
+    CursorPageDto<NotificationDto> getInbox(Long userId, String cursor, Integer size);
+
+    /**
+     * Retrieves the unread badge count for a user.
+     * @param userId The recipient's id.
+     * @return The unread count and the seq of the newest notification.
+     */
+    UnreadCountDto getUnreadCount(Long userId);
+
+    /**
+     * Moves the user's read watermark forward.
+     * @param userId The recipient's id.
+     * @param upToSeq Mark notifications up to and including this seq as read, or null for all of them.
+     * @return The unread count after the update.
+     */
+    UnreadCountDto markRead(Long userId, Long upToSeq);
+
+    /**
+     * Fills inboxes from existing public activities, one chunk per transaction. Under the backfill's
+     * job lease, the chunk only commits while the lease is still held.
+     * @param afterActivityId Activities with an id above this one are delivered.
+     * @param maxActivityId Upper bound (inclusive), fixed when the backfill started.
+     * @param chunkSize The number of activities to deliver.
+     * @return The last activity id delivered, or null when there is nothing left.
+     */
+    Long backfillChunk(Long afterActivityId, Long maxActivityId, int chunkSize);
+}
@@ -0,0 +1,330 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.dto.NotificationDto;
+import com.capstone.tele_ticketing_backend_1.entities.ActivityType;
+import com.capstone.tele_ticketing_backend_1.events.ActivityLoggedEvent;
+import com.capstone.tele_ticketing_backend_1.events.SlaStateChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes new notifications to clients over Server-Sent Events instead of having them poll the
+ * paged /notifications endpoints.
+ * <p>
+ * Streams are grouped into channels (one per customer, one per agent, one per team lead for SLA
+ * alerts, one shared triage channel).
+ * Open streams are held by the async servlet support, not by a thread: a small dispatcher pool
+ * writes queued events, and each stream has a bounded queue. A stream that falls a full queue
+ * behind is closed, and its client reconnects with Last-Event-ID. Each channel keeps its last few
+ * events so a reconnect can be replayed without a database query.
+ */
+@Service
+@Slf4j
+public class NotificationStreamService implements NotificationStreamServiceInterface {
+
+    public static final String TRIAGE_CHANNEL = "triage";
+    static final String NOTIFICATION_EVENT = "notification";
+    static final String RESYNC_EVENT = "resync";
+
+    private static final Set<ActivityType> TRIAGE_TYPES = EnumSet.copyOf(TriageOfficerService.NOTIFICATION_TYPES);
+    private static final StreamEvent RESYNC = new StreamEvent(null, RESYNC_EVENT, "Missed events are no longer buffered; reload the notifications feed.");
+    private static final StreamEvent HEARTBEAT = new StreamEvent(null, null, null);
+
+    private final Executor dispatcher;
+    private final long emitterTimeoutMs;
+    private final int connectionBufferSize;
+    private final int replaySize;
+    private final long channelRetentionMs;
+
+    private final ConcurrentMap<String, Channel> channels = new ConcurrentHashMap<>();
+
+    @Autowired
+    public NotificationStreamService(@Value("${notifications.sse.dispatch-threads:4}") int dispatchThreads,
+                                     @Value("${notifications.sse.timeout-ms:1800000}") long emitterTimeoutMs,
+                                     @Value("${notifications.sse.connection-buffer:256}") int connectionBufferSize,
+                                     @Value("${notifications.sse.replay-size:100}") int replaySize,
+                                     @Value("${notifications.sse.channel-retention-ms:600000}") long channelRetentionMs) {
+        this(Executors.newFixedThreadPool(dispatchThreads, dispatchThreadFactory()),
+                emitterTimeoutMs, connectionBufferSize, replaySize, channelRetentionMs);
+    }
+
+    NotificationStreamService(Executor dispatcher, long emitterTimeoutMs, int connectionBufferSize,
+                              int replaySize, long channelRetentionMs) {
+        this.dispatcher = dispatcher;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.connectionBufferSize = connectionBufferSize;
+        this.replaySize = replaySize;
+        this.channelRetentionMs = channelRetentionMs;
+    }
+
+    public static String customerChannel(Long userId) {
+        return "customer:" + userId;
+    }
+
+    public static String agentChannel(Long userId) {
+        return "agent:" + userId;
+    }
+
+    public static String teamLeadChannel(Long userId) {
+        return "team-lead:" + userId;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (dispatcher instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Override
+    public SseEmitter subscribe(String channelKey, String lastEventId) {
+        SseEmitter emitter = createEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+
+        // compute() keeps the join atomic with respect to the idle-channel sweep.
+        channels.compute(channelKey, (key, channel) -> {
+            Channel target = channel != null ? channel : new Channel();
+            target.join(subscriber, lastEventId);
+            return target;
+        });
+        subscriber.schedule();
+        return emitter;
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onActivityLogged(ActivityLoggedEvent event) {
+        NotificationDto notification = event.getNotification();
+        StreamEvent streamEvent = new StreamEvent(String.valueOf(notification.getActivityId()), NOTIFICATION_EVENT, notification);
+
+        // Mirrors the paged feeds: customers and agents only see public activities on their tickets,
+        // triage officers see the triage-relevant types on every ticket.
+        if (!event.isInternalOnly()) {
+            if (event.getCustomerId() != null) {
+                publish(customerChannel(event.getCustomerId()), streamEvent);
+            }
+            if (event.getAgentId() != null) {
+                publish(agentChannel(event.getAgentId()), streamEvent);
+            }
+        }
+        if (TRIAGE_TYPES.contains(event.getActivityType())) {
+            publish(TRIAGE_CHANNEL, streamEvent);
+        }
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSlaStateChanged(SlaStateChangedEvent event) {
+        NotificationDto notification = event.getNotification();
+        StreamEvent streamEvent = new StreamEvent(String.valueOf(notification.getActivityId()), NOTIFICATION_EVENT, notification);
+        for (Long teamLeadId : event.getTeamLeadIds()) {
+            publish(teamLeadChannel(teamLeadId), streamEvent);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${notifications.sse.heartbeat-ms:25000}")
+    public int sendHeartbeats() {
+        long now = System.currentTimeMillis();
+        int open = 0;
+        for (Map.Entry<String, Channel> entry : channels.entrySet()) {
+            open += entry.getValue().broadcast(HEARTBEAT);
+            channels.computeIfPresent(entry.getKey(), (key, channel) -> channel.isIdle(now) ? null : channel);
+        }
+        return open;
+    }
+
+    int subscriberCount(String channelKey) {
+        Channel channel = channels.get(channelKey);
+        return channel == null ? 0 : channel.subscribers.size();
+    }
+
+    // Overridden in tests to capture what is sent.
+    SseEmitter createEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private void publish(String channelKey, StreamEvent event) {
+        Channel channel = channels.get(channelKey);
+        // Nobody has listened on this channel recently, so there is nobody to replay to either.
+        if (channel != null) {
+            channel.publish(event);
+        }
+    }
+
+    private static ThreadFactory dispatchThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "sse-dispatch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record StreamEvent(String id, String name, Object data) {
+
+        SseEmitter.SseEventBuilder toBuilder() {
+            if (name == null) {
+                return SseEmitter.event().comment("keep-alive");
+            }
+            SseEmitter.SseEventBuilder builder = SseEmitter.event().name(name).data(data);
+            return id != null ? builder.id(id) : builder;
+        }
+    }
+
+    private final class Channel {
+
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        // Most recent events in delivery order, for Last-Event-ID replay. Guarded by this.
+        private final ArrayDeque<StreamEvent> history = new ArrayDeque<>();
+        private volatile long lastUsedMs = System.currentTimeMillis();
+
+        synchronized void join(Subscriber subscriber, String lastEventId) {
+            subscriber.channel = this;
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                List<StreamEvent> missed = eventsAfter(lastEventId);
+                if (missed == null) {
+                    subscriber.offer(RESYNC);
+                } else {
+                    missed.forEach(subscriber::offer);
+                }
+            }
+            subscribers.add(subscriber);
+            lastUsedMs = System.currentTimeMillis();
+        }
+
+        synchronized void publish(StreamEvent event) {
+            if (replaySize > 0) {
+                if (history.size() >= replaySize) {
+                    history.removeFirst();
+                }
+                history.addLast(event);
+            }
+            broadcast(event);
+        }
+
+        int broadcast(StreamEvent event) {
+            int delivered = 0;
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.offer(event)) {
+                    delivered++;
+                }
+            }
+            return delivered;
+        }
+
+        void leave(Subscriber subscriber) {
+            subscribers.remove(subscriber);
+            lastUsedMs = System.currentTimeMillis();
+        }
+
+        boolean isIdle(long now) {
+            return subscribers.isEmpty() && now - lastUsedMs > channelRetentionMs;
+        }
+
+        // Events after lastEventId, or null if that id has already dropped out of the history.
+        private List<StreamEvent> eventsAfter(String lastEventId) {
+            List<StreamEvent> missed = new ArrayList<>();
+            boolean found = false;
+            for (Iterator<StreamEvent> it = history.iterator(); it.hasNext(); ) {
+                StreamEvent event = it.next();
+                if (found) {
+                    missed.add(event);
+                } else if (lastEventId.equals(event.id())) {
+                    found = true;
+                }
+            }
+            return found ? missed : null;
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<StreamEvent> pending = new ArrayBlockingQueue<>(connectionBufferSize);
+        // At most one drain task per stream, so events go out in order without a thread per stream.
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile Channel channel;
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        boolean offer(StreamEvent event) {
+            if (closed) {
+                return false;
+            }
+            if (!pending.offer(event)) {
+                log.debug("Closing notification stream that fell {} events behind", connectionBufferSize);
+                close();
+                emitter.complete();
+                return false;
+            }
+            schedule();
+            return true;
+        }
+
+        void schedule() {
+            if (!closed && !pending.isEmpty() && draining.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                StreamEvent event;
+                while (!closed && (event = pending.poll()) != null) {
+                    emitter.send(event.toBuilder());
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away; the container reports the error to the emitter's callbacks as well.
+                close();
+            } finally {
+                draining.set(false);
+            }
+            // Pick up anything offered while this drain was finishing.
+            schedule();
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending.clear();
+            Channel current = channel;
+            if (current != null) {
+                current.leave(this);
+            }
+        }
+    }
+}
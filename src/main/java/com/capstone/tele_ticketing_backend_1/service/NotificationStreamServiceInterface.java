@@ -0,0 +1,36 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.events.ActivityLoggedEvent;
+import com.capstone.tele_ticketing_backend_1.events.SlaStateChangedEvent;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface NotificationStreamServiceInterface {
+
+    /**
+     * Opens a Server-Sent Events stream on a notification channel.
+     * @param channel The channel key, e.g. from {@code customerChannel(userId)} or {@code TRIAGE_CHANNEL}.
+     * @param lastEventId The Last-Event-ID sent by a reconnecting client, or null for a fresh stream.
+     *                    Missed events are replayed if still buffered; otherwise a "resync" event tells
+     *                    the client to reload its feed from the paged notifications endpoint.
+     * @return The emitter to return from the controller.
+     */
+    SseEmitter subscribe(String channel, String lastEventId);
+
+    /**
+     * Pushes a committed activity to every channel that should see it.
+     * @param event The activity, captured when it was inserted.
+     */
+    void onActivityLogged(ActivityLoggedEvent event);
+
+    /**
+     * Pushes a committed SLA at-risk or breach notice to the leads of the teams working the ticket.
+     * @param event The ticket's new SLA state and the notification for the activity that recorded it.
+     */
+    void onSlaStateChanged(SlaStateChangedEvent event);
+
+    /**
+     * Sends a keep-alive comment to every open stream and drops channels that have been idle for too long.
+     * @return The number of open streams.
+     */
+    int sendHeartbeats();
+}
@@ -0,0 +1,328 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.dto.TicketReportRowDto;
+import com.capstone.tele_ticketing_backend_1.entities.ReportDimension;
+import com.capstone.tele_ticketing_backend_1.entities.ReportGranularity;
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+import com.capstone.tele_ticketing_backend_1.entities.TicketHourlyRollup;
+import com.capstone.tele_ticketing_backend_1.entities.TicketSeverity;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of ticket_hourly_rollups, by day, that answers the range reports without a
+ * database round trip.
+ * <p>
+ * A day holds one entry per hour and combination of category, severity, team and city, with the
+ * status summed away. The four values are packed into one long key, teams and cities as dense ids,
+ * so grouping by some of them is masking the key. A day's entries summed over its hours are kept per
+ * set of grouped dimensions: a daily report over a year reads 365 small arrays. Totals and breakdowns
+ * by one dimension are summed when the day is stored, other groupings on first use.
+ * <p>
+ * Days are replaced whole and their arrays never change, so queries take no locks.
+ */
+final class ReportCube {
+
+    // Key layout, from the low bits: category ordinal + 1, severity ordinal + 1, team id, city id,
+    // then the hour in the hourly entries. 0 in a field means no value, or not grouped by.
+    private static final int SEVERITY_SHIFT = 6;
+    private static final int TEAM_SHIFT = 10;
+    private static final int CITY_SHIFT = 34;
+    private static final int HOUR_SHIFT = 58;
+    private static final long CATEGORY_BITS = 0x3FL;
+    private static final long SEVERITY_BITS = 0xFL << SEVERITY_SHIFT;
+    private static final long TEAM_BITS = 0xFFFFFFL << TEAM_SHIFT;
+    private static final long CITY_BITS = 0xFFFFFFL << CITY_SHIFT;
+    private static final long HOUR_BITS = 0x1FL << HOUR_SHIFT;
+    private static final int MAX_DICTIONARY_ID = 0xFFFFFF;
+
+    private static final TicketCategory[] CATEGORIES = TicketCategory.values();
+    private static final TicketSeverity[] SEVERITIES = TicketSeverity.values();
+
+    private static final Comparator<TicketReportRowDto> ROW_ORDER = Comparator
+            .comparing(TicketReportRowDto::getBucket)
+            .thenComparing(Comparator.comparingLong(TicketReportRowDto::getTicketCount).reversed());
+
+    // Parallel arrays, one element per key. Never modified after construction.
+    private record Entries(long[] keys, long[] tickets, long[] resolved, long[] seconds) {
+
+        void addTo(Sums sums, long mask) {
+            for (int i = 0; i < keys.length; i++) {
+                sums.add(keys[i] & mask, tickets[i], resolved[i], seconds[i]);
+            }
+        }
+    }
+
+    // Sums per key in an open-addressing table, so summing a day does not box every key.
+    private static final class Sums {
+        private long[] keys;
+        private long[] tickets;
+        private long[] resolved;
+        private long[] seconds;
+        private boolean[] used;
+        private int size;
+
+        Sums(int expected) {
+            allocate(Integer.highestOneBit(Math.max(8, expected) * 2 - 1) << 1);
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            tickets = new long[capacity];
+            resolved = new long[capacity];
+            seconds = new long[capacity];
+            used = new boolean[capacity];
+            size = 0;
+        }
+
+        void add(long key, long ticketCount, long resolvedCount, long resolutionSeconds) {
+            // Kept at most half full, so probes stay short.
+            if ((size + 1) * 2 > keys.length) {
+                grow();
+            }
+            int mask = keys.length - 1;
+            int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+            while (used[slot] && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (!used[slot]) {
+                used[slot] = true;
+                keys[slot] = key;
+                size++;
+            }
+            tickets[slot] += ticketCount;
+            resolved[slot] += resolvedCount;
+            seconds[slot] += resolutionSeconds;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldTickets = tickets;
+            long[] oldResolved = resolved;
+            long[] oldSeconds = seconds;
+            boolean[] oldUsed = used;
+            allocate(oldKeys.length * 2);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i]) {
+                    add(oldKeys[i], oldTickets[i], oldResolved[i], oldSeconds[i]);
+                }
+            }
+        }
+
+        Entries toEntries() {
+            Entries entries = new Entries(new long[size], new long[size], new long[size], new long[size]);
+            int j = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (used[i]) {
+                    entries.keys[j] = keys[i];
+                    entries.tickets[j] = tickets[i];
+                    entries.resolved[j] = resolved[i];
+                    entries.seconds[j] = seconds[i];
+                    j++;
+                }
+            }
+            return entries;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+
+    private static final class DaySlice {
+        final long refreshedAtMillis;
+        // The hour is in the top bits of each key.
+        final Entries hourly;
+        // Summed over the hours, indexed by the bits of the grouped dimensions' ordinals. Entries are
+        // immutable, so two queries racing to fill a slot just compute the same array twice.
+        final Entries[] summed = new Entries[1 << ReportDimension.values().length];
+
+        DaySlice(long refreshedAtMillis, Entries hourly) {
+            this.refreshedAtMillis = refreshedAtMillis;
+            this.hourly = hourly;
+        }
+
+        Entries summed(int dimensions, long mask) {
+            Entries cells = summed[dimensions];
+            if (cells == null) {
+                Sums sums = new Sums(dimensions == 0 ? 1 : hourly.keys().length);
+                hourly.addTo(sums, mask);
+                cells = sums.toEntries();
+                summed[dimensions] = cells;
+            }
+            return cells;
+        }
+    }
+
+    // Dense ids for team ids and cities, from 1. Append-only, so an id in any stored key stays valid.
+    private static final class Dictionary<T> {
+        private final Map<T, Integer> ids = new ConcurrentHashMap<>();
+        private volatile Object[] values = new Object[16];
+        private int size;
+
+        int idOf(T value) {
+            if (value == null) {
+                return 0;
+            }
+            Integer id = ids.get(value);
+            if (id != null) {
+                return id;
+            }
+            synchronized (this) {
+                id = ids.get(value);
+                if (id == null) {
+                    if (size == MAX_DICTIONARY_ID) {
+                        throw new IllegalStateException("Too many distinct report dimension values");
+                    }
+                    id = ++size;
+                    Object[] grown = values.length > id ? values : Arrays.copyOf(values, values.length * 2);
+                    grown[id] = value;
+                    values = grown;
+                    ids.put(value, id);
+                }
+                return id;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        T valueOf(int id) {
+            return id == 0 ? null : (T) values[id];
+        }
+    }
+
+    private final Map<LocalDate, DaySlice> days = new ConcurrentHashMap<>();
+    private final Dictionary<Long> teams = new Dictionary<>();
+    private final Dictionary<String> cities = new Dictionary<>();
+
+    /**
+     * Replaces a day with its rollup rows, as of the given rebuild.
+     */
+    void replaceDay(LocalDate day, long refreshedAtMillis, Collection<TicketHourlyRollup> rows) {
+        days.put(day, slice(refreshedAtMillis, rows));
+    }
+
+    /**
+     * Adds a day unless it is already present, e.g. because a rebuild on this node stored a newer copy
+     * while the day was being loaded.
+     */
+    void putDayIfAbsent(LocalDate day, long refreshedAtMillis, Collection<TicketHourlyRollup> rows) {
+        days.computeIfAbsent(day, d -> slice(refreshedAtMillis, rows));
+    }
+
+    // The rebuild a day was stored as of, or -1 if it is not present.
+    long refreshedAt(LocalDate day) {
+        DaySlice slice = days.get(day);
+        return slice == null ? -1 : slice.refreshedAtMillis;
+    }
+
+    int dayCount() {
+        return days.size();
+    }
+
+    /**
+     * Tickets created from from to to (both inclusive), summed per bucket and combination of the
+     * grouped dimensions. Rows are in bucket order, largest ticket count first within a bucket.
+     * Team names are left null.
+     */
+    List<TicketReportRowDto> query(LocalDate from, LocalDate to, ReportGranularity granularity,
+                                   Set<ReportDimension> groupBy) {
+        int dimensions = 0;
+        long mask = 0;
+        for (ReportDimension dimension : groupBy) {
+            dimensions |= 1 << dimension.ordinal();
+            mask |= bitsOf(dimension);
+        }
+
+        List<TicketReportRowDto> rows = new ArrayList<>();
+        Sums bucket = null;
+        LocalDate bucketStart = null;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            DaySlice slice = days.get(day);
+            if (slice == null) {
+                continue;
+            }
+            if (granularity == ReportGranularity.HOUR) {
+                Sums hours = new Sums(slice.hourly.keys().length);
+                slice.hourly.addTo(hours, mask | HOUR_BITS);
+                emit(rows, day, hours.toEntries());
+                continue;
+            }
+            Entries cells = slice.summed(dimensions, mask);
+            if (granularity == ReportGranularity.DAY) {
+                // Keys within a day's cells are distinct already.
+                emit(rows, day, cells);
+                continue;
+            }
+            LocalDate start = granularity.bucketStart(day);
+            if (!start.equals(bucketStart)) {
+                if (bucket != null) {
+                    emit(rows, bucketStart, bucket.toEntries());
+                }
+                bucket = new Sums(cells.keys().length);
+                bucketStart = start;
+            }
+            cells.addTo(bucket, -1L);
+        }
+        if (bucket != null && !bucket.isEmpty()) {
+            emit(rows, bucketStart, bucket.toEntries());
+        }
+        rows.sort(ROW_ORDER);
+        return rows;
+    }
+
+    private DaySlice slice(long refreshedAtMillis, Collection<TicketHourlyRollup> rows) {
+        Sums sums = new Sums(rows.size());
+        for (TicketHourlyRollup row : rows) {
+            long key = (long) row.getHour() << HOUR_SHIFT
+                    | (row.getCategory() == null ? 0 : row.getCategory().ordinal() + 1)
+                    | (long) (row.getSeverity() == null ? 0 : row.getSeverity().ordinal() + 1) << SEVERITY_SHIFT
+                    | (long) teams.idOf(row.getTeamId()) << TEAM_SHIFT
+                    | (long) cities.idOf(row.getCity()) << CITY_SHIFT;
+            sums.add(key, row.getTicketCount(), row.getResolvedCount(), row.getResolutionSeconds());
+        }
+        DaySlice slice = new DaySlice(refreshedAtMillis, sums.toEntries());
+        slice.summed(0, 0L);
+        for (ReportDimension dimension : ReportDimension.values()) {
+            slice.summed(1 << dimension.ordinal(), bitsOf(dimension));
+        }
+        return slice;
+    }
+
+    private void emit(List<TicketReportRowDto> rows, LocalDate day, Entries entries) {
+        for (int i = 0; i < entries.keys().length; i++) {
+            rows.add(row(day, entries.keys()[i], entries.tickets()[i], entries.resolved()[i], entries.seconds()[i]));
+        }
+    }
+
+    private TicketReportRowDto row(LocalDate day, long key, long tickets, long resolved, long seconds) {
+        int category = (int) (key & CATEGORY_BITS);
+        int severity = (int) ((key & SEVERITY_BITS) >>> SEVERITY_SHIFT);
+        return new TicketReportRowDto(
+                day.atTime((int) ((key & HOUR_BITS) >>> HOUR_SHIFT), 0),
+                category == 0 ? null : CATEGORIES[category - 1],
+                severity == 0 ? null : SEVERITIES[severity - 1],
+                teams.valueOf((int) ((key & TEAM_BITS) >>> TEAM_SHIFT)),
+                null,
+                cities.valueOf((int) ((key & CITY_BITS) >>> CITY_SHIFT)),
+                tickets,
+                resolved,
+                resolved == 0 ? null : seconds / 3600.0 / resolved);
+    }
+
+    private static long bitsOf(ReportDimension dimension) {
+        return switch (dimension) {
+            case CATEGORY -> CATEGORY_BITS;
+            case SEVERITY -> SEVERITY_BITS;
+            case TEAM -> TEAM_BITS;
+            case CITY -> CITY_BITS;
+        };
+    }
+}
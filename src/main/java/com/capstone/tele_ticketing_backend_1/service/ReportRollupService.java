@@ -0,0 +1,277 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.dto.TicketReportRowDto;
+import com.capstone.tele_ticketing_backend_1.entities.ReportDimension;
+import com.capstone.tele_ticketing_backend_1.entities.ReportGranularity;
+import com.capstone.tele_ticketing_backend_1.entities.ReportRollupDay;
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+import com.capstone.tele_ticketing_backend_1.entities.TicketHourlyRollup;
+import com.capstone.tele_ticketing_backend_1.entities.TicketSeverity;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+import com.capstone.tele_ticketing_backend_1.events.ReportDayChangedEvent;
+import com.capstone.tele_ticketing_backend_1.events.TicketAssignmentsChangedEvent;
+import com.capstone.tele_ticketing_backend_1.projections.SatisfactionScoreProjection;
+import com.capstone.tele_ticketing_backend_1.projections.TicketRollupSourceProjection;
+import com.capstone.tele_ticketing_backend_1.projections.TicketTeamProjection;
+import com.capstone.tele_ticketing_backend_1.repo.FeedbackDailyRollupRepo;
+import com.capstone.tele_ticketing_backend_1.repo.FeedbackRepo;
+import com.capstone.tele_ticketing_backend_1.repo.ReportRollupDayRepo;
+import com.capstone.tele_ticketing_backend_1.repo.TicketHourlyRollupRepo;
+import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Maintains ticket_hourly_rollups and feedback_daily_rollups, which the CXO reports read instead of
+ * grouping the tickets and feedback tables on every load, and the in-memory cube the range reports
+ * are answered from.
+ * <p>
+ * Writes only mark the day they touch; flush() then rebuilds each marked day from that day's
+ * tickets and feedback. A ticket's status, severity and team change long after it is created, and
+ * rebuilding its day is a few hundred rows at most, so this keeps the rollups exact without
+ * tracking each row's previous values. A day is unmarked before it is rebuilt, so a write that
+ * commits during the rebuild marks it again.
+ * <p>
+ * Marked days live in memory on the node that made the write; days marked on a node that stops
+ * before flushing are rebuilt by the nightly refresh of recent days. Moving an engineer to another
+ * team or a customer to another city changes no ticket, so older days keep their team and city
+ * until they are next rebuilt.
+ * <p>
+ * A rebuild stores the day in this node's cube once it commits. Other nodes find it through
+ * report_rollup_days, which they poll every reports.cube.sync-ms; until the cube is loaded at
+ * startup, range reports are summed from the rollup rows instead.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportRollupService implements ReportRollupServiceInterface {
+
+    private static final String INSERT_TICKET_ROLLUP_SQL = "INSERT INTO ticket_hourly_rollups " +
+            "(rollup_day, rollup_hour, category, status, severity, team_id, city, ticket_count, resolved_count, " +
+            "resolution_seconds) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_FEEDBACK_ROLLUP_SQL =
+            "INSERT INTO feedback_daily_rollups (rollup_day, rating, feedback_count) VALUES (?, ?, ?)";
+
+    // Days are loaded into the cube a month at a time.
+    private static final int LOAD_CHUNK_DAYS = 31;
+    // A sync looks this far behind the previous one, for rebuilds that committed late or on a clock slightly behind.
+    private static final long SYNC_OVERLAP_MILLIS = 5 * 60 * 1000;
+
+    private record TicketRollupKey(int hour, TicketCategory category, TicketStatus status, TicketSeverity severity,
+                                   Long teamId, String city) {
+    }
+
+    private final TicketRepo ticketRepo;
+    private final FeedbackRepo feedbackRepo;
+    private final TicketHourlyRollupRepo ticketRollupRepo;
+    private final FeedbackDailyRollupRepo feedbackRollupRepo;
+    private final ReportRollupDayRepo rollupDayRepo;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JobLeaseService jobLeaseService;
+
+    private final Set<LocalDate> dirtyDays = ConcurrentHashMap.newKeySet();
+    private final ReportCube cube = new ReportCube();
+    private volatile boolean cubeLoaded;
+    private volatile long lastSyncMillis;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDayChanged(ReportDayChangedEvent event) {
+        dirtyDays.add(event.getDay());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssignmentsChanged(TicketAssignmentsChangedEvent event) {
+        ticketRepo.findCreatedAtById(event.getTicketId())
+                .ifPresent(createdAt -> dirtyDays.add(createdAt.toLocalDate()));
+    }
+
+    @Scheduled(fixedDelayString = "${reports.rollup.flush-ms:5000}")
+    public int flush() {
+        if (dirtyDays.isEmpty()) {
+            return 0;
+        }
+        int refreshed = 0;
+        for (LocalDate day : new TreeSet<>(dirtyDays)) {
+            dirtyDays.remove(day);
+            try {
+                refreshDay(day);
+                refreshed++;
+            } catch (RuntimeException e) {
+                // Kept for the next flush; the nightly refresh catches it if this node stops first.
+                dirtyDays.add(day);
+                log.warn("Failed to refresh report rollups for {}: {}", day, e.getMessage());
+            }
+        }
+        return refreshed;
+    }
+
+    public void refreshDay(LocalDate day) {
+        LocalDateTime from = day.atStartOfDay();
+        LocalDateTime to = day.plusDays(1).atStartOfDay();
+        long refreshedAt = System.currentTimeMillis();
+        List<TicketHourlyRollup> ticketRollups = transactionTemplate.execute(status -> {
+            // Locking the day's marker first makes two nodes rebuilding the same day take turns.
+            if (rollupDayRepo.markRefreshed(day, refreshedAt) == 0) {
+                rollupDayRepo.save(new ReportRollupDay(day, refreshedAt));
+            }
+            ticketRollupRepo.deleteByDay(day);
+            feedbackRollupRepo.deleteByDay(day);
+
+            List<TicketHourlyRollup> rollups = sumTickets(day, from, to);
+            if (!rollups.isEmpty()) {
+                Date rollupDay = Date.valueOf(day);
+                jdbcTemplate.batchUpdate(INSERT_TICKET_ROLLUP_SQL, rollups.stream()
+                        .map(r -> new Object[]{rollupDay, r.getHour(), r.getCategory().name(), r.getStatus().name(),
+                                r.getSeverity() == null ? null : r.getSeverity().name(), r.getTeamId(), r.getCity(),
+                                r.getTicketCount(), r.getResolvedCount(), r.getResolutionSeconds()})
+                        .toList());
+            }
+
+            List<Object[]> feedbackRows = new ArrayList<>();
+            for (SatisfactionScoreProjection rating : feedbackRepo.countByRatingCreatedBetween(from, to)) {
+                feedbackRows.add(new Object[]{Date.valueOf(day), rating.getRating(), rating.getCount()});
+            }
+            if (!feedbackRows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_FEEDBACK_ROLLUP_SQL, feedbackRows);
+            }
+            // Under the nightly refresh: a node that lost the lease rolls the day back instead of committing it.
+            jobLeaseService.checkFencingToken();
+            return rollups;
+        });
+        cube.replaceDay(day, refreshedAt, ticketRollups);
+    }
+
+    public int refreshRecent(int days) {
+        LocalDate today = LocalDate.now();
+        return refreshRange(today.minusDays(days), today);
+    }
+
+    public int backfill() {
+        Optional<LocalDate> first = Stream.of(ticketRepo.findEarliestCreatedAt(), feedbackRepo.findEarliestCreatedAt())
+                .flatMap(Optional::stream)
+                .map(LocalDateTime::toLocalDate)
+                .min(LocalDate::compareTo);
+        if (first.isEmpty()) {
+            return 0;
+        }
+        long started = System.nanoTime();
+        int refreshed = refreshRange(first.get(), LocalDate.now());
+        log.info("Backfilled report rollups for {} days from {} in {} ms", refreshed, first.get(),
+                (System.nanoTime() - started) / 1_000_000);
+        return refreshed;
+    }
+
+    public boolean hasRollups() {
+        return rollupDayRepo.findFirstBy().isPresent();
+    }
+
+    public void loadCube() {
+        long started = System.currentTimeMillis();
+        // Rebuilds committed from here on are picked up by the first sync.
+        lastSyncMillis = started;
+        Map<LocalDate, Long> refreshedAt = rollupDayRepo.findAll().stream()
+                .collect(Collectors.toMap(ReportRollupDay::getDay, ReportRollupDay::getRefreshedAtMillis));
+        Optional<LocalDate> first = ticketRollupRepo.findEarliestDay();
+        if (first.isPresent()) {
+            LocalDate today = LocalDate.now();
+            for (LocalDate from = first.get(); !from.isAfter(today); from = from.plusDays(LOAD_CHUNK_DAYS)) {
+                LocalDate to = from.plusDays(LOAD_CHUNK_DAYS - 1);
+                Map<LocalDate, List<TicketHourlyRollup>> byDay = ticketRollupRepo.findByDayBetween(from, to).stream()
+                        .collect(Collectors.groupingBy(TicketHourlyRollup::getDay));
+                // Days rebuilt on this node while loading are already newer than what was read.
+                byDay.forEach((day, rows) -> cube.putDayIfAbsent(day, refreshedAt.getOrDefault(day, 0L), rows));
+            }
+        }
+        cubeLoaded = true;
+        log.info("Loaded {} days of report rollups into the report cube in {} ms", cube.dayCount(),
+                System.currentTimeMillis() - started);
+    }
+
+    @Scheduled(fixedDelayString = "${reports.cube.sync-ms:5000}")
+    public int syncCube() {
+        if (!cubeLoaded) {
+            return 0;
+        }
+        long started = System.currentTimeMillis();
+        int reloaded = 0;
+        for (ReportRollupDay marker : rollupDayRepo.findByRefreshedAtMillisGreaterThanEqual(lastSyncMillis - SYNC_OVERLAP_MILLIS)) {
+            // Days this node rebuilt itself are already current.
+            if (cube.refreshedAt(marker.getDay()) != marker.getRefreshedAtMillis()) {
+                cube.replaceDay(marker.getDay(), marker.getRefreshedAtMillis(), ticketRollupRepo.findByDay(marker.getDay()));
+                reloaded++;
+            }
+        }
+        lastSyncMillis = started;
+        if (reloaded > 0) {
+            log.debug("Reloaded {} days of report rollups rebuilt on other nodes", reloaded);
+        }
+        return reloaded;
+    }
+
+    public List<TicketReportRowDto> queryTickets(LocalDate from, LocalDate to, ReportGranularity granularity,
+                                                 Set<ReportDimension> groupBy) {
+        if (cubeLoaded) {
+            return cube.query(from, to, granularity, groupBy);
+        }
+        // Not loaded yet: the same sums, over the range's rows read now.
+        ReportCube range = new ReportCube();
+        ticketRollupRepo.findByDayBetween(from, to).stream()
+                .collect(Collectors.groupingBy(TicketHourlyRollup::getDay))
+                .forEach((day, rows) -> range.replaceDay(day, 0L, rows));
+        return range.query(from, to, granularity, groupBy);
+    }
+
+    // A day's tickets, summed per creation hour and reported values.
+    private List<TicketHourlyRollup> sumTickets(LocalDate day, LocalDateTime from, LocalDateTime to) {
+        Map<Long, Long> teamByTicket = new HashMap<>();
+        for (TicketTeamProjection team : ticketRepo.findRollupTeamsCreatedBetween(from, to)) {
+            teamByTicket.put(team.getTicketId(), team.getTeamId());
+        }
+        Map<TicketRollupKey, TicketHourlyRollup> rollups = new LinkedHashMap<>();
+        for (TicketRollupSourceProjection ticket : ticketRepo.findRollupSourcesCreatedBetween(from, to)) {
+            TicketRollupKey key = new TicketRollupKey(ticket.getCreatedAt().getHour(), ticket.getCategory(),
+                    ticket.getStatus(), ticket.getSeverity(), teamByTicket.get(ticket.getId()), ticket.getCity());
+            TicketHourlyRollup rollup = rollups.computeIfAbsent(key, k -> new TicketHourlyRollup(null, day, k.hour(),
+                    k.category(), k.status(), k.severity(), k.teamId(), k.city(), 0, 0, 0));
+            rollup.setTicketCount(rollup.getTicketCount() + 1);
+            if (ticket.getResolvedAt() != null) {
+                rollup.setResolvedCount(rollup.getResolvedCount() + 1);
+                rollup.setResolutionSeconds(rollup.getResolutionSeconds()
+                        + Math.max(0, Duration.between(ticket.getCreatedAt(), ticket.getResolvedAt()).getSeconds()));
+            }
+        }
+        return new ArrayList<>(rollups.values());
+    }
+
+    // One transaction per day, so a long backfill holds no locks for long.
+    private int refreshRange(LocalDate from, LocalDate to) {
+        int refreshed = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            refreshDay(day);
+            refreshed++;
+        }
+        return refreshed;
+    }
+}
@@ -0,0 +1,75 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.dto.TicketReportRowDto;
+import com.capstone.tele_ticketing_backend_1.entities.ReportDimension;
+import com.capstone.tele_ticketing_backend_1.entities.ReportGranularity;
+import com.capstone.tele_ticketing_backend_1.events.ReportDayChangedEvent;
+import com.capstone.tele_ticketing_backend_1.events.TicketAssignmentsChangedEvent;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+public interface ReportRollupServiceInterface {
+
+    /**
+     * Marks the day of a written ticket or feedback row for rebuilding, once its transaction commits.
+     */
+    void onDayChanged(ReportDayChangedEvent event);
+
+    /**
+     * Marks the creation day of a ticket whose assignees, and so whose reporting team, changed.
+     */
+    void onAssignmentsChanged(TicketAssignmentsChangedEvent event);
+
+    /**
+     * Rebuilds the rollups of every day marked since the last flush.
+     * @return The number of days rebuilt.
+     */
+    int flush();
+
+    /**
+     * Replaces a day's ticket and feedback rollups with ones computed from the tickets and feedback of that day.
+     */
+    void refreshDay(LocalDate day);
+
+    /**
+     * Rebuilds the rollups of the last few days, e.g. to pick up days marked on a node that stopped before flushing.
+     * @param days The number of days before today to rebuild, as well as today.
+     * @return The number of days rebuilt.
+     */
+    int refreshRecent(int days);
+
+    /**
+     * Rebuilds the rollups of every day from the first ticket or feedback to today.
+     * @return The number of days rebuilt.
+     */
+    int backfill();
+
+    /**
+     * @return Whether any day's rollups have been built.
+     */
+    boolean hasRollups();
+
+    /**
+     * Loads every day's ticket rollups into this node's report cube, which then serves the range reports.
+     */
+    void loadCube();
+
+    /**
+     * Reloads into the cube the days other nodes rebuilt since the last sync.
+     * @return The number of days reloaded.
+     */
+    int syncCube();
+
+    /**
+     * Sums the tickets created in a range of days per bucket and grouped dimensions.
+     * @param from The first day, inclusive.
+     * @param to The last day, inclusive.
+     * @param granularity The bucket size.
+     * @param groupBy The dimensions to group by within each bucket; empty for one row per bucket.
+     * @return The non-empty buckets in order, largest ticket count first within each. Team names are not set.
+     */
+    List<TicketReportRowDto> queryTickets(LocalDate from, LocalDate to, ReportGranularity granularity,
+                                          Set<ReportDimension> groupBy);
+}
@@ -1,9 +1,14 @@
 package com.capstone.tele_ticketing_backend_1.service;
 
 
-import java.time.LocalDateTime;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
@@ -11,11 +16,18 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.capstone.tele_ticketing_backend_1.dto.AverageResolutionTimeDto;
 import com.capstone.tele_ticketing_backend_1.dto.SatisfactionScoreDto;
+import com.capstone.tele_ticketing_backend_1.dto.TicketReportDto;
+import com.capstone.tele_ticketing_backend_1.dto.TicketReportRowDto;
 import com.capstone.tele_ticketing_backend_1.dto.TimeSeriesDataPointDto;
+import com.capstone.tele_ticketing_backend_1.entities.ReportDimension;
+import com.capstone.tele_ticketing_backend_1.entities.ReportGranularity;
+import com.capstone.tele_ticketing_backend_1.entities.Team;
+import com.capstone.tele_ticketing_backend_1.exceptions.BadRequestException;
 import com.capstone.tele_ticketing_backend_1.projections.SatisfactionScoreProjection;
 import com.capstone.tele_ticketing_backend_1.projections.TicketVolumeProjection;
-import com.capstone.tele_ticketing_backend_1.repo.FeedbackRepo;
-import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
+import com.capstone.tele_ticketing_backend_1.repo.FeedbackDailyRollupRepo;
+import com.capstone.tele_ticketing_backend_1.repo.TeamRepo;
+import com.capstone.tele_ticketing_backend_1.repo.TicketHourlyRollupRepo;
 
 import lombok.RequiredArgsConstructor;
 
@@ -24,14 +36,20 @@ import lombok.RequiredArgsConstructor;
 @Transactional(readOnly = true)
 public class ReportingService implements ReportingServiceInterface {
 
-    private final TicketRepo ticketRepo;
-    private final FeedbackRepo feedbackRepo;
+    // The fixed reports cover the last 30 days, counted from each request.
+    private static final int REPORTING_DAYS = 30;
+    // Range reports: at most ten years, and hourly buckets for at most a quarter.
+    static final int MAX_RANGE_DAYS = 3660;
+    static final int MAX_HOURLY_RANGE_DAYS = 92;
 
-    // Defines the time range for our reports (e.g., last 30 days)
-    private static final LocalDateTime REPORTING_START_DATE = LocalDateTime.now().minusDays(30);
+    // Read from the rollups ReportRollupService maintains, not the tickets and feedback tables.
+    private final TicketHourlyRollupRepo ticketRollupRepo;
+    private final FeedbackDailyRollupRepo feedbackRollupRepo;
+    private final ReportRollupService reportRollupService;
+    private final TeamRepo teamRepo;
 
     public List<TimeSeriesDataPointDto> getTicketVolumeReport() {
-        List<TicketVolumeProjection> projections = ticketRepo.getTicketVolumeByDay(REPORTING_START_DATE);
+        List<TicketVolumeProjection> projections = ticketRollupRepo.getTicketVolumeByDay(reportingStart());
 
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd");
         return projections.stream()
@@ -43,12 +61,12 @@ public class ReportingService implements ReportingServiceInterface {
     }
 
     public AverageResolutionTimeDto getAverageResolutionTimeReport() {
-        Double avgHours = ticketRepo.getAverageResolutionTimeInHours(REPORTING_START_DATE);
+        Double avgHours = ticketRollupRepo.getAverageResolutionTimeInHours(reportingStart());
         return new AverageResolutionTimeDto(avgHours != null ? avgHours : 0.0);
     }
 
     public List<SatisfactionScoreDto> getSatisfactionScoreReport() {
-        List<SatisfactionScoreProjection> projections = feedbackRepo.getSatisfactionScoreDistribution();
+        List<SatisfactionScoreProjection> projections = feedbackRollupRepo.getSatisfactionScoreDistribution();
         return projections.stream()
                 .map(p -> new SatisfactionScoreDto(
                         p.getRating(),
@@ -56,4 +74,36 @@ public class ReportingService implements ReportingServiceInterface {
                 ))
                 .collect(Collectors.toList());
     }
+
+    public TicketReportDto getTicketReport(LocalDate from, LocalDate to, ReportGranularity granularity,
+                                           Set<ReportDimension> groupBy) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("The report range must not end before it starts.");
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > MAX_RANGE_DAYS) {
+            throw new BadRequestException("A report can cover at most " + MAX_RANGE_DAYS + " days.");
+        }
+        if (granularity == ReportGranularity.HOUR && days > MAX_HOURLY_RANGE_DAYS) {
+            throw new BadRequestException("An hourly report can cover at most " + MAX_HOURLY_RANGE_DAYS + " days.");
+        }
+        Set<ReportDimension> dimensions = groupBy == null || groupBy.isEmpty()
+                ? EnumSet.noneOf(ReportDimension.class) : EnumSet.copyOf(groupBy);
+
+        List<TicketReportRowDto> rows = reportRollupService.queryTickets(from, to, granularity, dimensions);
+        if (dimensions.contains(ReportDimension.TEAM)) {
+            Set<Long> teamIds = rows.stream()
+                    .map(TicketReportRowDto::getTeamId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            Map<Long, String> teamNames = teamRepo.findAllById(teamIds).stream()
+                    .collect(Collectors.toMap(Team::getId, Team::getName));
+            rows.forEach(row -> row.setTeamName(teamNames.get(row.getTeamId())));
+        }
+        return new TicketReportDto(from, to, granularity, dimensions, rows);
+    }
+
+    private static LocalDate reportingStart() {
+        return LocalDate.now().minusDays(REPORTING_DAYS);
+    }
 }
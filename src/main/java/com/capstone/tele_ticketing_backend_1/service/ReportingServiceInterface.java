@@ -2,8 +2,14 @@ package com.capstone.tele_ticketing_backend_1.service;
 
 import com.capstone.tele_ticketing_backend_1.dto.AverageResolutionTimeDto;
 import com.capstone.tele_ticketing_backend_1.dto.SatisfactionScoreDto;
+import com.capstone.tele_ticketing_backend_1.dto.TicketReportDto;
 import com.capstone.tele_ticketing_backend_1.dto.TimeSeriesDataPointDto;
+import com.capstone.tele_ticketing_backend_1.entities.ReportDimension;
+import com.capstone.tele_ticketing_backend_1.entities.ReportGranularity;
+
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 public interface ReportingServiceInterface {
 
@@ -24,4 +30,16 @@ public interface ReportingServiceInterface {
      * @return A list of DTOs, each containing a rating (1-5) and its total count.
      */
     List<SatisfactionScoreDto> getSatisfactionScoreReport();
+
+    /**
+     * Gets ticket counts and resolution times for any range of days, per bucket and grouped dimensions.
+     * @param from The first day of the range, inclusive.
+     * @param to The last day of the range, inclusive.
+     * @param granularity The bucket size: hour, day, week or month.
+     * @param groupBy The dimensions to break each bucket down by (category, team, city, severity); none for totals.
+     * @return The report, with team names filled in when grouped by team.
+     * @throws com.capstone.tele_ticketing_backend_1.exceptions.BadRequestException If the range is reversed or too long.
+     */
+    TicketReportDto getTicketReport(LocalDate from, LocalDate to, ReportGranularity granularity,
+                                    Set<ReportDimension> groupBy);
 }
\ No newline at end of file
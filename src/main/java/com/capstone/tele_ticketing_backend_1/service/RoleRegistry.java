@@ -0,0 +1,58 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.entities.ERole;
+import com.capstone.tele_ticketing_backend_1.entities.Role;
+import com.capstone.tele_ticketing_backend_1.repo.RoleRepo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Holds every {@link Role} row in an EnumMap so signups, approvals and role changes
+ * resolve roles without a query. Loaded once the application is ready; call {@link #refresh()}
+ * if the roles table changes at runtime.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RoleRegistry implements RoleRegistryInterface {
+
+    private final RoleRepo roleRepo;
+
+    // Replaced wholesale on refresh, so readers never see a half-loaded map.
+    private volatile Map<ERole, Role> rolesByName = Collections.emptyMap();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    @Override
+    public Optional<Role> findRole(ERole name) {
+        Role role = rolesByName.get(name);
+        if (role == null) {
+            // The role may have been seeded after startup; reload once before giving up.
+            refresh();
+            role = rolesByName.get(name);
+        }
+        return Optional.ofNullable(role);
+    }
+
+    @Override
+    public synchronized int refresh() {
+        Map<ERole, Role> loaded = new EnumMap<>(ERole.class);
+        for (Role role : roleRepo.findAll()) {
+            loaded.put(role.getName(), role);
+        }
+        rolesByName = Collections.unmodifiableMap(loaded);
+        log.info("Role registry loaded {} roles", loaded.size());
+        return loaded.size();
+    }
+}
@@ -0,0 +1,22 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.entities.ERole;
+import com.capstone.tele_ticketing_backend_1.entities.Role;
+
+import java.util.Optional;
+
+public interface RoleRegistryInterface {
+
+    /**
+     * Looks up a role from the in-memory registry without querying the database.
+     * @param name The role to look up.
+     * @return The Role entity, or empty if it does not exist in the roles table.
+     */
+    Optional<Role> findRole(ERole name);
+
+    /**
+     * Reloads all roles from the database, e.g. after roles were seeded or changed manually.
+     * @return The number of roles now held in the registry.
+     */
+    int refresh();
+}
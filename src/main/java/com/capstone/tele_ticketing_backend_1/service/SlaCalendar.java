@@ -0,0 +1,320 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A team's working time: weekly shift hours minus holidays, used to place SLA deadlines in working
+ * time rather than wall-clock time.
+ * <p>
+ * The hours are written as groups separated by ';', each a day or day range followed by one or
+ * more shifts, e.g. {@code "MON-FRI 09:00-13:00 14:00-18:00; SAT 10:00-14:00"}. A shift ends at
+ * or before 24:00 of its own day; a night shift is written as two groups.
+ * <p>
+ * On construction the calendar tabulates the working minutes before the start of every day in a
+ * range of dates that covers all the holidays, and for each weekday the working minutes before
+ * each of its shifts. The working time up to any instant is then a table lookup plus a binary
+ * search over the day's shifts, and the instant a given amount of working time is reached is a
+ * binary search over the days. Outside the table there are no holidays, so the weekly pattern
+ * repeats and the same numbers follow from whole weeks plus at most seven days.
+ * <p>
+ * Date-times are local, like Ticket.slaBreachAt. Immutable and thread-safe.
+ */
+final class SlaCalendar {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final long SECONDS_PER_MINUTE = 60;
+
+    // Per weekday, Monday first: shift starts and ends in minutes of the day, and the working minutes
+    // before each shift (one more entry than there are shifts, the last being the day's total).
+    private final int[][] shiftStarts = new int[7][];
+    private final int[][] shiftEnds = new int[7][];
+    private final long[][] minutesBeforeShift = new long[7][];
+    private final long weekMinutes;
+
+    private final long firstEpochDay;
+    private final boolean[] holiday;
+    // Working minutes from the start of the first day to the start of day i; one entry past the last day.
+    private final long[] minutesBeforeDay;
+
+    /**
+     * @param workingHours The weekly hours, as described above.
+     * @param holidays Dates with no working time.
+     * @param tableFrom First date to tabulate; widened to the earliest holiday.
+     * @param tableTo Last date to tabulate; widened to the latest holiday.
+     * @throws IllegalArgumentException If the hours cannot be parsed or add up to no working time.
+     */
+    SlaCalendar(String workingHours, Collection<LocalDate> holidays, LocalDate tableFrom, LocalDate tableTo) {
+        parse(workingHours);
+        long minutes = 0;
+        for (int day = 0; day < 7; day++) {
+            long[] before = minutesBeforeShift[day];
+            minutes += before[before.length - 1];
+        }
+        if (minutes == 0) {
+            throw new IllegalArgumentException("Working hours contain no working time: " + workingHours);
+        }
+        weekMinutes = minutes;
+
+        LocalDate from = tableFrom;
+        LocalDate to = tableTo;
+        for (LocalDate date : holidays) {
+            from = date.isBefore(from) ? date : from;
+            to = date.isAfter(to) ? date : to;
+        }
+        firstEpochDay = from.toEpochDay();
+        int days = Math.toIntExact(to.toEpochDay() - firstEpochDay + 1);
+        holiday = new boolean[days];
+        for (LocalDate date : holidays) {
+            holiday[(int) (date.toEpochDay() - firstEpochDay)] = true;
+        }
+        minutesBeforeDay = new long[days + 1];
+        for (int day = 0; day < days; day++) {
+            minutesBeforeDay[day + 1] = minutesBeforeDay[day] + dayMinutes(day);
+        }
+    }
+
+    /**
+     * @return The instant the given working time has passed after from, or before it when minutes is negative.
+     *         Landing exactly on the end of a shift gives that end rather than the start of the next one.
+     */
+    LocalDateTime addWorkingMinutes(LocalDateTime from, long minutes) {
+        if (minutes == 0) {
+            return from;
+        }
+        return instantAt(workingSecondsAt(from) + minutes * SECONDS_PER_MINUTE);
+    }
+
+    /**
+     * @return The working minutes between the two instants, rounded down; negative when to is before from.
+     */
+    long workingMinutesBetween(LocalDateTime from, LocalDateTime to) {
+        return Math.floorDiv(workingSecondsAt(to) - workingSecondsAt(from), SECONDS_PER_MINUTE);
+    }
+
+    long weekMinutes() {
+        return weekMinutes;
+    }
+
+    // Working seconds from the start of the table's first day to the instant (negative before it).
+    private long workingSecondsAt(LocalDateTime dateTime) {
+        long day = dateTime.toLocalDate().toEpochDay() - firstEpochDay;
+        long secondOfDay = dateTime.toLocalTime().toSecondOfDay();
+        return minutesBeforeDay(day) * SECONDS_PER_MINUTE + workingSecondsWithinDay(day, secondOfDay);
+    }
+
+    // The earliest instant with the given working seconds since the start of the table.
+    private LocalDateTime instantAt(long seconds) {
+        int last = minutesBeforeDay.length - 1;
+        long day;
+        long before;
+        if (seconds > minutesBeforeDay[last] * SECONDS_PER_MINUTE) {
+            // After the table: skip whole weeks, then walk the last few days.
+            long weekSeconds = weekMinutes * SECONDS_PER_MINUTE;
+            long weeks = (seconds - minutesBeforeDay[last] * SECONDS_PER_MINUTE - 1) / weekSeconds;
+            day = last + weeks * 7;
+            before = minutesBeforeDay[last] + weeks * weekMinutes;
+            while ((before + dayMinutes(day)) * SECONDS_PER_MINUTE < seconds) {
+                before += dayMinutes(day);
+                day++;
+            }
+        } else if (seconds <= 0) {
+            // Before the table: the same, walking backwards.
+            long weeks = -seconds / (weekMinutes * SECONDS_PER_MINUTE);
+            day = -weeks * 7;
+            before = -weeks * weekMinutes;
+            while (before * SECONDS_PER_MINUTE >= seconds) {
+                day--;
+                before -= dayMinutes(day);
+            }
+        } else {
+            // The first day whose end reaches the target. Days without working time repeat the same
+            // total, so this is a lower bound rather than Arrays.binarySearch, which may land on any of them.
+            int low = 1;
+            int high = last;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (minutesBeforeDay[mid] * SECONDS_PER_MINUTE >= seconds) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            day = low - 1;
+            before = minutesBeforeDay[(int) day];
+        }
+
+        // Somewhere in this day's shifts: find the first shift whose end reaches the rest.
+        long rest = seconds - before * SECONDS_PER_MINUTE;
+        int weekday = weekday(day);
+        long[] shiftBefore = minutesBeforeShift[weekday];
+        int shift = 0;
+        int high = shiftBefore.length - 2;
+        while (shift < high) {
+            int mid = (shift + high) >>> 1;
+            if (shiftBefore[mid + 1] * SECONDS_PER_MINUTE >= rest) {
+                high = mid;
+            } else {
+                shift = mid + 1;
+            }
+        }
+        long secondOfDay = shiftStarts[weekday][shift] * SECONDS_PER_MINUTE + rest - shiftBefore[shift] * SECONDS_PER_MINUTE;
+        return LocalDate.ofEpochDay(firstEpochDay + day).atStartOfDay().plusSeconds(secondOfDay);
+    }
+
+    private long minutesBeforeDay(long day) {
+        int last = minutesBeforeDay.length - 1;
+        if (day >= 0 && day <= last) {
+            return minutesBeforeDay[(int) day];
+        }
+        if (day > last) {
+            return minutesBeforeDay[last] + repeatedMinutes(last, day);
+        }
+        return -repeatedMinutes(day, 0);
+    }
+
+    // Working minutes of the days [from, to), all outside the table.
+    private long repeatedMinutes(long from, long to) {
+        long days = to - from;
+        long minutes = days / 7 * weekMinutes;
+        for (long day = to - days % 7; day < to; day++) {
+            minutes += dayMinutes(day);
+        }
+        return minutes;
+    }
+
+    private long dayMinutes(long day) {
+        if (day >= 0 && day < holiday.length && holiday[(int) day]) {
+            return 0;
+        }
+        long[] before = minutesBeforeShift[weekday(day)];
+        return before[before.length - 1];
+    }
+
+    private long workingSecondsWithinDay(long day, long secondOfDay) {
+        if (day >= 0 && day < holiday.length && holiday[(int) day]) {
+            return 0;
+        }
+        int weekday = weekday(day);
+        int[] starts = shiftStarts[weekday];
+        // The last shift starting at or before the instant.
+        int minuteOfDay = (int) (secondOfDay / SECONDS_PER_MINUTE);
+        int index = Arrays.binarySearch(starts, minuteOfDay);
+        int shift = index >= 0 ? index : -index - 2;
+        if (shift < 0) {
+            return 0;
+        }
+        long intoShift = Math.min(secondOfDay - starts[shift] * SECONDS_PER_MINUTE,
+                (shiftEnds[weekday][shift] - starts[shift]) * SECONDS_PER_MINUTE);
+        return minutesBeforeShift[weekday][shift] * SECONDS_PER_MINUTE + intoShift;
+    }
+
+    private int weekday(long day) {
+        // Epoch day 0 was a Thursday.
+        return (int) Math.floorMod(firstEpochDay + day + 3, 7L);
+    }
+
+    private void parse(String workingHours) {
+        List<List<int[]>> shifts = new ArrayList<>();
+        for (int day = 0; day < 7; day++) {
+            shifts.add(new ArrayList<>());
+        }
+        if (workingHours == null || workingHours.isBlank()) {
+            throw new IllegalArgumentException("Working hours are empty");
+        }
+        for (String group : workingHours.split(";")) {
+            String[] parts = group.trim().split("\\s+");
+            if (parts.length < 2) {
+                throw new IllegalArgumentException("Expected a day range and shifts, got '" + group.trim() + "'");
+            }
+            List<DayOfWeek> days = days(parts[0]);
+            for (int i = 1; i < parts.length; i++) {
+                String[] times = parts[i].split("-");
+                if (times.length != 2) {
+                    throw new IllegalArgumentException("Expected a shift like 09:00-18:00, got '" + parts[i] + "'");
+                }
+                int start = minuteOfDay(times[0]);
+                int end = minuteOfDay(times[1]);
+                if (end <= start) {
+                    throw new IllegalArgumentException("Shift " + parts[i] + " must end after it starts on the same day");
+                }
+                for (DayOfWeek day : days) {
+                    shifts.get(day.getValue() - 1).add(new int[]{start, end});
+                }
+            }
+        }
+        for (int day = 0; day < 7; day++) {
+            List<int[]> merged = merge(shifts.get(day));
+            shiftStarts[day] = new int[merged.size()];
+            shiftEnds[day] = new int[merged.size()];
+            minutesBeforeShift[day] = new long[merged.size() + 1];
+            for (int i = 0; i < merged.size(); i++) {
+                shiftStarts[day][i] = merged.get(i)[0];
+                shiftEnds[day][i] = merged.get(i)[1];
+                minutesBeforeShift[day][i + 1] = minutesBeforeShift[day][i] + merged.get(i)[1] - merged.get(i)[0];
+            }
+        }
+    }
+
+    // Sorted, with overlapping and touching shifts joined.
+    private static List<int[]> merge(List<int[]> shifts) {
+        List<int[]> sorted = new ArrayList<>(shifts);
+        sorted.sort(Comparator.comparingInt(shift -> shift[0]));
+        List<int[]> merged = new ArrayList<>();
+        for (int[] shift : sorted) {
+            int[] previous = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (previous != null && shift[0] <= previous[1]) {
+                previous[1] = Math.max(previous[1], shift[1]);
+            } else {
+                merged.add(new int[]{shift[0], shift[1]});
+            }
+        }
+        return merged;
+    }
+
+    private static List<DayOfWeek> days(String range) {
+        String[] ends = range.split("-");
+        if (ends.length > 2) {
+            throw new IllegalArgumentException("Expected a day like MON or a range like MON-FRI, got '" + range + "'");
+        }
+        DayOfWeek first = day(ends[0]);
+        DayOfWeek last = ends.length == 2 ? day(ends[1]) : first;
+        List<DayOfWeek> days = new ArrayList<>();
+        // Ranges may wrap around the weekend, e.g. FRI-MON.
+        for (DayOfWeek day = first; ; day = day.plus(1)) {
+            days.add(day);
+            if (day == last) {
+                return days;
+            }
+        }
+    }
+
+    private static DayOfWeek day(String name) {
+        String upper = name.trim().toUpperCase(Locale.ROOT);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (upper.length() >= 3 && day.name().startsWith(upper)) {
+                return day;
+            }
+        }
+        throw new IllegalArgumentException("Unknown day '" + name + "'");
+    }
+
+    private static int minuteOfDay(String time) {
+        if (time.trim().equals("24:00")) {
+            return MINUTES_PER_DAY;
+        }
+        try {
+            return LocalTime.parse(time.trim()).toSecondOfDay() / 60;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Expected a time like 09:00, got '" + time + "'");
+        }
+    }
+}
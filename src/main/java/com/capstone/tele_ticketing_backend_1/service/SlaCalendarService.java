@@ -0,0 +1,131 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.dto.SlaDeadline;
+import com.capstone.tele_ticketing_backend_1.entities.AppUser;
+import com.capstone.tele_ticketing_backend_1.entities.Team;
+import com.capstone.tele_ticketing_backend_1.exceptions.BadRequestException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Places SLA deadlines in working time, on the calendar of the team a ticket is assigned to.
+ * <p>
+ * Each team may set its own weekly hours and holidays; teams that do not, and engineers without a
+ * team, use tickets.sla.calendar.default-hours, which by default is round the clock so deadlines stay
+ * plain wall-clock hours until hours are configured. tickets.sla.calendar.holidays apply to every team.
+ * <p>
+ * Calendars are built on first use and cached for cache-ttl-ms, so a change made on another node is
+ * picked up within that time; a change made through this node evicts its copy at once. Each is
+ * tabulated table-days either side of the day it was built, and stays exact beyond that.
+ */
+@Service
+@Slf4j
+public class SlaCalendarService implements SlaCalendarServiceInterface {
+
+    private record CachedCalendar(SlaCalendar calendar, long builtAt) {
+    }
+
+    private final String defaultHours;
+    private final Set<LocalDate> sharedHolidays;
+    private final long atRiskMinutes;
+    private final int tableDays;
+    private final long cacheTtlMillis;
+
+    private final Map<Long, CachedCalendar> byTeam = new ConcurrentHashMap<>();
+    private volatile CachedCalendar defaultCalendar;
+
+    public SlaCalendarService(@Value("${tickets.sla.calendar.default-hours:MON-SUN 00:00-24:00}") String defaultHours,
+                              @Value("${tickets.sla.calendar.holidays:}") String holidays,
+                              @Value("${tickets.sla.at-risk-minutes:120}") long atRiskMinutes,
+                              @Value("${tickets.sla.calendar.table-days:730}") int tableDays,
+                              @Value("${tickets.sla.calendar.cache-ttl-ms:600000}") long cacheTtlMillis) {
+        this.defaultHours = defaultHours;
+        this.sharedHolidays = new HashSet<>();
+        Arrays.stream(holidays.split(","))
+                .map(String::trim)
+                .filter(date -> !date.isEmpty())
+                .map(LocalDate::parse)
+                .forEach(sharedHolidays::add);
+        this.atRiskMinutes = atRiskMinutes;
+        this.tableDays = tableDays;
+        this.cacheTtlMillis = cacheTtlMillis;
+        // Fails startup on invalid default hours rather than the first triage.
+        this.defaultCalendar = new CachedCalendar(build(defaultHours, Set.of()), System.currentTimeMillis());
+    }
+
+    public SlaDeadline deadlineFor(Collection<AppUser> assignees, LocalDateTime from, int slaHours) {
+        Set<Team> teams = new LinkedHashSet<>();
+        for (AppUser assignee : assignees) {
+            teams.add(assignee.getTeam());
+        }
+        if (teams.isEmpty()) {
+            teams.add(null);
+        }
+        SlaCalendar earliestCalendar = null;
+        LocalDateTime earliest = null;
+        for (Team team : teams) {
+            SlaCalendar calendar = calendarFor(team);
+            LocalDateTime breachAt = calendar.addWorkingMinutes(from, slaHours * 60L);
+            if (earliest == null || breachAt.isBefore(earliest)) {
+                earliest = breachAt;
+                earliestCalendar = calendar;
+            }
+        }
+        return new SlaDeadline(earliest, earliestCalendar.addWorkingMinutes(earliest, -atRiskMinutes));
+    }
+
+    public void validate(String workingHours, Collection<LocalDate> holidays) {
+        try {
+            build(workingHours == null || workingHours.isBlank() ? defaultHours : workingHours,
+                    holidays == null ? Set.of() : holidays);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid SLA working hours: " + e.getMessage());
+        }
+    }
+
+    public void evict(Long teamId) {
+        byTeam.remove(teamId);
+    }
+
+    // Called within the caller's transaction: a team's holidays are loaded lazily on a cache miss.
+    private SlaCalendar calendarFor(Team team) {
+        long now = System.currentTimeMillis();
+        if (team == null || team.getId() == null) {
+            CachedCalendar cached = defaultCalendar;
+            if (now - cached.builtAt() > cacheTtlMillis) {
+                cached = new CachedCalendar(build(defaultHours, Set.of()), now);
+                defaultCalendar = cached;
+            }
+            return cached.calendar();
+        }
+        CachedCalendar cached = byTeam.get(team.getId());
+        if (cached == null || now - cached.builtAt() > cacheTtlMillis) {
+            String hours = team.getSlaWorkingHours() == null || team.getSlaWorkingHours().isBlank()
+                    ? defaultHours : team.getSlaWorkingHours();
+            cached = new CachedCalendar(build(hours, Objects.requireNonNullElse(team.getSlaHolidays(), Set.of())), now);
+            byTeam.put(team.getId(), cached);
+            log.debug("Built SLA calendar for team {}: '{}', {} working minutes a week", team.getId(), hours,
+                    cached.calendar().weekMinutes());
+        }
+        return cached.calendar();
+    }
+
+    private SlaCalendar build(String workingHours, Collection<LocalDate> holidays) {
+        Set<LocalDate> allHolidays = new HashSet<>(sharedHolidays);
+        allHolidays.addAll(holidays);
+        LocalDate today = LocalDate.now();
+        return new SlaCalendar(workingHours, allHolidays, today.minusDays(tableDays), today.plusDays(tableDays));
+    }
+}
@@ -0,0 +1,33 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.dto.SlaDeadline;
+import com.capstone.tele_ticketing_backend_1.entities.AppUser;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface SlaCalendarServiceInterface {
+
+    /**
+     * Places a ticket's SLA deadline and at-risk point in working time. A ticket assigned across teams
+     * gets the earliest deadline any of their calendars gives.
+     * @param assignees The engineers the ticket is assigned to; those without a team use the default calendar.
+     * @param from When the SLA starts.
+     * @param slaHours The SLA, in working hours.
+     * @return The deadline, and the point tickets.sla.at-risk-minutes of working time before it.
+     */
+    SlaDeadline deadlineFor(Collection<AppUser> assignees, LocalDateTime from, int slaHours);
+
+    /**
+     * Checks that a team's calendar can be built, before it is saved.
+     * @param workingHours The weekly hours, or null for the default.
+     * @throws com.capstone.tele_ticketing_backend_1.exceptions.BadRequestException If the hours are invalid.
+     */
+    void validate(String workingHours, Collection<LocalDate> holidays);
+
+    /**
+     * Drops the cached calendar of a team whose hours or holidays changed.
+     */
+    void evict(Long teamId);
+}
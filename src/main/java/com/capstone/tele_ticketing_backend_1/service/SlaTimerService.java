@@ -0,0 +1,280 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.dto.NotificationDto;
+import com.capstone.tele_ticketing_backend_1.entities.ActivityType;
+import com.capstone.tele_ticketing_backend_1.entities.AppUser;
+import com.capstone.tele_ticketing_backend_1.entities.SlaState;
+import com.capstone.tele_ticketing_backend_1.entities.Ticket;
+import com.capstone.tele_ticketing_backend_1.entities.TicketActivity;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+import com.capstone.tele_ticketing_backend_1.events.SlaStateChangedEvent;
+import com.capstone.tele_ticketing_backend_1.events.TicketFacetsChangedEvent;
+import com.capstone.tele_ticketing_backend_1.projections.SlaTimerSourceProjection;
+import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves tickets to AT_RISK and BREACHED as their SLA deadlines approach and pass, instead of every
+ * SLA view comparing deadlines to the clock.
+ * <p>
+ * Each open ticket with a deadline has one pending timer in an in-memory {@link SlaTimingWheel}: first
+ * for the at-risk point, then for the deadline itself. Both are set at triage in working time on the
+ * team's SLA calendar (see SlaCalendarService); tickets triaged before the at-risk point was stored
+ * fall back to tickets.sla.at-risk-minutes of wall-clock time before the deadline. Timers are loaded from the tickets table at
+ * startup (see SlaTimerLoader) and follow every committed ticket change through events, so triage,
+ * re-triage and resolution set, move or cancel them. Events only reach the node that made the
+ * change, so every tickets.sla.sync-ms each node also re-reads the tickets updated since its last
+ * sync, which picks up tickets triaged or resolved on other nodes. A fired timer updates the ticket only if its
+ * deadline and state still match, which also makes it safe for several application nodes to run
+ * their own wheels: the first node to fire logs the activity and notifies the team leads, the
+ * others find nothing to update.
+ */
+@Service
+@Slf4j
+public class SlaTimerService implements SlaTimerServiceInterface {
+
+    static final Set<TicketStatus> CLOSED_STATUSES = EnumSet.of(TicketStatus.RESOLVED, TicketStatus.FIXED);
+    // A timer whose transition failed, e.g. because the database was unavailable, is tried again this much later.
+    private static final long RETRY_MILLIS = 60_000;
+    // Re-read on every sync: covers clock skew between nodes and transactions that commit after a later one.
+    private static final long SYNC_OVERLAP_SECONDS = 5 * 60;
+    private static final DateTimeFormatter DEADLINE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final TicketRepo ticketRepo;
+    private final ActivityLogService activityLogService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final long atRiskMillis;
+    private final int loadPageSize;
+
+    // Guarded by this, as are the fields below.
+    private final SlaTimingWheel wheel;
+    // Changes committed while load() is reading the tickets table; applied again once it is done,
+    // since a page read before the change may have overwritten its timer. Null when no load is running.
+    private List<TicketFacetsChangedEvent> changesDuringLoad;
+    // Tickets updated from here on are read by the next sync. Null until the first load.
+    private volatile LocalDateTime syncedFrom;
+
+    public SlaTimerService(TicketRepo ticketRepo, ActivityLogService activityLogService,
+                           ApplicationEventPublisher eventPublisher, TransactionTemplate transactionTemplate,
+                           @Value("${tickets.sla.tick-ms:1000}") long tickMillis,
+                           @Value("${tickets.sla.at-risk-minutes:120}") long atRiskMinutes,
+                           @Value("${tickets.sla.load-page-size:1000}") int loadPageSize) {
+        this.ticketRepo = ticketRepo;
+        this.activityLogService = activityLogService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.atRiskMillis = atRiskMinutes * 60_000;
+        this.loadPageSize = loadPageSize;
+        this.wheel = new SlaTimingWheel(tickMillis, nowMillis());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketFacetsChangedEvent event) {
+        if (event.getTicketId() == null) {
+            return;
+        }
+        synchronized (this) {
+            apply(event);
+            if (changesDuringLoad != null) {
+                changesDuringLoad.add(event);
+            }
+        }
+    }
+
+    public int load() {
+        long started = System.nanoTime();
+        synchronized (this) {
+            changesDuringLoad = new ArrayList<>();
+            // Set before the table is read, so the next sync covers whatever the read may miss.
+            syncedFrom = LocalDateTime.now();
+        }
+        try {
+            long afterId = 0;
+            List<SlaTimerSourceProjection> page;
+            do {
+                page = ticketRepo.findSlaTimerSourcePage(afterId, CLOSED_STATUSES, PageRequest.of(0, loadPageSize));
+                synchronized (this) {
+                    for (SlaTimerSourceProjection ticket : page) {
+                        apply(ticket);
+                        afterId = ticket.getId();
+                    }
+                }
+            } while (page.size() == loadPageSize);
+        } finally {
+            synchronized (this) {
+                if (changesDuringLoad != null) {
+                    changesDuringLoad.forEach(this::apply);
+                }
+                changesDuringLoad = null;
+            }
+        }
+        int pending = pendingTimers();
+        log.info("Loaded {} SLA timers in {} ms", pending, (System.nanoTime() - started) / 1_000_000);
+        return pending;
+    }
+
+    @Scheduled(fixedDelayString = "${tickets.sla.sync-ms:5000}")
+    public int syncTimers() {
+        LocalDateTime from = syncedFrom;
+        if (from == null) {
+            return 0;
+        }
+        LocalDateTime started = LocalDateTime.now();
+        int synced = 0;
+        long afterId = 0;
+        List<SlaTimerSourceProjection> page;
+        do {
+            page = ticketRepo.findSlaTimerSourcesUpdatedSince(from.minusSeconds(SYNC_OVERLAP_SECONDS), afterId,
+                    PageRequest.of(0, loadPageSize));
+            synchronized (this) {
+                // A running load reads these tickets itself; the next sync starts from where it began.
+                if (changesDuringLoad != null) {
+                    return synced;
+                }
+                for (SlaTimerSourceProjection ticket : page) {
+                    // Tickets this node changed itself get the timer they already have.
+                    apply(ticket);
+                    afterId = ticket.getId();
+                }
+            }
+            synced += page.size();
+        } while (page.size() == loadPageSize);
+        syncedFrom = started;
+        return synced;
+    }
+
+    @Scheduled(fixedDelayString = "${tickets.sla.tick-ms:1000}")
+    public int advance() {
+        List<SlaTimingWheel.Fired> fired;
+        synchronized (this) {
+            fired = wheel.advance(nowMillis());
+        }
+        int changed = 0;
+        for (SlaTimingWheel.Fired timer : fired) {
+            SlaState nextStage = null;
+            long fireAt = 0;
+            try {
+                if (transition(timer)) {
+                    changed++;
+                }
+                // Whether or not this node made the change, the deadline itself is still to come.
+                if (timer.stage() == SlaState.AT_RISK) {
+                    nextStage = SlaState.BREACHED;
+                    fireAt = timer.deadlineMillis();
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not move ticket {} to SLA state {}; retrying in {} s",
+                        timer.ticketId(), timer.stage(), RETRY_MILLIS / 1000, e);
+                nextStage = timer.stage();
+                fireAt = nowMillis() + RETRY_MILLIS;
+            }
+            if (nextStage != null) {
+                synchronized (this) {
+                    // A ticket change applied since the timer fired has already set the right timer.
+                    if (!wheel.contains(timer.ticketId())) {
+                        wheel.schedule(timer.ticketId(), timer.deadlineMillis(), nextStage, fireAt);
+                    }
+                }
+            }
+        }
+        if (changed > 0) {
+            log.debug("{} of {} SLA timers changed a ticket's SLA state", changed, fired.size());
+        }
+        return changed;
+    }
+
+    public synchronized int pendingTimers() {
+        return wheel.size();
+    }
+
+    // Caller holds this.
+    private void apply(TicketFacetsChangedEvent event) {
+        if (event.isRemoved() || event.getSlaBreachAt() == null || CLOSED_STATUSES.contains(event.getStatus())) {
+            wheel.cancel(event.getTicketId());
+        } else {
+            // The event does not carry the SLA state; a transition that already happened is a no-op when fired again.
+            schedule(event.getTicketId(), toMillis(event.getSlaBreachAt()), event.getSlaAtRiskAt(), null);
+        }
+    }
+
+    // Caller holds this.
+    private void apply(SlaTimerSourceProjection ticket) {
+        // Breached tickets have nothing left to fire.
+        if (ticket.getSlaBreachAt() == null || CLOSED_STATUSES.contains(ticket.getStatus()) || ticket.getSlaState() == SlaState.BREACHED) {
+            wheel.cancel(ticket.getId());
+        } else {
+            schedule(ticket.getId(), toMillis(ticket.getSlaBreachAt()), ticket.getSlaAtRiskAt(), ticket.getSlaState());
+        }
+    }
+
+    // Caller holds this. Sets the next timer for a ticket in the given state (null when unknown).
+    private void schedule(long ticketId, long deadlineMillis, LocalDateTime atRiskAt, SlaState state) {
+        if (state == SlaState.AT_RISK || deadlineMillis <= nowMillis()) {
+            wheel.schedule(ticketId, deadlineMillis, SlaState.BREACHED, deadlineMillis);
+        } else {
+            // Fires at once when the ticket is already within the at-risk window.
+            long atRiskMillis = atRiskAt != null ? toMillis(atRiskAt) : deadlineMillis - this.atRiskMillis;
+            wheel.schedule(ticketId, deadlineMillis, SlaState.AT_RISK, atRiskMillis);
+        }
+    }
+
+    private boolean transition(SlaTimingWheel.Fired timer) {
+        SlaState to = timer.stage();
+        Set<SlaState> from = to == SlaState.AT_RISK ? EnumSet.of(SlaState.ON_TRACK) : EnumSet.of(SlaState.ON_TRACK, SlaState.AT_RISK);
+        LocalDateTime deadline = toDateTime(timer.deadlineMillis());
+        Boolean changed = transactionTemplate.execute(status -> {
+            // The timer only knows the deadline to the millisecond.
+            if (ticketRepo.advanceSlaState(timer.ticketId(), deadline, deadline.plusNanos(1_000_000), from, to, CLOSED_STATUSES) == 0) {
+                return false;
+            }
+            Ticket ticket = ticketRepo.findById(timer.ticketId()).orElseThrow();
+            // There is no system user; the change is logged under the triage officer who set the SLA.
+            AppUser actor = ticket.getAssignedBy() != null ? ticket.getAssignedBy() : ticket.getCreatedBy();
+            ActivityType type = to == SlaState.AT_RISK ? ActivityType.SLA_AT_RISK : ActivityType.SLA_BREACHED;
+            String description = to == SlaState.AT_RISK
+                    ? "SLA at risk: due at " + DEADLINE_FORMAT.format(deadline)
+                    : "SLA breached: was due at " + DEADLINE_FORMAT.format(deadline);
+            TicketActivity activity = activityLogService.buildLog(ticket, actor, type, description, true);
+            // createLogs rather than createLog: the activity is written now, so the notification has its id.
+            activityLogService.createLogs(List.of(activity));
+
+            NotificationDto notification = new NotificationDto(activity.getId(), ticket.getTicketUid(), ticket.getTitle(),
+                    description, type.name(), activity.getCreatedAt() != null ? activity.getCreatedAt() : LocalDateTime.now());
+            eventPublisher.publishEvent(new SlaStateChangedEvent(ticket.getId(), to, notification,
+                    new HashSet<>(ticketRepo.findTeamLeadIdsByTicketId(ticket.getId()))));
+            return true;
+        });
+        return Boolean.TRUE.equals(changed);
+    }
+
+    // Deadlines are local date-times; any fixed offset works as long as the clock is converted the same way.
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+
+    private static long nowMillis() {
+        return toMillis(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,38 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.events.TicketFacetsChangedEvent;
+
+public interface SlaTimerServiceInterface {
+
+    /**
+     * Sets, moves or cancels a ticket's SLA timer after a committed ticket insert, update or delete.
+     * @param event The ticket's status and SLA deadline, captured when it was flushed.
+     */
+    void onTicketChanged(TicketFacetsChangedEvent event);
+
+    /**
+     * Schedules a timer for every open ticket with an SLA deadline that has not been breached yet.
+     * Ticket changes committed while this runs are applied again afterwards.
+     * @return The number of pending timers.
+     */
+    int load();
+
+    /**
+     * Sets, moves or cancels the timers of the tickets updated since the previous sync (or the load),
+     * e.g. tickets triaged or resolved on another node. Does nothing until the timers have been loaded.
+     * @return The number of tickets read.
+     */
+    int syncTimers();
+
+    /**
+     * Fires every timer that has come due: moves the ticket's SLA state forward, logs the change and
+     * notifies the leads of the teams working the ticket.
+     * @return The number of tickets whose SLA state changed.
+     */
+    int advance();
+
+    /**
+     * @return The number of tickets with a pending SLA timer.
+     */
+    int pendingTimers();
+}
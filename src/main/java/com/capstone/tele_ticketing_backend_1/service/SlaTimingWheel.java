@@ -0,0 +1,270 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.entities.SlaState;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel holding at most one pending SLA timer per ticket.
+ * <p>
+ * Six wheels of 64 slots each: the first has one slot per tick, each next one a slot per 64 ticks
+ * of the wheel below, so a 1 second tick covers deadlines more than 2,000 years ahead. A timer goes
+ * into the lowest wheel whose span reaches its due tick; when the lower wheel wraps around, the
+ * next slot of the wheel above is emptied and its timers are placed again, moving closer to the
+ * first wheel until they fire. Scheduling and cancelling are O(1): each slot is an intrusive
+ * doubly linked list and timers are found by ticket id through an intrusive hash table, so a
+ * timer costs one small object and no boxing.
+ * <p>
+ * Not thread-safe; SlaTimerService serializes access. Times are plain epoch-style milliseconds
+ * supplied by the caller. A timer fires on the first {@link #advance} that reaches its time rounded
+ * up to a whole tick, or on the next tick if that one was already processed when it was scheduled.
+ */
+final class SlaTimingWheel {
+
+    static final int LEVELS = 6;
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    // Furthest ahead a timer can be placed; later ones are clamped (at a 1 s tick this is ~2,000 years).
+    private static final long MAX_DELTA = (1L << (BITS * LEVELS)) - 1;
+
+    record Fired(long ticketId, long deadlineMillis, SlaState stage) {
+    }
+
+    private static final class Timer {
+        final long ticketId;
+        long deadlineMillis;
+        SlaState stage;
+        long dueTick;
+        int level;
+        int slot;
+        Timer prev;
+        Timer next;
+        Timer hashNext;
+
+        Timer(long ticketId) {
+            this.ticketId = ticketId;
+        }
+    }
+
+    private final long tickMillis;
+    private final Timer[][] wheels = new Timer[LEVELS][SLOTS];
+    // Timers per wheel, so stretches of ticks with nothing to fire or cascade are skipped.
+    private final int[] wheelSizes = new int[LEVELS];
+    private Timer[] table = new Timer[1024];
+    private int size;
+    // The next tick to be processed; every timer due before it has fired.
+    private long nextTick;
+
+    SlaTimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive: " + tickMillis);
+        }
+        this.tickMillis = tickMillis;
+        this.nextTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(long ticketId) {
+        return find(ticketId) != null;
+    }
+
+    /**
+     * Sets the ticket's timer, replacing any it already had.
+     * @param deadlineMillis The ticket's SLA deadline, handed back when the timer fires.
+     * @param stage The SLA state the ticket moves to when the timer fires.
+     * @param fireAtMillis When to fire; a time already passed fires on the next advance.
+     */
+    void schedule(long ticketId, long deadlineMillis, SlaState stage, long fireAtMillis) {
+        Timer timer = find(ticketId);
+        if (timer == null) {
+            timer = new Timer(ticketId);
+            insertHashed(timer);
+        } else {
+            unlink(timer);
+        }
+        timer.deadlineMillis = deadlineMillis;
+        timer.stage = stage;
+        // Rounded up, so a timer never fires before its time.
+        timer.dueTick = Math.floorDiv(fireAtMillis, tickMillis) + (Math.floorMod(fireAtMillis, tickMillis) == 0 ? 0 : 1);
+        place(timer);
+    }
+
+    /**
+     * @return Whether the ticket had a pending timer.
+     */
+    boolean cancel(long ticketId) {
+        Timer timer = removeHashed(ticketId);
+        if (timer == null) {
+            return false;
+        }
+        unlink(timer);
+        return true;
+    }
+
+    /**
+     * Processes every tick up to nowMillis and removes the timers that came due, tick by tick.
+     */
+    List<Fired> advance(long nowMillis) {
+        long nowTick = Math.floorDiv(nowMillis, tickMillis);
+        List<Fired> fired = new ArrayList<>();
+        while (nextTick <= nowTick) {
+            long tick = nextTick;
+            int emptyWheels = 0;
+            while (emptyWheels < LEVELS && wheelSizes[emptyWheels] == 0) {
+                emptyWheels++;
+            }
+            if (emptyWheels == LEVELS) {
+                nextTick = nowTick + 1;
+                break;
+            }
+            // With the lower wheels empty, nothing happens before the next wheel up turns a slot.
+            long skipTo = emptyWheels == 0 ? tick : tick + Math.floorMod(-tick, 1L << (BITS * emptyWheels));
+            if (skipTo > tick) {
+                nextTick = Math.min(skipTo, nowTick + 1);
+                continue;
+            }
+            int slot = (int) (tick & MASK);
+            if (slot == 0) {
+                for (int level = 1; level < LEVELS; level++) {
+                    int upperSlot = (int) ((tick >>> (BITS * level)) & MASK);
+                    cascade(level, upperSlot);
+                    if (upperSlot != 0) {
+                        break;
+                    }
+                }
+            }
+            nextTick++;
+            Timer timer = detach(0, slot);
+            while (timer != null) {
+                Timer next = timer.next;
+                wheelSizes[0]--;
+                removeHashed(timer.ticketId);
+                fired.add(new Fired(timer.ticketId, timer.deadlineMillis, timer.stage));
+                timer = next;
+            }
+        }
+        return fired;
+    }
+
+    // Re-places every timer of one slot relative to the current tick; they land in a lower wheel.
+    private void cascade(int level, int slot) {
+        Timer timer = detach(level, slot);
+        while (timer != null) {
+            Timer next = timer.next;
+            wheelSizes[level]--;
+            place(timer);
+            timer = next;
+        }
+    }
+
+    private void place(Timer timer) {
+        long delta = timer.dueTick - nextTick;
+        int level = 0;
+        int slot;
+        if (delta < 0) {
+            // Already due: fire on the next processed tick.
+            slot = (int) (nextTick & MASK);
+        } else {
+            if (delta > MAX_DELTA) {
+                timer.dueTick = nextTick + MAX_DELTA;
+                delta = MAX_DELTA;
+            }
+            while (level < LEVELS - 1 && delta >= 1L << (BITS * (level + 1))) {
+                level++;
+            }
+            slot = (int) ((timer.dueTick >>> (BITS * level)) & MASK);
+        }
+        timer.level = level;
+        timer.slot = slot;
+        timer.prev = null;
+        timer.next = wheels[level][slot];
+        if (timer.next != null) {
+            timer.next.prev = timer;
+        }
+        wheels[level][slot] = timer;
+        wheelSizes[level]++;
+    }
+
+    private void unlink(Timer timer) {
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            wheels[timer.level][timer.slot] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = null;
+        timer.next = null;
+        wheelSizes[timer.level]--;
+    }
+
+    // Empties a slot and returns its former list, still linked through next.
+    private Timer detach(int level, int slot) {
+        Timer head = wheels[level][slot];
+        wheels[level][slot] = null;
+        return head;
+    }
+
+    private int bucket(long ticketId, int length) {
+        long hash = ticketId * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 40) & (length - 1);
+    }
+
+    private Timer find(long ticketId) {
+        for (Timer timer = table[bucket(ticketId, table.length)]; timer != null; timer = timer.hashNext) {
+            if (timer.ticketId == ticketId) {
+                return timer;
+            }
+        }
+        return null;
+    }
+
+    private void insertHashed(Timer timer) {
+        if (size >= table.length - (table.length >> 2)) {
+            resize();
+        }
+        int index = bucket(timer.ticketId, table.length);
+        timer.hashNext = table[index];
+        table[index] = timer;
+        size++;
+    }
+
+    private Timer removeHashed(long ticketId) {
+        int index = bucket(ticketId, table.length);
+        Timer previous = null;
+        for (Timer timer = table[index]; timer != null; previous = timer, timer = timer.hashNext) {
+            if (timer.ticketId == ticketId) {
+                if (previous == null) {
+                    table[index] = timer.hashNext;
+                } else {
+                    previous.hashNext = timer.hashNext;
+                }
+                timer.hashNext = null;
+                size--;
+                return timer;
+            }
+        }
+        return null;
+    }
+
+    private void resize() {
+        Timer[] resized = new Timer[table.length * 2];
+        for (Timer head : table) {
+            Timer timer = head;
+            while (timer != null) {
+                Timer next = timer.hashNext;
+                int index = bucket(timer.ticketId, resized.length);
+                timer.hashNext = resized[index];
+                resized[index] = timer;
+                timer = next;
+            }
+        }
+        table = resized;
+    }
+}
@@ -0,0 +1,140 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake-style ticket UID generator.
+ * <p>
+ * Each id is a positive 63-bit number laid out as
+ * {@code [41 bits ms since 2024-01-01][10 bits node][4 bits stripe][8 bits sequence]},
+ * rendered as 13 zero-padded base-36 characters ("TK-0L8ZK2Q-4B7X1C"), so UIDs still sort by creation time.
+ * <p>
+ * Calling threads are spread over 16 stripes, each with its own lock-free (timestamp, sequence) state,
+ * which gives up to 4,096 UIDs per millisecond per node without threads contending on a single counter.
+ * When a stripe exhausts its sequence, or the wall clock moves backwards, it borrows the next millisecond
+ * instead of waiting or repeating a value.
+ * <p>
+ * Unless ticket.uid.node-id is set, each node claims the lowest free node id at startup as a lease in
+ * job_leases ("ticket-uid-node-&lt;id&gt;"), which JobLeaseService's heartbeat keeps alive and releases on
+ * shutdown. Startup fails if all 1,024 ids are held, and UIDs are refused if the claim is lost, so two
+ * live nodes never share an id.
+ */
+@Component
+@Slf4j
+public class SnowflakeTicketUidGenerator implements TicketUidGenerator {
+
+    static final long EPOCH_MS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    static final int NODE_BITS = 10;
+    static final int STRIPE_BITS = 4;
+    static final int SEQUENCE_BITS = 8;
+
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final int STRIPES = 1 << STRIPE_BITS;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int ENCODED_LENGTH = 13;
+    static final String NODE_LEASE_PREFIX = "ticket-uid-node-";
+
+    private final long nodeId;
+    // Holds the claim on nodeId; null when the node id was configured.
+    private final JobLeaseService nodeLeases;
+    private final LongSupplier clock;
+    // Per stripe: (ms since EPOCH_MS << SEQUENCE_BITS) | last sequence. Padded apart to avoid false sharing.
+    private final AtomicLongArray stripeState = new AtomicLongArray(STRIPES * 8);
+
+    @Autowired
+    public SnowflakeTicketUidGenerator(@Value("${ticket.uid.node-id:-1}") long configuredNodeId, JobLeaseService jobLeaseService) {
+        this(configuredNodeId >= 0 ? configuredNodeId : claimNodeId(jobLeaseService),
+                configuredNodeId >= 0 ? null : jobLeaseService, System::currentTimeMillis);
+    }
+
+    public SnowflakeTicketUidGenerator(long nodeId) {
+        this(nodeId, null, System::currentTimeMillis);
+    }
+
+    SnowflakeTicketUidGenerator(long nodeId, LongSupplier clock) {
+        this(nodeId, null, clock);
+    }
+
+    private SnowflakeTicketUidGenerator(long nodeId, JobLeaseService nodeLeases, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("ticket.uid.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+        this.nodeLeases = nodeLeases;
+        this.clock = clock;
+        log.info("Ticket UID generator using node id {}", nodeId);
+    }
+
+    @Override
+    public String nextUid() {
+        // Answered from memory while the heartbeat keeps the claim alive.
+        if (nodeLeases != null && nodeLeases.tryAcquire(NODE_LEASE_PREFIX + nodeId) == null) {
+            throw new IllegalStateException("Lost the claim on ticket UID node id " + nodeId + " to another node");
+        }
+        return format(nextId());
+    }
+
+    long nextId() {
+        int stripe = (int) (Thread.currentThread().getId() & (STRIPES - 1));
+        int slot = stripe * 8;
+        long now = clock.getAsLong() - EPOCH_MS;
+
+        while (true) {
+            long previous = stripeState.get(slot);
+            long previousMs = previous >>> SEQUENCE_BITS;
+            long previousSeq = previous & SEQUENCE_MASK;
+
+            long ms;
+            long seq;
+            if (now > previousMs) {
+                ms = now;
+                seq = 0;
+            } else if (previousSeq < SEQUENCE_MASK) {
+                ms = previousMs;
+                seq = previousSeq + 1;
+            } else {
+                // Sequence exhausted (or the clock went backwards): borrow the next millisecond.
+                ms = previousMs + 1;
+                seq = 0;
+            }
+
+            if (stripeState.compareAndSet(slot, previous, (ms << SEQUENCE_BITS) | seq)) {
+                return (ms << (NODE_BITS + STRIPE_BITS + SEQUENCE_BITS))
+                        | (nodeId << (STRIPE_BITS + SEQUENCE_BITS))
+                        | ((long) stripe << SEQUENCE_BITS)
+                        | seq;
+            }
+        }
+    }
+
+    static String format(long id) {
+        StringBuilder encoded = new StringBuilder(Long.toString(id, 36).toUpperCase(Locale.ROOT));
+        while (encoded.length() < ENCODED_LENGTH) {
+            encoded.insert(0, '0');
+        }
+        // The dash keeps UIDs readable and distinguishes them from the legacy all-digit "TK-<millis>" format.
+        return PREFIX + encoded.substring(0, 7) + "-" + encoded.substring(7);
+    }
+
+    long getNodeId() {
+        return nodeId;
+    }
+
+    static long claimNodeId(JobLeaseService jobLeaseService) {
+        for (long candidate = 0; candidate <= MAX_NODE_ID; candidate++) {
+            if (jobLeaseService.tryAcquire(NODE_LEASE_PREFIX + candidate) != null) {
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("Every ticket UID node id (0-" + MAX_NODE_ID + ") is claimed by a live node");
+    }
+}
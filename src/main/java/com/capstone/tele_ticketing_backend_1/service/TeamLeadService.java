@@ -3,13 +3,13 @@ package com.capstone.tele_ticketing_backend_1.service;
 
 
 import java.time.LocalDateTime;
-import java.util.HashSet;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.capstone.tele_ticketing_backend_1.dto.AssignmentDiff;
 import com.capstone.tele_ticketing_backend_1.dto.ReassignTicketDto;
 import com.capstone.tele_ticketing_backend_1.dto.TeamDetailDto;
 import com.capstone.tele_ticketing_backend_1.dto.TeamMemberUpdateRequestDto;
@@ -18,6 +18,7 @@ import com.capstone.tele_ticketing_backend_1.dto.TicketSummaryDto;
 import com.capstone.tele_ticketing_backend_1.dto.UserSummaryDto;
 import com.capstone.tele_ticketing_backend_1.entities.ActivityType;
 import com.capstone.tele_ticketing_backend_1.entities.AppUser;
+import com.capstone.tele_ticketing_backend_1.entities.SlaState;
 import com.capstone.tele_ticketing_backend_1.entities.Team;
 import com.capstone.tele_ticketing_backend_1.entities.Ticket;
 import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
@@ -43,26 +44,34 @@ public class TeamLeadService implements TeamLeadServiceInterface {
     private final TicketRepo ticketRepo;
     private final TicketService ticketService;
     private final ActivityLogService activityLogService;
+    private final TicketAssignmentService ticketAssignmentService;
 
     @Transactional(readOnly = true)
     public List<TicketSummaryDto> getActiveTeamTickets(String teamLeadUsername) {
         log.info("Fetching active team tickets for team lead: {}", teamLeadUsername);
         Team team = findTeamByLead(teamLeadUsername);
         List<TicketStatus> activeStatuses = List.of(TicketStatus.ASSIGNED, TicketStatus.IN_PROGRESS);
-        List<Ticket> tickets = ticketRepo.findTicketsByTeamAndStatus(team.getId(), activeStatuses);
+        List<TicketSummaryDto> tickets = ticketRepo.findSummariesByTeamAndStatus(team.getId(), activeStatuses);
         log.debug("Found {} active tickets for team: {}", tickets.size(), team.getName());
-        return tickets.stream().map(this::mapTicketToSummaryDto).collect(Collectors.toList());
+        return tickets;
     }
 
     @Transactional(readOnly = true)
     public List<TicketSummaryDto> getSlaRiskTeamTickets(String teamLeadUsername) {
         log.info("Fetching SLA risk tickets for team lead: {}", teamLeadUsername);
         Team team = findTeamByLead(teamLeadUsername);
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime twoHoursFromNow = now.plusHours(2);
-        List<Ticket> tickets = ticketRepo.findSlaRiskTicketsByTeam(team.getId(), now, twoHoursFromNow);
+        List<TicketSummaryDto> tickets = ticketRepo.findSummariesByTeamAndSlaState(team.getId(), SlaState.AT_RISK);
         log.warn("Found {} SLA risk tickets for team: {}", tickets.size(), team.getName());
-        return tickets.stream().map(this::mapTicketToSummaryDto).collect(Collectors.toList());
+        return tickets;
+    }
+
+    @Transactional(readOnly = true)
+    public List<TicketSummaryDto> getSlaBreachedTeamTickets(String teamLeadUsername) {
+        log.info("Fetching SLA breached tickets for team lead: {}", teamLeadUsername);
+        Team team = findTeamByLead(teamLeadUsername);
+        List<TicketSummaryDto> tickets = ticketRepo.findSummariesByTeamAndSlaState(team.getId(), SlaState.BREACHED);
+        log.warn("Found {} SLA breached tickets for team: {}", tickets.size(), team.getName());
+        return tickets;
     }
 
     @Transactional
@@ -70,7 +79,7 @@ public class TeamLeadService implements TeamLeadServiceInterface {
         log.info("Team lead {} attempting to reassign ticket {}", teamLeadUsername, ticketId);
         Team team = findTeamByLead(teamLeadUsername);
         AppUser teamLead = team.getTeamLead();
-        Ticket ticket = ticketRepo.findById(ticketId).orElseThrow(() -> new TicketNotFoundException("Ticket not found"));
+        Ticket ticket = ticketRepo.findDetailById(ticketId).orElseThrow(() -> new TicketNotFoundException("Ticket not found"));
 
         // Security Check 1: Ensure the ticket belongs to the team lead's team.
         boolean ticketBelongsToTeam = ticket.getAssignedTo().stream().anyMatch(user -> user.getTeam() != null && user.getTeam().getId().equals(team.getId()));
@@ -87,13 +96,16 @@ public class TeamLeadService implements TeamLeadServiceInterface {
             }
         }
 
-        String oldAssignees = ticket.getAssignedTo().stream().map(AppUser::getFullName).collect(Collectors.joining(", "));
-        ticket.setAssignedTo(new HashSet<>(newAssignees));
+        // Only the assignees that actually change are written to ticket_assignments.
+        AssignmentDiff assignment = ticketAssignmentService.reassign(ticket, newAssignees);
+        if (assignment.isChanged()) {
+            // The assignee rows alone leave the ticket row as it was; other nodes find changed tickets by updated_at.
+            ticket.setUpdatedAt(LocalDateTime.now());
+        }
         Ticket savedTicket = ticketRepo.save(ticket);
 
-        String newAssigneesNames = newAssignees.stream().map(AppUser::getFullName).collect(Collectors.joining(", "));
-        log.info("Successfully reassigned ticket {} from [{}] to [{}]", ticketId, oldAssignees, newAssigneesNames);
-        activityLogService.createLog(savedTicket, teamLead, ActivityType.ASSIGNMENT, "Re-assigned from [" + oldAssignees + "] to [" + newAssigneesNames + "]", true);
+        log.info("Successfully reassigned ticket {}: {}", ticketId, assignment.describe());
+        activityLogService.createLog(savedTicket, teamLead, ActivityType.ASSIGNMENT, "Re-assigned: " + assignment.describe(), true);
 
         return ticketService.mapTicketToDetailDto(savedTicket);
     }
@@ -122,10 +134,6 @@ public class TeamLeadService implements TeamLeadServiceInterface {
         return team;
     }
 
-    private TicketSummaryDto mapTicketToSummaryDto(Ticket ticket) {
-        return new TicketSummaryDto(ticket.getId(), ticket.getTicketUid(), ticket.getTitle(), ticket.getStatus(), ticket.getCreatedAt());
-    }
-
     @Transactional(readOnly = true)
     public List<UserSummaryDto> getTeamMembers(String teamLeadUsername) {
         Team team = findTeamByLead(teamLeadUsername);
@@ -18,12 +18,20 @@ public interface TeamLeadServiceInterface {
     List<TicketSummaryDto> getActiveTeamTickets(String teamLeadUsername);
 
     /**
-     * Gets a summary of tickets assigned to the team lead's team that are at SLA risk (breaching within 2 hours).
+     * Gets a summary of open tickets assigned to the team lead's team that are at SLA risk (breaching within
+     * tickets.sla.at-risk-minutes, 2 hours by default), as last marked by the SLA timers.
      * @param teamLeadUsername The username of the team lead.
      * @return A list of ticket summaries at SLA risk.
      */
     List<TicketSummaryDto> getSlaRiskTeamTickets(String teamLeadUsername);
 
+    /**
+     * Gets a summary of open tickets assigned to the team lead's team that are past their SLA deadline.
+     * @param teamLeadUsername The username of the team lead.
+     * @return A list of ticket summaries that breached their SLA.
+     */
+    List<TicketSummaryDto> getSlaBreachedTeamTickets(String teamLeadUsername);
+
     /**
      * Reassigns a ticket from one set of engineers to another within the team lead's team.
      * @param ticketId The ID of the ticket to reassign.
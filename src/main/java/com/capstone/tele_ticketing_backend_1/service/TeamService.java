@@ -1,15 +1,18 @@
 package com.capstone.tele_ticketing_backend_1.service;
 
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.capstone.tele_ticketing_backend_1.dto.TeamSlaCalendarDto;
 import com.capstone.tele_ticketing_backend_1.dto.TeamSummaryDto;
 import com.capstone.tele_ticketing_backend_1.dto.UserSummaryDto;
 import com.capstone.tele_ticketing_backend_1.entities.Team;
+import com.capstone.tele_ticketing_backend_1.exceptions.ResourceNotFoundException;
 import com.capstone.tele_ticketing_backend_1.repo.TeamRepo;
 
 import lombok.RequiredArgsConstructor;
@@ -21,6 +24,7 @@ import lombok.extern.slf4j.Slf4j;
 public class TeamService implements TeamServiceInterface {
 
     private final TeamRepo teamRepo;
+    private final SlaCalendarService slaCalendarService;
 
     @Transactional(readOnly = true)
     // Dr. X's Fix: Change the return type to a list of DTOs.
@@ -34,6 +38,35 @@ public class TeamService implements TeamServiceInterface {
         return teams;
     }
 
+    @Transactional(readOnly = true)
+    public TeamSlaCalendarDto getSlaCalendar(Long teamId) {
+        Team team = findTeam(teamId);
+        return new TeamSlaCalendarDto(team.getSlaWorkingHours(), new HashSet<>(team.getSlaHolidays()));
+    }
+
+    @Transactional
+    public TeamSlaCalendarDto updateSlaCalendar(Long teamId, TeamSlaCalendarDto dto) {
+        Team team = findTeam(teamId);
+        String workingHours = dto.getWorkingHours() == null || dto.getWorkingHours().isBlank() ? null : dto.getWorkingHours().trim();
+        slaCalendarService.validate(workingHours, dto.getHolidays());
+
+        team.setSlaWorkingHours(workingHours);
+        team.getSlaHolidays().clear();
+        if (dto.getHolidays() != null) {
+            team.getSlaHolidays().addAll(dto.getHolidays());
+        }
+        teamRepo.save(team);
+        // Deadlines already set keep their old calendar; only tickets triaged from now on use the new one.
+        slaCalendarService.evict(teamId);
+        log.info("Updated SLA calendar of team {}: hours '{}', {} holidays", teamId, workingHours, team.getSlaHolidays().size());
+        return new TeamSlaCalendarDto(workingHours, new HashSet<>(team.getSlaHolidays()));
+    }
+
+    private Team findTeam(Long teamId) {
+        return teamRepo.findById(teamId)
+                .orElseThrow(() -> new ResourceNotFoundException("Team not found with id: " + teamId));
+    }
+
     // Dr. X's Fix: Create a helper method to perform the mapping.
     private TeamSummaryDto mapTeamToSummaryDto(Team team) {
         TeamSummaryDto dto = new TeamSummaryDto();
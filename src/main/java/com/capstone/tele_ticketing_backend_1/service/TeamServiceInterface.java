@@ -1,5 +1,6 @@
 package com.capstone.tele_ticketing_backend_1.service;
 
+import com.capstone.tele_ticketing_backend_1.dto.TeamSlaCalendarDto;
 import com.capstone.tele_ticketing_backend_1.dto.TeamSummaryDto;
 import java.util.List;
 
@@ -10,4 +11,20 @@ public interface TeamServiceInterface {
      * @return A list of TeamSummaryDto, including basic team info and the team lead.
      */
     List<TeamSummaryDto> getAllTeams();
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the working hours and holidays a team's SLA deadlines are counted in.
+     * @param teamId The ID of the team.
+     * @return The team's hours (null for the default hours) and holidays.
+     */
+    TeamSlaCalendarDto getSlaCalendar(Long teamId);
+
+    /**
+     * Replaces a team's SLA working hours and holidays. Tickets triaged afterwards get deadlines on the
+     * new calendar; deadlines already set are left as they are.
+     * @param teamId The ID of the team.
+     * @param dto The new hours (null or blank for the default hours) and holidays.
+     * @return The saved calendar.
+     */
+    TeamSlaCalendarDto updateSlaCalendar(Long teamId, TeamSlaCalendarDto dto);
+}
@@ -0,0 +1,64 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.dto.AssignmentDiff;
+import com.capstone.tele_ticketing_backend_1.entities.AppUser;
+import com.capstone.tele_ticketing_backend_1.entities.Ticket;
+import com.capstone.tele_ticketing_backend_1.events.TicketAssignmentsChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Updates Ticket.assignedTo in place. Replacing the set with a new HashSet dereferences Hibernate's
+ * PersistentSet, and Hibernate then deletes every ticket_assignments row of the ticket and inserts
+ * them all again. Editing the loaded set lets Hibernate compare it with its snapshot at flush and
+ * write only a DELETE per removed user and an INSERT per added one. Those statements are JDBC-batched
+ * by hibernate.jdbc.batch_size like any other.
+ * <p>
+ * Such a change does not write the ticket row itself, so it is announced with a
+ * {@link TicketAssignmentsChangedEvent} for listeners that track assignees.
+ */
+@Service
+@RequiredArgsConstructor
+public class TicketAssignmentService implements TicketAssignmentServiceInterface {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AssignmentDiff reassign(Ticket ticket, Collection<AppUser> assignees) {
+        Set<AppUser> current = ticket.getAssignedTo();
+
+        // Keyed by id (AppUser equality is id-based) and kept in request order for the activity text.
+        Map<Long, AppUser> wanted = new LinkedHashMap<>();
+        for (AppUser assignee : assignees) {
+            wanted.putIfAbsent(assignee.getId(), assignee);
+        }
+
+        List<AppUser> removed = new ArrayList<>();
+        List<AppUser> unchanged = new ArrayList<>();
+        for (AppUser assignee : current) {
+            if (wanted.remove(assignee.getId()) != null) {
+                unchanged.add(assignee);
+            } else {
+                removed.add(assignee);
+            }
+        }
+        List<AppUser> added = new ArrayList<>(wanted.values());
+
+        removed.forEach(current::remove);
+        current.addAll(added);
+        AssignmentDiff diff = new AssignmentDiff(added, removed, unchanged);
+        if (diff.isChanged() && ticket.getId() != null) {
+            eventPublisher.publishEvent(new TicketAssignmentsChangedEvent(ticket.getId(),
+                    current.stream().map(AppUser::getId).collect(Collectors.toSet())));
+        }
+        return diff;
+    }
+}
@@ -0,0 +1,19 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.dto.AssignmentDiff;
+import com.capstone.tele_ticketing_backend_1.entities.AppUser;
+import com.capstone.tele_ticketing_backend_1.entities.Ticket;
+
+import java.util.Collection;
+
+public interface TicketAssignmentServiceInterface {
+
+    /**
+     * Makes the ticket's assignees exactly the given users, changing only the ticket_assignments
+     * rows that differ. Must run in the transaction that loaded the ticket.
+     * @param ticket The managed ticket.
+     * @param assignees The complete new set of assignees.
+     * @return Who was added, removed and kept.
+     */
+    AssignmentDiff reassign(Ticket ticket, Collection<AppUser> assignees);
+}
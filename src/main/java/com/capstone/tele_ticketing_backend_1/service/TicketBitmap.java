@@ -0,0 +1,444 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A compressed set of non-negative ints, laid out like a Roaring bitmap: values are grouped by
+ * their high 16 bits, and each group of low 16 bits is stored as a sorted char array while it
+ * holds at most {@value #ARRAY_MAX} values, or as a 65,536-bit bitmap once it grows past that.
+ * Sparse groups cost two bytes per value and dense ones a fixed 8 KB, and AND/OR/AND NOT work a
+ * group at a time, on whole 64-bit words where both sides are bitmaps.
+ * <p>
+ * The set operations return new bitmaps and never modify their arguments. Not thread-safe.
+ */
+final class TicketBitmap {
+
+    static final int ARRAY_MAX = 4096;
+    private static final int WORDS = 1 << 10;
+
+    private char[] keys;
+    private Container[] containers;
+    private int size;
+
+    TicketBitmap() {
+        this(4);
+    }
+
+    private TicketBitmap(int capacity) {
+        keys = new char[capacity];
+        containers = new Container[capacity];
+    }
+
+    void add(int value) {
+        char key = highBits(value);
+        int i = indexOf(key);
+        if (i < 0) {
+            i = -i - 1;
+            insertContainer(i, key, new Container());
+        }
+        containers[i].add((char) value);
+    }
+
+    boolean remove(int value) {
+        int i = indexOf(highBits(value));
+        if (i < 0 || !containers[i].remove((char) value)) {
+            return false;
+        }
+        if (containers[i].cardinality == 0) {
+            System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+            System.arraycopy(containers, i + 1, containers, i, size - i - 1);
+            containers[--size] = null;
+        }
+        return true;
+    }
+
+    boolean contains(int value) {
+        int i = indexOf(highBits(value));
+        return i >= 0 && containers[i].contains((char) value);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality;
+        }
+        return cardinality;
+    }
+
+    // Values in ascending order.
+    void forEach(IntConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, consumer);
+        }
+    }
+
+    long sizeInBytes() {
+        long bytes = size * 6L;
+        for (int i = 0; i < size; i++) {
+            Container container = containers[i];
+            bytes += container.bits != null ? WORDS * 8L : container.values.length * 2L;
+        }
+        return bytes;
+    }
+
+    void trimToSize() {
+        for (int i = 0; i < size; i++) {
+            Container container = containers[i];
+            if (container.values != null && container.values.length > container.cardinality) {
+                container.values = Arrays.copyOf(container.values, container.cardinality);
+            }
+        }
+    }
+
+    static TicketBitmap and(TicketBitmap a, TicketBitmap b) {
+        TicketBitmap result = new TicketBitmap(Math.max(1, Math.min(a.size, b.size)));
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                Container container = Container.and(a.containers[i], b.containers[j]);
+                if (container.cardinality > 0) {
+                    result.appendContainer(a.keys[i], container);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    static TicketBitmap or(TicketBitmap a, TicketBitmap b) {
+        TicketBitmap result = new TicketBitmap(Math.max(1, a.size + b.size));
+        int i = 0;
+        int j = 0;
+        while (i < a.size || j < b.size) {
+            if (j == b.size || (i < a.size && a.keys[i] < b.keys[j])) {
+                result.appendContainer(a.keys[i], a.containers[i].copy());
+                i++;
+            } else if (i == a.size || a.keys[i] > b.keys[j]) {
+                result.appendContainer(b.keys[j], b.containers[j].copy());
+                j++;
+            } else {
+                result.appendContainer(a.keys[i], Container.or(a.containers[i], b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    static TicketBitmap andNot(TicketBitmap a, TicketBitmap b) {
+        TicketBitmap result = new TicketBitmap(Math.max(1, a.size));
+        int j = 0;
+        for (int i = 0; i < a.size; i++) {
+            while (j < b.size && b.keys[j] < a.keys[i]) {
+                j++;
+            }
+            Container container = j < b.size && b.keys[j] == a.keys[i]
+                    ? Container.andNot(a.containers[i], b.containers[j])
+                    : a.containers[i].copy();
+            if (container.cardinality > 0) {
+                result.appendContainer(a.keys[i], container);
+            }
+        }
+        return result;
+    }
+
+    // Cardinality of and(a, b) without building it.
+    static int andCardinality(TicketBitmap a, TicketBitmap b) {
+        int cardinality = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                cardinality += Container.andCardinality(a.containers[i], b.containers[j]);
+                i++;
+                j++;
+            }
+        }
+        return cardinality;
+    }
+
+    private static char highBits(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value: " + value);
+        }
+        return (char) (value >>> 16);
+    }
+
+    private int indexOf(char key) {
+        // Appends are the common case: ticket ids grow.
+        if (size > 0 && keys[size - 1] == key) {
+            return size - 1;
+        }
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void insertContainer(int i, char key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(containers, i, containers, i + 1, size - i);
+        keys[i] = key;
+        containers[i] = container;
+        size++;
+    }
+
+    private void appendContainer(char key, Container container) {
+        insertContainer(size, key, container);
+    }
+
+    /**
+     * The low 16 bits of one group of values: a sorted array (values != null) or a bitmap
+     * (bits != null), converted whenever the cardinality crosses {@value #ARRAY_MAX}.
+     */
+    private static final class Container {
+
+        private char[] values = new char[4];
+        private long[] bits;
+        private int cardinality;
+
+        void add(char value) {
+            if (bits != null) {
+                long mask = 1L << value;
+                if ((bits[value >>> 6] & mask) == 0) {
+                    bits[value >>> 6] |= mask;
+                    cardinality++;
+                }
+                return;
+            }
+            int i = Arrays.binarySearch(values, 0, cardinality, value);
+            if (i >= 0) {
+                return;
+            }
+            if (cardinality == ARRAY_MAX) {
+                toBits();
+                add(value);
+                return;
+            }
+            i = -i - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, cardinality * 2));
+            }
+            System.arraycopy(values, i, values, i + 1, cardinality - i);
+            values[i] = value;
+            cardinality++;
+        }
+
+        boolean remove(char value) {
+            if (bits != null) {
+                long mask = 1L << value;
+                if ((bits[value >>> 6] & mask) == 0) {
+                    return false;
+                }
+                bits[value >>> 6] &= ~mask;
+                if (--cardinality <= ARRAY_MAX) {
+                    toArray();
+                }
+                return true;
+            }
+            int i = Arrays.binarySearch(values, 0, cardinality, value);
+            if (i < 0) {
+                return false;
+            }
+            System.arraycopy(values, i + 1, values, i, cardinality - i - 1);
+            cardinality--;
+            return true;
+        }
+
+        boolean contains(char value) {
+            if (bits != null) {
+                return (bits[value >>> 6] & (1L << value)) != 0;
+            }
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        void forEach(int high, IntConsumer consumer) {
+            if (bits == null) {
+                for (int i = 0; i < cardinality; i++) {
+                    consumer.accept(high | values[i]);
+                }
+                return;
+            }
+            for (int word = 0; word < WORDS; word++) {
+                long remaining = bits[word];
+                while (remaining != 0) {
+                    consumer.accept(high | (word << 6) | Long.numberOfTrailingZeros(remaining));
+                    remaining &= remaining - 1;
+                }
+            }
+        }
+
+        Container copy() {
+            Container copy = new Container();
+            copy.cardinality = cardinality;
+            if (bits != null) {
+                copy.values = null;
+                copy.bits = bits.clone();
+            } else {
+                copy.values = Arrays.copyOf(values, Math.max(1, cardinality));
+            }
+            return copy;
+        }
+
+        static Container and(Container a, Container b) {
+            if (a.bits != null && b.bits != null) {
+                Container result = fromWords(new long[WORDS]);
+                for (int word = 0; word < WORDS; word++) {
+                    result.bits[word] = a.bits[word] & b.bits[word];
+                }
+                return result.recount();
+            }
+            // Walk the array side and probe the other.
+            Container small = a.bits == null ? a : b;
+            Container other = small == a ? b : a;
+            Container result = new Container();
+            result.values = new char[Math.max(1, small.cardinality)];
+            for (int i = 0; i < small.cardinality; i++) {
+                if (other.contains(small.values[i])) {
+                    result.values[result.cardinality++] = small.values[i];
+                }
+            }
+            return result;
+        }
+
+        static Container or(Container a, Container b) {
+            if (a.bits == null && b.bits == null) {
+                char[] merged = new char[a.cardinality + b.cardinality];
+                int i = 0;
+                int j = 0;
+                int n = 0;
+                while (i < a.cardinality || j < b.cardinality) {
+                    if (j == b.cardinality || (i < a.cardinality && a.values[i] < b.values[j])) {
+                        merged[n++] = a.values[i++];
+                    } else if (i == a.cardinality || a.values[i] > b.values[j]) {
+                        merged[n++] = b.values[j++];
+                    } else {
+                        merged[n++] = a.values[i++];
+                        j++;
+                    }
+                }
+                Container result = new Container();
+                result.values = merged;
+                result.cardinality = n;
+                if (n > ARRAY_MAX) {
+                    result.toBits();
+                }
+                return result;
+            }
+            Container result = fromWords(a.bits != null ? a.bits.clone() : b.bits.clone());
+            Container other = a.bits != null ? b : a;
+            if (other.bits != null) {
+                for (int word = 0; word < WORDS; word++) {
+                    result.bits[word] |= other.bits[word];
+                }
+            } else {
+                for (int i = 0; i < other.cardinality; i++) {
+                    result.bits[other.values[i] >>> 6] |= 1L << other.values[i];
+                }
+            }
+            return result.recount();
+        }
+
+        static Container andNot(Container a, Container b) {
+            if (a.bits == null) {
+                Container result = new Container();
+                result.values = new char[Math.max(1, a.cardinality)];
+                for (int i = 0; i < a.cardinality; i++) {
+                    if (!b.contains(a.values[i])) {
+                        result.values[result.cardinality++] = a.values[i];
+                    }
+                }
+                return result;
+            }
+            Container result = fromWords(a.bits.clone());
+            if (b.bits != null) {
+                for (int word = 0; word < WORDS; word++) {
+                    result.bits[word] &= ~b.bits[word];
+                }
+            } else {
+                for (int i = 0; i < b.cardinality; i++) {
+                    result.bits[b.values[i] >>> 6] &= ~(1L << b.values[i]);
+                }
+            }
+            return result.recount();
+        }
+
+        static int andCardinality(Container a, Container b) {
+            if (a.bits != null && b.bits != null) {
+                int cardinality = 0;
+                for (int word = 0; word < WORDS; word++) {
+                    cardinality += Long.bitCount(a.bits[word] & b.bits[word]);
+                }
+                return cardinality;
+            }
+            Container small = a.bits == null ? a : b;
+            Container other = small == a ? b : a;
+            int cardinality = 0;
+            for (int i = 0; i < small.cardinality; i++) {
+                if (other.contains(small.values[i])) {
+                    cardinality++;
+                }
+            }
+            return cardinality;
+        }
+
+        private static Container fromWords(long[] words) {
+            Container container = new Container();
+            container.values = null;
+            container.bits = words;
+            return container;
+        }
+
+        // Recomputes the cardinality of a bitmap container and shrinks it to an array if it fits.
+        private Container recount() {
+            int count = 0;
+            for (long word : bits) {
+                count += Long.bitCount(word);
+            }
+            cardinality = count;
+            if (cardinality <= ARRAY_MAX) {
+                toArray();
+            }
+            return this;
+        }
+
+        private void toBits() {
+            long[] words = new long[WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+            bits = words;
+            values = null;
+        }
+
+        private void toArray() {
+            char[] array = new char[Math.max(1, cardinality)];
+            int n = 0;
+            for (int word = 0; word < WORDS; word++) {
+                long remaining = bits[word];
+                while (remaining != 0) {
+                    array[n++] = (char) ((word << 6) | Long.numberOfTrailingZeros(remaining));
+                    remaining &= remaining - 1;
+                }
+            }
+            values = array;
+            bits = null;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.dto.DuplicateCandidateDto;
+import com.capstone.tele_ticketing_backend_1.dto.TicketSummaryDto;
+import com.capstone.tele_ticketing_backend_1.entities.Ticket;
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+import com.capstone.tele_ticketing_backend_1.entities.TicketSignature;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+import com.capstone.tele_ticketing_backend_1.projections.TicketSignatureSourceProjection;
+import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
+import com.capstone.tele_ticketing_backend_1.repo.TicketSignatureRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Flags likely duplicates among open tickets, e.g. the dozens of near-identical tickets customers
+ * file during an outage, so triage can handle them together.
+ * <p>
+ * Each new ticket's title and description are reduced to a {@link MinHash} signature, which is
+ * stored in ticket_signatures and filed in an in-memory {@link MinHashLshIndex} partitioned by
+ * category and customer city. Finding a ticket's candidates is a few hash lookups plus one query
+ * for their current status; tickets found to be closed are dropped from the index on the way.
+ * At startup only the stored signatures of open tickets are read back, so no text is re-hashed.
+ * Each node keeps its own index, so every sync-ms it also reads the signatures of open tickets
+ * updated since its last sync, which picks up tickets created or reopened on other nodes.
+ */
+@Service
+@Slf4j
+public class TicketDuplicateService implements TicketDuplicateServiceInterface {
+
+    // Tickets still waiting for a fix; a new ticket can only duplicate one of these.
+    public static final Set<TicketStatus> OPEN_STATUSES = EnumSet.of(
+            TicketStatus.CREATED, TicketStatus.AI_TRIAGED, TicketStatus.NEEDS_TRIAGING,
+            TicketStatus.ASSIGNED, TicketStatus.IN_PROGRESS, TicketStatus.REOPENED
+    );
+
+    private static final int LOAD_PAGE_SIZE = 1000;
+    // Re-read on every sync: covers clock skew between nodes and transactions that commit after a later one.
+    private static final long SYNC_OVERLAP_SECONDS = 5 * 60;
+
+    private final TicketSignatureRepo signatureRepo;
+    private final TicketRepo ticketRepo;
+    private final double similarityThreshold;
+    private final int maxCandidates;
+
+    private final MinHashLshIndex index = new MinHashLshIndex();
+    // Open tickets updated from here on are read by the next sync. Null until the first load.
+    private volatile LocalDateTime syncedFrom;
+
+    public TicketDuplicateService(TicketSignatureRepo signatureRepo, TicketRepo ticketRepo,
+                                  @Value("${tickets.duplicates.similarity-threshold:0.5}") double similarityThreshold,
+                                  @Value("${tickets.duplicates.max-candidates:5}") int maxCandidates) {
+        this.signatureRepo = signatureRepo;
+        this.ticketRepo = ticketRepo;
+        this.similarityThreshold = similarityThreshold;
+        this.maxCandidates = maxCandidates;
+    }
+
+    public void register(Collection<Ticket> tickets) {
+        List<TicketSignature> rows = new ArrayList<>(tickets.size());
+        for (Ticket ticket : tickets) {
+            String city = ticket.getCreatedFor() != null ? ticket.getCreatedFor().getCity() : null;
+            TicketSignature row = toSignature(ticket.getId(), ticket.getCategory(), city, ticket.getTitle(), ticket.getDescription());
+            if (row != null) {
+                rows.add(row);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        signatureRepo.saveAll(rows);
+
+        // A rolled-back ticket must never show up as someone's duplicate.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rows.forEach(TicketDuplicateService.this::addToIndex);
+                }
+            });
+        } else {
+            rows.forEach(this::addToIndex);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, List<DuplicateCandidateDto>> findCandidates(Collection<Long> ticketIds) {
+        // A ticket that was closed and then reopened has been dropped from the index; put it back.
+        List<Long> missing = ticketIds.stream().filter(id -> !index.contains(id)).toList();
+        if (!missing.isEmpty()) {
+            signatureRepo.findAllById(missing).forEach(this::addToIndex);
+        }
+
+        // Ask for a few spare candidates, since some may turn out to be closed.
+        Map<Long, List<MinHashLshIndex.Match>> matchesByTicket = new LinkedHashMap<>();
+        Set<Long> candidateIds = new HashSet<>();
+        for (Long ticketId : ticketIds) {
+            List<MinHashLshIndex.Match> matches = index.candidatesOf(ticketId, similarityThreshold, maxCandidates * 2);
+            if (!matches.isEmpty()) {
+                matchesByTicket.put(ticketId, matches);
+                matches.forEach(match -> candidateIds.add(match.ticketId()));
+            }
+        }
+        if (candidateIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, TicketSummaryDto> openCandidates = ticketRepo.findSummariesByIdIn(candidateIds).stream()
+                .filter(summary -> OPEN_STATUSES.contains(summary.getStatus()))
+                .collect(Collectors.toMap(TicketSummaryDto::getId, Function.identity()));
+        candidateIds.stream().filter(id -> !openCandidates.containsKey(id)).forEach(index::remove);
+
+        Map<Long, List<DuplicateCandidateDto>> result = new HashMap<>();
+        matchesByTicket.forEach((ticketId, matches) -> {
+            List<DuplicateCandidateDto> candidates = matches.stream()
+                    .filter(match -> openCandidates.containsKey(match.ticketId()))
+                    .limit(maxCandidates)
+                    .map(match -> {
+                        TicketSummaryDto summary = openCandidates.get(match.ticketId());
+                        return new DuplicateCandidateDto(summary.getId(), summary.getTicketUid(), summary.getTitle(),
+                                summary.getStatus(), match.similarity());
+                    })
+                    .toList();
+            if (!candidates.isEmpty()) {
+                result.put(ticketId, candidates);
+            }
+        });
+        return result;
+    }
+
+    public synchronized int load() {
+        // Set before anything is read, so the next sync covers whatever the load may miss.
+        syncedFrom = LocalDateTime.now();
+        // Open tickets from before duplicate detection existed have no signature yet.
+        int backfilled = 0;
+        long afterId = 0;
+        List<TicketSignatureSourceProjection> unsigned;
+        do {
+            unsigned = signatureRepo.findOpenWithoutSignaturePage(afterId, OPEN_STATUSES, PageRequest.of(0, LOAD_PAGE_SIZE));
+            List<TicketSignature> rows = new ArrayList<>(unsigned.size());
+            for (TicketSignatureSourceProjection ticket : unsigned) {
+                TicketSignature row = toSignature(ticket.getId(), ticket.getCategory(), ticket.getCity(),
+                        ticket.getTitle(), ticket.getDescription());
+                if (row != null) {
+                    rows.add(row);
+                }
+                afterId = ticket.getId();
+            }
+            if (!rows.isEmpty()) {
+                signatureRepo.saveAll(rows);
+                backfilled += rows.size();
+            }
+        } while (unsigned.size() == LOAD_PAGE_SIZE);
+
+        afterId = 0;
+        List<TicketSignature> page;
+        do {
+            page = signatureRepo.findOpenPage(afterId, OPEN_STATUSES, PageRequest.of(0, LOAD_PAGE_SIZE));
+            for (TicketSignature row : page) {
+                addToIndex(row);
+                afterId = row.getTicketId();
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+
+        log.info("Loaded duplicate-detection index: {} open tickets ({} signatures computed)", index.size(), backfilled);
+        return index.size();
+    }
+
+    @Scheduled(fixedDelayString = "${tickets.duplicates.sync-ms:5000}")
+    public int syncIndex() {
+        LocalDateTime from = syncedFrom;
+        if (from == null) {
+            return 0;
+        }
+        LocalDateTime started = LocalDateTime.now();
+        int added = 0;
+        long afterId = 0;
+        List<TicketSignature> page;
+        do {
+            page = signatureRepo.findOpenUpdatedSincePage(from.minusSeconds(SYNC_OVERLAP_SECONDS), afterId,
+                    OPEN_STATUSES, PageRequest.of(0, LOAD_PAGE_SIZE));
+            for (TicketSignature row : page) {
+                // Tickets created on this node are indexed when they commit.
+                if (!index.contains(row.getTicketId())) {
+                    addToIndex(row);
+                    added++;
+                }
+                afterId = row.getTicketId();
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+        syncedFrom = started;
+        if (added > 0) {
+            log.debug("Added {} open tickets from other nodes to the duplicate-detection index", added);
+        }
+        return added;
+    }
+
+    static String partition(TicketCategory category, String city) {
+        String normalizedCity = city == null ? "" : city.trim().toLowerCase(Locale.ROOT);
+        return category + "|" + normalizedCity;
+    }
+
+    // Null if the text has no words to compare.
+    private static TicketSignature toSignature(Long ticketId, TicketCategory category, String city,
+                                               String title, String description) {
+        int[] signature = MinHash.signature(title, description);
+        return signature == null ? null : new TicketSignature(ticketId, category, city, MinHash.toBytes(signature));
+    }
+
+    private void addToIndex(TicketSignature row) {
+        int[] signature = MinHash.fromBytes(row.getSignature());
+        if (signature != null) {
+            index.add(row.getTicketId(), partition(row.getCategory(), row.getCity()), signature);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.dto.DuplicateCandidateDto;
+import com.capstone.tele_ticketing_backend_1.entities.Ticket;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface TicketDuplicateServiceInterface {
+
+    /**
+     * Stores the MinHash signatures of newly created tickets. Must run in the transaction that saved them;
+     * the tickets become findable as duplicates once it commits.
+     * @param tickets The saved tickets, with createdFor loaded (its city partitions the index).
+     */
+    void register(Collection<Ticket> tickets);
+
+    /**
+     * Retrieves likely duplicates among open tickets of the same category and customer city, with one query.
+     * @param ticketIds The tickets to look up, e.g. one page of the triage queue.
+     * @return The candidates per ticket ID, most similar first; tickets without candidates are absent.
+     */
+    Map<Long, List<DuplicateCandidateDto>> findCandidates(Collection<Long> ticketIds);
+
+    /**
+     * Loads the persisted signatures of open tickets into memory, first computing any that are missing.
+     * @return The number of tickets indexed.
+     */
+    int load();
+}
@@ -0,0 +1,537 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.dto.TicketFacetCountsDto;
+import com.capstone.tele_ticketing_backend_1.dto.TicketFilterDto;
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+import com.capstone.tele_ticketing_backend_1.entities.TicketPriority;
+import com.capstone.tele_ticketing_backend_1.entities.TicketSeverity;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * In-memory facet index over tickets for the manager filter: one {@link TicketBitmap} of ticket ids
+ * per status, category, priority, severity, customer city and assignee, plus one per hour of SLA
+ * deadline and one per hour of SLA at-risk point. A filter is then a few bitmap ANDs and ORs, and the number of matching tickets per
+ * facet value is the cardinality of an AND, without touching the tickets table.
+ * <p>
+ * Ticket ids are used directly as bitmap values; they come from tickets_seq, so they are dense.
+ * A ticket is in a team when any of its assignees is, and in a city when its customer is, exactly
+ * like TicketSpecification's joins. Both are resolved through the users' current team and city,
+ * so moving a user re-files their tickets without re-indexing them.
+ * <p>
+ * Lookups share a read lock; changes take the write lock.
+ */
+final class TicketFacetIndex {
+
+    // The "at risk" window of tickets triaged before the at-risk point was stored, as in TicketSpecification.isAtSlaRisk.
+    static final long SLA_RISK_WINDOW_MILLIS = 2 * 3_600_000L;
+    private static final long BUCKET_MILLIS = 3_600_000L;
+    private static final long NONE = Long.MIN_VALUE;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TicketBitmap live = new TicketBitmap();
+    private final Map<TicketStatus, TicketBitmap> byStatus = new EnumMap<>(TicketStatus.class);
+    private final Map<TicketCategory, TicketBitmap> byCategory = new EnumMap<>(TicketCategory.class);
+    private final Map<TicketPriority, TicketBitmap> byPriority = new EnumMap<>(TicketPriority.class);
+    private final Map<TicketSeverity, TicketBitmap> bySeverity = new EnumMap<>(TicketSeverity.class);
+    private final Map<String, TicketBitmap> byCity = new HashMap<>();
+    private final Map<Long, TicketBitmap> byCustomer = new HashMap<>();
+    private final Map<Long, TicketBitmap> byAssignee = new HashMap<>();
+    private final TicketBitmap withSla = new TicketBitmap();
+    // Keyed by the hour the deadline falls in.
+    private final NavigableMap<Long, TicketBitmap> bySlaHour = new TreeMap<>();
+    // Keyed by the hour the at-risk point falls in; every ticket in withSla has one.
+    private final NavigableMap<Long, TicketBitmap> byAtRiskHour = new TreeMap<>();
+
+    // Per-ticket values needed to take a ticket out of its old bitmaps when it changes.
+    private final LongColumn customerOf = new LongColumn();
+    private final LongColumn slaDeadlineOf = new LongColumn();
+    private final LongColumn slaAtRiskOf = new LongColumn();
+    private final Map<Integer, long[]> assigneesOf = new HashMap<>();
+
+    // Lower-cased city -> the spelling first seen, for facet labels.
+    private final Map<String, String> cityNames = new HashMap<>();
+    private final Map<Long, String> cityOfUser = new HashMap<>();
+    private final Map<Long, Long> teamOfUser = new HashMap<>();
+    private final Map<Long, Set<Long>> teamMembers = new HashMap<>();
+
+    boolean index(long ticketId, TicketStatus status, TicketCategory category, TicketPriority priority,
+                  TicketSeverity severity, Long customerId, Collection<Long> assigneeIds, LocalDateTime slaBreachAt) {
+        return index(ticketId, status, category, priority, severity, customerId, assigneeIds, slaBreachAt, null);
+    }
+
+    /**
+     * Adds or replaces a ticket.
+     * @param assigneeIds The ticket's assignees, or null to keep the ones already indexed.
+     * @param slaAtRiskAt The at-risk point set at triage; null for SLA_RISK_WINDOW_MILLIS before the deadline.
+     * @return false if the id is too large to index.
+     */
+    boolean index(long ticketId, TicketStatus status, TicketCategory category, TicketPriority priority,
+                  TicketSeverity severity, Long customerId, Collection<Long> assigneeIds, LocalDateTime slaBreachAt,
+                  LocalDateTime slaAtRiskAt) {
+        if (ticketId < 0 || ticketId > Integer.MAX_VALUE) {
+            return false;
+        }
+        int doc = (int) ticketId;
+        lock.writeLock().lock();
+        try {
+            live.add(doc);
+            file(byStatus, status, doc);
+            file(byCategory, category, doc);
+            file(byPriority, priority, doc);
+            file(bySeverity, severity, doc);
+            setCustomer(doc, customerId == null ? NONE : customerId);
+            if (slaBreachAt == null) {
+                setSlaDeadline(doc, NONE, NONE);
+            } else {
+                long deadline = toMillis(slaBreachAt);
+                setSlaDeadline(doc, deadline, slaAtRiskAt == null ? deadline - SLA_RISK_WINDOW_MILLIS : toMillis(slaAtRiskAt));
+            }
+            if (assigneeIds != null) {
+                fileAssignees(doc, assigneeIds);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void setAssignees(long ticketId, Collection<Long> assigneeIds) {
+        if (ticketId < 0 || ticketId > Integer.MAX_VALUE) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            // An assignment committed before the ticket's own event, or for a ticket removed since.
+            if (live.contains((int) ticketId)) {
+                fileAssignees((int) ticketId, assigneeIds);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long ticketId) {
+        if (ticketId < 0 || ticketId > Integer.MAX_VALUE) {
+            return;
+        }
+        int doc = (int) ticketId;
+        lock.writeLock().lock();
+        try {
+            if (!live.remove(doc)) {
+                return;
+            }
+            file(byStatus, null, doc);
+            file(byCategory, null, doc);
+            file(byPriority, null, doc);
+            file(bySeverity, null, doc);
+            setCustomer(doc, NONE);
+            setSlaDeadline(doc, NONE, NONE);
+            fileAssignees(doc, List.of());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records a user's city and team. A changed city moves all the tickets raised for the user.
+     */
+    void updateUser(long userId, String city, Long teamId) {
+        lock.writeLock().lock();
+        try {
+            String newCity = normalizeCity(city);
+            if (newCity != null) {
+                cityNames.putIfAbsent(newCity, city.trim());
+            }
+            String oldCity = newCity == null ? cityOfUser.remove(userId) : cityOfUser.put(userId, newCity);
+            TicketBitmap tickets = byCustomer.get(userId);
+            if (!Objects.equals(oldCity, newCity) && tickets != null) {
+                if (oldCity != null) {
+                    replace(byCity, oldCity, TicketBitmap.andNot(byCity.getOrDefault(oldCity, new TicketBitmap()), tickets));
+                }
+                if (newCity != null) {
+                    replace(byCity, newCity, TicketBitmap.or(byCity.getOrDefault(newCity, new TicketBitmap()), tickets));
+                }
+            }
+
+            Long oldTeam = teamId == null ? teamOfUser.remove(userId) : teamOfUser.put(userId, teamId);
+            if (!Objects.equals(oldTeam, teamId)) {
+                Set<Long> members = oldTeam == null ? null : teamMembers.get(oldTeam);
+                if (members != null && members.remove(userId) && members.isEmpty()) {
+                    teamMembers.remove(oldTeam);
+                }
+                if (teamId != null) {
+                    teamMembers.computeIfAbsent(teamId, key -> new HashSet<>()).add(userId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void removeUser(long userId) {
+        updateUser(userId, null, null);
+    }
+
+    /**
+     * @return Ids of the tickets matching every given filter, highest (newest) first.
+     */
+    long[] match(TicketFilterDto filters, LocalDateTime now) {
+        lock.readLock().lock();
+        try {
+            TicketBitmap matches = matchLocked(filters, now);
+            long[] ids = new long[matches.cardinality()];
+            int[] next = {ids.length};
+            matches.forEach(doc -> ids[--next[0]] = doc);
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return How many of the tickets matching the filters fall under each value of each facet.
+     * Values with no tickets are left out.
+     */
+    TicketFacetCountsDto counts(TicketFilterDto filters, LocalDateTime now) {
+        lock.readLock().lock();
+        try {
+            TicketBitmap matches = matchLocked(filters, now);
+            Map<Long, Long> teams = new HashMap<>();
+            teamMembers.forEach((teamId, members) -> {
+                long count = TicketBitmap.andCardinality(matches, teamTickets(teamId));
+                if (count > 0) {
+                    teams.put(teamId, count);
+                }
+            });
+            return new TicketFacetCountsDto(
+                    matches.cardinality(),
+                    countEach(byStatus, matches, Function.identity()),
+                    teams,
+                    countEach(byCity, matches, cityNames::get),
+                    countEach(byCategory, matches, Function.identity()),
+                    countEach(byPriority, matches, Function.identity()),
+                    countEach(bySeverity, matches, Function.identity()),
+                    TicketBitmap.andCardinality(matches, atRisk(toMillis(now))),
+                    TicketBitmap.andCardinality(matches, breachedBefore(toMillis(now)))
+            );
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    boolean contains(long ticketId) {
+        lock.readLock().lock();
+        try {
+            return ticketId >= 0 && ticketId <= Integer.MAX_VALUE && live.contains((int) ticketId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return live.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long bitmapBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = live.sizeInBytes() + withSla.sizeInBytes();
+            for (Map<?, TicketBitmap> facet : facets()) {
+                for (TicketBitmap bitmap : facet.values()) {
+                    bytes += bitmap.sizeInBytes();
+                }
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void trimToSize() {
+        lock.writeLock().lock();
+        try {
+            live.trimToSize();
+            withSla.trimToSize();
+            for (Map<?, TicketBitmap> facet : facets()) {
+                facet.values().forEach(TicketBitmap::trimToSize);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static String normalizeCity(String city) {
+        return city == null || city.isBlank() ? null : city.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private List<Map<?, TicketBitmap>> facets() {
+        return List.of(byStatus, byCategory, byPriority, bySeverity, byCity, byCustomer, byAssignee, bySlaHour, byAtRiskHour);
+    }
+
+    private TicketBitmap matchLocked(TicketFilterDto filters, LocalDateTime now) {
+        TicketBitmap result = live;
+        if (filters.getStatuses() != null && !filters.getStatuses().isEmpty()) {
+            result = TicketBitmap.and(result, anyOf(byStatus, filters.getStatuses()));
+        }
+        if (filters.getTeamId() != null) {
+            result = TicketBitmap.and(result, teamTickets(filters.getTeamId()));
+        }
+        if (filters.getCity() != null && !filters.getCity().isBlank()) {
+            result = TicketBitmap.and(result, byCity.getOrDefault(normalizeCity(filters.getCity()), new TicketBitmap()));
+        }
+        if (filters.getAssigneeId() != null) {
+            result = TicketBitmap.and(result, byAssignee.getOrDefault(filters.getAssigneeId(), new TicketBitmap()));
+        }
+        if (filters.getCategories() != null && !filters.getCategories().isEmpty()) {
+            result = TicketBitmap.and(result, anyOf(byCategory, filters.getCategories()));
+        }
+        if (filters.getPriorities() != null && !filters.getPriorities().isEmpty()) {
+            result = TicketBitmap.and(result, anyOf(byPriority, filters.getPriorities()));
+        }
+        if (filters.getSeverities() != null && !filters.getSeverities().isEmpty()) {
+            result = TicketBitmap.and(result, anyOf(bySeverity, filters.getSeverities()));
+        }
+        if (filters.isSlaAtRisk()) {
+            result = TicketBitmap.and(result, atRisk(toMillis(now)));
+        }
+        if (filters.isSlaBreached()) {
+            result = TicketBitmap.and(result, breachedBefore(toMillis(now)));
+        }
+        return result;
+    }
+
+    private TicketBitmap teamTickets(long teamId) {
+        TicketBitmap tickets = new TicketBitmap();
+        for (Long member : teamMembers.getOrDefault(teamId, Set.of())) {
+            TicketBitmap assigned = byAssignee.get(member);
+            if (assigned != null) {
+                tickets = TicketBitmap.or(tickets, assigned);
+            }
+        }
+        return tickets;
+    }
+
+    // Tickets whose deadline is within [from, to].
+    private TicketBitmap dueBetween(long from, long to) {
+        return between(bySlaHour, slaDeadlineOf, from, to);
+    }
+
+    // Tickets whose time in the given hour buckets and column is within [from, to].
+    private static TicketBitmap between(NavigableMap<Long, TicketBitmap> byHour, LongColumn times, long from, long to) {
+        TicketBitmap due = new TicketBitmap();
+        for (Map.Entry<Long, TicketBitmap> bucket : byHour.subMap(Math.floorDiv(from, BUCKET_MILLIS), true,
+                Math.floorDiv(to, BUCKET_MILLIS), true).entrySet()) {
+            long bucketStart = bucket.getKey() * BUCKET_MILLIS;
+            if (bucketStart >= from && bucketStart + BUCKET_MILLIS - 1 <= to) {
+                due = TicketBitmap.or(due, bucket.getValue());
+            } else {
+                // The first and last hours are only partly inside the window.
+                TicketBitmap partial = new TicketBitmap();
+                bucket.getValue().forEach(doc -> {
+                    long time = times.get(doc);
+                    if (time >= from && time <= to) {
+                        partial.add(doc);
+                    }
+                });
+                due = TicketBitmap.or(due, partial);
+            }
+        }
+        return due;
+    }
+
+    // Tickets whose deadline is before the given time: every ticket with a deadline, minus those
+    // still due. Only the (few) future hours are read, however many past ones there are.
+    private TicketBitmap breachedBefore(long now) {
+        return TicketBitmap.andNot(withSla, dueBetween(now, Long.MAX_VALUE - BUCKET_MILLIS));
+    }
+
+    // Tickets past their at-risk point but not yet due; both sides read only future hours, like breachedBefore.
+    private TicketBitmap atRisk(long now) {
+        TicketBitmap notYetAtRisk = between(byAtRiskHour, slaAtRiskOf, now + 1, Long.MAX_VALUE - BUCKET_MILLIS);
+        return TicketBitmap.andNot(dueBetween(now, Long.MAX_VALUE - BUCKET_MILLIS), notYetAtRisk);
+    }
+
+    private static <K> TicketBitmap anyOf(Map<K, TicketBitmap> facet, Collection<K> values) {
+        TicketBitmap result = new TicketBitmap();
+        for (K value : values) {
+            TicketBitmap bitmap = facet.get(value);
+            if (bitmap != null) {
+                result = TicketBitmap.or(result, bitmap);
+            }
+        }
+        return result;
+    }
+
+    private static <K, L> Map<L, Long> countEach(Map<K, TicketBitmap> facet, TicketBitmap matches, Function<K, L> label) {
+        Map<L, Long> counts = new LinkedHashMap<>();
+        facet.forEach((value, bitmap) -> {
+            long count = TicketBitmap.andCardinality(matches, bitmap);
+            if (count > 0) {
+                counts.put(label.apply(value), count);
+            }
+        });
+        return counts;
+    }
+
+    // Moves the ticket to the given value's bitmap (or out of the facet, for null).
+    private static <K> void file(Map<K, TicketBitmap> facet, K value, int doc) {
+        for (Map.Entry<K, TicketBitmap> entry : facet.entrySet()) {
+            if (!entry.getKey().equals(value)) {
+                entry.getValue().remove(doc);
+            }
+        }
+        if (value != null) {
+            facet.computeIfAbsent(value, key -> new TicketBitmap()).add(doc);
+        }
+    }
+
+    private void setCustomer(int doc, long customerId) {
+        long old = customerOf.get(doc);
+        if (old == customerId) {
+            return;
+        }
+        if (old != NONE) {
+            removeFrom(byCustomer, old, doc);
+            String city = cityOfUser.get(old);
+            if (city != null) {
+                removeFrom(byCity, city, doc);
+            }
+        }
+        customerOf.set(doc, customerId);
+        if (customerId != NONE) {
+            byCustomer.computeIfAbsent(customerId, key -> new TicketBitmap()).add(doc);
+            String city = cityOfUser.get(customerId);
+            if (city != null) {
+                byCity.computeIfAbsent(city, key -> new TicketBitmap()).add(doc);
+            }
+        }
+    }
+
+    private void setSlaDeadline(int doc, long deadline, long atRisk) {
+        long oldAtRisk = slaAtRiskOf.get(doc);
+        if (oldAtRisk != atRisk) {
+            if (oldAtRisk != NONE) {
+                removeFrom(byAtRiskHour, Math.floorDiv(oldAtRisk, BUCKET_MILLIS), doc);
+            }
+            slaAtRiskOf.set(doc, atRisk);
+            if (atRisk != NONE) {
+                byAtRiskHour.computeIfAbsent(Math.floorDiv(atRisk, BUCKET_MILLIS), key -> new TicketBitmap()).add(doc);
+            }
+        }
+        long old = slaDeadlineOf.get(doc);
+        if (old == deadline) {
+            return;
+        }
+        if (old != NONE) {
+            removeFrom(bySlaHour, Math.floorDiv(old, BUCKET_MILLIS), doc);
+            withSla.remove(doc);
+        }
+        slaDeadlineOf.set(doc, deadline);
+        if (deadline != NONE) {
+            bySlaHour.computeIfAbsent(Math.floorDiv(deadline, BUCKET_MILLIS), key -> new TicketBitmap()).add(doc);
+            withSla.add(doc);
+        }
+    }
+
+    private void fileAssignees(int doc, Collection<Long> assigneeIds) {
+        long[] old = assigneesOf.getOrDefault(doc, new long[0]);
+        long[] assignees = assigneeIds.stream().filter(Objects::nonNull).mapToLong(Long::longValue).distinct().sorted().toArray();
+        if (Arrays.equals(old, assignees)) {
+            return;
+        }
+        for (long userId : old) {
+            if (Arrays.binarySearch(assignees, userId) < 0) {
+                removeFrom(byAssignee, userId, doc);
+            }
+        }
+        for (long userId : assignees) {
+            byAssignee.computeIfAbsent(userId, key -> new TicketBitmap()).add(doc);
+        }
+        if (assignees.length == 0) {
+            assigneesOf.remove(doc);
+        } else {
+            assigneesOf.put(doc, assignees);
+        }
+    }
+
+    // Drops empty bitmaps so departed customers, assignees and past hours cost nothing.
+    private static <K> void removeFrom(Map<K, TicketBitmap> facet, K key, int doc) {
+        TicketBitmap bitmap = facet.get(key);
+        if (bitmap != null && bitmap.remove(doc) && bitmap.isEmpty()) {
+            facet.remove(key);
+        }
+    }
+
+    private static <K> void replace(Map<K, TicketBitmap> facet, K key, TicketBitmap bitmap) {
+        if (bitmap.isEmpty()) {
+            facet.remove(key);
+        } else {
+            facet.put(key, bitmap);
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * A long per ticket id, in 1,024-entry pages allocated on first write, so a block of ids costs
+     * 8 bytes each and the unused ranges below and between them cost nothing.
+     */
+    private static final class LongColumn {
+
+        private static final int PAGE_BITS = 10;
+
+        private long[][] pages = new long[16][];
+
+        long get(int doc) {
+            int page = doc >>> PAGE_BITS;
+            if (page >= pages.length || pages[page] == null) {
+                return NONE;
+            }
+            return pages[page][doc & ((1 << PAGE_BITS) - 1)];
+        }
+
+        void set(int doc, long value) {
+            int page = doc >>> PAGE_BITS;
+            if (page >= pages.length) {
+                if (value == NONE) {
+                    return;
+                }
+                pages = Arrays.copyOf(pages, Math.max(page + 1, pages.length * 2));
+            }
+            if (pages[page] == null) {
+                if (value == NONE) {
+                    return;
+                }
+                pages[page] = new long[1 << PAGE_BITS];
+                Arrays.fill(pages[page], NONE);
+            }
+            pages[page][doc & ((1 << PAGE_BITS) - 1)] = value;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.dto.TicketFacetCountsDto;
+import com.capstone.tele_ticketing_backend_1.dto.TicketFilterDto;
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+import com.capstone.tele_ticketing_backend_1.entities.TicketPriority;
+import com.capstone.tele_ticketing_backend_1.entities.TicketSeverity;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+import com.capstone.tele_ticketing_backend_1.events.TicketAssignmentsChangedEvent;
+import com.capstone.tele_ticketing_backend_1.events.TicketFacetsChangedEvent;
+import com.capstone.tele_ticketing_backend_1.events.UserFacetsChangedEvent;
+import com.capstone.tele_ticketing_backend_1.projections.TicketAssigneeProjection;
+import com.capstone.tele_ticketing_backend_1.projections.TicketFacetSourceProjection;
+import com.capstone.tele_ticketing_backend_1.projections.UserFacetSourceProjection;
+import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
+import com.capstone.tele_ticketing_backend_1.repo.UserRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Manager ticket filtering backed by an in-process {@link TicketFacetIndex}.
+ * <p>
+ * The index is built from the database at startup (see TicketFacetIndexBuilder) and then follows
+ * every committed ticket, assignment and user change through events. Until the first build
+ * completes, {@link #findTicketIds} and {@link #findFacetCounts} return null and ManagerService queries the tickets table
+ * instead. Each application node keeps its own index, so every sync-ms it also re-reads the users
+ * and tickets updated since its last sync, which picks up changes committed on other nodes.
+ * Assignment changes reach the sync through the ticket's updated_at: triage rewrites the ticket
+ * row anyway, and a team lead's reassignment touches it.
+ */
+@Service
+@Slf4j
+public class TicketFacetService implements TicketFacetServiceInterface {
+
+    // Re-read on every sync: covers clock skew between nodes and transactions that commit after a later one.
+    private static final long SYNC_OVERLAP_SECONDS = 5 * 60;
+
+    private final TicketRepo ticketRepo;
+    private final UserRepo userRepo;
+    private final int rebuildPageSize;
+
+    private volatile TicketFacetIndex index = new TicketFacetIndex();
+    private volatile boolean built;
+    // Set once a ticket id does not fit in the bitmaps; filters then always go to the database.
+    private volatile boolean overflowed;
+    // Users and tickets updated from here on are read by the next sync. Null until the first rebuild.
+    private volatile LocalDateTime syncedFrom;
+
+    private final Object swapLock = new Object();
+    // Changes committed while a rebuild is reading the tables; replayed into the new index before
+    // it replaces the old one. Null when no rebuild is running. Guarded by swapLock.
+    private List<Consumer<TicketFacetIndex>> changesDuringRebuild;
+
+    public TicketFacetService(TicketRepo ticketRepo, UserRepo userRepo,
+                              @Value("${manager.facet-index.rebuild-page-size:1000}") int rebuildPageSize) {
+        this.ticketRepo = ticketRepo;
+        this.userRepo = userRepo;
+        this.rebuildPageSize = rebuildPageSize;
+    }
+
+    public boolean isReady() {
+        return built && !overflowed;
+    }
+
+    public long[] findTicketIds(TicketFilterDto filters) {
+        if (!canAnswer(filters)) {
+            return null;
+        }
+        return index.match(filters, LocalDateTime.now());
+    }
+
+    public TicketFacetCountsDto findFacetCounts(TicketFilterDto filters) {
+        if (!canAnswer(filters)) {
+            return null;
+        }
+        return index.counts(filters, LocalDateTime.now());
+    }
+
+    private boolean canAnswer(TicketFilterDto filters) {
+        // Creation dates are not indexed; a date range is left to the database.
+        return isReady() && filters.getCreatedFrom() == null && filters.getCreatedTo() == null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketFacetsChangedEvent event) {
+        if (event.getTicketId() == null) {
+            return;
+        }
+        apply(target -> {
+            if (event.isRemoved()) {
+                target.remove(event.getTicketId());
+            } else {
+                indexTicket(target, event.getTicketId(), event.getStatus(), event.getCategory(), event.getPriority(),
+                        event.getSeverity(), event.getCustomerId(), event.getAssigneeIds(), event.getSlaBreachAt(),
+                        event.getSlaAtRiskAt());
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssignmentsChanged(TicketAssignmentsChangedEvent event) {
+        apply(target -> target.setAssignees(event.getTicketId(), event.getAssigneeIds()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserFacetsChangedEvent event) {
+        if (event.getUserId() == null) {
+            return;
+        }
+        apply(target -> {
+            if (event.isRemoved()) {
+                target.removeUser(event.getUserId());
+            } else {
+                target.updateUser(event.getUserId(), event.getCity(), event.getTeamId());
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${manager.facet-index.sync-ms:5000}")
+    public int syncIndex() {
+        LocalDateTime from = syncedFrom;
+        if (from == null) {
+            return 0;
+        }
+        LocalDateTime started = LocalDateTime.now();
+        LocalDateTime since = from.minusSeconds(SYNC_OVERLAP_SECONDS);
+        for (UserFacetSourceProjection user : userRepo.findFacetSourcesUpdatedSince(since)) {
+            apply(target -> target.updateUser(user.getId(), user.getCity(), user.getTeamId()));
+        }
+        int synced = 0;
+        long afterId = 0;
+        List<TicketFacetSourceProjection> page;
+        do {
+            page = ticketRepo.findFacetSourcesUpdatedSince(since, afterId, PageRequest.of(0, rebuildPageSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            indexPage(page, this::apply);
+            synced += page.size();
+            afterId = page.get(page.size() - 1).getId();
+        } while (page.size() == rebuildPageSize);
+        syncedFrom = started;
+        return synced;
+    }
+
+    public synchronized int rebuild() {
+        long started = System.nanoTime();
+        // Set before the tables are read, so the next sync covers whatever the read may miss.
+        syncedFrom = LocalDateTime.now();
+        synchronized (swapLock) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+        TicketFacetIndex rebuilt = new TicketFacetIndex();
+        try {
+            // Users first, so each ticket is filed under its customer's city as it is added.
+            for (UserFacetSourceProjection user : userRepo.findFacetSources()) {
+                rebuilt.updateUser(user.getId(), user.getCity(), user.getTeamId());
+            }
+            long afterId = 0;
+            List<TicketFacetSourceProjection> page;
+            do {
+                page = ticketRepo.findFacetSourcePage(afterId, PageRequest.of(0, rebuildPageSize));
+                if (page.isEmpty()) {
+                    break;
+                }
+                indexPage(page, change -> change.accept(rebuilt));
+                afterId = page.get(page.size() - 1).getId();
+            } while (page.size() == rebuildPageSize);
+            rebuilt.trimToSize();
+        } catch (RuntimeException e) {
+            synchronized (swapLock) {
+                changesDuringRebuild = null;
+            }
+            throw e;
+        }
+
+        synchronized (swapLock) {
+            changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+            changesDuringRebuild = null;
+            index = rebuilt;
+        }
+        built = true;
+        log.info("Rebuilt manager facet index: {} tickets, {} KB of bitmaps in {} ms",
+                rebuilt.size(), rebuilt.bitmapBytes() / 1024, (System.nanoTime() - started) / 1_000_000);
+        return rebuilt.size();
+    }
+
+    // Files one page of tickets, with their assignees read in one query, through the given sink.
+    private void indexPage(List<TicketFacetSourceProjection> page, Consumer<Consumer<TicketFacetIndex>> sink) {
+        Map<Long, Set<Long>> assignees = ticketRepo.findAssigneesByTicketIdIn(
+                        page.stream().map(TicketFacetSourceProjection::getId).toList()).stream()
+                .collect(Collectors.groupingBy(TicketAssigneeProjection::getTicketId,
+                        Collectors.mapping(TicketAssigneeProjection::getUserId, Collectors.toSet())));
+        for (TicketFacetSourceProjection ticket : page) {
+            Set<Long> assigneeIds = assignees.getOrDefault(ticket.getId(), new HashSet<>());
+            sink.accept(target -> indexTicket(target, ticket.getId(), ticket.getStatus(), ticket.getCategory(),
+                    ticket.getPriority(), ticket.getSeverity(), ticket.getCustomerId(), assigneeIds,
+                    ticket.getSlaBreachAt(), ticket.getSlaAtRiskAt()));
+        }
+    }
+
+    private void apply(Consumer<TicketFacetIndex> change) {
+        synchronized (swapLock) {
+            change.accept(index);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        }
+    }
+
+    private void indexTicket(TicketFacetIndex target, long ticketId, TicketStatus status, TicketCategory category,
+                             TicketPriority priority, TicketSeverity severity, Long customerId,
+                             Set<Long> assigneeIds, LocalDateTime slaBreachAt, LocalDateTime slaAtRiskAt) {
+        if (!target.index(ticketId, status, category, priority, severity, customerId, assigneeIds, slaBreachAt, slaAtRiskAt)
+                && !overflowed) {
+            overflowed = true;
+            log.warn("Ticket id {} is too large for the manager facet index; manager filters will query the database", ticketId);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.dto.TicketFacetCountsDto;
+import com.capstone.tele_ticketing_backend_1.dto.TicketFilterDto;
+import com.capstone.tele_ticketing_backend_1.events.TicketAssignmentsChangedEvent;
+import com.capstone.tele_ticketing_backend_1.events.TicketFacetsChangedEvent;
+import com.capstone.tele_ticketing_backend_1.events.UserFacetsChangedEvent;
+
+public interface TicketFacetServiceInterface {
+
+    /**
+     * @return Whether the index has been built and can answer filters.
+     */
+    boolean isReady();
+
+    /**
+     * Retrieves the ids of the tickets matching a manager filter from the index.
+     * @param filters The filters to apply; unset ones match every ticket.
+     * @return The matching ticket ids, newest first, or null if the index is not ready or the filter has a creation date range.
+     */
+    long[] findTicketIds(TicketFilterDto filters);
+
+    /**
+     * Counts the tickets matching a manager filter per facet from the index, without building it.
+     * @param filters The filters to apply; unset ones match every ticket.
+     * @return The total and the per-facet counts, or null if the index is not ready or the filter has a creation date range.
+     */
+    TicketFacetCountsDto findFacetCounts(TicketFilterDto filters);
+
+    /**
+     * Applies a committed ticket insert, update or delete to the index.
+     * @param event The ticket's filterable columns, captured when it was flushed.
+     */
+    void onTicketChanged(TicketFacetsChangedEvent event);
+
+    /**
+     * Applies a committed change of a ticket's assignees to the index.
+     * @param event The ticket's new assignees.
+     */
+    void onAssignmentsChanged(TicketAssignmentsChangedEvent event);
+
+    /**
+     * Applies a committed change of a user's city or team to the index.
+     * @param event The user's city and team, captured when it was flushed.
+     */
+    void onUserChanged(UserFacetsChangedEvent event);
+
+    /**
+     * Rebuilds the index from the tickets, ticket_assignments and users tables and swaps it in.
+     * Filters keep using the old index (or SQL, before the first build) until the new one is complete.
+     * @return The number of tickets indexed.
+     */
+    int rebuild();
+}
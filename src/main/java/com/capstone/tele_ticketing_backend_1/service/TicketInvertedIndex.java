@@ -0,0 +1,340 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over ticket titles and descriptions, ranked with BM25.
+ * <p>
+ * Every indexed ticket gets a dense document number in insertion order, so a term's posting list
+ * only ever grows at its end and is stored as varint-encoded (document gap, term frequency) pairs in
+ * a byte array, usually two bytes per posting. Re-indexing a ticket whose text changed marks its old
+ * document deleted and appends a new one; deleted documents are skipped while scoring and dropped by
+ * the next full rebuild.
+ * <p>
+ * Each document also keeps the ids of the ticket's customer (createdFor) and agent (createdBy), so a
+ * search can be restricted to one owner's tickets without a database round trip.
+ * Searches share a read lock; changes take the write lock.
+ */
+final class TicketInvertedIndex {
+
+    // Standard BM25 parameters.
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+    // Title words count as this many occurrences, so a title match outranks the same word in a description.
+    static final int TITLE_WEIGHT = 2;
+
+    private static final int INITIAL_DOCS = 1024;
+    private static final long NO_OWNER = 0L;
+
+    record Hit(long ticketId, double score) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, Integer> docByTicketId = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+
+    // Per-document columns, indexed by document number.
+    private long[] ticketIds = new long[INITIAL_DOCS];
+    private long[] customerIds = new long[INITIAL_DOCS];
+    private long[] agentIds = new long[INITIAL_DOCS];
+    private int[] lengths = new int[INITIAL_DOCS];
+    private int[] textHashes = new int[INITIAL_DOCS];
+    private int docCount;
+    private int liveDocs;
+    private long liveLength;
+
+    /**
+     * Adds a ticket, or replaces its previous version.
+     * @return false if the ticket was already indexed with the same text and owners.
+     */
+    boolean index(long ticketId, Long customerId, Long agentId, String title, String description) {
+        int textHash = Objects.hash(title, description, customerId, agentId);
+        // Most saves only change the status; skip tokenizing those.
+        lock.readLock().lock();
+        try {
+            Integer existing = docByTicketId.get(ticketId);
+            if (existing != null && textHashes[existing] == textHash) {
+                return false;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : TicketSearchTokenizer.tokenize(title)) {
+            frequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : TicketSearchTokenizer.tokenize(description)) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        int length = 0;
+        for (int frequency : frequencies.values()) {
+            length += frequency;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Integer existing = docByTicketId.get(ticketId);
+            if (existing != null) {
+                if (textHashes[existing] == textHash) {
+                    return false;
+                }
+                markDeleted(existing);
+            }
+            int doc = docCount++;
+            ensureCapacity(docCount);
+            ticketIds[doc] = ticketId;
+            customerIds[doc] = customerId != null ? customerId : NO_OWNER;
+            agentIds[doc] = agentId != null ? agentId : NO_OWNER;
+            lengths[doc] = length;
+            textHashes[doc] = textHash;
+            docByTicketId.put(ticketId, doc);
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new PostingList()).append(doc, entry.getValue());
+            }
+            liveDocs++;
+            liveLength += length;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    boolean remove(long ticketId) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docByTicketId.remove(ticketId);
+            if (doc == null) {
+                return false;
+            }
+            markDeleted(doc);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks the tickets matching any of the query terms.
+     * @param ownerId If not null, only tickets created for or by this user are returned.
+     * @return At most limit hits, best first; equal scores put the newer ticket first.
+     */
+    List<Hit> search(String query, Long ownerId, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(TicketSearchTokenizer.tokenize(query)));
+        if (terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            if (liveDocs == 0) {
+                return List.of();
+            }
+            double averageLength = Math.max(1.0, (double) liveLength / liveDocs);
+            long owner = ownerId != null ? ownerId : NO_OWNER;
+            float[] scores = new float[docCount];
+            BitSet matched = new BitSet(docCount);
+
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                // The document frequency still counts deleted versions until the next rebuild.
+                int documentFrequency = Math.min(list.docFrequency, liveDocs);
+                double idf = Math.log(1 + (liveDocs - documentFrequency + 0.5) / (documentFrequency + 0.5));
+                list.forEach((doc, frequency) -> {
+                    if (deleted.get(doc) || (ownerId != null && customerIds[doc] != owner && agentIds[doc] != owner)) {
+                        return;
+                    }
+                    double norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+                    scores[doc] += (float) (idf * frequency * (K1 + 1) / (frequency + norm));
+                    matched.set(doc);
+                });
+            }
+
+            Comparator<Integer> byScore = Comparator.<Integer>comparingDouble(doc -> scores[doc]).thenComparingInt(doc -> doc);
+            PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, byScore);
+            for (int doc = matched.nextSetBit(0); doc >= 0; doc = matched.nextSetBit(doc + 1)) {
+                top.offer(doc);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<Hit> hits = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                int doc = top.poll();
+                hits.add(new Hit(ticketIds[doc], scores[doc]));
+            }
+            Collections.reverse(hits);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    boolean contains(long ticketId) {
+        lock.readLock().lock();
+        try {
+            return docByTicketId.containsKey(ticketId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int deletedDocuments() {
+        lock.readLock().lock();
+        try {
+            return docCount - liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int terms() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long postingBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (PostingList list : postings.values()) {
+                bytes += list.size;
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Releases the spare capacity left by array doubling, once a rebuild has added every ticket.
+    void trimToSize() {
+        lock.writeLock().lock();
+        try {
+            postings.values().forEach(PostingList::trimToSize);
+            int capacity = Math.max(docCount, 1);
+            ticketIds = Arrays.copyOf(ticketIds, capacity);
+            customerIds = Arrays.copyOf(customerIds, capacity);
+            agentIds = Arrays.copyOf(agentIds, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            textHashes = Arrays.copyOf(textHashes, capacity);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void markDeleted(int doc) {
+        deleted.set(doc);
+        liveDocs--;
+        liveLength -= lengths[doc];
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ticketIds.length) {
+            return;
+        }
+        int grown = Math.max(capacity, ticketIds.length * 2);
+        ticketIds = Arrays.copyOf(ticketIds, grown);
+        customerIds = Arrays.copyOf(customerIds, grown);
+        agentIds = Arrays.copyOf(agentIds, grown);
+        lengths = Arrays.copyOf(lengths, grown);
+        textHashes = Arrays.copyOf(textHashes, grown);
+    }
+
+    interface PostingVisitor {
+        void visit(int doc, int frequency);
+    }
+
+    /**
+     * One term's postings in ascending document order, as varint (gap from the previous document,
+     * frequency) pairs. Only appended to, under the index's write lock.
+     */
+    static final class PostingList {
+
+        private byte[] data = new byte[4];
+        private int size;
+        private int lastDoc = -1;
+        private int docFrequency;
+
+        void append(int doc, int frequency) {
+            if (size + 10 > data.length) {
+                data = Arrays.copyOf(data, Math.max(size + 10, data.length * 2));
+            }
+            writeVarint(doc - lastDoc);
+            writeVarint(frequency);
+            lastDoc = doc;
+            docFrequency++;
+        }
+
+        void forEach(PostingVisitor visitor) {
+            int position = 0;
+            int doc = -1;
+            while (position < size) {
+                int gap = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[position++];
+                    gap |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                int frequency = 0;
+                shift = 0;
+                do {
+                    b = data[position++];
+                    frequency |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                doc += gap;
+                visitor.visit(doc, frequency);
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        int docFrequency() {
+            return docFrequency;
+        }
+
+        void trimToSize() {
+            if (data.length > size) {
+                data = Arrays.copyOf(data, size);
+            }
+        }
+
+        private void writeVarint(int value) {
+            while ((value & ~0x7F) != 0) {
+                data[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[size++] = (byte) value;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.entities.TicketSortKey;
+import com.capstone.tele_ticketing_backend_1.exceptions.BadRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Page token for the manager ticket search: the sort it was issued for and the (sort value, id) of
+ * the last row of the previous page. Like KeysetPagination's cursor it is opaque and URL-safe, but
+ * the sort key is any LocalDateTime attribute and may be null (tickets without an SLA deadline).
+ */
+record TicketSearchCursor(TicketSortKey sort, Sort.Direction direction, LocalDateTime value, long id) {
+
+    /**
+     * @return The position encoded in token, or null for the first page.
+     * @throws BadRequestException If the token is malformed or was issued for a different sort.
+     */
+    static TicketSearchCursor decode(String token, TicketSortKey sort, Sort.Direction direction) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        TicketSearchCursor cursor;
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("~", -1);
+            if (parts.length != 4) {
+                throw new BadRequestException("Invalid page cursor.");
+            }
+            LocalDateTime value = parts[2].isEmpty() ? null : LocalDateTime.parse(parts[2]);
+            cursor = new TicketSearchCursor(TicketSortKey.valueOf(parts[0]), Sort.Direction.valueOf(parts[1]),
+                    value, Long.parseLong(parts[3]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid page cursor.");
+        }
+        if (cursor.sort() != sort || cursor.direction() != direction) {
+            throw new BadRequestException("Page cursor was issued for a different sort.");
+        }
+        return cursor;
+    }
+
+    String encode() {
+        String raw = sort + "~" + direction + "~" + (value == null ? "" : value) + "~" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
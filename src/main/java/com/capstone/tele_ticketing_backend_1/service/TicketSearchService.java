@@ -0,0 +1,208 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.dto.TicketSearchIndexStatsDto;
+import com.capstone.tele_ticketing_backend_1.dto.TicketSearchResultDto;
+import com.capstone.tele_ticketing_backend_1.dto.TicketSummaryDto;
+import com.capstone.tele_ticketing_backend_1.entities.ERole;
+import com.capstone.tele_ticketing_backend_1.events.TicketTextChangedEvent;
+import com.capstone.tele_ticketing_backend_1.exceptions.BadRequestException;
+import com.capstone.tele_ticketing_backend_1.projections.TicketSearchSourceProjection;
+import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text ticket search backed by an in-process {@link TicketInvertedIndex}.
+ * <p>
+ * The index is built from the tickets table at startup (see TicketSearchIndexBuilder) and then
+ * follows every committed ticket write through {@link TicketTextChangedEvent}. A search ranks ids in
+ * memory and reads the result rows with one query. Each application node keeps its own index, so
+ * every sync-ms it also re-reads the tickets updated since its last sync, which picks up tickets
+ * saved on other nodes. Re-indexed tickets leave their old version behind as a deleted document;
+ * once those pass the compaction threshold the sync rebuilds the index to drop them.
+ */
+@Service
+@Slf4j
+public class TicketSearchService implements TicketSearchServiceInterface {
+
+    // Customers and agents only search the tickets they raised or raised on someone's behalf.
+    private static final Set<String> OWNER_SCOPED_ROLES = Set.of(ERole.ROLE_CUSTOMER.name(), ERole.ROLE_AGENT.name());
+    // Re-read on every sync: covers clock skew between nodes and transactions that commit after a later one.
+    private static final long SYNC_OVERLAP_SECONDS = 5 * 60;
+
+    private final TicketRepo ticketRepo;
+    private final int rebuildPageSize;
+    private final int compactMinDeleted;
+    private final double compactDeletedRatio;
+
+    private volatile TicketInvertedIndex index = new TicketInvertedIndex();
+    private volatile LocalDateTime lastRebuiltAt;
+    private volatile long lastRebuildMs;
+    // Tickets updated from here on are read by the next sync. Null until the first rebuild.
+    private volatile LocalDateTime syncedFrom;
+
+    private final Object swapLock = new Object();
+    // Changes committed while a rebuild is reading the table; replayed into the new index before
+    // it replaces the old one. Null when no rebuild is running. Guarded by swapLock.
+    private List<TicketTextChangedEvent> changesDuringRebuild;
+
+    public TicketSearchService(TicketRepo ticketRepo,
+                               @Value("${search.index.rebuild-page-size:1000}") int rebuildPageSize,
+                               @Value("${search.index.compact-min-deleted:10000}") int compactMinDeleted,
+                               @Value("${search.index.compact-deleted-ratio:0.25}") double compactDeletedRatio) {
+        this.ticketRepo = ticketRepo;
+        this.rebuildPageSize = rebuildPageSize;
+        this.compactMinDeleted = compactMinDeleted;
+        this.compactDeletedRatio = compactDeletedRatio;
+    }
+
+    public static boolean canSearchAllTickets(Collection<? extends GrantedAuthority> authorities) {
+        return authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(role -> !OWNER_SCOPED_ROLES.contains(role));
+    }
+
+    public List<TicketSearchResultDto> search(String query, Integer size, Long userId, boolean allTickets) {
+        if (query == null || TicketSearchTokenizer.tokenize(query).isEmpty()) {
+            throw new BadRequestException("Search query must contain at least one word.");
+        }
+        List<TicketInvertedIndex.Hit> hits = index.search(query, allTickets ? null : userId, KeysetPagination.pageSize(size));
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, TicketSummaryDto> summaries = ticketRepo.findSummariesByIdIn(
+                        hits.stream().map(TicketInvertedIndex.Hit::ticketId).toList()).stream()
+                .collect(Collectors.toMap(TicketSummaryDto::getId, Function.identity()));
+        List<TicketSearchResultDto> results = new ArrayList<>(hits.size());
+        for (TicketInvertedIndex.Hit hit : hits) {
+            TicketSummaryDto summary = summaries.get(hit.ticketId());
+            // Deleted after the index was read.
+            if (summary != null) {
+                results.add(new TicketSearchResultDto(summary.getId(), summary.getTicketUid(), summary.getTitle(),
+                        summary.getStatus(), summary.getCreatedAt(), hit.score()));
+            }
+        }
+        log.debug("Search '{}' matched {} tickets", query, results.size());
+        return results;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketTextChangedEvent event) {
+        applyChange(event);
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.sync-ms:5000}")
+    public int syncIndex() {
+        LocalDateTime from = syncedFrom;
+        if (from == null) {
+            return 0;
+        }
+        LocalDateTime started = LocalDateTime.now();
+        int reindexed = 0;
+        long afterId = 0;
+        List<TicketSearchSourceProjection> page;
+        do {
+            page = ticketRepo.findSearchSourcesUpdatedSince(from.minusSeconds(SYNC_OVERLAP_SECONDS), afterId,
+                    PageRequest.of(0, rebuildPageSize));
+            for (TicketSearchSourceProjection ticket : page) {
+                // Tickets this node indexed itself are unchanged and skipped by the index.
+                if (applyChange(new TicketTextChangedEvent(ticket.getId(), ticket.getCustomerId(), ticket.getAgentId(),
+                        ticket.getTitle(), ticket.getDescription(), false))) {
+                    reindexed++;
+                }
+                afterId = ticket.getId();
+            }
+        } while (page.size() == rebuildPageSize);
+        syncedFrom = started;
+        if (reindexed > 0) {
+            log.debug("Re-indexed {} tickets saved on other nodes", reindexed);
+        }
+
+        TicketInvertedIndex current = index;
+        int deleted = current.deletedDocuments();
+        if (deleted >= compactMinDeleted && deleted >= compactDeletedRatio * (current.size() + deleted)) {
+            log.info("Compacting ticket search index: {} of {} documents are deleted versions", deleted, current.size() + deleted);
+            rebuild();
+        }
+        return reindexed;
+    }
+
+    public synchronized TicketSearchIndexStatsDto rebuild() {
+        long started = System.nanoTime();
+        // Set before the table is read, so the next sync covers whatever the read may miss.
+        syncedFrom = LocalDateTime.now();
+        synchronized (swapLock) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+        TicketInvertedIndex rebuilt = new TicketInvertedIndex();
+        try {
+            long afterId = 0;
+            List<TicketSearchSourceProjection> page;
+            do {
+                page = ticketRepo.findSearchSourcePage(afterId, PageRequest.of(0, rebuildPageSize));
+                for (TicketSearchSourceProjection ticket : page) {
+                    rebuilt.index(ticket.getId(), ticket.getCustomerId(), ticket.getAgentId(),
+                            ticket.getTitle(), ticket.getDescription());
+                    afterId = ticket.getId();
+                }
+            } while (page.size() == rebuildPageSize);
+            rebuilt.trimToSize();
+        } catch (RuntimeException e) {
+            synchronized (swapLock) {
+                changesDuringRebuild = null;
+            }
+            throw e;
+        }
+
+        synchronized (swapLock) {
+            changesDuringRebuild.forEach(event -> apply(rebuilt, event));
+            changesDuringRebuild = null;
+            index = rebuilt;
+        }
+        lastRebuildMs = (System.nanoTime() - started) / 1_000_000;
+        lastRebuiltAt = LocalDateTime.now();
+        log.info("Rebuilt ticket search index: {} tickets, {} terms in {} ms", rebuilt.size(), rebuilt.terms(), lastRebuildMs);
+        return getStats();
+    }
+
+    public TicketSearchIndexStatsDto getStats() {
+        TicketInvertedIndex current = index;
+        return new TicketSearchIndexStatsDto(current.size(), current.deletedDocuments(), current.terms(),
+                current.postingBytes(), lastRebuiltAt, lastRebuildMs);
+    }
+
+    private boolean applyChange(TicketTextChangedEvent event) {
+        synchronized (swapLock) {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(event);
+            }
+            return apply(index, event);
+        }
+    }
+
+    private static boolean apply(TicketInvertedIndex target, TicketTextChangedEvent event) {
+        if (event.getTicketId() == null) {
+            return false;
+        }
+        if (event.isRemoved()) {
+            return target.remove(event.getTicketId());
+        }
+        return target.index(event.getTicketId(), event.getCustomerId(), event.getAgentId(),
+                event.getTitle(), event.getDescription());
+    }
+}
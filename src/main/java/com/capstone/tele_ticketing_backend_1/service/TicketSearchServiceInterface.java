@@ -0,0 +1,38 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.dto.TicketSearchIndexStatsDto;
+import com.capstone.tele_ticketing_backend_1.dto.TicketSearchResultDto;
+import com.capstone.tele_ticketing_backend_1.events.TicketTextChangedEvent;
+
+import java.util.List;
+
+public interface TicketSearchServiceInterface {
+
+    /**
+     * Retrieves the tickets best matching a free-text query, ranked by BM25 over title and description.
+     * @param query The words to search for; a ticket matches if it contains any of them.
+     * @param size The maximum number of results (default 20, capped at 100).
+     * @param userId The searching user's ID.
+     * @param allTickets Whether the user may see every ticket; otherwise only tickets created for or by them are searched.
+     * @return The matching tickets, most relevant first.
+     */
+    List<TicketSearchResultDto> search(String query, Integer size, Long userId, boolean allTickets);
+
+    /**
+     * Applies a committed ticket insert, update or delete to the index.
+     * @param event The ticket's text and owners, captured when it was flushed.
+     */
+    void onTicketChanged(TicketTextChangedEvent event);
+
+    /**
+     * Rebuilds the index from the tickets table and swaps it in, dropping superseded documents.
+     * Searches keep using the old index until the new one is complete.
+     * @return The statistics of the new index.
+     */
+    TicketSearchIndexStatsDto rebuild();
+
+    /**
+     * @return The current size of the index.
+     */
+    TicketSearchIndexStatsDto getStats();
+}
@@ -0,0 +1,48 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Splits ticket text into search terms: runs of letters and digits, lower-cased, with common English
+ * stopwords and single characters dropped. Queries and documents go through the same method, so a
+ * term only has to match exactly. There is no stemming; "router" and "routers" are different terms.
+ */
+final class TicketSearchTokenizer {
+
+    static final int MAX_TERM_LENGTH = 32;
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "from", "has", "have", "he",
+            "her", "his", "i", "if", "in", "into", "is", "it", "its", "me", "my", "no", "not", "of", "on",
+            "or", "our", "she", "so", "that", "the", "their", "them", "then", "there", "these", "they",
+            "this", "to", "was", "we", "were", "when", "which", "will", "with", "you", "your");
+
+    private TicketSearchTokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        StringBuilder current = new StringBuilder();
+        int length = text.length();
+        for (int i = 0; i <= length; i++) {
+            char c = i < length ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                if (current.length() < MAX_TERM_LENGTH) {
+                    current.append(Character.toLowerCase(c));
+                }
+            } else if (!current.isEmpty()) {
+                String term = current.toString();
+                if (term.length() > 1 && !STOPWORDS.contains(term)) {
+                    terms.add(term);
+                }
+                current.setLength(0);
+            }
+        }
+        return terms;
+    }
+}
@@ -26,7 +26,7 @@ public class TicketService  implements TicketServiceInterface{
 
     @Transactional(readOnly = true)
     public TicketDetailDto getTicketById(Long ticketId) {
-        Ticket ticket = ticketRepo.findById(ticketId)
+        Ticket ticket = ticketRepo.findDetailById(ticketId)
                 .orElseThrow(() -> new TicketNotFoundException("Ticket not found with id: " + ticketId));
         return mapTicketToDetailDto(ticket);
     }
@@ -73,7 +73,7 @@ public class TicketService  implements TicketServiceInterface{
 
     @Transactional(readOnly = true)
     public TicketDetailDto getTicketByUid(String ticketUid) {
-        Ticket ticket = ticketRepo.findByTicketUid(ticketUid)
+        Ticket ticket = ticketRepo.findDetailByTicketUid(ticketUid)
                 .orElseThrow(() -> new TicketNotFoundException("Ticket not found with ID: " + ticketUid));
         return mapTicketToDetailDto(ticket); // Use our existing central mapper
     }
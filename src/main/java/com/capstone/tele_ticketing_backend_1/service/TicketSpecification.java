@@ -1,10 +1,18 @@
 package com.capstone.tele_ticketing_backend_1.service;
 
 
+import com.capstone.tele_ticketing_backend_1.dto.TicketFilterDto;
+import com.capstone.tele_ticketing_backend_1.entities.AppUser;
 import com.capstone.tele_ticketing_backend_1.entities.Ticket;
 import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import org.springframework.data.jpa.domain.Specification;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 public class TicketSpecification {
@@ -12,6 +20,42 @@ public class TicketSpecification {
     private TicketSpecification() {
     }
 
+    // All the manager filters that are set, combined with AND.
+    public static Specification<Ticket> matching(TicketFilterDto filters) {
+        Specification<Ticket> spec = (root, query, criteriaBuilder) -> criteriaBuilder.conjunction();
+        if (filters.getStatuses() != null && !filters.getStatuses().isEmpty()) {
+            spec = spec.and(hasStatusIn(filters.getStatuses()));
+        }
+        if (filters.getTeamId() != null) {
+            spec = spec.and(inTeam(filters.getTeamId()));
+        }
+        if (filters.getCity() != null) {
+            spec = spec.and(inCity(filters.getCity()));
+        }
+        if (filters.getCategories() != null && !filters.getCategories().isEmpty()) {
+            spec = spec.and(hasValueIn("category", filters.getCategories()));
+        }
+        if (filters.getPriorities() != null && !filters.getPriorities().isEmpty()) {
+            spec = spec.and(hasValueIn("priority", filters.getPriorities()));
+        }
+        if (filters.getSeverities() != null && !filters.getSeverities().isEmpty()) {
+            spec = spec.and(hasValueIn("severity", filters.getSeverities()));
+        }
+        if (filters.getAssigneeId() != null) {
+            spec = spec.and(assignedTo(filters.getAssigneeId()));
+        }
+        if (filters.getCreatedFrom() != null || filters.getCreatedTo() != null) {
+            spec = spec.and(createdBetween(filters.getCreatedFrom(), filters.getCreatedTo()));
+        }
+        if (filters.isSlaAtRisk()) {
+            spec = spec.and(isAtSlaRisk());
+        }
+        if (filters.isSlaBreached()) {
+            spec = spec.and(isSlaBreached());
+        }
+        return spec;
+    }
+
     public static Specification<Ticket> hasStatusIn(List<TicketStatus> statuses) {
         return (root, query, criteriaBuilder) -> {
             if (statuses == null || statuses.isEmpty()) {
@@ -21,13 +65,37 @@ public class TicketSpecification {
         };
     }
 
+    public static Specification<Ticket> hasValueIn(String attribute, List<?> values) {
+        return (root, query, criteriaBuilder) -> {
+            if (values == null || values.isEmpty()) {
+                return criteriaBuilder.conjunction();
+            }
+            return root.get(attribute).in(values);
+        };
+    }
+
+    // EXISTS rather than a join: a ticket with several assignees on the team is still matched once.
     public static Specification<Ticket> inTeam(Long teamId) {
         return (root, query, criteriaBuilder) -> {
             if (teamId == null) {
                 return criteriaBuilder.conjunction();
             }
-            // Joins Ticket -> assignedTo (users) -> team
-            return criteriaBuilder.equal(root.join("assignedTo").get("team").get("id"), teamId);
+            Subquery<Long> assignees = query.subquery(Long.class);
+            Join<Ticket, AppUser> assignee = assignees.correlate(root).join("assignedTo");
+            assignees.select(assignee.get("id")).where(criteriaBuilder.equal(assignee.get("team").get("id"), teamId));
+            return criteriaBuilder.exists(assignees);
+        };
+    }
+
+    public static Specification<Ticket> assignedTo(Long userId) {
+        return (root, query, criteriaBuilder) -> {
+            if (userId == null) {
+                return criteriaBuilder.conjunction();
+            }
+            Subquery<Long> assignees = query.subquery(Long.class);
+            Join<Ticket, AppUser> assignee = assignees.correlate(root).join("assignedTo");
+            assignees.select(assignee.get("id")).where(criteriaBuilder.equal(assignee.get("id"), userId));
+            return criteriaBuilder.exists(assignees);
         };
     }
 
@@ -36,15 +104,65 @@ public class TicketSpecification {
             if (city == null || city.isBlank()) {
                 return criteriaBuilder.conjunction();
             }
-            // Joins Ticket -> createdFor (user) -> city
-            return criteriaBuilder.equal(root.join("createdFor").get("city"), city);
+            // EXISTS on the customer's row (users.city is indexed) instead of joining it into the result.
+            Subquery<Long> customers = query.subquery(Long.class);
+            Root<AppUser> customer = customers.from(AppUser.class);
+            customers.select(customer.get("id")).where(
+                    criteriaBuilder.equal(customer.get("id"), root.get("createdFor").get("id")),
+                    criteriaBuilder.equal(customer.get("city"), city));
+            return criteriaBuilder.exists(customers);
         };
     }
 
+    // Created at or after from and before to; either bound may be null.
+    public static Specification<Ticket> createdBetween(LocalDateTime from, LocalDateTime to) {
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> bounds = new ArrayList<>();
+            if (from != null) {
+                bounds.add(criteriaBuilder.greaterThanOrEqualTo(root.get("createdAt"), from));
+            }
+            if (to != null) {
+                bounds.add(criteriaBuilder.lessThan(root.get("createdAt"), to));
+            }
+            return criteriaBuilder.and(bounds.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Keyset condition: the rows after (value, id) when ordered by attribute, then id, in the given direction.
+     * NULL sorts before every value, as it does by default in both MySQL and H2.
+     */
+    public static Specification<Ticket> after(String attribute, boolean ascending, LocalDateTime value, Long id) {
+        return (root, query, criteriaBuilder) -> {
+            Path<LocalDateTime> sortKey = root.get(attribute);
+            Path<Long> ticketId = root.get("id");
+            Predicate sameKeyLaterId = ascending ? criteriaBuilder.greaterThan(ticketId, id) : criteriaBuilder.lessThan(ticketId, id);
+            if (value == null) {
+                Predicate laterNull = criteriaBuilder.and(criteriaBuilder.isNull(sortKey), sameKeyLaterId);
+                return ascending ? criteriaBuilder.or(laterNull, criteriaBuilder.isNotNull(sortKey)) : laterNull;
+            }
+            Predicate laterKey = ascending ? criteriaBuilder.greaterThan(sortKey, value) : criteriaBuilder.lessThan(sortKey, value);
+            Predicate sameKey = criteriaBuilder.and(criteriaBuilder.equal(sortKey, value), sameKeyLaterId);
+            return ascending
+                    ? criteriaBuilder.or(laterKey, sameKey)
+                    : criteriaBuilder.or(laterKey, sameKey, criteriaBuilder.isNull(sortKey));
+        };
+    }
+
+    /**
+     * Past the at-risk point set at triage (in the team's working time) but not yet due. Tickets triaged
+     * before that point was stored have none, and are at risk two hours before their deadline.
+     */
     public static Specification<Ticket> isAtSlaRisk() {
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime twoHoursFromNow = now.plusHours(2);
-        return (root, query, criteriaBuilder) -> criteriaBuilder.between(root.get("slaBreachAt"), now, twoHoursFromNow);
+        return (root, query, criteriaBuilder) -> {
+            Path<LocalDateTime> atRiskAt = root.get("slaAtRiskAt");
+            Path<LocalDateTime> breachAt = root.get("slaBreachAt");
+            return criteriaBuilder.or(
+                    criteriaBuilder.and(criteriaBuilder.lessThanOrEqualTo(atRiskAt, now), criteriaBuilder.greaterThanOrEqualTo(breachAt, now)),
+                    criteriaBuilder.and(criteriaBuilder.isNull(atRiskAt), criteriaBuilder.between(breachAt, now, twoHoursFromNow)));
+        };
     }
 
     public static Specification<Ticket> isSlaBreached() {
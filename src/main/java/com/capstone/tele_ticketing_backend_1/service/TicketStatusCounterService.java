@@ -0,0 +1,218 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.dto.DashboardStatsDto;
+import com.capstone.tele_ticketing_backend_1.entities.AppUser;
+import com.capstone.tele_ticketing_backend_1.entities.Ticket;
+import com.capstone.tele_ticketing_backend_1.entities.TicketRelation;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatusCounter;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatusCounterId;
+import com.capstone.tele_ticketing_backend_1.projections.UserStatusCountProjection;
+import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
+import com.capstone.tele_ticketing_backend_1.repo.TicketStatusCounterRepo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TicketStatusCounterService implements TicketStatusCounterServiceInterface {
+
+    // Statuses shown as "active" on the customer and agent dashboards.
+    public static final Set<TicketStatus> ACTIVE_STATUSES = Set.of(
+            TicketStatus.CREATED, TicketStatus.ASSIGNED, TicketStatus.IN_PROGRESS,
+            TicketStatus.NEEDS_TRIAGING, TicketStatus.REOPENED, TicketStatus.FIXED
+    );
+
+    // Plain JDBC so a duplicate from a concurrent first increment doesn't mark the JPA transaction rollback-only.
+    private static final String INSERT_COUNTER_SQL =
+            "INSERT INTO ticket_status_counters (user_id, relation, status, ticket_count) VALUES (?, ?, ?, ?)";
+
+    // Rows are always updated in this order, so two transactions touching the same counters cannot deadlock.
+    private static final Comparator<TicketStatusCounterId> LOCK_ORDER = Comparator
+            .comparing(TicketStatusCounterId::getUserId)
+            .thenComparing(TicketStatusCounterId::getRelation)
+            .thenComparing(TicketStatusCounterId::getStatus);
+
+    private record CounterOwner(Long userId, TicketRelation relation) {
+    }
+
+    private static final Comparator<CounterOwner> OWNER_ORDER = Comparator
+            .comparing(CounterOwner::userId)
+            .thenComparing(CounterOwner::relation);
+
+    private final TicketStatusCounterRepo counterRepo;
+    private final TicketRepo ticketRepo;
+    private final JdbcTemplate jdbcTemplate;
+    private final JobLeaseService jobLeaseService;
+
+    @Transactional
+    public void recordCreated(Collection<Ticket> tickets) {
+        Map<TicketStatusCounterId, Long> deltas = new TreeMap<>(LOCK_ORDER);
+        for (Ticket ticket : tickets) {
+            addDeltas(deltas, ticket, ticket.getStatus(), 1);
+        }
+        apply(deltas);
+    }
+
+    @Transactional
+    public void recordTransition(Ticket ticket, TicketStatus from, TicketStatus to) {
+        if (from == to) {
+            return;
+        }
+        Map<TicketStatusCounterId, Long> deltas = new TreeMap<>(LOCK_ORDER);
+        addDeltas(deltas, ticket, from, -1);
+        addDeltas(deltas, ticket, to, 1);
+        apply(deltas);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<TicketStatus, Long> getCounts(String username, TicketRelation relation) {
+        Map<TicketStatus, Long> counts = new EnumMap<>(TicketStatus.class);
+        for (TicketStatusCounter counter : counterRepo.findByUsernameAndRelation(username, relation)) {
+            counts.put(counter.getId().getStatus(), counter.getTicketCount());
+        }
+        return counts;
+    }
+
+    /**
+     * Builds the dashboard stats from a user's per-status counts.
+     */
+    public static DashboardStatsDto toDashboardStats(Map<TicketStatus, Long> counts) {
+        DashboardStatsDto stats = new DashboardStatsDto();
+        stats.setActiveTickets(ACTIVE_STATUSES.stream().mapToLong(status -> counts.getOrDefault(status, 0L)).sum());
+        stats.setResolvedTickets(counts.getOrDefault(TicketStatus.RESOLVED, 0L));
+        stats.setFeedbackRequiredTickets(counts.getOrDefault(TicketStatus.FIXED, 0L));
+        return stats;
+    }
+
+    /**
+     * Counts every user's tickets without locking the tickets table, so status changes carry on while
+     * it runs, then corrects each (user, relation) whose counters disagree: under the locks a status
+     * change takes on those counter rows, that user's tickets are counted again and the counts
+     * written. A status change either committed before the recount and is in it, or waits for the
+     * lock and applies its delta on top. Run as the nightly job, the corrections only commit while
+     * this node still holds the job's lease.
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public int reconcile() {
+        Map<TicketStatusCounterId, Long> expected = new HashMap<>();
+        collect(expected, TicketRelation.CREATED_FOR, ticketRepo.countGroupedByCreatedForAndStatus());
+        collect(expected, TicketRelation.CREATED_BY, ticketRepo.countGroupedByCreatedByAndStatus());
+
+        Map<TicketStatusCounterId, Long> current = counterRepo.findAll().stream()
+                .collect(Collectors.toMap(TicketStatusCounter::getId, TicketStatusCounter::getTicketCount));
+
+        // In LOCK_ORDER, so the reconcile and a status change lock shared counter rows in the same order.
+        Set<CounterOwner> drifted = new TreeSet<>(OWNER_ORDER);
+        Set<TicketStatusCounterId> ids = new HashSet<>(expected.keySet());
+        ids.addAll(current.keySet());
+        for (TicketStatusCounterId id : ids) {
+            if (expected.getOrDefault(id, 0L).longValue() != current.getOrDefault(id, 0L)) {
+                drifted.add(new CounterOwner(id.getUserId(), id.getRelation()));
+            }
+        }
+
+        int corrected = 0;
+        for (CounterOwner owner : drifted) {
+            corrected += recount(owner);
+        }
+        jobLeaseService.checkFencingToken();
+        log.info("Reconciled ticket status counters: {} of {} corrected", corrected, expected.size());
+        return corrected;
+    }
+
+    private int recount(CounterOwner owner) {
+        Set<TicketStatus> stored = EnumSet.noneOf(TicketStatus.class);
+        for (TicketStatus status : TicketStatus.values()) {
+            if (counterRepo.findForUpdate(new TicketStatusCounterId(owner.userId(), owner.relation(), status)).isPresent()) {
+                stored.add(status);
+            }
+        }
+        Map<TicketStatusCounterId, Long> counted = new HashMap<>();
+        collect(counted, owner.relation(), owner.relation() == TicketRelation.CREATED_FOR
+                ? ticketRepo.countByCreatedForGroupedByStatus(owner.userId())
+                : ticketRepo.countByCreatedByGroupedByStatus(owner.userId()));
+
+        int corrected = 0;
+        for (TicketStatus status : TicketStatus.values()) {
+            TicketStatusCounterId id = new TicketStatusCounterId(owner.userId(), owner.relation(), status);
+            long count = counted.getOrDefault(id, 0L);
+            if (stored.contains(status)) {
+                corrected += counterRepo.setCount(id, count);
+            } else if (count > 0) {
+                try {
+                    jdbcTemplate.update(INSERT_COUNTER_SQL, id.getUserId(), id.getRelation().name(), id.getStatus().name(), count);
+                    corrected++;
+                } catch (DuplicateKeyException e) {
+                    // A status change created the row after it was locked, so its delta may not be in the
+                    // recount; left for the next run.
+                    log.debug("Skipping ticket counter {} created during the reconcile", id);
+                }
+            }
+        }
+        return corrected;
+    }
+
+    @Transactional(readOnly = true)
+    public boolean hasCounters() {
+        return counterRepo.findFirstBy().isPresent();
+    }
+
+    private void addDeltas(Map<TicketStatusCounterId, Long> deltas, Ticket ticket, TicketStatus status, long delta) {
+        addDelta(deltas, ticket.getCreatedFor(), TicketRelation.CREATED_FOR, status, delta);
+        addDelta(deltas, ticket.getCreatedBy(), TicketRelation.CREATED_BY, status, delta);
+    }
+
+    private void addDelta(Map<TicketStatusCounterId, Long> deltas, AppUser user, TicketRelation relation,
+                          TicketStatus status, long delta) {
+        if (user == null || status == null) {
+            return;
+        }
+        deltas.merge(new TicketStatusCounterId(user.getId(), relation, status), delta, Long::sum);
+    }
+
+    private void apply(Map<TicketStatusCounterId, Long> deltas) {
+        deltas.forEach((id, delta) -> {
+            if (delta == 0 || counterRepo.increment(id, delta) > 0) {
+                return;
+            }
+            // No row yet. A missing row can only be decremented if the counters were never built;
+            // the reconciler fills those in, so don't invent a negative count.
+            if (delta < 0) {
+                log.debug("Skipping decrement of missing ticket counter {}", id);
+                return;
+            }
+            try {
+                jdbcTemplate.update(INSERT_COUNTER_SQL, id.getUserId(), id.getRelation().name(), id.getStatus().name(), delta);
+            } catch (DuplicateKeyException e) {
+                counterRepo.increment(id, delta);
+            }
+        });
+    }
+
+    private void collect(Map<TicketStatusCounterId, Long> expected, TicketRelation relation,
+                         List<UserStatusCountProjection> rows) {
+        for (UserStatusCountProjection row : rows) {
+            expected.put(new TicketStatusCounterId(row.getUserId(), relation, row.getStatus()), row.getCount());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.entities.Ticket;
+import com.capstone.tele_ticketing_backend_1.entities.TicketRelation;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface TicketStatusCounterServiceInterface {
+
+    /**
+     * Counts newly saved tickets under their current status. Must run in the transaction that saved them.
+     * @param tickets The saved tickets.
+     */
+    void recordCreated(Collection<Ticket> tickets);
+
+    /**
+     * Moves a ticket from one status counter to another. Must run in the transaction that changes the status.
+     * @param ticket The ticket whose status changed.
+     * @param from The status before the change.
+     * @param to The status after the change.
+     */
+    void recordTransition(Ticket ticket, TicketStatus from, TicketStatus to);
+
+    /**
+     * Retrieves a user's ticket counts per status with a single query.
+     * @param username The user's username.
+     * @param relation Whether to count tickets created for or created by the user.
+     * @return The counts per status; statuses with no tickets are absent. Empty if the user is unknown.
+     */
+    Map<TicketStatus, Long> getCounts(String username, TicketRelation relation);
+
+    /**
+     * Rebuilds every counter from the tickets table.
+     * @return The number of counters that had drifted and were corrected.
+     */
+    int reconcile();
+
+    /**
+     * @return Whether any counter exists yet.
+     */
+    boolean hasCounters();
+}
@@ -0,0 +1,16 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+/**
+ * Produces the human-readable, unique identifier assigned to every new ticket (e.g. "TK-0L8ZK2Q-4B7X1C").
+ * Implementations must be thread-safe and must not hand out the same UID twice, including across
+ * application nodes sharing one database.
+ */
+public interface TicketUidGenerator {
+
+    String PREFIX = "TK-";
+
+    /**
+     * @return A new ticket UID, always starting with {@link #PREFIX}.
+     */
+    String nextUid();
+}
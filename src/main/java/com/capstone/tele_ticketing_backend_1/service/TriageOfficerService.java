@@ -2,13 +2,16 @@ package com.capstone.tele_ticketing_backend_1.service;
 
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import com.capstone.tele_ticketing_backend_1.dto.*;
 import com.capstone.tele_ticketing_backend_1.entities.*;
+import com.capstone.tele_ticketing_backend_1.projections.TicketActivityFeedProjection;
 import com.capstone.tele_ticketing_backend_1.repo.TicketActivityRepo;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,9 +35,21 @@ public class TriageOfficerService implements TriageOfficerServiceInterface {
     private final UserRepo userRepo;
     private final TicketService ticketService;
     private final ActivityLogService activityLogService;
+    private final TicketStatusCounterService ticketStatusCounterService;
+    private final TicketAssignmentService ticketAssignmentService;
+    private final TicketDuplicateService ticketDuplicateService;
+    private final SlaCalendarService slaCalendarService;
     private final TriageAssistant triageAssistant;
     private final TicketActivityRepo activityRepo;
 
+    // Activity types shown in the triage notification feed (and pushed on its stream).
+    public static final List<ActivityType> NOTIFICATION_TYPES = List.of(
+            ActivityType.STATUS_CHANGE,
+            ActivityType.PRIORITY_CHANGE,
+            ActivityType.ASSIGNMENT,
+            ActivityType.REOPENED
+    );
+
     // Defines which statuses are considered "pending" for a Triage Officer.
     private static final List<TicketStatus> PENDING_STATUSES = List.of(
             TicketStatus.CREATED,
@@ -42,11 +57,22 @@ public class TriageOfficerService implements TriageOfficerServiceInterface {
             TicketStatus.REOPENED
     );
 
-    public List<TicketSummaryDto> getPendingTickets() {
-        List<Ticket> tickets = ticketRepo.findAllByStatusIn(PENDING_STATUSES);
-        return tickets.stream()
-                .map(ticket -> new TicketSummaryDto(ticket.getId(), ticket.getTicketUid(), ticket.getTitle(), ticket.getStatus(), ticket.getCreatedAt()))
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPageDto<PendingTicketDto> getPendingTickets(String cursor, Integer size) {
+        int pageSize = KeysetPagination.pageSize(size);
+        KeysetPagination.Cursor position = KeysetPagination.decode(cursor);
+        List<TicketSummaryDto> tickets = ticketRepo.findSummaryPageByStatusIn(PENDING_STATUSES,
+                position.createdAt(), position.id(), KeysetPagination.limit(pageSize));
+        CursorPageDto<TicketSummaryDto> page = KeysetPagination.toPage(tickets, pageSize, TicketSummaryDto::getCreatedAt,
+                TicketSummaryDto::getId, Function.identity());
+
+        // Likely duplicates of other open tickets, so an outage's tickets can be triaged together.
+        Map<Long, List<DuplicateCandidateDto>> duplicates = ticketDuplicateService.findCandidates(
+                page.getItems().stream().map(TicketSummaryDto::getId).toList());
+        List<PendingTicketDto> items = page.getItems().stream()
+                .map(ticket -> new PendingTicketDto(ticket, duplicates.getOrDefault(ticket.getId(), List.of())))
+                .toList();
+        return new CursorPageDto<>(items, page.getNextCursor());
     }
 
     @Transactional
@@ -54,7 +80,7 @@ public class TriageOfficerService implements TriageOfficerServiceInterface {
         AppUser triageOfficer = userRepo.findByUsername(triageOfficerUsername)
                 .orElseThrow(() -> new UserNotFoundException("Triage officer not found: " + triageOfficerUsername));
 
-        Ticket ticket = ticketRepo.findById(ticketId)
+        Ticket ticket = ticketRepo.findDetailById(ticketId)
                 .orElseThrow(() -> new TicketNotFoundException("Ticket not found with id: " + ticketId));
 
         // State Validation: Ensure the ticket is in a state that can be triaged.
@@ -75,20 +101,32 @@ public class TriageOfficerService implements TriageOfficerServiceInterface {
         // Apply Updates to the Ticket
         ticket.setSeverity(dto.getSeverity());
         ticket.setPriority(dto.getPriority());
-        ticket.setAssignedTo(new HashSet<>(engineersToAssign));
+        AssignmentDiff assignment = ticketAssignmentService.reassign(ticket, engineersToAssign);
         ticket.setAssignedBy(triageOfficer);
+        TicketStatus previousStatus = ticket.getStatus();
         ticket.setStatus(TicketStatus.ASSIGNED);
 
-        // Calculate and set SLA based on the new severity.
+        // Calculate and set SLA based on the new severity, in working hours of the assigned team.
         int slaHours = calculateSlaHours(dto.getSeverity());
         ticket.setSlaDurationHours(slaHours);
-        ticket.setSlaBreachAt(LocalDateTime.now().plusHours(slaHours));
-
-        // Create an internal log for the assignment action.
-        String assignedEngineersNames = engineersToAssign.stream().map(AppUser::getFullName).collect(Collectors.joining(", "));
-        activityLogService.createLog(ticket, triageOfficer, ActivityType.ASSIGNMENT, "Assigned to " + assignedEngineersNames, true); // Internal-only log
+        SlaDeadline deadline = slaCalendarService.deadlineFor(engineersToAssign,
+                LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS), slaHours);
+        ticket.setSlaBreachAt(deadline.getBreachAt());
+        ticket.setSlaAtRiskAt(deadline.getAtRiskAt());
+        // A fresh deadline starts over; SlaTimerService moves the ticket to AT_RISK and BREACHED from here.
+        ticket.setSlaState(SlaState.ON_TRACK);
+
+        // Create an internal log for the assignment action. A re-triaged ticket logs exactly who was added or removed.
+        String assignmentText;
+        if (assignment.getRemoved().isEmpty() && assignment.getUnchanged().isEmpty()) {
+            assignmentText = "Assigned to " + engineersToAssign.stream().map(AppUser::getFullName).collect(Collectors.joining(", "));
+        } else {
+            assignmentText = "Assignment changed: " + assignment.describe();
+        }
+        activityLogService.createLog(ticket, triageOfficer, ActivityType.ASSIGNMENT, assignmentText, true); // Internal-only log
 
         Ticket savedTicket = ticketRepo.save(ticket);
+        ticketStatusCounterService.recordTransition(savedTicket, previousStatus, TicketStatus.ASSIGNED);
 
         // Return a clean DTO by calling the central mapper.
         return ticketService.mapTicketToDetailDto(savedTicket);
@@ -165,32 +203,13 @@ public class TriageOfficerService implements TriageOfficerServiceInterface {
     }
 
     @Transactional(readOnly = true)
-    public List<NotificationDto> getNotifications() {
-        // Define the list of types you want to see
-        List<ActivityType> relevantTypes = List.of(
-                ActivityType.STATUS_CHANGE,
-                ActivityType.PRIORITY_CHANGE,
-                ActivityType.ASSIGNMENT,
-                ActivityType.REOPENED
-        );
-
-        // Call the new repository method
-        List<TicketActivity> activities = activityRepo
-                .findAllByActivityTypeInOrderByCreatedAtDesc(relevantTypes);
-
-        return activities.stream()
-                .map(this::mapActivityToNotificationDto)
-                .collect(Collectors.toList());
-    }
-
-    private NotificationDto mapActivityToNotificationDto(TicketActivity activity) {
-        return new NotificationDto(
-                activity.getId(),
-                activity.getTicket().getTicketUid(),
-                activity.getTicket().getTitle(),
-                activity.getDescription(),
-                activity.getActivityType().name(),
-                activity.getCreatedAt()
-        );
+    public CursorPageDto<NotificationDto> getNotifications(String cursor, Integer size) {
+        int pageSize = KeysetPagination.pageSize(size);
+        KeysetPagination.Cursor position = KeysetPagination.decode(cursor);
+        List<TicketActivityFeedProjection> activities = activityRepo.findFeedPageByActivityTypeIn(NOTIFICATION_TYPES,
+                position.createdAt(), position.id(), KeysetPagination.limit(pageSize));
+
+        return KeysetPagination.toPage(activities, pageSize, TicketActivityFeedProjection::getCreatedAt,
+                TicketActivityFeedProjection::getId, TicketActivityFeedProjection::toNotificationDto);
     }
 }
\ No newline at end of file
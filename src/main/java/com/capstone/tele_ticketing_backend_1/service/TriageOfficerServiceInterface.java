@@ -1,19 +1,23 @@
 package com.capstone.tele_ticketing_backend_1.service;
 
+import com.capstone.tele_ticketing_backend_1.dto.CursorPageDto;
 import com.capstone.tele_ticketing_backend_1.dto.AiTriageSuggestionDto;
 import com.capstone.tele_ticketing_backend_1.dto.NotificationDto;
+import com.capstone.tele_ticketing_backend_1.dto.PendingTicketDto;
 import com.capstone.tele_ticketing_backend_1.dto.TriageTicketRequestDto;
 import com.capstone.tele_ticketing_backend_1.dto.TicketDetailDto;
-import com.capstone.tele_ticketing_backend_1.dto.TicketSummaryDto;
 import java.util.List;
 
 public interface TriageOfficerServiceInterface {
 
     /**
-     * Gets a summary of all tickets currently pending triage (CREATED, NEEDS_TRIAGING, REOPENED).
-     * @return A list of ticket summaries.
+     * Gets one page of tickets currently pending triage (CREATED, NEEDS_TRIAGING, REOPENED), newest first.
+     * @param cursor The nextCursor of the previous page, or null for the first page.
+     * @param size Page size (default 20, capped at 100).
+     * @return A page of ticket summaries, each with its likely duplicates among open tickets of the
+     *         same category and customer city.
      */
-    List<TicketSummaryDto> getPendingTickets();
+    CursorPageDto<PendingTicketDto> getPendingTickets(String cursor, Integer size);
 
     /**
      * Allows a Triage Officer to assign, prioritize, and set the severity for a ticket.
@@ -31,8 +35,10 @@ public interface TriageOfficerServiceInterface {
     List<AiTriageSuggestionDto> getAiTriageSuggestions();
 
     /**
-     * Gets a feed of all relevant notifications for a Triage Officer.
-     * @return A list of notification DTOs.
+     * Gets one page of the notification feed for a Triage Officer, newest first.
+     * @param cursor The nextCursor of the previous page, or null for the first page.
+     * @param size Page size (default 20, capped at 100).
+     * @return A page of notification DTOs.
      */
-    List<NotificationDto> getNotifications();
+    CursorPageDto<NotificationDto> getNotifications(String cursor, Integer size);
 }
\ No newline at end of file
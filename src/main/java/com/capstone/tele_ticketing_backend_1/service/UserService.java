@@ -5,6 +5,7 @@ import java.util.stream.Collectors;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.capstone.tele_ticketing_backend_1.dto.CursorPageDto;
 import com.capstone.tele_ticketing_backend_1.dto.UserSummaryDto;
 import com.capstone.tele_ticketing_backend_1.entities.AppUser;
 import com.capstone.tele_ticketing_backend_1.entities.ERole;
@@ -21,11 +22,15 @@ public class UserService implements UserServiceInterface {
     private final UserRepo userRepo;
 
     @Transactional(readOnly = true)
-    public List<UserSummaryDto> getAllCustomers() {
-        log.info("Fetching all customers");
-        List<AppUser> customers = userRepo.findAllByRoles_Name(ERole.ROLE_CUSTOMER);
+    public CursorPageDto<UserSummaryDto> getAllCustomers(String cursor, Integer size) {
+        log.info("Fetching customers page");
+        int pageSize = KeysetPagination.pageSize(size);
+        KeysetPagination.Cursor position = KeysetPagination.decode(cursor);
+        List<AppUser> customers = userRepo.findPageByRole(ERole.ROLE_CUSTOMER,
+                position.createdAt(), position.id(), KeysetPagination.limit(pageSize));
         log.debug("Found {} customers", customers.size());
-        return mapUsersToSummaryDto(customers);
+        return KeysetPagination.toPage(customers, pageSize, AppUser::getCreatedAt, AppUser::getId,
+                user -> new UserSummaryDto(user.getId(), user.getUsername(), user.getFullName()));
     }
 
     // Dr. X's Addition: Move the engineer-fetching logic here.
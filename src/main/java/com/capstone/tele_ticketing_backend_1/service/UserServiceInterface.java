@@ -1,15 +1,18 @@
 package com.capstone.tele_ticketing_backend_1.service;
 
+import com.capstone.tele_ticketing_backend_1.dto.CursorPageDto;
 import com.capstone.tele_ticketing_backend_1.dto.UserSummaryDto;
 import java.util.List;
 
 public interface UserServiceInterface {
 
     /**
-     * Retrieves a list of all users with the CUSTOMER role.
-     * @return A list of UserSummaryDto for all customers.
+     * Retrieves one page of users with the CUSTOMER role, newest first.
+     * @param cursor The nextCursor of the previous page, or null for the first page.
+     * @param size Page size (default 20, capped at 100).
+     * @return A page of UserSummaryDto.
      */
-    List<UserSummaryDto> getAllCustomers();
+    CursorPageDto<UserSummaryDto> getAllCustomers(String cursor, Integer size);
 
     /**
      * Retrieves a list of all users with an assignable engineer role (Field, L1, NOC).
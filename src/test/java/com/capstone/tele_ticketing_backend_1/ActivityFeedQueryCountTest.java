@@ -0,0 +1,151 @@
+package com.capstone.tele_ticketing_backend_1;
+
+import com.capstone.tele_ticketing_backend_1.dto.CursorPageDto;
+import com.capstone.tele_ticketing_backend_1.dto.DashboardActivityDto;
+import com.capstone.tele_ticketing_backend_1.dto.NotificationDto;
+import com.capstone.tele_ticketing_backend_1.entities.ActivityType;
+import com.capstone.tele_ticketing_backend_1.entities.AppUser;
+import com.capstone.tele_ticketing_backend_1.entities.Ticket;
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+import com.capstone.tele_ticketing_backend_1.repo.NotificationInboxRepo;
+import com.capstone.tele_ticketing_backend_1.repo.NotificationInboxStateRepo;
+import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
+import com.capstone.tele_ticketing_backend_1.repo.UserRepo;
+import com.capstone.tele_ticketing_backend_1.service.ActivityLogService;
+import com.capstone.tele_ticketing_backend_1.service.AgentDashboardService;
+import com.capstone.tele_ticketing_backend_1.service.AgentTicketService;
+import com.capstone.tele_ticketing_backend_1.service.CustomerTicketService;
+import com.capstone.tele_ticketing_backend_1.service.DashboardService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Regression test for the activity feeds: the number of SQL statements must not grow with the
+ * number of distinct tickets in the feed, and no Ticket entity may be loaded to render it.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ActivityFeedQueryCountTest {
+
+    @Autowired
+    private CustomerTicketService customerTicketService;
+
+    @Autowired
+    private AgentTicketService agentTicketService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private AgentDashboardService agentDashboardService;
+
+    @Autowired
+    private TicketRepo ticketRepo;
+
+    @Autowired
+    private ActivityLogService activityLogService;
+
+    @Autowired
+    private NotificationInboxRepo inboxRepo;
+
+    @Autowired
+    private NotificationInboxStateRepo inboxStateRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<AppUser> users = new ArrayList<>();
+    private AppUser agent;
+
+    @BeforeEach
+    void setUp() {
+        agent = save(new AppUser("feed-agent", "secret", "Feed Agent"));
+        seed(save(new AppUser("feed-customer-one", "secret", "One Ticket")), 1);
+        seed(save(new AppUser("feed-customer-ten", "secret", "Ten Tickets")), 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ticketRepo.deleteAll();
+        inboxRepo.deleteAll();
+        inboxStateRepo.deleteAll();
+        userRepo.deleteAll(users);
+        users.clear();
+    }
+
+    private AppUser save(AppUser user) {
+        AppUser saved = userRepo.save(user);
+        users.add(saved);
+        return saved;
+    }
+
+    private void seed(AppUser customer, int tickets) {
+        for (int i = 0; i < tickets; i++) {
+            Ticket ticket = new Ticket();
+            ticket.setTitle("Outage " + i);
+            ticket.setDescription("Line down.");
+            ticket.setCategory(TicketCategory.NETWORK_CONNECTIVITY);
+            ticket.setCreatedFor(customer);
+            ticket.setCreatedBy(agent);
+            Ticket saved = ticketRepo.save(ticket);
+
+            activityLogService.createLog(saved, agent, ActivityType.CREATION, "Ticket was created.", false);
+        }
+    }
+
+    private <T> long statementsFor(Supplier<T> call) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        call.get();
+        assertEquals(0, statistics.getEntityStatistics(Ticket.class.getName()).getLoadCount(),
+                "feeds must not load Ticket entities");
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void testCustomerNotifications_StatementCountIndependentOfTicketCount() {
+        CursorPageDto<NotificationDto> page = customerTicketService.getNotifications("feed-customer-ten", null, null);
+        assertEquals(10, page.getItems().size());
+        assertNotNull(page.getItems().get(0).getTicketUid());
+
+        long oneTicket = statementsFor(() -> customerTicketService.getNotifications("feed-customer-one", null, null));
+        long tenTickets = statementsFor(() -> customerTicketService.getNotifications("feed-customer-ten", null, null));
+
+        assertEquals(oneTicket, tenTickets);
+    }
+
+    @Test
+    void testCustomerDashboard_StatementCountIndependentOfTicketCount() {
+        List<DashboardActivityDto> recent = dashboardService.getRecentActivities("feed-customer-ten");
+        assertEquals(8, recent.size());
+
+        long oneTicket = statementsFor(() -> dashboardService.getRecentActivities("feed-customer-one"));
+        long tenTickets = statementsFor(() -> dashboardService.getRecentActivities("feed-customer-ten"));
+
+        assertEquals(oneTicket, tenTickets);
+    }
+
+    @Test
+    void testAgentFeeds_DoNotLoadTickets() {
+        long notifications = statementsFor(() -> agentTicketService.getNotifications("feed-agent", null, null));
+        long dashboard = statementsFor(() -> agentDashboardService.getRecentActivities("feed-agent"));
+
+        // One lookup for the agent (plus its eager associations) and a single feed query, not one per ticket.
+        assertTrue(notifications < 11, "agent notifications used " + notifications + " statements");
+        assertTrue(dashboard < 9, "agent dashboard used " + dashboard + " statements");
+    }
+}
@@ -0,0 +1,134 @@
+package com.capstone.tele_ticketing_backend_1;
+
+import com.capstone.tele_ticketing_backend_1.entities.ActivityType;
+import com.capstone.tele_ticketing_backend_1.entities.AppUser;
+import com.capstone.tele_ticketing_backend_1.entities.Ticket;
+import com.capstone.tele_ticketing_backend_1.entities.TicketActivity;
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+import com.capstone.tele_ticketing_backend_1.repo.TicketActivityRepo;
+import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
+import com.capstone.tele_ticketing_backend_1.repo.UserRepo;
+import com.capstone.tele_ticketing_backend_1.service.ActivityLogService;
+import com.capstone.tele_ticketing_backend_1.service.ActivityWriteBehindService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Write-behind internal activities against the real schema: nothing is written until the caller
+ * commits and the queue is flushed, the logged time survives the delay, and a flush is a JDBC batch.
+ * The pipeline is built by hand (flusher thread not started) so the shared test context is reused.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ActivityWriteBehindTest {
+
+    @Autowired
+    private ActivityLogService activityLogService;
+
+    @Autowired
+    private TicketActivityRepo activityRepo;
+
+    @Autowired
+    private TicketRepo ticketRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private ActivityWriteBehindService writeBehind;
+    private AppUser officer;
+    private Ticket ticket;
+
+    @BeforeEach
+    void setUp() {
+        writeBehind = new ActivityWriteBehindService(activityRepo, transactionManager, true, 64, 10, 600_000, 1_000);
+        officer = userRepo.save(new AppUser("write-behind-officer", "secret", "Write Behind Officer"));
+
+        Ticket newTicket = new Ticket();
+        newTicket.setTitle("Fibre cut on Main Street");
+        newTicket.setDescription("Whole block is down.");
+        newTicket.setCategory(TicketCategory.NETWORK_CONNECTIVITY);
+        newTicket.setCreatedFor(officer);
+        newTicket.setCreatedBy(officer);
+        ticket = ticketRepo.save(newTicket);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writeBehind.shutdown();
+        ticketRepo.deleteAll();
+        userRepo.delete(officer);
+    }
+
+    private void logInTransaction(String description, boolean rollback) {
+        transactionTemplate.executeWithoutResult(status -> {
+            writeBehind.submit(activityLogService.buildLog(ticket, officer, ActivityType.ASSIGNMENT, description, true));
+            if (rollback) {
+                status.setRollbackOnly();
+            }
+        });
+    }
+
+    private List<TicketActivity> logs() {
+        return activityRepo.findByTicketIdOrderByCreatedAtDesc(ticket.getId());
+    }
+
+    @Test
+    void testSubmit_IsWrittenOnFlushWithTheTimeItWasLogged() {
+        logInTransaction("Assigned to the NOC.", false);
+        LocalDateTime committedAt = LocalDateTime.now();
+        assertTrue(logs().isEmpty());
+
+        assertEquals(1, writeBehind.flush());
+
+        List<TicketActivity> logs = logs();
+        assertEquals(1, logs.size());
+        assertTrue(logs.get(0).isInternalOnly());
+        assertFalse(logs.get(0).getCreatedAt().isAfter(committedAt));
+    }
+
+    @Test
+    void testSubmit_RolledBackActionLeavesNoLog() {
+        logInTransaction("Never happened.", true);
+
+        assertEquals(0, writeBehind.flush());
+        assertTrue(logs().isEmpty());
+    }
+
+    @Test
+    void testFlush_WritesBatchesNotRows() {
+        for (int i = 0; i < 25; i++) {
+            logInTransaction("Assignment " + i, false);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        assertEquals(25, writeBehind.flush());
+
+        // Three batches of at most 10: one INSERT statement each, plus the occasional id block.
+        assertTrue(statistics.getPrepareStatementCount() <= 6,
+                "flush prepared " + statistics.getPrepareStatementCount() + " statements");
+        assertEquals(25, logs().size());
+        assertEquals(3, writeBehind.getStats().getFlushes());
+    }
+}
@@ -0,0 +1,207 @@
+package com.capstone.tele_ticketing_backend_1;
+
+import com.capstone.tele_ticketing_backend_1.config.LeaderOnly;
+import com.capstone.tele_ticketing_backend_1.exceptions.JobLeaseLostException;
+import com.capstone.tele_ticketing_backend_1.repo.JobLeaseRepo;
+import com.capstone.tele_ticketing_backend_1.service.JobLeaseService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two application nodes side by side on the shared H2 test database: the test's own context and a
+ * second one started by the test. Only one holds a job lease at a time, and the other takes over
+ * when the lease is released or expires, under a higher fencing token; the old holder can no longer
+ * commit under its token.
+ */
+@SpringBootTest(properties = {"jobs.lease.node-id=node-a", "jobs.lease.ttl-ms=1000", "jobs.lease.heartbeat-ms=300"})
+@Import(JobLeaseFailoverTest.CountingJobConfig.class)
+class JobLeaseFailoverTest {
+
+    private static final String JOB = "failover-test-job";
+
+    @Autowired
+    private JobLeaseService nodeA;
+
+    @Autowired
+    private CountingJob jobOnNodeA;
+
+    @Autowired
+    private JobLeaseRepo leaseRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ThreadPoolTaskScheduler taskScheduler;
+
+    private ConfigurableApplicationContext nodeBContext;
+    private JobLeaseService nodeB;
+
+    @TestConfiguration
+    static class CountingJobConfig {
+        @Bean
+        CountingJob countingJob() {
+            return new CountingJob();
+        }
+    }
+
+    static class CountingJob {
+        private final AtomicInteger runs = new AtomicInteger();
+
+        @Autowired
+        private JobLeaseService leases;
+
+        @Autowired
+        private PlatformTransactionManager transactionManager;
+
+        @LeaderOnly(JOB)
+        public int run() {
+            return runs.incrementAndGet();
+        }
+
+        // Like the nightly jobs: works for a while, then commits its results under the lease.
+        @LeaderOnly(JOB)
+        public Long runAndCommit(long workMillis) throws InterruptedException {
+            Thread.sleep(workMillis);
+            return new TransactionTemplate(transactionManager).execute(status -> {
+                leases.checkFencingToken();
+                runs.incrementAndGet();
+                return leases.currentFencingToken();
+            });
+        }
+
+        public int runs() {
+            return runs.get();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Node B shares node A's database, so it must not recreate the schema. Its leases last one
+        // second and are never renewed by a heartbeat, standing in for a node that hangs.
+        nodeBContext = new SpringApplicationBuilder(TeleTicketingBackend1Application.class, CountingJobConfig.class)
+                .properties("server.port=0",
+                        "spring.jpa.hibernate.ddl-auto=none",
+                        "jobs.lease.node-id=node-b",
+                        "jobs.lease.ttl-ms=1000",
+                        "jobs.lease.heartbeat-ms=3600000",
+                        "search.index.build-on-startup=false",
+                        "manager.facet-index.build-on-startup=false",
+                        "tickets.sla.load-on-startup=false",
+                        "reports.rollup.backfill-on-startup=false",
+                        "reports.cube.load-on-startup=false")
+                .run();
+        nodeB = nodeBContext.getBean(JobLeaseService.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeBContext.close();
+        nodeA.release(JOB);
+        leaseRepo.deleteAll();
+    }
+
+    @Test
+    void testLeaderOnlyJob_RunsOnOneNode() {
+        CountingJob jobOnNodeB = nodeBContext.getBean(CountingJob.class);
+        int runsBefore = jobOnNodeA.runs();
+
+        for (int i = 0; i < 3; i++) {
+            jobOnNodeA.run();
+            // Skipped: returns the int default instead of running.
+            assertEquals(0, jobOnNodeB.run());
+        }
+
+        assertEquals(runsBefore + 3, jobOnNodeA.runs());
+        assertEquals(0, jobOnNodeB.runs());
+    }
+
+    @Test
+    void testReleasedLease_IsTakenOverAtOnce() {
+        Long first = nodeA.tryAcquire(JOB);
+        assertNotNull(first);
+        assertNull(nodeB.tryAcquire(JOB));
+
+        nodeA.release(JOB);
+        Long second = nodeB.tryAcquire(JOB);
+
+        assertNotNull(second);
+        assertTrue(second > first);
+        assertFalse(nodeA.isCurrent(JOB, first));
+        assertNull(nodeA.tryAcquire(JOB));
+    }
+
+    @Test
+    void testExpiredLease_FailsOverAndFencesTheOldHolder() throws InterruptedException {
+        Long stale = nodeB.tryAcquire(JOB);
+        assertNotNull(stale);
+        assertNull(nodeA.tryAcquire(JOB));
+
+        // Node B stops renewing; its lease runs out after a second.
+        Thread.sleep(1_500);
+        Long current = nodeA.tryAcquire(JOB);
+
+        assertNotNull(current);
+        assertTrue(current > stale);
+        assertFalse(nodeB.isCurrent(JOB, stale));
+        assertTrue(nodeA.isCurrent(JOB, current));
+        assertNull(nodeB.tryAcquire(JOB));
+    }
+
+    @Test
+    void testFencingTokenCheck_RollsBackTheOldHolder() throws Throwable {
+        Long stale = nodeB.tryAcquire(JOB);
+        assertNotNull(stale);
+        Thread.sleep(1_500);
+        Long current = nodeA.tryAcquire(JOB);
+        assertNotNull(current);
+        TransactionTemplate onNodeA = new TransactionTemplate(transactionManager);
+        TransactionTemplate onNodeB = new TransactionTemplate(nodeBContext.getBean(PlatformTransactionManager.class));
+
+        // Node B is still running the job it started before its lease ran out.
+        assertThrows(JobLeaseLostException.class, () -> nodeB.runWithToken(JOB, stale,
+                () -> onNodeB.execute(status -> {
+                    nodeB.checkFencingToken();
+                    return null;
+                })));
+
+        assertEquals(current, nodeA.runWithToken(JOB, current, () -> onNodeA.execute(status -> {
+            nodeA.checkFencingToken();
+            return nodeA.currentFencingToken();
+        })));
+        // Outside a @LeaderOnly job there is no token to check.
+        onNodeB.executeWithoutResult(status -> nodeB.checkFencingToken());
+    }
+
+    @Test
+    void testJobOutlastingTheTtl_KeepsItsLeaseAndCommits() throws Exception {
+        int runsBefore = jobOnNodeA.runs();
+
+        // On the scheduler, as the nightly jobs run; node A's leases last one second.
+        Future<Long> job = taskScheduler.submit(() -> jobOnNodeA.runAndCommit(2_500));
+        Thread.sleep(1_500);
+        assertNull(nodeB.tryAcquire(JOB));
+        Long token = job.get(10, TimeUnit.SECONDS);
+
+        assertNotNull(token);
+        assertEquals(runsBefore + 1, jobOnNodeA.runs());
+        assertTrue(nodeA.isCurrent(JOB, token));
+    }
+}
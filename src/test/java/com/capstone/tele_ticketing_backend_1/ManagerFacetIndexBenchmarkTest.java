@@ -0,0 +1,184 @@
+package com.capstone.tele_ticketing_backend_1;
+
+import com.capstone.tele_ticketing_backend_1.dto.TicketFilterDto;
+import com.capstone.tele_ticketing_backend_1.entities.AppUser;
+import com.capstone.tele_ticketing_backend_1.entities.Team;
+import com.capstone.tele_ticketing_backend_1.entities.Ticket;
+import com.capstone.tele_ticketing_backend_1.entities.TicketPriority;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+import com.capstone.tele_ticketing_backend_1.repo.TeamRepo;
+import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
+import com.capstone.tele_ticketing_backend_1.repo.UserRepo;
+import com.capstone.tele_ticketing_backend_1.service.TicketFacetService;
+import com.capstone.tele_ticketing_backend_1.service.TicketSpecification;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the manager ticket filter on the facet bitmaps against the JPA Specification query it
+ * replaces: both must return the same tickets, and the median latency of each is logged.
+ * <p>
+ * Runs on 5,000 tickets by default; pass -Dticket.benchmark.rows=1000000 for the full-size dataset.
+ */
+@SpringBootTest
+@Slf4j
+class ManagerFacetIndexBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("ticket.benchmark.rows", 5_000);
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 5;
+    // Seeded ids sit well above anything the id sequence hands out during the test run.
+    private static final long FIRST_ID = 10_000_000L;
+    private static final List<TicketStatus> STATUSES = List.of(TicketStatus.CREATED, TicketStatus.ASSIGNED,
+            TicketStatus.IN_PROGRESS, TicketStatus.RESOLVED);
+    private static final List<String> CATEGORIES = List.of("NETWORK_CONNECTIVITY", "SERVICE_OUTAGE");
+
+    @Autowired
+    private TicketFacetService ticketFacetService;
+
+    @Autowired
+    private TicketRepo ticketRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private TeamRepo teamRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Team team;
+    private List<AppUser> customers;
+    private List<AppUser> engineers;
+
+    @BeforeEach
+    void setUp() {
+        team = new Team();
+        team.setName("Facet Benchmark Team");
+        team = teamRepo.save(team);
+        customers = List.of(
+                userRepo.save(withCity(new AppUser("facet-chennai", "secret", "Facet Chennai"), "Chennai")),
+                userRepo.save(withCity(new AppUser("facet-madurai", "secret", "Facet Madurai"), "Madurai")));
+        AppUser teamEngineer = new AppUser("facet-engineer", "secret", "Facet Engineer");
+        teamEngineer.setTeam(team);
+        engineers = List.of(userRepo.save(teamEngineer),
+                userRepo.save(new AppUser("facet-other-engineer", "secret", "Facet Other Engineer")));
+
+        // Deadlines are whole days away from now, so the SLA filters give the same answer on both paths.
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> tickets = new ArrayList<>(ROWS);
+        List<Object[]> assignments = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            long id = FIRST_ID + i;
+            long customerId = customers.get(i % customers.size()).getId();
+            Timestamp slaBreachAt = Timestamp.valueOf(now.plusDays(i % 7 - 3));
+            tickets.add(new Object[]{id, "TK-FACET-" + id, "Benchmark ticket " + i,
+                    STATUSES.get(i % STATUSES.size()).name(), CATEGORIES.get(i % CATEGORIES.size()),
+                    TicketPriority.values()[i % TicketPriority.values().length].name(), slaBreachAt,
+                    customerId, customerId, Timestamp.valueOf(now), Timestamp.valueOf(now)});
+            if (i % 5 != 0) {
+                assignments.add(new Object[]{id, engineers.get(i % engineers.size()).getId()});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tickets (id, ticket_uid, title, status, category, priority, sla_breach_at, " +
+                "created_for_user_id, created_by_user_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", tickets);
+        jdbcTemplate.batchUpdate("INSERT INTO ticket_assignments (ticket_id, user_id) VALUES (?, ?)", assignments);
+
+        long start = System.nanoTime();
+        ticketFacetService.rebuild();
+        log.info("{} tickets, facet index built in {} ms", ROWS, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM ticket_assignments WHERE ticket_id >= ?", FIRST_ID);
+        jdbcTemplate.update("DELETE FROM tickets WHERE id >= ?", FIRST_ID);
+        userRepo.deleteAll(engineers);
+        userRepo.deleteAll(customers);
+        teamRepo.delete(team);
+        ticketFacetService.rebuild();
+    }
+
+    private static AppUser withCity(AppUser user, String city) {
+        user.setCity(city);
+        return user;
+    }
+
+    @Test
+    void testFacetIndex_MatchesTheSpecificationQuery() {
+        TicketFilterDto teamInCity = new TicketFilterDto();
+        teamInCity.setStatuses(List.of(TicketStatus.ASSIGNED, TicketStatus.IN_PROGRESS));
+        teamInCity.setTeamId(team.getId());
+        teamInCity.setCity("Chennai");
+        TicketFilterDto breachedHighPriority = new TicketFilterDto();
+        breachedHighPriority.setPriorities(List.of(TicketPriority.HIGH));
+        breachedHighPriority.setSlaBreached(true);
+
+        for (TicketFilterDto filters : List.of(teamInCity, breachedHighPriority)) {
+            Supplier<Set<Long>> specificationPath = () -> ticketRepo.findAll(TicketSpecification.matching(filters)).stream()
+                    .map(Ticket::getId)
+                    .filter(id -> id >= FIRST_ID)
+                    .collect(Collectors.toCollection(TreeSet::new));
+            Supplier<Set<Long>> bitmapPath = () -> Arrays.stream(ticketFacetService.findTicketIds(filters))
+                    .filter(id -> id >= FIRST_ID)
+                    .boxed()
+                    .collect(Collectors.toCollection(TreeSet::new));
+
+            Measurement specification = measure(specificationPath);
+            Measurement bitmaps = measure(bitmapPath);
+
+            log.info("{} tickets, JPA Specification: {} ms, {} matches", ROWS, specification.millis(), specification.result().size());
+            log.info("{} tickets, facet bitmaps: {} ms, {} matches", ROWS, bitmaps.millis(), bitmaps.result().size());
+
+            assertFalse(bitmaps.result().isEmpty());
+            assertEquals(specification.result(), bitmaps.result());
+        }
+    }
+
+    private record Measurement(long millis, Set<Long> result) {
+    }
+
+    /**
+     * Runs the filter in a read-only transaction, as ManagerService does, and reports the median wall time.
+     */
+    private Measurement measure(Supplier<Set<Long>> filter) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            transactionTemplate.execute(status -> filter.get());
+        }
+
+        long[] nanos = new long[MEASURED_RUNS];
+        Set<Long> result = Set.of();
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            result = transactionTemplate.execute(status -> filter.get());
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return new Measurement(nanos[MEASURED_RUNS / 2] / 1_000_000, result);
+    }
+}
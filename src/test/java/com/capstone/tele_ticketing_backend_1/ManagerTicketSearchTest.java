@@ -0,0 +1,206 @@
+package com.capstone.tele_ticketing_backend_1;
+
+import com.capstone.tele_ticketing_backend_1.dto.TicketFilterDto;
+import com.capstone.tele_ticketing_backend_1.dto.TicketSearchPageDto;
+import com.capstone.tele_ticketing_backend_1.dto.TicketSummaryDto;
+import com.capstone.tele_ticketing_backend_1.entities.AppUser;
+import com.capstone.tele_ticketing_backend_1.entities.Team;
+import com.capstone.tele_ticketing_backend_1.entities.TicketSortKey;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+import com.capstone.tele_ticketing_backend_1.repo.TeamRepo;
+import com.capstone.tele_ticketing_backend_1.repo.UserRepo;
+import com.capstone.tele_ticketing_backend_1.service.ManagerService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The manager ticket search pages through every matching ticket exactly once in each sort order,
+ * including tickets assigned to two members of the filtered team and tickets without an SLA deadline.
+ * Also logs the database's plans for the search's query shapes.
+ * <p>
+ * Seeds 5,000 tickets by default; pass -Dticket.benchmark.rows=1000000 to check the plans on the
+ * full-size dataset. Paging is checked over a fixed window of the first PAGED_ROWS tickets either way.
+ */
+@SpringBootTest
+@Slf4j
+class ManagerTicketSearchTest {
+
+    private static final int ROWS = Integer.getInteger("ticket.benchmark.rows", 5_000);
+    private static final int PAGED_ROWS = 2_000;
+    // Seeded ids sit well above anything the id sequence hands out during the test run.
+    private static final long FIRST_ID = 10_000_000L;
+    // Seeded tickets are created in the future, so a creation-date filter isolates them from other tests' rows.
+    private static final LocalDateTime BASE = LocalDateTime.of(2100, 1, 1, 0, 0);
+    private static final List<TicketStatus> STATUSES = List.of(TicketStatus.ASSIGNED, TicketStatus.IN_PROGRESS, TicketStatus.RESOLVED);
+
+    @Autowired
+    private ManagerService managerService;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private TeamRepo teamRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Team team;
+    private AppUser customer;
+    private List<AppUser> engineers;
+    // Per seeded ticket: its created, updated and SLA timestamps, indexed by TicketSortKey ordinal.
+    private final Map<Long, LocalDateTime[]> sortValues = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        team = new Team();
+        team.setName("Search Test Team");
+        team = teamRepo.save(team);
+        customer = new AppUser("search-customer", "secret", "Search Customer");
+        customer.setCity("Chennai");
+        customer = userRepo.save(customer);
+        AppUser first = new AppUser("search-engineer-1", "secret", "Search Engineer One");
+        first.setTeam(team);
+        AppUser second = new AppUser("search-engineer-2", "secret", "Search Engineer Two");
+        second.setTeam(team);
+        engineers = List.of(userRepo.save(first), userRepo.save(second),
+                userRepo.save(new AppUser("search-outsider", "secret", "Search Outsider")));
+
+        List<Object[]> tickets = new ArrayList<>(ROWS);
+        List<Object[]> assignments = new ArrayList<>(ROWS * 2);
+        for (int i = 0; i < ROWS; i++) {
+            long id = FIRST_ID + i;
+            LocalDateTime createdAt = BASE.plusMinutes(i);
+            LocalDateTime updatedAt = BASE.plusMinutes((i * 7_919L) % ROWS);
+            // Every fourth ticket has no deadline; the rest share 50 values, so ties are broken by id.
+            LocalDateTime slaBreachAt = i % 4 == 0 ? null : BASE.plusHours(i % 50);
+            sortValues.put(id, new LocalDateTime[]{createdAt, updatedAt, slaBreachAt});
+            tickets.add(new Object[]{id, "TK-SEARCH-" + id, "Search ticket " + i, STATUSES.get(i % STATUSES.size()).name(),
+                    "NETWORK_CONNECTIVITY", customer.getId(), customer.getId(), Timestamp.valueOf(createdAt),
+                    Timestamp.valueOf(updatedAt), slaBreachAt == null ? null : Timestamp.valueOf(slaBreachAt)});
+            // A third of the tickets are assigned to both team members.
+            switch (i % 3) {
+                case 0 -> {
+                    assignments.add(new Object[]{id, engineers.get(0).getId()});
+                    assignments.add(new Object[]{id, engineers.get(1).getId()});
+                }
+                case 1 -> assignments.add(new Object[]{id, engineers.get(0).getId()});
+                default -> assignments.add(new Object[]{id, engineers.get(2).getId()});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tickets (id, ticket_uid, title, status, category, created_for_user_id, " +
+                "created_by_user_id, created_at, updated_at, sla_breach_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", tickets);
+        jdbcTemplate.batchUpdate("INSERT INTO ticket_assignments (ticket_id, user_id) VALUES (?, ?)", assignments);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM ticket_assignments WHERE ticket_id >= ?", FIRST_ID);
+        jdbcTemplate.update("DELETE FROM tickets WHERE id >= ?", FIRST_ID);
+        userRepo.deleteAll(engineers);
+        userRepo.delete(customer);
+        teamRepo.delete(team);
+    }
+
+    private TicketFilterDto teamWindow() {
+        TicketFilterDto filters = new TicketFilterDto();
+        filters.setTeamId(team.getId());
+        filters.setCity("Chennai");
+        filters.setCreatedFrom(BASE);
+        filters.setCreatedTo(BASE.plusMinutes(PAGED_ROWS));
+        return filters;
+    }
+
+    @Test
+    void testSearch_PagesThroughEveryTeamTicketOnceInEachOrder() {
+        TicketFilterDto filters = teamWindow();
+        // Tickets i % 3 == 0 or 1 have a team assignee.
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < PAGED_ROWS; i++) {
+            if (i % 3 != 2) {
+                expected.add(FIRST_ID + i);
+            }
+        }
+
+        for (TicketSortKey sort : TicketSortKey.values()) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                List<Long> seen = new ArrayList<>();
+                String cursor = null;
+                do {
+                    TicketSearchPageDto page = managerService.searchTickets(filters, sort, direction, cursor, 100);
+                    page.getItems().stream().map(TicketSummaryDto::getId).forEach(seen::add);
+                    cursor = page.getNextCursor();
+                } while (cursor != null);
+
+                assertEquals(expected.size(), seen.size(), sort + " " + direction + " returned a ticket twice or missed one");
+                assertEquals(new HashSet<>(expected), new HashSet<>(seen));
+                assertEquals(sorted(expected, sort, direction), seen, sort + " " + direction);
+            }
+        }
+    }
+
+    @Test
+    void testSearch_FirstPageCountsEachTicketOnce() {
+        TicketSearchPageDto first = managerService.searchTickets(teamWindow(), TicketSortKey.CREATED_AT, Sort.Direction.DESC, null, 20);
+        TicketSearchPageDto second = managerService.searchTickets(teamWindow(), TicketSortKey.CREATED_AT, Sort.Direction.DESC,
+                first.getNextCursor(), 20);
+
+        long expected = PAGED_ROWS - PAGED_ROWS / 3;
+        assertEquals(expected, first.getFacets().getTotal());
+        assertEquals(Map.of(team.getId(), expected), first.getFacets().getTeams());
+        assertEquals(Map.of("Chennai", expected), first.getFacets().getCities());
+        assertEquals(expected, first.getFacets().getStatuses().values().stream().mapToLong(Long::longValue).sum());
+        assertNull(second.getFacets());
+        assertEquals(20, second.getItems().size());
+    }
+
+    @Test
+    void testQueryPlans_AreLogged() {
+        Map<String, String> shapes = Map.of(
+                "team semi-join, newest first",
+                "SELECT t.id FROM tickets t WHERE EXISTS (SELECT 1 FROM ticket_assignments ta JOIN users u ON u.id = ta.user_id " +
+                        "WHERE ta.ticket_id = t.id AND u.team_id = " + team.getId() + ") ORDER BY t.created_at DESC, t.id DESC LIMIT 21",
+                "assignee semi-join, recently updated",
+                "SELECT t.id FROM tickets t WHERE EXISTS (SELECT 1 FROM ticket_assignments ta WHERE ta.ticket_id = t.id " +
+                        "AND ta.user_id = " + engineers.get(0).getId() + ") ORDER BY t.updated_at DESC, t.id DESC LIMIT 21",
+                "city semi-join, due soonest",
+                "SELECT t.id FROM tickets t WHERE EXISTS (SELECT 1 FROM users u WHERE u.id = t.created_for_user_id " +
+                        "AND u.city = 'Chennai') ORDER BY t.sla_breach_at, t.id LIMIT 21",
+                "status facet",
+                "SELECT t.status, COUNT(*) FROM tickets t WHERE t.category = 'NETWORK_CONNECTIVITY' " +
+                        "AND t.created_at >= TIMESTAMP '2100-01-01 00:00:00' GROUP BY t.status");
+
+        shapes.forEach((name, sql) -> {
+            String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+            log.info("{} tickets, plan for {}:\n{}", ROWS, name, plan);
+            assertFalse(plan.isBlank());
+        });
+    }
+
+    // The expected order, with NULL before every value as the database sorts it.
+    private List<Long> sorted(List<Long> ids, TicketSortKey sort, Sort.Direction direction) {
+        Comparator<Long> order = Comparator.comparing((Long id) -> sortValues.get(id)[sort.ordinal()],
+                        Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+                .thenComparing(Comparator.naturalOrder());
+        List<Long> result = new ArrayList<>(ids);
+        result.sort(direction.isAscending() ? order : order.reversed());
+        return result;
+    }
+}
@@ -0,0 +1,195 @@
+package com.capstone.tele_ticketing_backend_1;
+
+import com.capstone.tele_ticketing_backend_1.dto.CursorPageDto;
+import com.capstone.tele_ticketing_backend_1.dto.NotificationDto;
+import com.capstone.tele_ticketing_backend_1.dto.UnreadCountDto;
+import com.capstone.tele_ticketing_backend_1.entities.ActivityType;
+import com.capstone.tele_ticketing_backend_1.entities.AppUser;
+import com.capstone.tele_ticketing_backend_1.entities.NotificationInboxEntry;
+import com.capstone.tele_ticketing_backend_1.entities.Ticket;
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+import com.capstone.tele_ticketing_backend_1.repo.NotificationInboxRepo;
+import com.capstone.tele_ticketing_backend_1.repo.NotificationInboxStateRepo;
+import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
+import com.capstone.tele_ticketing_backend_1.repo.UserRepo;
+import com.capstone.tele_ticketing_backend_1.service.ActivityLogService;
+import com.capstone.tele_ticketing_backend_1.service.NotificationInboxService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fan-out-on-write notification inbox: logging an activity appends to the ticket owners' inboxes
+ * with gap-free per-user seqs, and reading the inbox or its unread count is a single statement.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class NotificationInboxTest {
+
+    @Autowired
+    private ActivityLogService activityLogService;
+
+    @Autowired
+    private NotificationInboxService notificationInboxService;
+
+    @Autowired
+    private NotificationInboxRepo inboxRepo;
+
+    @Autowired
+    private NotificationInboxStateRepo inboxStateRepo;
+
+    @Autowired
+    private TicketRepo ticketRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private AppUser customer;
+    private AppUser agent;
+    private Ticket ticket;
+
+    @BeforeEach
+    void setUp() {
+        customer = userRepo.save(new AppUser("inbox-customer", "secret", "Inbox Customer"));
+        agent = userRepo.save(new AppUser("inbox-agent", "secret", "Inbox Agent"));
+
+        Ticket newTicket = new Ticket();
+        newTicket.setTitle("Router keeps rebooting");
+        newTicket.setDescription("Every few minutes.");
+        newTicket.setCategory(TicketCategory.NETWORK_CONNECTIVITY);
+        newTicket.setCreatedFor(customer);
+        newTicket.setCreatedBy(agent);
+        ticket = ticketRepo.save(newTicket);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ticketRepo.deleteAll();
+        inboxRepo.deleteAll();
+        inboxStateRepo.deleteAll();
+        userRepo.deleteAll(List.of(customer, agent));
+    }
+
+    private void log(ActivityType type, String description, boolean internal) {
+        activityLogService.createLog(ticket, agent, type, description, internal);
+    }
+
+    @Test
+    void testCreateLog_FansOutPublicActivitiesToCustomerAndAgent() {
+        log(ActivityType.CREATION, "Ticket was created.", false);
+        log(ActivityType.ASSIGNMENT, "Assigned to the NOC.", true);
+        log(ActivityType.STATUS_CHANGE, "Status changed from OPEN to IN_PROGRESS", false);
+
+        for (AppUser recipient : List.of(customer, agent)) {
+            CursorPageDto<NotificationDto> inbox = notificationInboxService.getInbox(recipient.getId(), null, null);
+            // Newest first; the internal-only assignment is not delivered.
+            assertEquals(List.of("STATUS_CHANGE", "CREATION"),
+                    inbox.getItems().stream().map(NotificationDto::getActivityType).toList());
+            assertEquals(ticket.getTicketUid(), inbox.getItems().get(0).getTicketUid());
+            assertEquals(2, notificationInboxService.getUnreadCount(recipient.getId()).getUnread());
+        }
+    }
+
+    @Test
+    void testMarkRead_MovesWatermarkForwardOnly() {
+        log(ActivityType.CREATION, "Ticket was created.", false);
+        log(ActivityType.COMMENT, "Looking into it.", false);
+        log(ActivityType.COMMENT, "Replaced the power supply.", false);
+
+        UnreadCountDto unread = notificationInboxService.getUnreadCount(customer.getId());
+        assertEquals(3, unread.getUnread());
+        assertEquals(3, unread.getLatestSeq());
+
+        assertEquals(1, notificationInboxService.markRead(customer.getId(), 2L).getUnread());
+        // An older watermark does not move it back.
+        assertEquals(1, notificationInboxService.markRead(customer.getId(), 1L).getUnread());
+        // A watermark past the newest entry is clamped.
+        assertEquals(0, notificationInboxService.markRead(customer.getId(), 99L).getUnread());
+
+        log(ActivityType.REOPENED, "Customer reopened the ticket.", false);
+        assertEquals(1, notificationInboxService.getUnreadCount(customer.getId()).getUnread());
+        assertEquals(0, notificationInboxService.markRead(customer.getId(), null).getUnread());
+        // The agent's watermark is independent.
+        assertEquals(4, notificationInboxService.getUnreadCount(agent.getId()).getUnread());
+    }
+
+    @Test
+    void testGetInbox_PagesBySeqWithOneStatementPerPage() {
+        for (int i = 0; i < 5; i++) {
+            log(ActivityType.COMMENT, "Update " + i, false);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        CursorPageDto<NotificationDto> first = notificationInboxService.getInbox(customer.getId(), null, 3);
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        CursorPageDto<NotificationDto> second = notificationInboxService.getInbox(customer.getId(), first.getNextCursor(), 3);
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        notificationInboxService.getUnreadCount(customer.getId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        assertEquals(List.of("Update 4", "Update 3", "Update 2"),
+                first.getItems().stream().map(NotificationDto::getDescription).toList());
+        assertEquals(List.of("Update 1", "Update 0"),
+                second.getItems().stream().map(NotificationDto::getDescription).toList());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void testConcurrentLogs_SeqsAreGapFreePerRecipient() throws Exception {
+        // Creates both inbox state rows up front; after that every writer contends on the same two row locks.
+        log(ActivityType.CREATION, "Ticket was created.", false);
+        int threads = 8;
+        int perThread = 5;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        log(ActivityType.COMMENT, "Concurrent update", false);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        int total = threads * perThread + 1;
+        List<Long> seqs = inboxRepo.findByRecipientIdAndSeqLessThanOrderBySeqDesc(customer.getId(), Long.MAX_VALUE,
+                        PageRequest.of(0, total + 1)).stream()
+                .map(NotificationInboxEntry::getSeq)
+                .toList();
+        assertEquals(LongStream.rangeClosed(1, total).boxed().sorted((a, b) -> Long.compare(b, a)).toList(), seqs);
+        assertEquals(total, notificationInboxService.getUnreadCount(customer.getId()).getUnread());
+    }
+}
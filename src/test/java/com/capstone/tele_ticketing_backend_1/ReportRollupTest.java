@@ -0,0 +1,251 @@
+package com.capstone.tele_ticketing_backend_1;
+
+import com.capstone.tele_ticketing_backend_1.dto.CreateTicketRequestDto;
+import com.capstone.tele_ticketing_backend_1.dto.EngineerUpdateDto;
+import com.capstone.tele_ticketing_backend_1.dto.FeedbackRequestDto;
+import com.capstone.tele_ticketing_backend_1.dto.SatisfactionScoreDto;
+import com.capstone.tele_ticketing_backend_1.dto.TicketReportDto;
+import com.capstone.tele_ticketing_backend_1.dto.TicketReportRowDto;
+import com.capstone.tele_ticketing_backend_1.dto.TimeSeriesDataPointDto;
+import com.capstone.tele_ticketing_backend_1.dto.TriageTicketRequestDto;
+import com.capstone.tele_ticketing_backend_1.entities.AppUser;
+import com.capstone.tele_ticketing_backend_1.entities.ReportDimension;
+import com.capstone.tele_ticketing_backend_1.entities.ReportGranularity;
+import com.capstone.tele_ticketing_backend_1.entities.ReportRollupDay;
+import com.capstone.tele_ticketing_backend_1.entities.Team;
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+import com.capstone.tele_ticketing_backend_1.entities.TicketHourlyRollup;
+import com.capstone.tele_ticketing_backend_1.entities.TicketPriority;
+import com.capstone.tele_ticketing_backend_1.entities.TicketSeverity;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+import com.capstone.tele_ticketing_backend_1.repo.FeedbackDailyRollupRepo;
+import com.capstone.tele_ticketing_backend_1.repo.NotificationInboxRepo;
+import com.capstone.tele_ticketing_backend_1.repo.NotificationInboxStateRepo;
+import com.capstone.tele_ticketing_backend_1.repo.ReportRollupDayRepo;
+import com.capstone.tele_ticketing_backend_1.repo.TeamRepo;
+import com.capstone.tele_ticketing_backend_1.repo.TicketHourlyRollupRepo;
+import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
+import com.capstone.tele_ticketing_backend_1.repo.TicketStatusCounterRepo;
+import com.capstone.tele_ticketing_backend_1.repo.UserRepo;
+import com.capstone.tele_ticketing_backend_1.service.CustomerTicketService;
+import com.capstone.tele_ticketing_backend_1.service.EngineerService;
+import com.capstone.tele_ticketing_backend_1.service.ReportRollupService;
+import com.capstone.tele_ticketing_backend_1.service.ReportingService;
+import com.capstone.tele_ticketing_backend_1.service.TriageOfficerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The rollups behind the CXO reports must follow tickets and feedback written through the services,
+ * a backfill must rebuild exactly what the incremental flushes produced, and the range reports must
+ * agree whether they are answered from the report cube or from the rollup rows.
+ */
+@SpringBootTest(properties = "reports.rollup.flush-ms=3600000")
+class ReportRollupTest {
+
+    @Autowired
+    private CustomerTicketService customerTicketService;
+
+    @Autowired
+    private TriageOfficerService triageOfficerService;
+
+    @Autowired
+    private EngineerService engineerService;
+
+    @Autowired
+    private ReportingService reportingService;
+
+    @Autowired
+    private ReportRollupService rollupService;
+
+    @Autowired
+    private TicketHourlyRollupRepo ticketRollupRepo;
+
+    @Autowired
+    private FeedbackDailyRollupRepo feedbackRollupRepo;
+
+    @Autowired
+    private ReportRollupDayRepo rollupDayRepo;
+
+    @Autowired
+    private TicketRepo ticketRepo;
+
+    @Autowired
+    private TicketStatusCounterRepo counterRepo;
+
+    @Autowired
+    private NotificationInboxRepo inboxRepo;
+
+    @Autowired
+    private NotificationInboxStateRepo inboxStateRepo;
+
+    @Autowired
+    private TeamRepo teamRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    private AppUser customer;
+    private AppUser officer;
+    private AppUser engineer;
+    private Team team;
+
+    @BeforeEach
+    void setUp() {
+        team = new Team();
+        team.setName("Rollup Team");
+        team = teamRepo.save(team);
+        customer = new AppUser("rollup-customer", "secret", "Rollup Customer");
+        customer.setCity("Chennai");
+        customer = userRepo.save(customer);
+        officer = userRepo.save(new AppUser("rollup-officer", "secret", "Rollup Officer"));
+        engineer = new AppUser("rollup-engineer", "secret", "Rollup Engineer");
+        engineer.setTeam(team);
+        engineer = userRepo.save(engineer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ticketRepo.deleteAll();
+        inboxRepo.deleteAll();
+        inboxStateRepo.deleteAll();
+        counterRepo.deleteAll();
+        rollupService.flush();
+        ticketRollupRepo.deleteAll();
+        feedbackRollupRepo.deleteAll();
+        rollupDayRepo.deleteAll();
+        userRepo.deleteAll(List.of(customer, officer, engineer));
+        teamRepo.delete(team);
+    }
+
+    private Long createTicket(String title) {
+        CreateTicketRequestDto dto = new CreateTicketRequestDto();
+        dto.setTitle(title);
+        dto.setDescription("The line drops every evening.");
+        dto.setCategory(TicketCategory.NETWORK_CONNECTIVITY);
+        return customerTicketService.createTicket(dto, customer.getUsername()).getId();
+    }
+
+    // Triages a ticket to the engineer, who fixes it; the customer's feedback then resolves it.
+    private void resolve(Long ticketId, int rating) {
+        TriageTicketRequestDto triage = new TriageTicketRequestDto();
+        triage.setSeverity(TicketSeverity.HIGH);
+        triage.setPriority(TicketPriority.HIGH);
+        triage.setAssignedToUserIds(Set.of(engineer.getId()));
+        triageOfficerService.triageTicket(ticketId, triage, officer.getUsername());
+
+        EngineerUpdateDto update = new EngineerUpdateDto();
+        update.setNewStatus(TicketStatus.FIXED);
+        engineerService.updateTicket(ticketId, update, engineer.getUsername());
+
+        FeedbackRequestDto feedback = new FeedbackRequestDto();
+        feedback.setRating(rating);
+        customerTicketService.addFeedback(ticketId, feedback, customer.getUsername());
+    }
+
+    private static List<String> describe(List<TicketHourlyRollup> rollups) {
+        return rollups.stream()
+                .map(r -> r.getDay() + " " + r.getHour() + " " + r.getCategory() + " " + r.getStatus() + " " + r.getSeverity() + " "
+                        + r.getTeamId() + " " + r.getCity() + " " + r.getTicketCount() + " " + r.getResolvedCount()
+                        + " " + r.getResolutionSeconds())
+                .sorted()
+                .toList();
+    }
+
+    @Test
+    void testRollups_FollowTicketsAndFeedback() {
+        Long resolved = createTicket("Evening outages");
+        createTicket("Slow speeds");
+        resolve(resolved, 4);
+
+        rollupService.flush();
+
+        List<TimeSeriesDataPointDto> volume = reportingService.getTicketVolumeReport();
+        assertEquals(1, volume.size());
+        assertEquals(2L, volume.get(0).getValue());
+        List<SatisfactionScoreDto> scores = reportingService.getSatisfactionScoreReport();
+        assertEquals(1, scores.size());
+        assertEquals(4, scores.get(0).getRating());
+        assertEquals(1L, scores.get(0).getCount());
+        assertTrue(reportingService.getAverageResolutionTimeReport().getAverageResolutionHours() >= 0.0);
+
+        // The open ticket has no team yet; the resolved one is filed under the engineer's team.
+        List<TicketHourlyRollup> rollups = ticketRollupRepo.findAll();
+        assertEquals(2, rollups.size());
+        for (TicketHourlyRollup rollup : rollups) {
+            assertEquals("Chennai", rollup.getCity());
+            assertEquals(1L, rollup.getTicketCount());
+            if (rollup.getStatus() == TicketStatus.RESOLVED) {
+                assertEquals(team.getId(), rollup.getTeamId());
+                assertEquals(TicketSeverity.HIGH, rollup.getSeverity());
+                assertEquals(1L, rollup.getResolvedCount());
+            } else {
+                assertEquals(TicketStatus.CREATED, rollup.getStatus());
+                assertNull(rollup.getTeamId());
+                assertEquals(0L, rollup.getResolvedCount());
+            }
+        }
+    }
+
+    @Test
+    void testBackfill_RebuildsWhatTheFlushesProduced() {
+        resolve(createTicket("Evening outages"), 5);
+        createTicket("Slow speeds");
+        rollupService.flush();
+        List<String> flushed = describe(ticketRollupRepo.findAll());
+        long feedbackRows = feedbackRollupRepo.count();
+
+        ticketRollupRepo.deleteAll();
+        feedbackRollupRepo.deleteAll();
+        rollupDayRepo.deleteAll();
+        assertFalse(rollupService.hasRollups());
+        assertTrue(rollupService.backfill() >= 1);
+
+        assertEquals(flushed, describe(ticketRollupRepo.findAll()));
+        assertEquals(feedbackRows, feedbackRollupRepo.count());
+    }
+
+    @Test
+    void testTicketReport_GroupsTodayByTeamAndCategory() {
+        resolve(createTicket("Evening outages"), 5);
+        createTicket("Slow speeds");
+        rollupService.flush();
+        LocalDate today = LocalDate.now();
+
+        TicketReportDto report = reportingService.getTicketReport(today.minusDays(364), today, ReportGranularity.DAY,
+                EnumSet.of(ReportDimension.TEAM, ReportDimension.CATEGORY));
+
+        assertEquals(2, report.getRows().size());
+        for (TicketReportRowDto row : report.getRows()) {
+            assertEquals(today.atStartOfDay(), row.getBucket());
+            assertEquals(TicketCategory.NETWORK_CONNECTIVITY, row.getCategory());
+            assertEquals(1L, row.getTicketCount());
+            assertNull(row.getCity());
+            if (row.getTeamId() != null) {
+                assertEquals(team.getId(), row.getTeamId());
+                assertEquals("Rollup Team", row.getTeamName());
+                assertNotNull(row.getAverageResolutionHours());
+            } else {
+                assertEquals(0L, row.getResolvedCount());
+            }
+        }
+        TicketReportDto hourly = reportingService.getTicketReport(today, today, ReportGranularity.HOUR, null);
+        assertEquals(2L, hourly.getRows().stream().mapToLong(TicketReportRowDto::getTicketCount).sum());
+
+        // A rebuild on another node reaches this node's cube through the day markers.
+        ticketRollupRepo.deleteAll();
+        rollupDayRepo.save(new ReportRollupDay(today, rollupDayRepo.findById(today).orElseThrow().getRefreshedAtMillis() + 1));
+        rollupService.syncCube();
+        assertTrue(reportingService.getTicketReport(today, today, ReportGranularity.DAY, null).getRows().isEmpty());
+    }
+}
@@ -0,0 +1,119 @@
+package com.capstone.tele_ticketing_backend_1;
+
+import com.capstone.tele_ticketing_backend_1.dto.EngineerUpdateDto;
+import com.capstone.tele_ticketing_backend_1.entities.ActivityType;
+import com.capstone.tele_ticketing_backend_1.entities.AppUser;
+import com.capstone.tele_ticketing_backend_1.entities.Ticket;
+import com.capstone.tele_ticketing_backend_1.entities.TicketActivity;
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+import com.capstone.tele_ticketing_backend_1.repo.NotificationInboxRepo;
+import com.capstone.tele_ticketing_backend_1.repo.NotificationInboxStateRepo;
+import com.capstone.tele_ticketing_backend_1.repo.TicketActivityRepo;
+import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
+import com.capstone.tele_ticketing_backend_1.repo.UserRepo;
+import com.capstone.tele_ticketing_backend_1.service.ActivityLogService;
+import com.capstone.tele_ticketing_backend_1.service.EngineerService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * An engineer update on a ticket with a long history must append its activities with plain
+ * INSERTs: neither the Ticket.activities collection nor any existing TicketActivity is loaded.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TicketActivityAppendTest {
+
+    private static final int EXISTING_ACTIVITIES = 1_000;
+
+    @Autowired
+    private EngineerService engineerService;
+
+    @Autowired
+    private ActivityLogService activityLogService;
+
+    @Autowired
+    private TicketActivityRepo activityRepo;
+
+    @Autowired
+    private TicketRepo ticketRepo;
+
+    @Autowired
+    private NotificationInboxRepo inboxRepo;
+
+    @Autowired
+    private NotificationInboxStateRepo inboxStateRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private AppUser customer;
+    private AppUser engineer;
+    private Ticket ticket;
+
+    @BeforeEach
+    void setUp() {
+        customer = userRepo.save(new AppUser("append-customer", "secret", "Append Customer"));
+        engineer = userRepo.save(new AppUser("append-engineer", "secret", "Append Engineer"));
+
+        Ticket newTicket = new Ticket();
+        newTicket.setTitle("Intermittent packet loss");
+        newTicket.setDescription("Has been going on for months.");
+        newTicket.setCategory(TicketCategory.NETWORK_CONNECTIVITY);
+        newTicket.setStatus(TicketStatus.ASSIGNED);
+        newTicket.setCreatedFor(customer);
+        newTicket.setCreatedBy(customer);
+        ticket = ticketRepo.save(newTicket);
+
+        // Internal notes, so seeding does not also fill the notification inboxes.
+        List<TicketActivity> history = new ArrayList<>(EXISTING_ACTIVITIES);
+        for (int i = 0; i < EXISTING_ACTIVITIES; i++) {
+            history.add(activityLogService.buildLog(ticket, engineer, ActivityType.COMMENT, "Note " + i, true));
+        }
+        activityLogService.createLogs(history);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ticketRepo.deleteAll();
+        inboxRepo.deleteAll();
+        inboxStateRepo.deleteAll();
+        userRepo.deleteAll(List.of(customer, engineer));
+    }
+
+    @Test
+    void testUpdateTicket_DoesNotLoadExistingActivities() {
+        EngineerUpdateDto dto = new EngineerUpdateDto();
+        dto.setNewStatus(TicketStatus.IN_PROGRESS);
+        dto.setUpdateText("Replaced the line card.");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        engineerService.updateTicket(ticket.getId(), dto, engineer.getUsername());
+
+        assertEquals(0, statistics.getCollectionStatistics(Ticket.class.getName() + ".activities").getFetchCount(),
+                "Ticket.activities must not be initialized");
+        assertEquals(0, statistics.getEntityStatistics(TicketActivity.class.getName()).getLoadCount(),
+                "existing activities must not be loaded");
+        assertEquals(2, statistics.getEntityStatistics(TicketActivity.class.getName()).getInsertCount());
+        // Statement count does not depend on the size of the history.
+        assertTrue(statistics.getPrepareStatementCount() < 30,
+                "update prepared " + statistics.getPrepareStatementCount() + " statements");
+
+        assertEquals(EXISTING_ACTIVITIES + 2, activityRepo.findByTicketIdOrderByCreatedAtDesc(ticket.getId()).size());
+    }
+}
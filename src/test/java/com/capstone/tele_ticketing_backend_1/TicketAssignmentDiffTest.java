@@ -0,0 +1,148 @@
+package com.capstone.tele_ticketing_backend_1;
+
+import com.capstone.tele_ticketing_backend_1.dto.AssignmentDiff;
+import com.capstone.tele_ticketing_backend_1.entities.AppUser;
+import com.capstone.tele_ticketing_backend_1.entities.Ticket;
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
+import com.capstone.tele_ticketing_backend_1.repo.UserRepo;
+import com.capstone.tele_ticketing_backend_1.service.TicketAssignmentService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CollectionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reassigning a ticket must only touch the ticket_assignments rows that change: Hibernate should
+ * update the assignee collection row by row rather than delete and recreate it.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TicketAssignmentDiffTest {
+
+    private static final String ASSIGNED_TO = Ticket.class.getName() + ".assignedTo";
+
+    @Autowired
+    private TicketAssignmentService ticketAssignmentService;
+
+    @Autowired
+    private TicketRepo ticketRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<AppUser> engineers = new ArrayList<>();
+    private AppUser customer;
+    private Ticket ticket;
+
+    @BeforeEach
+    void setUp() {
+        customer = userRepo.save(new AppUser("diff-customer", "secret", "Diff Customer"));
+        for (int i = 0; i < 6; i++) {
+            engineers.add(userRepo.save(new AppUser("diff-engineer-" + i, "secret", "Engineer " + i)));
+        }
+
+        Ticket newTicket = new Ticket();
+        newTicket.setTitle("Core switch flapping");
+        newTicket.setDescription("Ports go up and down.");
+        newTicket.setCategory(TicketCategory.NETWORK_CONNECTIVITY);
+        newTicket.setStatus(TicketStatus.ASSIGNED);
+        newTicket.setCreatedFor(customer);
+        newTicket.setCreatedBy(customer);
+        // Engineers 0-4 are assigned; engineer 5 is not.
+        newTicket.setAssignedTo(new HashSet<>(engineers.subList(0, 5)));
+        ticket = ticketRepo.save(newTicket);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ticketRepo.deleteById(ticket.getId());
+        userRepo.deleteAll(engineers);
+        userRepo.delete(customer);
+        engineers.clear();
+    }
+
+    private CollectionStatistics assignedToStatistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getCollectionStatistics(ASSIGNED_TO);
+    }
+
+    private Set<String> assignedUsernames() {
+        return new TransactionTemplate(transactionManager).execute(status ->
+                ticketRepo.findDetailById(ticket.getId()).orElseThrow().getAssignedTo().stream()
+                        .map(AppUser::getUsername)
+                        .collect(Collectors.toSet()));
+    }
+
+    @Test
+    void testReassign_ChangesOnlyTheDifferingRows() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<AppUser> newAssignees = List.of(engineers.get(0), engineers.get(1), engineers.get(2), engineers.get(3), engineers.get(5));
+
+        statistics.clear();
+        AssignmentDiff diff = new TransactionTemplate(transactionManager).execute(status ->
+                ticketAssignmentService.reassign(ticketRepo.findDetailById(ticket.getId()).orElseThrow(), newAssignees));
+
+        assertEquals(List.of("diff-engineer-5"), diff.getAdded().stream().map(AppUser::getUsername).toList());
+        assertEquals(List.of("diff-engineer-4"), diff.getRemoved().stream().map(AppUser::getUsername).toList());
+        assertEquals(4, diff.getUnchanged().size());
+        assertEquals("added [Engineer 5]; removed [Engineer 4]", diff.describe());
+
+        CollectionStatistics assignedTo = assignedToStatistics();
+        assertEquals(0, assignedTo.getRecreateCount(), "the assignee rows must not be recreated");
+        assertEquals(0, assignedTo.getRemoveCount());
+        assertEquals(1, assignedTo.getUpdateCount());
+        // One SELECT for the ticket, then one DELETE and one INSERT for the two rows that changed,
+        // against a DELETE plus five INSERTs when the set is replaced.
+        assertTrue(statistics.getPrepareStatementCount() <= 3,
+                "reassign prepared " + statistics.getPrepareStatementCount() + " statements");
+
+        assertEquals(Set.of("diff-engineer-0", "diff-engineer-1", "diff-engineer-2", "diff-engineer-3", "diff-engineer-5"),
+                assignedUsernames());
+    }
+
+    @Test
+    void testReassign_SameAssigneesWritesNothing() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        AssignmentDiff diff = new TransactionTemplate(transactionManager).execute(status ->
+                ticketAssignmentService.reassign(ticketRepo.findDetailById(ticket.getId()).orElseThrow(), engineers.subList(0, 5)));
+
+        assertFalse(diff.isChanged());
+        assertEquals(0, assignedToStatistics().getUpdateCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testReplacingTheSet_RecreatesEveryRow() {
+        // Baseline for the old setAssignedTo(new HashSet<>(...)) approach: every row is deleted and reinserted.
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                ticketRepo.findDetailById(ticket.getId()).orElseThrow().setAssignedTo(new HashSet<>(engineers.subList(0, 5))));
+
+        assertEquals(1, assignedToStatistics().getRecreateCount());
+    }
+}
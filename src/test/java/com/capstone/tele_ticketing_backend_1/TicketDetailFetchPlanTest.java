@@ -0,0 +1,135 @@
+package com.capstone.tele_ticketing_backend_1;
+
+import com.capstone.tele_ticketing_backend_1.dto.TicketDetailDto;
+import com.capstone.tele_ticketing_backend_1.entities.AppUser;
+import com.capstone.tele_ticketing_backend_1.entities.Ticket;
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
+import com.capstone.tele_ticketing_backend_1.repo.UserRepo;
+import com.capstone.tele_ticketing_backend_1.service.TicketService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the SQL statements behind a ticket detail lookup for a ticket with five assignees.
+ * The Ticket.detail entity graph should load the ticket, its creator, assigner and assignees together.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TicketDetailFetchPlanTest {
+
+    private static final int ASSIGNEES = 5;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TicketRepo ticketRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<AppUser> users = new ArrayList<>();
+    private Ticket ticket;
+
+    @BeforeEach
+    void setUp() {
+        AppUser customer = save(new AppUser("detail-customer", "secret", "Detail Customer"));
+        AppUser agent = save(new AppUser("detail-agent", "secret", "Detail Agent"));
+        AppUser triageOfficer = save(new AppUser("detail-triage", "secret", "Detail Triage"));
+
+        Ticket newTicket = new Ticket();
+        newTicket.setTitle("Fibre link down");
+        newTicket.setDescription("Complete loss of connectivity.");
+        newTicket.setCategory(TicketCategory.NETWORK_CONNECTIVITY);
+        newTicket.setStatus(TicketStatus.ASSIGNED);
+        newTicket.setCreatedFor(customer);
+        newTicket.setCreatedBy(agent);
+        newTicket.setAssignedBy(triageOfficer);
+        newTicket.setAssignedTo(new HashSet<>());
+        for (int i = 0; i < ASSIGNEES; i++) {
+            newTicket.getAssignedTo().add(save(new AppUser("detail-engineer-" + i, "secret", "Engineer " + i)));
+        }
+        ticket = ticketRepo.save(newTicket);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ticketRepo.deleteById(ticket.getId());
+        userRepo.deleteAll(users);
+        users.clear();
+    }
+
+    private AppUser save(AppUser user) {
+        AppUser saved = userRepo.save(user);
+        users.add(saved);
+        return saved;
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testGetTicketById_LoadsDetailInOneStatement() {
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        TicketDetailDto dto = ticketService.getTicketById(ticket.getId());
+
+        assertEquals(ASSIGNEES, dto.getAssignedTo().size());
+        assertEquals("detail-customer", dto.getCreatedFor().getUsername());
+        assertEquals("detail-triage", dto.getAssignedBy().getUsername());
+        assertEquals(1, statistics.getPrepareStatementCount(),
+                "ticket detail should be a single joined SELECT");
+    }
+
+    @Test
+    void testGetTicketByUid_LoadsDetailInOneStatement() {
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        TicketDetailDto dto = ticketService.getTicketByUid(ticket.getTicketUid());
+
+        assertEquals(ASSIGNEES, dto.getAssignedTo().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testPlainFindById_FiresLazySelectsPerAssociation() {
+        // Baseline without the entity graph: the ticket, then lazy SELECTs for createdFor, assignedBy
+        // and the assignee collection (plus whatever each user's eager associations add).
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TicketDetailDto dto = readOnly.execute(status ->
+                ticketService.mapTicketToDetailDto(ticketRepo.findById(ticket.getId()).orElseThrow()));
+
+        assertNotNull(dto);
+        assertEquals(ASSIGNEES, dto.getAssignedTo().size());
+        assertTrue(statistics.getPrepareStatementCount() >= 4,
+                "expected a lazy SELECT per association, got " + statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,108 @@
+package com.capstone.tele_ticketing_backend_1;
+
+import com.capstone.tele_ticketing_backend_1.dto.DuplicateCandidateDto;
+import com.capstone.tele_ticketing_backend_1.entities.AppUser;
+import com.capstone.tele_ticketing_backend_1.entities.Ticket;
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
+import com.capstone.tele_ticketing_backend_1.repo.TicketSignatureRepo;
+import com.capstone.tele_ticketing_backend_1.repo.UserRepo;
+import com.capstone.tele_ticketing_backend_1.service.TicketDuplicateService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Duplicate detection persists one signature row per ticket, finds near-identical open tickets in
+ * the same category and city, and signs tickets that predate it when the index is loaded.
+ */
+@SpringBootTest
+class TicketDuplicateDetectionTest {
+
+    private static final String DESCRIPTION = "Fiber connection is down, router shows red LOS light since 9am.";
+
+    @Autowired
+    private TicketDuplicateService ticketDuplicateService;
+
+    @Autowired
+    private TicketSignatureRepo signatureRepo;
+
+    @Autowired
+    private TicketRepo ticketRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    private AppUser chennaiCustomer;
+    private AppUser maduraiCustomer;
+
+    @BeforeEach
+    void setUp() {
+        chennaiCustomer = userRepo.save(withCity(new AppUser("dup-chennai", "secret", "Dup Chennai"), "Chennai"));
+        maduraiCustomer = userRepo.save(withCity(new AppUser("dup-madurai", "secret", "Dup Madurai"), "Madurai"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        signatureRepo.deleteAll();
+        ticketRepo.deleteAll();
+        userRepo.deleteAll(List.of(chennaiCustomer, maduraiCustomer));
+    }
+
+    private static AppUser withCity(AppUser user, String city) {
+        user.setCity(city);
+        return user;
+    }
+
+    private Ticket save(AppUser createdFor, String title) {
+        Ticket ticket = new Ticket();
+        ticket.setTitle(title);
+        ticket.setDescription(DESCRIPTION);
+        ticket.setCategory(TicketCategory.NETWORK_CONNECTIVITY);
+        ticket.setCreatedFor(createdFor);
+        ticket.setCreatedBy(createdFor);
+        return ticketRepo.save(ticket);
+    }
+
+    @Test
+    void testRegisteredTickets_FlagOpenDuplicatesInSameCity() {
+        Ticket first = save(chennaiCustomer, "No internet in Anna Nagar");
+        Ticket second = save(chennaiCustomer, "No internet in Anna Nagar today");
+        Ticket elsewhere = save(maduraiCustomer, "No internet in Anna Nagar");
+        ticketDuplicateService.register(List.of(first, second, elsewhere));
+
+        Map<Long, List<DuplicateCandidateDto>> candidates =
+                ticketDuplicateService.findCandidates(List.of(second.getId(), elsewhere.getId()));
+
+        assertEquals(3, signatureRepo.count());
+        assertEquals(List.of(first.getId()), candidates.get(second.getId()).stream().map(DuplicateCandidateDto::getTicketId).toList());
+        assertFalse(candidates.containsKey(elsewhere.getId()));
+
+        first.setStatus(TicketStatus.RESOLVED);
+        ticketRepo.save(first);
+        assertTrue(ticketDuplicateService.findCandidates(List.of(second.getId())).isEmpty());
+    }
+
+    @Test
+    void testLoad_SignsOpenTicketsThatPredateDetection() {
+        Ticket first = save(chennaiCustomer, "Broadband outage in T Nagar");
+        Ticket second = save(chennaiCustomer, "Broadband outage in T Nagar");
+        Ticket resolved = save(chennaiCustomer, "Broadband outage in T Nagar");
+        resolved.setStatus(TicketStatus.RESOLVED);
+        ticketRepo.save(resolved);
+
+        ticketDuplicateService.load();
+
+        assertEquals(2, signatureRepo.count());
+        assertEquals(first.getId(), ticketDuplicateService.findCandidates(List.of(second.getId()))
+                .get(second.getId()).get(0).getTicketId());
+    }
+}
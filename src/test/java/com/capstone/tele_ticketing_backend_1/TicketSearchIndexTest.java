@@ -0,0 +1,129 @@
+package com.capstone.tele_ticketing_backend_1;
+
+import com.capstone.tele_ticketing_backend_1.dto.TicketSearchResultDto;
+import com.capstone.tele_ticketing_backend_1.entities.AppUser;
+import com.capstone.tele_ticketing_backend_1.entities.Ticket;
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
+import com.capstone.tele_ticketing_backend_1.repo.UserRepo;
+import com.capstone.tele_ticketing_backend_1.service.TicketSearchService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The search index follows committed ticket inserts, updates and deletes without a rebuild,
+ * picks up rows written behind its back on rebuild, and answers a search with one statement.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TicketSearchIndexTest {
+
+    @Autowired
+    private TicketSearchService ticketSearchService;
+
+    @Autowired
+    private TicketRepo ticketRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private AppUser customer;
+    private AppUser otherCustomer;
+    private AppUser agent;
+
+    @BeforeEach
+    void setUp() {
+        customer = userRepo.save(new AppUser("search-customer", "secret", "Search Customer"));
+        otherCustomer = userRepo.save(new AppUser("search-other", "secret", "Search Other"));
+        agent = userRepo.save(new AppUser("search-agent", "secret", "Search Agent"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ticketRepo.deleteAll();
+        userRepo.deleteAll(List.of(customer, otherCustomer, agent));
+    }
+
+    private Ticket save(AppUser createdFor, String title, String description) {
+        Ticket ticket = new Ticket();
+        ticket.setTitle(title);
+        ticket.setDescription(description);
+        ticket.setCategory(TicketCategory.NETWORK_CONNECTIVITY);
+        ticket.setCreatedFor(createdFor);
+        ticket.setCreatedBy(agent);
+        return ticketRepo.save(ticket);
+    }
+
+    private List<Long> search(String query, AppUser user, boolean allTickets) {
+        return ticketSearchService.search(query, null, user.getId(), allTickets).stream()
+                .map(TicketSearchResultDto::getId)
+                .toList();
+    }
+
+    @Test
+    void testSavedTickets_AreSearchableWithoutRebuild() {
+        Ticket router = save(customer, "Zyxel router reboots", "It restarts every evening.");
+        Ticket billing = save(otherCustomer, "Invoice mentions zyxel rental", "I returned the device.");
+
+        assertEquals(List.of(router.getId(), billing.getId()), search("zyxel", customer, true));
+        // Customers only find their own tickets; the agent who raised both finds both.
+        assertEquals(List.of(router.getId()), search("zyxel", customer, false));
+        assertEquals(List.of(billing.getId()), search("zyxel", otherCustomer, false));
+        assertEquals(2, search("zyxel", agent, false).size());
+    }
+
+    @Test
+    void testUpdatedAndDeletedTickets_AreReflected() {
+        Ticket ticket = save(customer, "Quokka modem offline", "No lights at all.");
+
+        ticket.setTitle("Wombat modem offline");
+        ticketRepo.save(ticket);
+        assertTrue(search("quokka", customer, true).isEmpty());
+        assertEquals(List.of(ticket.getId()), search("wombat", customer, true));
+
+        ticketRepo.delete(ticket);
+        assertTrue(search("wombat", customer, true).isEmpty());
+    }
+
+    @Test
+    void testRebuild_PicksUpRowsWrittenOutsideJpa() {
+        Ticket ticket = save(customer, "Fibre cut", "Roadworks outside.");
+        jdbcTemplate.update("UPDATE tickets SET title = ? WHERE id = ?", "Platypus fibre cut", ticket.getId());
+        assertTrue(search("platypus", customer, true).isEmpty());
+
+        ticketSearchService.rebuild();
+
+        assertEquals(List.of(ticket.getId()), search("platypus", customer, true));
+    }
+
+    @Test
+    void testSearch_IsOneStatement() {
+        for (int i = 0; i < 5; i++) {
+            save(customer, "Echidna outage " + i, "Whole street.");
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        List<TicketSearchResultDto> results = ticketSearchService.search("echidna", 3, customer.getId(), false);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).getTitle().startsWith("Echidna outage"));
+    }
+}
@@ -0,0 +1,182 @@
+package com.capstone.tele_ticketing_backend_1;
+
+import com.capstone.tele_ticketing_backend_1.dto.CreateTicketRequestDto;
+import com.capstone.tele_ticketing_backend_1.dto.DashboardStatsDto;
+import com.capstone.tele_ticketing_backend_1.dto.EngineerUpdateDto;
+import com.capstone.tele_ticketing_backend_1.dto.FeedbackRequestDto;
+import com.capstone.tele_ticketing_backend_1.dto.TriageTicketRequestDto;
+import com.capstone.tele_ticketing_backend_1.entities.AppUser;
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+import com.capstone.tele_ticketing_backend_1.entities.TicketPriority;
+import com.capstone.tele_ticketing_backend_1.entities.TicketRelation;
+import com.capstone.tele_ticketing_backend_1.entities.TicketSeverity;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatusCounter;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatusCounterId;
+import com.capstone.tele_ticketing_backend_1.repo.NotificationInboxRepo;
+import com.capstone.tele_ticketing_backend_1.repo.NotificationInboxStateRepo;
+import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
+import com.capstone.tele_ticketing_backend_1.repo.TicketStatusCounterRepo;
+import com.capstone.tele_ticketing_backend_1.repo.UserRepo;
+import com.capstone.tele_ticketing_backend_1.service.CustomerTicketService;
+import com.capstone.tele_ticketing_backend_1.service.DashboardService;
+import com.capstone.tele_ticketing_backend_1.service.EngineerService;
+import com.capstone.tele_ticketing_backend_1.service.TicketStatusCounterService;
+import com.capstone.tele_ticketing_backend_1.service.TriageOfficerService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The per-user status counters behind the dashboards must follow every status change made through
+ * the services, be rebuilt exactly by the reconciler, and serve a dashboard in a single statement.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TicketStatusCounterTest {
+
+    @Autowired
+    private CustomerTicketService customerTicketService;
+
+    @Autowired
+    private TriageOfficerService triageOfficerService;
+
+    @Autowired
+    private EngineerService engineerService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private TicketStatusCounterService counterService;
+
+    @Autowired
+    private TicketStatusCounterRepo counterRepo;
+
+    @Autowired
+    private TicketRepo ticketRepo;
+
+    @Autowired
+    private NotificationInboxRepo inboxRepo;
+
+    @Autowired
+    private NotificationInboxStateRepo inboxStateRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private AppUser customer;
+    private AppUser officer;
+    private AppUser engineer;
+
+    @BeforeEach
+    void setUp() {
+        customer = userRepo.save(new AppUser("counter-customer", "secret", "Counter Customer"));
+        officer = userRepo.save(new AppUser("counter-officer", "secret", "Counter Officer"));
+        engineer = userRepo.save(new AppUser("counter-engineer", "secret", "Counter Engineer"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ticketRepo.deleteAll();
+        inboxRepo.deleteAll();
+        inboxStateRepo.deleteAll();
+        counterRepo.deleteAll();
+        userRepo.deleteAll(List.of(customer, officer, engineer));
+    }
+
+    private Long createTicket(String title) {
+        CreateTicketRequestDto dto = new CreateTicketRequestDto();
+        dto.setTitle(title);
+        dto.setDescription("The line drops every evening.");
+        dto.setCategory(TicketCategory.NETWORK_CONNECTIVITY);
+        return customerTicketService.createTicket(dto, customer.getUsername()).getId();
+    }
+
+    // Walks a ticket through triage and an engineer's fix, leaving it FIXED.
+    private void fix(Long ticketId) {
+        TriageTicketRequestDto triage = new TriageTicketRequestDto();
+        triage.setSeverity(TicketSeverity.HIGH);
+        triage.setPriority(TicketPriority.HIGH);
+        triage.setAssignedToUserIds(Set.of(engineer.getId()));
+        triageOfficerService.triageTicket(ticketId, triage, officer.getUsername());
+
+        EngineerUpdateDto update = new EngineerUpdateDto();
+        update.setNewStatus(TicketStatus.FIXED);
+        engineerService.updateTicket(ticketId, update, engineer.getUsername());
+    }
+
+    private Map<TicketStatus, Long> customerCounts() {
+        return counterService.getCounts(customer.getUsername(), TicketRelation.CREATED_FOR);
+    }
+
+    @Test
+    void testCounters_FollowTicketLifecycle() {
+        Long first = createTicket("Evening outages");
+        createTicket("Slow speeds");
+        assertEquals(2L, customerCounts().get(TicketStatus.CREATED));
+
+        fix(first);
+        assertEquals(1L, customerCounts().get(TicketStatus.CREATED));
+        assertEquals(0L, customerCounts().get(TicketStatus.ASSIGNED));
+        assertEquals(1L, customerCounts().get(TicketStatus.FIXED));
+
+        DashboardStatsDto stats = dashboardService.getDashboardStats(customer.getUsername());
+        assertEquals(2, stats.getActiveTickets());
+        assertEquals(1, stats.getFeedbackRequiredTickets());
+
+        FeedbackRequestDto feedback = new FeedbackRequestDto();
+        feedback.setRating(5);
+        customerTicketService.addFeedback(first, feedback, customer.getUsername());
+
+        stats = dashboardService.getDashboardStats(customer.getUsername());
+        assertEquals(1, stats.getActiveTickets());
+        assertEquals(1, stats.getResolvedTickets());
+        assertEquals(0, stats.getFeedbackRequiredTickets());
+        // The customer created the tickets themselves, so both relations agree.
+        assertEquals(customerCounts(), counterService.getCounts(customer.getUsername(), TicketRelation.CREATED_BY));
+    }
+
+    @Test
+    void testReconcile_RepairsDriftedAndMissingCounters() {
+        Long ticketId = createTicket("Evening outages");
+        createTicket("Slow speeds");
+        fix(ticketId);
+        Map<TicketStatus, Long> expected = customerCounts();
+
+        // Simulate drift: one counter is wrong, another has gone missing.
+        counterRepo.save(new TicketStatusCounter(
+                new TicketStatusCounterId(customer.getId(), TicketRelation.CREATED_FOR, TicketStatus.CREATED), 42));
+        counterRepo.deleteById(new TicketStatusCounterId(customer.getId(), TicketRelation.CREATED_FOR, TicketStatus.FIXED));
+
+        assertTrue(counterService.reconcile() >= 2);
+        assertEquals(expected, customerCounts());
+    }
+
+    @Test
+    void testDashboardStats_IsOneStatement() {
+        for (int i = 0; i < 5; i++) {
+            createTicket("Outage number " + i);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        DashboardStatsDto stats = dashboardService.getDashboardStats(customer.getUsername());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(5, stats.getActiveTickets());
+    }
+}
@@ -0,0 +1,144 @@
+package com.capstone.tele_ticketing_backend_1;
+
+import com.capstone.tele_ticketing_backend_1.dto.TicketSummaryDto;
+import com.capstone.tele_ticketing_backend_1.entities.AppUser;
+import com.capstone.tele_ticketing_backend_1.entities.Ticket;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
+import com.capstone.tele_ticketing_backend_1.repo.UserRepo;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the summary-list query before and after projecting into TicketSummaryDto:
+ * loading full Ticket entities (with their @Lob description) and mapping them, versus
+ * {@link TicketRepo#findSummariesByCreatedForAndStatusIn}. Logs latency and heap allocated per call.
+ * <p>
+ * Runs on 5,000 tickets by default; pass -Dticket.benchmark.rows=100000 for the full-size dataset.
+ */
+@SpringBootTest
+@Slf4j
+class TicketSummaryProjectionTest {
+
+    private static final int ROWS = Integer.getInteger("ticket.benchmark.rows", 5_000);
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 5;
+    // Seeded ids sit well above anything the id sequence hands out during the test run.
+    private static final long FIRST_ID = 10_000_000L;
+    private static final List<TicketStatus> ACTIVE_STATUSES = List.of(TicketStatus.CREATED, TicketStatus.ASSIGNED);
+
+    @Autowired
+    private TicketRepo ticketRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private AppUser customer;
+
+    @BeforeEach
+    void setUp() {
+        customer = userRepo.save(new AppUser("projection-customer", "secret", "Projection Customer"));
+
+        String description = "Intermittent packet loss on the customer's fibre line. ".repeat(40);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            long id = FIRST_ID + i;
+            rows.add(new Object[]{id, "TK-BENCH-" + id, "Benchmark ticket " + i, description,
+                    ACTIVE_STATUSES.get(i % ACTIVE_STATUSES.size()).name(), "NETWORK_CONNECTIVITY",
+                    customer.getId(), customer.getId(), now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tickets (id, ticket_uid, title, description, status, category, " +
+                "created_for_user_id, created_by_user_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM tickets WHERE id >= ?", FIRST_ID);
+        userRepo.delete(customer);
+    }
+
+    @Test
+    void testSummaryProjection_AllocatesLessThanEntityMapping() {
+        // The pre-projection service path: derived query returning entities, then mapped to DTOs.
+        Supplier<List<TicketSummaryDto>> entityPath = () -> entityManager
+                .createQuery("SELECT t FROM Ticket t WHERE t.createdFor = :user AND t.status IN :statuses", Ticket.class)
+                .setParameter("user", customer)
+                .setParameter("statuses", ACTIVE_STATUSES)
+                .getResultStream()
+                .map(ticket -> new TicketSummaryDto(ticket.getId(), ticket.getTicketUid(), ticket.getTitle(), ticket.getStatus(), ticket.getCreatedAt()))
+                .toList();
+        Supplier<List<TicketSummaryDto>> projectionPath =
+                () -> ticketRepo.findSummariesByCreatedForAndStatusIn(customer, ACTIVE_STATUSES);
+
+        Measurement entities = measure(entityPath);
+        Measurement projection = measure(projectionPath);
+
+        log.info("{} tickets, entity mapping: {} ms, {} KB allocated", ROWS, entities.millis(), entities.bytes() / 1024);
+        log.info("{} tickets, DTO projection: {} ms, {} KB allocated", ROWS, projection.millis(), projection.bytes() / 1024);
+
+        assertEquals(ROWS, entities.resultSize());
+        assertEquals(ROWS, projection.resultSize());
+        assertTrue(projection.bytes() < entities.bytes(),
+                "expected the projection to allocate less than loading entities: "
+                        + projection.bytes() + " vs " + entities.bytes() + " bytes");
+    }
+
+    private record Measurement(long millis, long bytes, int resultSize) {
+    }
+
+    /**
+     * Runs the query in a read-only transaction, as the services do, and reports the median
+     * wall time and heap allocated by the calling thread.
+     */
+    private Measurement measure(Supplier<List<TicketSummaryDto>> query) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            transactionTemplate.execute(status -> query.get());
+        }
+
+        long[] nanos = new long[MEASURED_RUNS];
+        long[] bytes = new long[MEASURED_RUNS];
+        int resultSize = 0;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            List<TicketSummaryDto> result = transactionTemplate.execute(status -> query.get());
+            nanos[i] = System.nanoTime() - start;
+            bytes[i] = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+            resultSize = result == null ? 0 : result.size();
+        }
+        Arrays.sort(nanos);
+        Arrays.sort(bytes);
+        return new Measurement(nanos[MEASURED_RUNS / 2] / 1_000_000, bytes[MEASURED_RUNS / 2], resultSize);
+    }
+}
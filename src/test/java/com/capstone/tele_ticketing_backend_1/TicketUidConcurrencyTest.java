@@ -0,0 +1,89 @@
+package com.capstone.tele_ticketing_backend_1;
+
+import com.capstone.tele_ticketing_backend_1.entities.AppUser;
+import com.capstone.tele_ticketing_backend_1.entities.Ticket;
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
+import com.capstone.tele_ticketing_backend_1.repo.UserRepo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Creates tickets from many threads at once (the mass-outage case) and checks that every insert
+ * succeeds with a distinct ticket UID.
+ */
+@SpringBootTest
+class TicketUidConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int TICKETS_PER_THREAD = 50;
+
+    @Autowired
+    private TicketRepo ticketRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    private AppUser customer;
+
+    @BeforeEach
+    void setUp() {
+        customer = userRepo.save(new AppUser("uid-stress-customer", "secret", "UID Stress Customer"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ticketRepo.deleteAll();
+        userRepo.delete(customer);
+    }
+
+    @Test
+    void testConcurrentTicketCreation_AllUidsUnique() throws Exception {
+        Set<String> uids = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < TICKETS_PER_THREAD; i++) {
+                        Ticket ticket = new Ticket();
+                        ticket.setTitle("Outage report");
+                        ticket.setCategory(TicketCategory.SERVICE_OUTAGE);
+                        ticket.setCreatedBy(customer);
+                        ticket.setCreatedFor(customer);
+                        uids.add(ticketRepo.save(ticket).getTicketUid());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                // Any unique-constraint violation on ticket_uid surfaces here.
+                future.get(120, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(THREADS * TICKETS_PER_THREAD, uids.size());
+        assertEquals(THREADS * TICKETS_PER_THREAD, ticketRepo.count());
+        assertTrue(uids.stream().allMatch(uid -> uid.startsWith("TK-")));
+    }
+}
@@ -0,0 +1,100 @@
+package com.capstone.tele_ticketing_backend_1;
+
+import com.capstone.tele_ticketing_backend_1.dto.CreateTicketRequestDto;
+import com.capstone.tele_ticketing_backend_1.entities.AppUser;
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
+import com.capstone.tele_ticketing_backend_1.repo.UserRepo;
+import com.capstone.tele_ticketing_backend_1.service.CustomerTicketService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Write-throughput check for ticket creation with 1, 10 and 100 attachments.
+ * Logs tickets/second and asserts that JDBC batching keeps the number of prepared statements
+ * per ticket roughly constant instead of growing with one INSERT per attachment.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Slf4j
+class TicketWriteThroughputTest {
+
+    private static final int TICKETS = 20;
+
+    @Autowired
+    private CustomerTicketService customerTicketService;
+
+    @Autowired
+    private TicketRepo ticketRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private AppUser customer;
+
+    @BeforeEach
+    void setUp() {
+        customer = userRepo.save(new AppUser("throughput-customer", "secret", "Throughput Customer"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ticketRepo.deleteAll();
+        userRepo.delete(customer);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 100})
+    void testCreateTicket_WriteThroughput(int attachmentsPerTicket) {
+        CreateTicketRequestDto dto = new CreateTicketRequestDto();
+        dto.setTitle("Fibre link down");
+        dto.setDescription("Customer reports a complete loss of connectivity.");
+        dto.setCategory(TicketCategory.NETWORK_CONNECTIVITY);
+        List<String> attachments = new ArrayList<>();
+        for (int i = 0; i < attachmentsPerTicket; i++) {
+            attachments.add("https://files.example.com/evidence/" + i + ".png");
+        }
+        dto.setAttachments(attachments);
+
+        // Warm-up so class loading and sequence pre-allocation do not skew the measurement.
+        customerTicketService.createTicket(dto, customer.getUsername());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < TICKETS; i++) {
+            customerTicketService.createTicket(dto, customer.getUsername());
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        double statementsPerTicket = (double) statistics.getPrepareStatementCount() / TICKETS;
+        double ticketsPerSecond = TICKETS / (elapsedNanos / 1_000_000_000.0);
+        log.info("{} attachments/ticket: {} tickets/s, {} prepared statements/ticket",
+                attachmentsPerTicket, String.format("%.1f", ticketsPerSecond), statementsPerTicket);
+
+        assertEquals((TICKETS + 1) * (long) attachmentsPerTicket,
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM attachments", Long.class));
+        // Without batching this would be at least one statement per attachment.
+        assertTrue(statementsPerTicket < 15,
+                "expected batched inserts, got " + statementsPerTicket + " statements per ticket");
+    }
+}
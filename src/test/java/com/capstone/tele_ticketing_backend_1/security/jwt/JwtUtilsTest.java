@@ -0,0 +1,96 @@
+package com.capstone.tele_ticketing_backend_1.security.jwt;
+
+import com.capstone.tele_ticketing_backend_1.security.service.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilsTest {
+
+    private static final String SECRET =
+            "BLUEYONDERBELLANDURBENGALURUBLUEYONDERBELLANDURBENGALURUBLUEYONDERBELLANDURBENGALURUBENGALURU";
+
+    private JwtUtils jwtUtils;
+    private UserDetailsImpl principal;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = newJwtUtils(10);
+        principal = new UserDetailsImpl(7L, "agent1", "secret",
+                List.of(new SimpleGrantedAuthority("ROLE_AGENT")), 3L);
+    }
+
+    private JwtUtils newJwtUtils(int cacheSize) {
+        JwtUtils utils = new JwtUtils();
+        ReflectionTestUtils.setField(utils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(utils, "jwtExpirationMs", 60_000);
+        ReflectionTestUtils.setField(utils, "verifiedCacheSize", cacheSize);
+        utils.init();
+        return utils;
+    }
+
+    private String tokenFor(JwtUtils utils, UserDetailsImpl user) {
+        return utils.generateJwtToken(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @Test
+    void testParseAndVerify_ReturnsClaimsAndCachesThem() {
+        String token = tokenFor(jwtUtils, principal);
+
+        Claims first = jwtUtils.parseAndVerify(token);
+        Claims second = jwtUtils.parseAndVerify(token);
+
+        assertEquals("agent1", first.getSubject());
+        // The second call is served from the verified-token cache.
+        assertSame(first, second);
+    }
+
+    @Test
+    void testParseAndVerify_CacheDisabledStillVerifies() {
+        JwtUtils uncached = newJwtUtils(0);
+        String token = tokenFor(uncached, principal);
+
+        Claims first = uncached.parseAndVerify(token);
+        Claims second = uncached.parseAndVerify(token);
+
+        assertEquals(first.getSubject(), second.getSubject());
+        assertNotSame(first, second);
+    }
+
+    @Test
+    void testVerifyJwtToken_TamperedTokenIsRejected() {
+        String token = tokenFor(jwtUtils, principal);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtUtils.parseAndVerify(tampered));
+    }
+
+    @Test
+    void testVerifyJwtToken_InvalidInputReturnsNull() {
+        assertNull(jwtUtils.verifyJwtToken("not-a-jwt"));
+        assertNull(jwtUtils.verifyJwtToken(""));
+        assertFalse(jwtUtils.validateJwtToken("not-a-jwt"));
+    }
+
+    @Test
+    void testBuildUserDetailsFromClaims() {
+        Claims claims = jwtUtils.parseAndVerify(tokenFor(jwtUtils, principal));
+
+        UserDetailsImpl rebuilt = jwtUtils.buildUserDetailsFromClaims(claims);
+
+        assertNotNull(rebuilt);
+        assertEquals(7L, rebuilt.getId());
+        assertEquals("agent1", rebuilt.getUsername());
+        assertEquals(3L, rebuilt.getTokenEpoch());
+        assertEquals("ROLE_AGENT", rebuilt.getAuthorities().iterator().next().getAuthority());
+        assertNull(rebuilt.getPassword());
+    }
+}
@@ -0,0 +1,100 @@
+package com.capstone.tele_ticketing_backend_1.security.jwt;
+
+import com.capstone.tele_ticketing_backend_1.security.service.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures the cost per authenticated request of checking its JWT three ways: as before, building
+ * the key and parser and verifying the token twice; verifying it once through parseAndVerify with
+ * the verified-token cache off; and with the cache on. The requests come from 1,000 users, each
+ * sending the same token many times, as a busy session does.
+ * <p>
+ * The timings are only logged, since they depend on the machine; the test asserts that every way
+ * yields the same subject and that a repeated token is answered from the cache.
+ * <p>
+ * Pass -Dticket.benchmark.rows to change the number of requests.
+ */
+@Slf4j
+class JwtVerifyBenchmarkTest {
+
+    private static final int REQUESTS = Integer.getInteger("ticket.benchmark.rows", 50_000);
+    private static final int USERS = 1_000;
+    private static final String SECRET =
+            "BLUEYONDERBELLANDURBENGALURUBLUEYONDERBELLANDURBENGALURUBLUEYONDERBELLANDURBENGALURUBENGALURU";
+
+    private static JwtUtils newJwtUtils(int cacheSize) {
+        JwtUtils utils = new JwtUtils();
+        ReflectionTestUtils.setField(utils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(utils, "jwtExpirationMs", 3_600_000);
+        ReflectionTestUtils.setField(utils, "verifiedCacheSize", cacheSize);
+        utils.init();
+        return utils;
+    }
+
+    // What every request did before: validateJwtToken, then getUserNameFromJwtToken, each decoding the
+    // secret into a key and building a parser.
+    private static String verifyTwiceWithFreshParsers(String token) {
+        Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET))).build()
+                .parseClaimsJws(token);
+        return Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET))).build()
+                .parseClaimsJws(token).getBody().getSubject();
+    }
+
+    private static long time(String[] requests, Function<String, String> verify) {
+        long start = System.nanoTime();
+        for (String token : requests) {
+            assertNotNull(verify.apply(token));
+        }
+        return System.nanoTime() - start;
+    }
+
+    @Test
+    void testCachedVerify_ReturnsTheVerifiedClaimsForRepeatedTokens() {
+        JwtUtils issuer = newJwtUtils(0);
+        List<String> tokens = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            UserDetailsImpl user = new UserDetailsImpl((long) i, "user" + i, "secret",
+                    List.of(new SimpleGrantedAuthority("ROLE_AGENT")), 0L);
+            tokens.add(issuer.generateJwtToken(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities())));
+        }
+        Random random = new Random(42);
+        String[] requests = new String[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            requests[i] = tokens.get(random.nextInt(USERS));
+        }
+        JwtUtils uncached = newJwtUtils(0);
+        JwtUtils cached = newJwtUtils(10_000);
+
+        long beforeNanos = 0;
+        long uncachedNanos = 0;
+        long cachedNanos = 0;
+        // Once to warm up, then measured.
+        for (int run = 0; run < 2; run++) {
+            beforeNanos = time(requests, JwtVerifyBenchmarkTest::verifyTwiceWithFreshParsers);
+            uncachedNanos = time(requests, token -> uncached.parseAndVerify(token).getSubject());
+            cachedNanos = time(requests, token -> cached.parseAndVerify(token).getSubject());
+        }
+        log.info("{} requests from {} users: before {} ns per request, parseAndVerify {} ns, with the verified-token cache {} ns",
+                REQUESTS, USERS, beforeNanos / REQUESTS, uncachedNanos / REQUESTS, cachedNanos / REQUESTS);
+
+        Claims claims = cached.parseAndVerify(requests[0]);
+        assertSame(claims, cached.parseAndVerify(requests[0]));
+        assertEquals(verifyTwiceWithFreshParsers(requests[0]), claims.getSubject());
+        assertEquals(claims.getSubject(), uncached.parseAndVerify(requests[0]).getSubject());
+    }
+}
@@ -0,0 +1,66 @@
+package com.capstone.tele_ticketing_backend_1.security.service;
+
+import com.capstone.tele_ticketing_backend_1.entities.AppUser;
+import com.capstone.tele_ticketing_backend_1.repo.UserRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenEpochServiceTest {
+
+    @Mock
+    private UserRepo userRepo;
+
+    @InjectMocks
+    private TokenEpochService tokenEpochService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenEpochService, "cacheTtlMs", 60_000L);
+    }
+
+    @Test
+    void testIsCurrent_CachesEpochLookup() {
+        when(userRepo.findTokenEpochById(1L)).thenReturn(Optional.of(2L));
+
+        assertTrue(tokenEpochService.isCurrent(1L, 2L));
+        assertFalse(tokenEpochService.isCurrent(1L, 1L));
+
+        verify(userRepo, times(1)).findTokenEpochById(1L);
+    }
+
+    @Test
+    void testIsCurrent_UnknownUserIsRejected() {
+        when(userRepo.findTokenEpochById(99L)).thenReturn(Optional.empty());
+
+        assertFalse(tokenEpochService.isCurrent(99L, 0L));
+        assertFalse(tokenEpochService.isCurrent(null, 0L));
+    }
+
+    @Test
+    void testRevokeTokens_BumpsEpochAndInvalidatesCache() {
+        AppUser user = new AppUser();
+        user.setId(1L);
+        user.setTokenEpoch(0L);
+        when(userRepo.findTokenEpochById(1L)).thenReturn(Optional.of(0L), Optional.of(1L));
+
+        assertTrue(tokenEpochService.isCurrent(1L, 0L));
+
+        tokenEpochService.revokeTokens(user);
+
+        assertEquals(1L, user.getTokenEpoch());
+        assertFalse(tokenEpochService.isCurrent(1L, 0L));
+        assertTrue(tokenEpochService.isCurrent(1L, 1L));
+        verify(userRepo, times(2)).findTokenEpochById(1L);
+    }
+}
@@ -33,6 +33,12 @@ class ActivityLogServiceTest {
     @Mock
     private TicketRepo ticketRepo;
 
+    @Mock
+    private NotificationInboxService notificationInboxService;
+
+    @Mock
+    private ActivityWriteBehindService activityWriteBehindService;
+
     @InjectMocks
     private ActivityLogService activityLogService;
 
@@ -73,6 +79,7 @@ class ActivityLogServiceTest {
         String description = "Ticket created";
         ActivityType type = ActivityType.CREATION;
         boolean isInternal = false;
+        when(activityRepo.save(any(TicketActivity.class))).thenAnswer(i -> i.getArguments()[0]);
 
         // Act
         activityLogService.createLog(mockTicket, mockUser, type, description, isInternal);
@@ -87,6 +94,39 @@ class ActivityLogServiceTest {
         assertEquals(type, capturedLog.getActivityType());
         assertEquals(description, capturedLog.getDescription());
         assertEquals(isInternal, capturedLog.isInternalOnly());
+
+        // The saved activity is fanned out to the notification inboxes.
+        verify(notificationInboxService).deliver(List.of(capturedLog));
+    }
+
+    @Test
+    void testCreateLog_InternalWithWriteBehind_IsQueuedNotSaved() {
+        // Arrange
+        when(activityWriteBehindService.isEnabled()).thenReturn(true);
+
+        // Act
+        activityLogService.createLog(mockTicket, mockUser, ActivityType.ASSIGNMENT, "Assigned to Jane", true);
+
+        // Assert - handed to the pipeline, nothing written in the caller's transaction
+        ArgumentCaptor<TicketActivity> logCaptor = ArgumentCaptor.forClass(TicketActivity.class);
+        verify(activityWriteBehindService).submit(logCaptor.capture());
+        assertEquals(ActivityType.ASSIGNMENT, logCaptor.getValue().getActivityType());
+        assertTrue(logCaptor.getValue().isInternalOnly());
+        verifyNoInteractions(activityRepo, notificationInboxService);
+    }
+
+    @Test
+    void testCreateLog_InternalWithoutWriteBehind_IsSavedInline() {
+        // Arrange
+        when(activityWriteBehindService.isEnabled()).thenReturn(false);
+        when(activityRepo.save(any(TicketActivity.class))).thenAnswer(i -> i.getArguments()[0]);
+
+        // Act
+        activityLogService.createLog(mockTicket, mockUser, ActivityType.ASSIGNMENT, "Assigned to Jane", true);
+
+        // Assert
+        verify(activityRepo).save(any(TicketActivity.class));
+        verify(activityWriteBehindService, never()).submit(any());
     }
 
     // --- Test getLogsForTicket ---
@@ -0,0 +1,192 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.dto.ActivityWriteBehindStatsDto;
+import com.capstone.tele_ticketing_backend_1.entities.ActivityType;
+import com.capstone.tele_ticketing_backend_1.entities.Ticket;
+import com.capstone.tele_ticketing_backend_1.entities.TicketActivity;
+import com.capstone.tele_ticketing_backend_1.repo.TicketActivityRepo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ActivityWriteBehindServiceTest {
+
+    @Mock
+    private TicketActivityRepo activityRepo;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    // The flusher thread is not started, so nothing is written until flush() is called.
+    private ActivityWriteBehindService service(int capacity, int batchSize) {
+        return new ActivityWriteBehindService(activityRepo, transactionManager, true, capacity, batchSize, 60_000, 1_000);
+    }
+
+    private static TicketActivity activity(String description) {
+        Ticket ticket = new Ticket();
+        ticket.setId(100L);
+        TicketActivity activity = new TicketActivity();
+        activity.setTicket(ticket);
+        activity.setActivityType(ActivityType.ASSIGNMENT);
+        activity.setDescription(description);
+        activity.setInternalOnly(true);
+        return activity;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Integer> savedBatchSizes() {
+        ArgumentCaptor<List<TicketActivity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(activityRepo, atLeastOnce()).saveAll(captor.capture());
+        return captor.getAllValues().stream().map(List::size).toList();
+    }
+
+    @Test
+    void testFlush_WritesQueueInBatches() {
+        ActivityWriteBehindService writeBehind = service(16, 2);
+        for (int i = 0; i < 5; i++) {
+            writeBehind.submit(activity("Assigned " + i));
+        }
+        verifyNoInteractions(activityRepo);
+        assertEquals(5, writeBehind.getStats().getQueueDepth());
+
+        assertEquals(5, writeBehind.flush());
+
+        assertEquals(List.of(2, 2, 1), savedBatchSizes());
+        ActivityWriteBehindStatsDto stats = writeBehind.getStats();
+        assertEquals(0, stats.getQueueDepth());
+        assertEquals(5, stats.getEnqueued());
+        assertEquals(5, stats.getWritten());
+        assertEquals(3, stats.getFlushes());
+        assertTrue(stats.getMaxFlushMs() >= stats.getAvgFlushMs());
+    }
+
+    @Test
+    void testSubmit_StampsTheTimeItWasLogged() {
+        ActivityWriteBehindService writeBehind = service(16, 2);
+        TicketActivity activity = activity("Assigned");
+
+        writeBehind.submit(activity);
+
+        assertNotNull(activity.getCreatedAt());
+    }
+
+    @Test
+    void testSubmit_FullQueueIsWrittenByTheCaller() {
+        ActivityWriteBehindService writeBehind = service(2, 10);
+        writeBehind.submit(activity("first"));
+        writeBehind.submit(activity("second"));
+        TicketActivity overflow = activity("third");
+
+        writeBehind.submit(overflow);
+
+        verify(activityRepo).saveAll(List.of(overflow));
+        ActivityWriteBehindStatsDto stats = writeBehind.getStats();
+        assertEquals(1, stats.getOverflowWrites());
+        assertEquals(2, stats.getQueueDepth());
+    }
+
+    @Test
+    void testFlush_FailedBatchIsRetriedOneByOne() {
+        ActivityWriteBehindService writeBehind = service(16, 3);
+        TicketActivity bad = activity("ticket was deleted");
+        bad.setId(7L);
+        when(activityRepo.saveAll(anyList())).thenAnswer(invocation -> {
+            List<TicketActivity> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(a -> a == bad)) {
+                throw new DataIntegrityViolationException("FK violation");
+            }
+            return batch;
+        });
+        writeBehind.submit(activity("good one"));
+        writeBehind.submit(bad);
+        writeBehind.submit(activity("good two"));
+
+        assertEquals(2, writeBehind.flush());
+
+        // One batch of three, then each entry on its own.
+        assertEquals(List.of(3, 1, 1, 1), savedBatchSizes());
+        assertNull(bad.getId());
+        ActivityWriteBehindStatsDto stats = writeBehind.getStats();
+        assertEquals(2, stats.getWritten());
+        assertEquals(1, stats.getFailed());
+    }
+
+    @Test
+    void testSubmit_InsideTransactionIsQueuedOnlyAfterCommit() {
+        ActivityWriteBehindService writeBehind = service(16, 10);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            writeBehind.submit(activity("committed"));
+            writeBehind.submit(activity("also committed"));
+            assertEquals(0, writeBehind.getStats().getQueueDepth());
+
+            List<TransactionSynchronization> synchronizations = new ArrayList<>(TransactionSynchronizationManager.getSynchronizations());
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(2, writeBehind.getStats().getQueueDepth());
+    }
+
+    @Test
+    void testSubmit_RolledBackTransactionLeavesNoLog() {
+        ActivityWriteBehindService writeBehind = service(16, 10);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            writeBehind.submit(activity("rolled back"));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(0, writeBehind.flush());
+        verifyNoInteractions(activityRepo);
+    }
+
+    @Test
+    void testShutdown_DrainsTheQueue() {
+        ActivityWriteBehindService writeBehind = service(16, 10);
+        writeBehind.submit(activity("first"));
+        writeBehind.submit(activity("second"));
+
+        writeBehind.shutdown();
+
+        assertEquals(List.of(2), savedBatchSizes());
+        assertEquals(0, writeBehind.getStats().getQueueDepth());
+
+        // Anything logged after shutdown started is written straight away.
+        writeBehind.submit(activity("late"));
+        assertEquals(3, writeBehind.getStats().getWritten());
+    }
+
+    @Test
+    void testFlusherThread_WritesOnItsOwn() {
+        ActivityWriteBehindService writeBehind =
+                new ActivityWriteBehindService(activityRepo, transactionManager, true, 16, 10, 20, 1_000);
+        writeBehind.start();
+        try {
+            writeBehind.submit(activity("background"));
+
+            verify(activityRepo, timeout(5_000)).saveAll(anyList());
+        } finally {
+            writeBehind.shutdown();
+        }
+        assertEquals(1, writeBehind.getStats().getWritten());
+    }
+}
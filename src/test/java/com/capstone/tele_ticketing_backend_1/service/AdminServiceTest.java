@@ -1,6 +1,7 @@
 package com.capstone.tele_ticketing_backend_1.service;
 
 import com.capstone.tele_ticketing_backend_1.dto.ApproveSignupRequestDto;
+import com.capstone.tele_ticketing_backend_1.dto.CursorPageDto;
 import com.capstone.tele_ticketing_backend_1.dto.RoleChangeRequestDto;
 import com.capstone.tele_ticketing_backend_1.dto.UserDetailsDto;
 import com.capstone.tele_ticketing_backend_1.entities.*;
@@ -8,9 +9,9 @@ import com.capstone.tele_ticketing_backend_1.exceptions.BadRequestException;
 import com.capstone.tele_ticketing_backend_1.exceptions.ResourceNotFoundException;
 import com.capstone.tele_ticketing_backend_1.exceptions.RoleNotFoundException;
 import com.capstone.tele_ticketing_backend_1.exceptions.UserNotFoundException;
-import com.capstone.tele_ticketing_backend_1.repo.RoleRepo;
 import com.capstone.tele_ticketing_backend_1.repo.UserRepo;
 import com.capstone.tele_ticketing_backend_1.repo.UserSignupRequestRepo;
+import com.capstone.tele_ticketing_backend_1.security.service.TokenEpochService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -36,7 +37,10 @@ class AdminServiceTest {
     private UserRepo userRepo;
 
     @Mock
-    private RoleRepo roleRepo;
+    private RoleRegistry roleRegistry;
+
+    @Mock
+    private TokenEpochService tokenEpochService;
 
     @InjectMocks
     private AdminService adminService;
@@ -86,15 +90,15 @@ class AdminServiceTest {
     @Test
     void testGetPendingSignupRequests() {
         // Arrange
-        when(signupRequestRepo.findAll()).thenReturn(List.of(mockSignupRequest));
+        when(signupRequestRepo.findPage(any(), any(), any())).thenReturn(List.of(mockSignupRequest));
 
         // Act
-        List<UserSignupRequest> result = adminService.getPendingSignupRequests();
+        CursorPageDto<UserSignupRequest> result = adminService.getPendingSignupRequests(null, null);
 
         // Assert
-        assertEquals(1, result.size());
-        assertEquals("newUser", result.get(0).getUsername());
-        verify(signupRequestRepo, times(1)).findAll();
+        assertEquals(1, result.getItems().size());
+        assertEquals("newUser", result.getItems().get(0).getUsername());
+        verify(signupRequestRepo, times(1)).findPage(any(), any(), any());
     }
 
     // --- approveSignupRequest ---
@@ -108,7 +112,7 @@ class AdminServiceTest {
         dto.setFinalRole("field_engineer");
 
         when(signupRequestRepo.findById(requestId)).thenReturn(Optional.of(mockSignupRequest));
-        when(roleRepo.findByName(ERole.ROLE_FIELD_ENGINEER)).thenReturn(Optional.of(fieldEngineerRole));
+        when(roleRegistry.findRole(ERole.ROLE_FIELD_ENGINEER)).thenReturn(Optional.of(fieldEngineerRole));
         when(userRepo.save(any(AppUser.class))).thenAnswer(invocation -> {
             AppUser saved = invocation.getArgument(0);
             saved.setId(50L); // Simulate DB ID generation
@@ -153,7 +157,7 @@ class AdminServiceTest {
 
         // Let's test a valid Enum string but not found in DB
         dto.setFinalRole("field_engineer");
-        when(roleRepo.findByName(ERole.ROLE_FIELD_ENGINEER)).thenReturn(Optional.empty());
+        when(roleRegistry.findRole(ERole.ROLE_FIELD_ENGINEER)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(RoleNotFoundException.class, () ->
@@ -161,6 +165,21 @@ class AdminServiceTest {
         );
     }
 
+    @Test
+    void testApproveSignupRequest_UnknownRoleKey() {
+        // Arrange
+        ApproveSignupRequestDto dto = new ApproveSignupRequestDto();
+        dto.setFinalRole("INVALID_ROLE");
+        when(signupRequestRepo.findById(100L)).thenReturn(Optional.of(mockSignupRequest));
+
+        // Act & Assert
+        RoleNotFoundException ex = assertThrows(RoleNotFoundException.class, () ->
+                adminService.approveSignupRequest(100L, dto)
+        );
+        assertEquals("Role INVALID_ROLE not found.", ex.getMessage());
+        verifyNoInteractions(roleRegistry);
+    }
+
     // --- rejectSignupRequest ---
 
     @Test
@@ -197,7 +216,7 @@ class AdminServiceTest {
         dto.setNewRole("manager");
 
         when(userRepo.findById(userId)).thenReturn(Optional.of(mockUser));
-        when(roleRepo.findByName(ERole.ROLE_MANAGER)).thenReturn(Optional.of(managerRole));
+        when(roleRegistry.findRole(ERole.ROLE_MANAGER)).thenReturn(Optional.of(managerRole));
         when(userRepo.save(any(AppUser.class))).thenReturn(mockUser);
 
         // Act
@@ -206,6 +225,7 @@ class AdminServiceTest {
         // Assert
         assertEquals(1, result.getRoles().size());
         assertTrue(result.getRoles().contains(managerRole));
+        verify(tokenEpochService).revokeTokens(mockUser);
         verify(userRepo).save(mockUser);
     }
 
@@ -236,6 +256,7 @@ class AdminServiceTest {
                 adminService.changeUserRole(20L, new RoleChangeRequestDto())
         );
         assertEquals("Cannot change the role of a customer account.", ex.getMessage());
+        verify(tokenEpochService, never()).revokeTokens(any());
     }
 
     // --- getAllInternalUsers ---
@@ -2,13 +2,13 @@ package com.capstone.tele_ticketing_backend_1.service;
 
 import com.capstone.tele_ticketing_backend_1.dto.DashboardActivityDto;
 import com.capstone.tele_ticketing_backend_1.dto.DashboardStatsDto;
+import com.capstone.tele_ticketing_backend_1.entities.ActivityType;
 import com.capstone.tele_ticketing_backend_1.entities.AppUser;
-import com.capstone.tele_ticketing_backend_1.entities.Ticket;
-import com.capstone.tele_ticketing_backend_1.entities.TicketActivity;
+import com.capstone.tele_ticketing_backend_1.entities.TicketRelation;
 import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
 import com.capstone.tele_ticketing_backend_1.exceptions.UserNotFoundException;
+import com.capstone.tele_ticketing_backend_1.projections.TicketActivityFeedProjection;
 import com.capstone.tele_ticketing_backend_1.repo.TicketActivityRepo;
-import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
 import com.capstone.tele_ticketing_backend_1.repo.UserRepo;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,10 +16,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,7 +33,7 @@ import static org.mockito.Mockito.*;
 class AgentDashboardServiceTest {
 
     @Mock
-    private TicketRepo ticketRepo;
+    private TicketStatusCounterService ticketStatusCounterService;
 
     @Mock
     private TicketActivityRepo activityRepo;
@@ -57,13 +59,14 @@ class AgentDashboardServiceTest {
 
     @Test
     void testGetDashboardStats_Success() {
-        // Arrange
-        when(userRepo.findByUsername(agentUsername)).thenReturn(Optional.of(mockAgent));
-
-        // Mock counts
-        when(ticketRepo.countByCreatedByAndStatusIn(eq(mockAgent), anyList())).thenReturn(10L); // Active
-        when(ticketRepo.countByCreatedByAndStatus(mockAgent, TicketStatus.RESOLVED)).thenReturn(5L); // Resolved
-        when(ticketRepo.countByCreatedByAndStatus(mockAgent, TicketStatus.FIXED)).thenReturn(2L); // Feedback
+        // Arrange: per-status counters for the user
+        when(ticketStatusCounterService.getCounts(agentUsername, TicketRelation.CREATED_BY)).thenReturn(Map.of(
+                TicketStatus.CREATED, 4L,
+                TicketStatus.ASSIGNED, 3L,
+                TicketStatus.IN_PROGRESS, 1L,
+                TicketStatus.FIXED, 2L,
+                TicketStatus.RESOLVED, 5L,
+                TicketStatus.AI_TRIAGED, 7L));
 
         // Act
         DashboardStatsDto result = agentDashboardService.getDashboardStats(agentUsername);
@@ -74,24 +77,36 @@ class AgentDashboardServiceTest {
         assertEquals(5L, result.getResolvedTickets());
         assertEquals(2L, result.getFeedbackRequiredTickets());
 
-        // Verify calls
-        verify(userRepo).findByUsername(agentUsername);
-        verify(ticketRepo).countByCreatedByAndStatusIn(eq(mockAgent), anyList());
-        verify(ticketRepo, times(2)).countByCreatedByAndStatus(eq(mockAgent), any(TicketStatus.class));
+        // Counters were found, so the user is never looked up.
+        verifyNoInteractions(userRepo);
+    }
+
+    @Test
+    void testGetDashboardStats_UserWithoutTickets() {
+        // Arrange
+        when(ticketStatusCounterService.getCounts(agentUsername, TicketRelation.CREATED_BY)).thenReturn(Map.of());
+        when(userRepo.existsByUsername(agentUsername)).thenReturn(true);
+
+        // Act
+        DashboardStatsDto result = agentDashboardService.getDashboardStats(agentUsername);
+
+        // Assert
+        assertEquals(0L, result.getActiveTickets());
+        assertEquals(0L, result.getResolvedTickets());
+        assertEquals(0L, result.getFeedbackRequiredTickets());
     }
 
     @Test
     void testGetDashboardStats_UserNotFound() {
         // Arrange
-        when(userRepo.findByUsername(agentUsername)).thenReturn(Optional.empty());
+        when(ticketStatusCounterService.getCounts(agentUsername, TicketRelation.CREATED_BY)).thenReturn(Map.of());
+        when(userRepo.existsByUsername(agentUsername)).thenReturn(false);
 
         // Act & Assert
         UserNotFoundException exception = assertThrows(UserNotFoundException.class, () ->
                 agentDashboardService.getDashboardStats(agentUsername)
         );
-
         assertEquals("Agent not found: " + agentUsername, exception.getMessage());
-        verify(ticketRepo, never()).countByCreatedByAndStatusIn(any(), any());
     }
 
     // --- getRecentActivities Tests ---
@@ -101,20 +116,17 @@ class AgentDashboardServiceTest {
         // Arrange
         when(userRepo.findByUsername(agentUsername)).thenReturn(Optional.of(mockAgent));
 
-        // Create mock Ticket for the activity
-        Ticket mockTicket = new Ticket();
-        mockTicket.setTicketUid("TKT-123");
-        mockTicket.setTitle("Wifi Issue");
-
-        // Create mock Activity
-        TicketActivity activity = new TicketActivity();
-        activity.setId(100L);
-        activity.setDescription("Ticket Created");
-        activity.setCreatedAt(LocalDateTime.now());
-        activity.setTicket(mockTicket); // Important for mapping!
-        activity.setInternalOnly(false);
-
-        when(activityRepo.findFirst8ByTicket_CreatedByAndInternalOnlyFalseOrderByCreatedAtDesc(mockAgent))
+        // Feed row with the ticket's uid and title already joined in
+        TicketActivityFeedProjection activity = new SpelAwareProxyProjectionFactory().createProjection(
+                TicketActivityFeedProjection.class, Map.of(
+                        "id", 100L,
+                        "ticketUid", "TKT-123",
+                        "ticketTitle", "Wifi Issue",
+                        "description", "Ticket Created",
+                        "activityType", ActivityType.CREATION,
+                        "createdAt", LocalDateTime.now()));
+
+        when(activityRepo.findRecentPublicFeedByTicketCreatedBy(eq(mockAgent), any()))
                 .thenReturn(List.of(activity));
 
         // Act
@@ -142,7 +154,7 @@ class AgentDashboardServiceTest {
         );
 
         assertEquals("Agent not found: " + agentUsername, exception.getMessage());
-        verify(activityRepo, never()).findFirst8ByTicket_CreatedByAndInternalOnlyFalseOrderByCreatedAtDesc(any());
+        verify(activityRepo, never()).findRecentPublicFeedByTicketCreatedBy(any(), any());
     }
 
     @Test
@@ -150,7 +162,7 @@ class AgentDashboardServiceTest {
         // Arrange
         when(userRepo.findByUsername(agentUsername)).thenReturn(Optional.of(mockAgent));
         // Force a RuntimeException from the repo
-        when(activityRepo.findFirst8ByTicket_CreatedByAndInternalOnlyFalseOrderByCreatedAtDesc(mockAgent))
+        when(activityRepo.findRecentPublicFeedByTicketCreatedBy(eq(mockAgent), any()))
                 .thenThrow(new RuntimeException("Database down"));
 
         // Act & Assert
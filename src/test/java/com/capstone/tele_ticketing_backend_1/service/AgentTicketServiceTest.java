@@ -4,16 +4,20 @@ import com.capstone.tele_ticketing_backend_1.dto.*;
 import com.capstone.tele_ticketing_backend_1.entities.*;
 import com.capstone.tele_ticketing_backend_1.exceptions.*;
 import com.capstone.tele_ticketing_backend_1.repo.FeedbackRepo;
-import com.capstone.tele_ticketing_backend_1.repo.TicketActivityRepo;
 import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
 import com.capstone.tele_ticketing_backend_1.repo.UserRepo;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -31,8 +35,12 @@ class AgentTicketServiceTest {
     @Mock private UserRepo userRepo;
     @Mock private TicketService ticketService; // External service dependency
     @Mock private ActivityLogService activityLogService; // External service dependency
-    @Mock private TicketActivityRepo activityRepo;
+    @Mock private TicketStatusCounterService ticketStatusCounterService;
+    @Mock private NotificationInboxService notificationInboxService;
+    @Mock private TicketDuplicateService ticketDuplicateService;
     @Mock private FeedbackRepo feedbackRepo;
+    @Mock private TransactionTemplate transactionTemplate;
+    @Spy private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
 
     @InjectMocks
     private AgentTicketService agentTicketService;
@@ -124,22 +132,130 @@ class AgentTicketServiceTest {
         );
     }
 
+    // --- createTicketsForCustomers (bulk) Tests ---
+
+    private AgentCreateTicketRequestDto bulkEntry(String customerUsername, String title) {
+        AgentCreateTicketRequestDto dto = new AgentCreateTicketRequestDto();
+        dto.setCustomerUsername(customerUsername);
+        dto.setTitle(title);
+        dto.setDescription("Customer reports an outage in the area.");
+        dto.setCategory(TicketCategory.SERVICE_OUTAGE);
+        return dto;
+    }
+
+    private void runTransactionCallbacksInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void testCreateTicketsForCustomers_PartialFailure() {
+        List<AgentCreateTicketRequestDto> dtos = List.of(
+                bulkEntry(CUSTOMER_USERNAME, "Outage in sector 7"),
+                bulkEntry(CUSTOMER_USERNAME, "Bad"),                  // title too short
+                bulkEntry("ghost_customer", "Outage in sector 9"),    // unknown customer
+                bulkEntry(CUSTOMER_USERNAME, "Outage in sector 8")
+        );
+
+        when(userRepo.findByUsername(AGENT_USERNAME)).thenReturn(Optional.of(mockAgent));
+        when(userRepo.findAllByUsernameIn(anySet())).thenReturn(List.of(mockCustomer));
+        runTransactionCallbacksInline();
+        when(ticketRepo.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Ticket> tickets = invocation.getArgument(0);
+            long id = 500L;
+            for (Ticket ticket : tickets) {
+                ticket.setId(id++);
+                ticket.setTicketUid("TK-" + ticket.getId());
+            }
+            return tickets;
+        });
+
+        BulkTicketCreateResponseDto response = agentTicketService.createTicketsForCustomers(dtos, AGENT_USERNAME);
+
+        assertEquals(4, response.getRequested());
+        assertEquals(2, response.getCreated());
+        assertEquals(2, response.getFailed());
+        assertTrue(response.getResults().get(0).isCreated());
+        assertEquals("Title must be between 5 and 100 characters", response.getResults().get(1).getError());
+        assertEquals("Customer not found: ghost_customer", response.getResults().get(2).getError());
+        assertEquals("TK-501", response.getResults().get(3).getTicketUid());
+
+        // Customers resolved in one query, both valid tickets saved in one batch with one batched log write.
+        verify(userRepo, times(1)).findAllByUsernameIn(anySet());
+        verify(userRepo, never()).findByUsername(CUSTOMER_USERNAME);
+        verify(ticketRepo, times(1)).saveAll(argThat(tickets -> ((List<?>) tickets).size() == 2));
+        verify(activityLogService, times(1)).createLogs(anyList());
+        verify(activityLogService, never()).createLog(any(), any(), any(), anyString(), anyBoolean());
+    }
+
+    @Test
+    void testCreateTicketsForCustomers_ReportsEveryConstraintViolationOfAnEntry() {
+        AgentCreateTicketRequestDto invalid = bulkEntry(" ", "Outage in sector 3");
+        invalid.setCategory(null);
+
+        when(userRepo.findByUsername(AGENT_USERNAME)).thenReturn(Optional.of(mockAgent));
+
+        BulkTicketCreateResponseDto response = agentTicketService.createTicketsForCustomers(List.of(invalid), AGENT_USERNAME);
+
+        assertEquals(0, response.getCreated());
+        assertEquals("Category cannot be null; Customer username cannot be blank", response.getResults().get(0).getError());
+        verify(ticketRepo, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testCreateTicketsForCustomers_FailedChunkIsRetriedPerEntry() {
+        List<AgentCreateTicketRequestDto> dtos = List.of(
+                bulkEntry(CUSTOMER_USERNAME, "Outage in sector 1"),
+                bulkEntry(CUSTOMER_USERNAME, "Outage in sector 2")
+        );
+
+        when(userRepo.findByUsername(AGENT_USERNAME)).thenReturn(Optional.of(mockAgent));
+        when(userRepo.findAllByUsernameIn(anySet())).thenReturn(List.of(mockCustomer));
+        runTransactionCallbacksInline();
+        when(ticketRepo.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Ticket> tickets = invocation.getArgument(0);
+            if (tickets.stream().anyMatch(t -> t.getTitle().endsWith("2"))) {
+                throw new IllegalStateException("constraint violation");
+            }
+            tickets.forEach(t -> t.setId(1L));
+            return tickets;
+        });
+
+        BulkTicketCreateResponseDto response = agentTicketService.createTicketsForCustomers(dtos, AGENT_USERNAME);
+
+        assertEquals(1, response.getCreated());
+        assertTrue(response.getResults().get(0).isCreated());
+        assertFalse(response.getResults().get(1).isCreated());
+        assertEquals("Ticket could not be saved.", response.getResults().get(1).getError());
+        // One chunk attempt plus one retry per entry.
+        verify(transactionTemplate, times(3)).execute(any());
+    }
+
+    @Test
+    void testCreateTicketsForCustomers_EmptyRequest() {
+        assertThrows(BadRequestException.class, () ->
+                agentTicketService.createTicketsForCustomers(List.of(), AGENT_USERNAME)
+        );
+        verifyNoInteractions(userRepo, ticketRepo);
+    }
+
     // --- getAgentCreatedTickets Tests ---
 
     @Test
     void testGetAgentCreatedTickets_Success() {
         // Arrange
         when(userRepo.findByUsername(AGENT_USERNAME)).thenReturn(Optional.of(mockAgent));
-        when(ticketRepo.findAllByCreatedByAndStatusIn(eq(mockAgent), anyList()))
-                .thenReturn(List.of(mockTicket));
+        when(ticketRepo.findSummaryPageByCreatedByAndStatusIn(eq(mockAgent), anyList(), any(), any(), any()))
+                .thenReturn(List.of(new TicketSummaryDto(mockTicket.getId(), mockTicket.getTicketUid(), mockTicket.getTitle(), mockTicket.getStatus(), mockTicket.getCreatedAt())));
 
         // Act
-        List<TicketSummaryDto> result = agentTicketService.getAgentCreatedTickets(AGENT_USERNAME);
+        CursorPageDto<TicketSummaryDto> result = agentTicketService.getAgentCreatedTickets(AGENT_USERNAME, null, null);
 
         // Assert
-        assertEquals(1, result.size());
-        assertEquals("TKT-100", result.get(0).getTicketUid());
-        verify(ticketRepo).findAllByCreatedByAndStatusIn(eq(mockAgent), anyList());
+        assertEquals(1, result.getItems().size());
+        assertEquals("TKT-100", result.getItems().get(0).getTicketUid());
+        assertNull(result.getNextCursor());
+        verify(ticketRepo).findSummaryPageByCreatedByAndStatusIn(eq(mockAgent), anyList(), any(), any(), any());
     }
 
     // --- getAgentActiveTickets Tests ---
@@ -148,15 +264,15 @@ class AgentTicketServiceTest {
     void testGetAgentActiveTickets_Success() {
         // Arrange
         when(userRepo.findByUsername(AGENT_USERNAME)).thenReturn(Optional.of(mockAgent));
-        when(ticketRepo.findAllByCreatedByAndStatusIn(eq(mockAgent), anyList()))
-                .thenReturn(List.of(mockTicket));
+        when(ticketRepo.findSummariesByCreatedByAndStatusIn(eq(mockAgent), anyList()))
+                .thenReturn(List.of(new TicketSummaryDto(mockTicket.getId(), mockTicket.getTicketUid(), mockTicket.getTitle(), mockTicket.getStatus(), mockTicket.getCreatedAt())));
 
         // Act
         List<TicketSummaryDto> result = agentTicketService.getAgentActiveTickets(AGENT_USERNAME);
 
         // Assert
         assertEquals(1, result.size());
-        verify(ticketRepo).findAllByCreatedByAndStatusIn(eq(mockAgent), anyList());
+        verify(ticketRepo).findSummariesByCreatedByAndStatusIn(eq(mockAgent), anyList());
     }
 
     // --- getNotifications Tests ---
@@ -164,24 +280,19 @@ class AgentTicketServiceTest {
     @Test
     void testGetNotifications_Success() {
         // Arrange
-        TicketActivity activity = new TicketActivity();
-        activity.setId(50L);
-        activity.setTicket(mockTicket);
-        activity.setDescription("Log desc");
-        activity.setActivityType(ActivityType.COMMENT);
-        activity.setCreatedAt(LocalDateTime.now());
+        NotificationDto notification = new NotificationDto(50L, "TKT-100", "Ticket title", "Log desc", "COMMENT", LocalDateTime.now());
 
         when(userRepo.findByUsername(AGENT_USERNAME)).thenReturn(Optional.of(mockAgent));
-        when(activityRepo.findAllByTicket_CreatedByAndInternalOnlyFalseOrderByCreatedAtDesc(mockAgent))
-                .thenReturn(List.of(activity));
+        when(notificationInboxService.getInbox(mockAgent.getId(), null, null))
+                .thenReturn(new CursorPageDto<>(List.of(notification), null));
 
         // Act
-        List<NotificationDto> result = agentTicketService.getNotifications(AGENT_USERNAME);
+        CursorPageDto<NotificationDto> result = agentTicketService.getNotifications(AGENT_USERNAME, null, null);
 
         // Assert
-        assertEquals(1, result.size());
-        assertEquals("TKT-100", result.get(0).getTicketUid());
-        assertEquals("COMMENT", result.get(0).getActivityType());
+        assertEquals(1, result.getItems().size());
+        assertEquals("TKT-100", result.getItems().get(0).getTicketUid());
+        assertEquals("COMMENT", result.getItems().get(0).getActivityType());
     }
 
     // --- addFeedbackForCustomer Tests (Complex Logic) ---
@@ -197,7 +308,7 @@ class AgentTicketServiceTest {
         mockTicket.setStatus(TicketStatus.FIXED); // Must be FIXED
 
         when(userRepo.findByUsername(AGENT_USERNAME)).thenReturn(Optional.of(mockAgent));
-        when(ticketRepo.findById(ticketId)).thenReturn(Optional.of(mockTicket));
+        when(ticketRepo.findDetailById(ticketId)).thenReturn(Optional.of(mockTicket));
         when(ticketRepo.save(any(Ticket.class))).thenAnswer(i -> i.getArguments()[0]);
         when(ticketService.mapTicketToDetailDto(any(Ticket.class))).thenReturn(new TicketDetailDto());
 
@@ -225,7 +336,7 @@ class AgentTicketServiceTest {
         mockTicket.setStatus(TicketStatus.FIXED); // Must be FIXED
 
         when(userRepo.findByUsername(AGENT_USERNAME)).thenReturn(Optional.of(mockAgent));
-        when(ticketRepo.findById(ticketId)).thenReturn(Optional.of(mockTicket));
+        when(ticketRepo.findDetailById(ticketId)).thenReturn(Optional.of(mockTicket));
         when(ticketRepo.save(any(Ticket.class))).thenAnswer(i -> i.getArguments()[0]);
         when(ticketService.mapTicketToDetailDto(any(Ticket.class))).thenReturn(new TicketDetailDto());
 
@@ -250,7 +361,7 @@ class AgentTicketServiceTest {
         mockTicket.setCreatedBy(otherAgent);
 
         when(userRepo.findByUsername(AGENT_USERNAME)).thenReturn(Optional.of(mockAgent));
-        when(ticketRepo.findById(ticketId)).thenReturn(Optional.of(mockTicket));
+        when(ticketRepo.findDetailById(ticketId)).thenReturn(Optional.of(mockTicket));
 
         // Act & Assert
         AuthorizationException ex = assertThrows(AuthorizationException.class, () ->
@@ -266,7 +377,7 @@ class AgentTicketServiceTest {
         mockTicket.setStatus(TicketStatus.IN_PROGRESS); // Wrong status
 
         when(userRepo.findByUsername(AGENT_USERNAME)).thenReturn(Optional.of(mockAgent));
-        when(ticketRepo.findById(ticketId)).thenReturn(Optional.of(mockTicket));
+        when(ticketRepo.findDetailById(ticketId)).thenReturn(Optional.of(mockTicket));
 
         // Act & Assert
         InvalidTicketStatusException ex = assertThrows(InvalidTicketStatusException.class, () ->
@@ -278,7 +389,7 @@ class AgentTicketServiceTest {
     @Test
     void testAddFeedback_TicketNotFound() {
         when(userRepo.findByUsername(AGENT_USERNAME)).thenReturn(Optional.of(mockAgent));
-        when(ticketRepo.findById(999L)).thenReturn(Optional.empty());
+        when(ticketRepo.findDetailById(999L)).thenReturn(Optional.empty());
 
         assertThrows(TicketNotFoundException.class, () ->
                 agentTicketService.addFeedbackForCustomer(999L, new FeedbackRequestDto(), AGENT_USERNAME)
@@ -292,14 +403,14 @@ class AgentTicketServiceTest {
         // Arrange
         when(userRepo.findByUsername(AGENT_USERNAME)).thenReturn(Optional.of(mockAgent));
         // Should query for FIXED status
-        when(ticketRepo.findAllByCreatedByAndStatus(mockAgent, TicketStatus.FIXED))
-                .thenReturn(List.of(mockTicket));
+        when(ticketRepo.findSummariesByCreatedByAndStatus(mockAgent, TicketStatus.FIXED))
+                .thenReturn(List.of(new TicketSummaryDto(mockTicket.getId(), mockTicket.getTicketUid(), mockTicket.getTitle(), mockTicket.getStatus(), mockTicket.getCreatedAt())));
 
         // Act
         List<TicketSummaryDto> result = agentTicketService.getAgentFeedbackPendingTickets(AGENT_USERNAME);
 
         // Assert
         assertEquals(1, result.size());
-        verify(ticketRepo).findAllByCreatedByAndStatus(mockAgent, TicketStatus.FIXED);
+        verify(ticketRepo).findSummariesByCreatedByAndStatus(mockAgent, TicketStatus.FIXED);
     }
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedRingBufferTest {
+
+    @Test
+    void testCapacity_IsRoundedUpToAPowerOfTwo() {
+        assertEquals(8, new BoundedRingBuffer<>(5).capacity());
+        assertEquals(8, new BoundedRingBuffer<>(8).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new BoundedRingBuffer<>(1));
+    }
+
+    @Test
+    void testOfferAndPoll_AreFifoAndBounded() {
+        BoundedRingBuffer<Integer> ring = new BoundedRingBuffer<>(4);
+        for (int lap = 0; lap < 3; lap++) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(ring.offer(lap * 10 + i));
+            }
+            assertFalse(ring.offer(99));
+            assertEquals(4, ring.size());
+            for (int i = 0; i < 4; i++) {
+                assertEquals(lap * 10 + i, ring.poll());
+            }
+            assertNull(ring.poll());
+            assertTrue(ring.isEmpty());
+        }
+    }
+
+    @Test
+    void testConcurrentProducers_EveryItemIsDeliveredOnce() throws Exception {
+        int producers = 8;
+        int perProducer = 50_000;
+        BoundedRingBuffer<Integer> ring = new BoundedRingBuffer<>(1024);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        BitSet seen = new BitSet(producers * perProducer);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int base = p * perProducer;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!ring.offer(base + i)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+
+            int received = 0;
+            while (received < producers * perProducer) {
+                Integer item = ring.poll();
+                if (item == null) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                assertFalse(seen.get(item), "item " + item + " delivered twice");
+                seen.set(item);
+                received++;
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(producers * perProducer, seen.cardinality());
+        assertNull(ring.poll());
+    }
+}
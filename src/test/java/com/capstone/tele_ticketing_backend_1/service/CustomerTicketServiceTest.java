@@ -3,7 +3,6 @@ package com.capstone.tele_ticketing_backend_1.service;
 import com.capstone.tele_ticketing_backend_1.dto.*;
 import com.capstone.tele_ticketing_backend_1.entities.*;
 import com.capstone.tele_ticketing_backend_1.exceptions.*;
-import com.capstone.tele_ticketing_backend_1.repo.TicketActivityRepo;
 import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
 import com.capstone.tele_ticketing_backend_1.repo.UserRepo;
 import org.junit.jupiter.api.BeforeEach;
@@ -30,7 +29,9 @@ class CustomerTicketServiceTest {
     @Mock private UserRepo userRepo;
     @Mock private TicketService ticketService;       // Mocking the helper service
     @Mock private ActivityLogService activityLogService; // Mocking the logging service
-    @Mock private TicketActivityRepo activityRepo;
+    @Mock private TicketStatusCounterService ticketStatusCounterService;
+    @Mock private NotificationInboxService notificationInboxService;
+    @Mock private TicketDuplicateService ticketDuplicateService;
 
     @InjectMocks
     private CustomerTicketService customerTicketService;
@@ -111,7 +112,7 @@ class CustomerTicketServiceTest {
         mockTicket.setStatus(TicketStatus.FIXED); // Must be FIXED to accept feedback
 
         when(userRepo.findByUsername(USERNAME)).thenReturn(Optional.of(mockUser));
-        when(ticketRepo.findById(ticketId)).thenReturn(Optional.of(mockTicket));
+        when(ticketRepo.findDetailById(ticketId)).thenReturn(Optional.of(mockTicket));
         when(ticketRepo.save(any(Ticket.class))).thenAnswer(i -> i.getArguments()[0]);
         when(ticketService.mapTicketToDetailDto(any(Ticket.class))).thenReturn(new TicketDetailDto());
 
@@ -139,7 +140,7 @@ class CustomerTicketServiceTest {
         mockTicket.setStatus(TicketStatus.FIXED);
 
         when(userRepo.findByUsername(USERNAME)).thenReturn(Optional.of(mockUser));
-        when(ticketRepo.findById(ticketId)).thenReturn(Optional.of(mockTicket));
+        when(ticketRepo.findDetailById(ticketId)).thenReturn(Optional.of(mockTicket));
         when(ticketRepo.save(any(Ticket.class))).thenAnswer(i -> i.getArguments()[0]);
         when(ticketService.mapTicketToDetailDto(any(Ticket.class))).thenReturn(new TicketDetailDto());
 
@@ -162,7 +163,7 @@ class CustomerTicketServiceTest {
         mockTicket.setCreatedFor(otherUser); // Ticket belongs to someone else
 
         when(userRepo.findByUsername(USERNAME)).thenReturn(Optional.of(mockUser));
-        when(ticketRepo.findById(ticketId)).thenReturn(Optional.of(mockTicket));
+        when(ticketRepo.findDetailById(ticketId)).thenReturn(Optional.of(mockTicket));
 
         // Act & Assert
         AuthorizationException ex = assertThrows(AuthorizationException.class, () ->
@@ -178,7 +179,7 @@ class CustomerTicketServiceTest {
         mockTicket.setStatus(TicketStatus.IN_PROGRESS); // Not FIXED
 
         when(userRepo.findByUsername(USERNAME)).thenReturn(Optional.of(mockUser));
-        when(ticketRepo.findById(ticketId)).thenReturn(Optional.of(mockTicket));
+        when(ticketRepo.findDetailById(ticketId)).thenReturn(Optional.of(mockTicket));
 
         // Act & Assert
         InvalidTicketStatusException ex = assertThrows(InvalidTicketStatusException.class, () ->
@@ -193,8 +194,8 @@ class CustomerTicketServiceTest {
     void testGetCustomerActiveTickets() {
         // Arrange
         when(userRepo.findByUsername(USERNAME)).thenReturn(Optional.of(mockUser));
-        when(ticketRepo.findAllByCreatedForAndStatusIn(eq(mockUser), anyList()))
-                .thenReturn(List.of(mockTicket));
+        when(ticketRepo.findSummariesByCreatedForAndStatusIn(eq(mockUser), anyList()))
+                .thenReturn(List.of(new TicketSummaryDto(mockTicket.getId(), mockTicket.getTicketUid(), mockTicket.getTitle(), mockTicket.getStatus(), mockTicket.getCreatedAt())));
 
         // Act
         List<TicketSummaryDto> result = customerTicketService.getCustomerActiveTickets(USERNAME);
@@ -202,7 +203,7 @@ class CustomerTicketServiceTest {
         // Assert
         assertEquals(1, result.size());
         assertEquals("TKT-100", result.get(0).getTicketUid());
-        verify(ticketRepo).findAllByCreatedForAndStatusIn(eq(mockUser), anyList());
+        verify(ticketRepo).findSummariesByCreatedForAndStatusIn(eq(mockUser), anyList());
     }
 
     // --- getCustomerFeedbackTickets Tests ---
@@ -211,15 +212,15 @@ class CustomerTicketServiceTest {
     void testGetCustomerFeedbackTickets() {
         // Arrange
         when(userRepo.findByUsername(USERNAME)).thenReturn(Optional.of(mockUser));
-        when(ticketRepo.findAllByCreatedForAndStatus(mockUser, TicketStatus.FIXED))
-                .thenReturn(List.of(mockTicket));
+        when(ticketRepo.findSummariesByCreatedForAndStatus(mockUser, TicketStatus.FIXED))
+                .thenReturn(List.of(new TicketSummaryDto(mockTicket.getId(), mockTicket.getTicketUid(), mockTicket.getTitle(), mockTicket.getStatus(), mockTicket.getCreatedAt())));
 
         // Act
         List<TicketSummaryDto> result = customerTicketService.getCustomerFeedbackTickets(USERNAME);
 
         // Assert
         assertEquals(1, result.size());
-        verify(ticketRepo).findAllByCreatedForAndStatus(mockUser, TicketStatus.FIXED);
+        verify(ticketRepo).findSummariesByCreatedForAndStatus(mockUser, TicketStatus.FIXED);
     }
 
     // --- getNotifications Tests ---
@@ -227,23 +228,18 @@ class CustomerTicketServiceTest {
     @Test
     void testGetNotifications() {
         // Arrange
-        TicketActivity activity = new TicketActivity();
-        activity.setId(50L);
-        activity.setTicket(mockTicket);
-        activity.setDescription("Updates");
-        activity.setActivityType(ActivityType.STATUS_CHANGE);
-        activity.setCreatedAt(LocalDateTime.now());
+        NotificationDto notification = new NotificationDto(50L, "TKT-100", "Ticket title", "Updates", "STATUS_CHANGE", LocalDateTime.now());
 
         when(userRepo.findByUsername(USERNAME)).thenReturn(Optional.of(mockUser));
-        when(activityRepo.findAllByTicket_CreatedForAndInternalOnlyFalseOrderByCreatedAtDesc(mockUser))
-                .thenReturn(List.of(activity));
+        when(notificationInboxService.getInbox(mockUser.getId(), null, null))
+                .thenReturn(new CursorPageDto<>(List.of(notification), null));
 
         // Act
-        List<NotificationDto> result = customerTicketService.getNotifications(USERNAME);
+        CursorPageDto<NotificationDto> result = customerTicketService.getNotifications(USERNAME, null, null);
 
         // Assert
-        assertEquals(1, result.size());
-        assertEquals("TKT-100", result.get(0).getTicketUid());
-        assertEquals("STATUS_CHANGE", result.get(0).getActivityType());
+        assertEquals(1, result.getItems().size());
+        assertEquals("TKT-100", result.getItems().get(0).getTicketUid());
+        assertEquals("STATUS_CHANGE", result.getItems().get(0).getActivityType());
     }
 }
\ No newline at end of file
@@ -2,13 +2,13 @@ package com.capstone.tele_ticketing_backend_1.service;
 
 import com.capstone.tele_ticketing_backend_1.dto.DashboardActivityDto;
 import com.capstone.tele_ticketing_backend_1.dto.DashboardStatsDto;
+import com.capstone.tele_ticketing_backend_1.entities.ActivityType;
 import com.capstone.tele_ticketing_backend_1.entities.AppUser;
-import com.capstone.tele_ticketing_backend_1.entities.Ticket;
-import com.capstone.tele_ticketing_backend_1.entities.TicketActivity;
+import com.capstone.tele_ticketing_backend_1.entities.TicketRelation;
 import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
 import com.capstone.tele_ticketing_backend_1.exceptions.UserNotFoundException;
+import com.capstone.tele_ticketing_backend_1.projections.TicketActivityFeedProjection;
 import com.capstone.tele_ticketing_backend_1.repo.TicketActivityRepo;
-import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
 import com.capstone.tele_ticketing_backend_1.repo.UserRepo;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,10 +16,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,7 +33,7 @@ import static org.mockito.Mockito.*;
 class DashboardServiceTest {
 
     @Mock
-    private TicketRepo ticketRepo;
+    private TicketStatusCounterService ticketStatusCounterService;
 
     @Mock
     private TicketActivityRepo activityRepo;
@@ -57,13 +59,14 @@ class DashboardServiceTest {
 
     @Test
     void testGetDashboardStats_Success() {
-        // Arrange
-        when(userRepo.findByUsername(USERNAME)).thenReturn(Optional.of(mockUser));
-
-        // Mock counts
-        when(ticketRepo.countByCreatedForAndStatusIn(eq(mockUser), anyList())).thenReturn(10L); // Active
-        when(ticketRepo.countByCreatedForAndStatus(mockUser, TicketStatus.RESOLVED)).thenReturn(5L); // Resolved
-        when(ticketRepo.countByCreatedForAndStatus(mockUser, TicketStatus.FIXED)).thenReturn(2L); // Feedback
+        // Arrange: per-status counters for the user
+        when(ticketStatusCounterService.getCounts(USERNAME, TicketRelation.CREATED_FOR)).thenReturn(Map.of(
+                TicketStatus.CREATED, 4L,
+                TicketStatus.ASSIGNED, 3L,
+                TicketStatus.IN_PROGRESS, 1L,
+                TicketStatus.FIXED, 2L,
+                TicketStatus.RESOLVED, 5L,
+                TicketStatus.AI_TRIAGED, 7L));
 
         // Act
         DashboardStatsDto result = dashboardService.getDashboardStats(USERNAME);
@@ -74,25 +77,36 @@ class DashboardServiceTest {
         assertEquals(5L, result.getResolvedTickets());
         assertEquals(2L, result.getFeedbackRequiredTickets());
 
-        // Verify repo interactions
-        verify(userRepo).findByUsername(USERNAME);
-        verify(ticketRepo).countByCreatedForAndStatusIn(eq(mockUser), anyList());
-        verify(ticketRepo, times(2)).countByCreatedForAndStatus(eq(mockUser), any(TicketStatus.class));
+        // Counters were found, so the user is never looked up.
+        verifyNoInteractions(userRepo);
+    }
+
+    @Test
+    void testGetDashboardStats_UserWithoutTickets() {
+        // Arrange
+        when(ticketStatusCounterService.getCounts(USERNAME, TicketRelation.CREATED_FOR)).thenReturn(Map.of());
+        when(userRepo.existsByUsername(USERNAME)).thenReturn(true);
+
+        // Act
+        DashboardStatsDto result = dashboardService.getDashboardStats(USERNAME);
+
+        // Assert
+        assertEquals(0L, result.getActiveTickets());
+        assertEquals(0L, result.getResolvedTickets());
+        assertEquals(0L, result.getFeedbackRequiredTickets());
     }
 
     @Test
     void testGetDashboardStats_UserNotFound() {
         // Arrange
-        when(userRepo.findByUsername("unknown")).thenReturn(Optional.empty());
+        when(ticketStatusCounterService.getCounts("unknown", TicketRelation.CREATED_FOR)).thenReturn(Map.of());
+        when(userRepo.existsByUsername("unknown")).thenReturn(false);
 
         // Act & Assert
         UserNotFoundException exception = assertThrows(UserNotFoundException.class, () ->
                 dashboardService.getDashboardStats("unknown")
         );
         assertEquals("User not found: unknown", exception.getMessage());
-
-        // Verify no ticket interactions occurred
-        verify(ticketRepo, never()).countByCreatedForAndStatusIn(any(), any());
     }
 
     // --- getRecentActivities Tests ---
@@ -102,19 +116,17 @@ class DashboardServiceTest {
         // Arrange
         when(userRepo.findByUsername(USERNAME)).thenReturn(Optional.of(mockUser));
 
-        // Create mock Ticket (required for DTO mapping)
-        Ticket mockTicket = new Ticket();
-        mockTicket.setTicketUid("TKT-100");
-        mockTicket.setTitle("Printer issue");
-
-        // Create mock Activity
-        TicketActivity activity = new TicketActivity();
-        activity.setId(50L);
-        activity.setDescription("Ticket created");
-        activity.setCreatedAt(LocalDateTime.now());
-        activity.setTicket(mockTicket); // Link ticket to activity
-
-        when(activityRepo.findFirst8ByTicket_CreatedForAndInternalOnlyFalseOrderByCreatedAtDesc(mockUser))
+        // Feed row with the ticket's uid and title already joined in
+        TicketActivityFeedProjection activity = new SpelAwareProxyProjectionFactory().createProjection(
+                TicketActivityFeedProjection.class, Map.of(
+                        "id", 50L,
+                        "ticketUid", "TKT-100",
+                        "ticketTitle", "Printer issue",
+                        "description", "Ticket created",
+                        "activityType", ActivityType.CREATION,
+                        "createdAt", LocalDateTime.now()));
+
+        when(activityRepo.findRecentPublicFeedByTicketCreatedFor(eq(mockUser), any()))
                 .thenReturn(List.of(activity));
 
         // Act
@@ -135,7 +147,7 @@ class DashboardServiceTest {
     void testGetRecentActivities_EmptyList() {
         // Arrange
         when(userRepo.findByUsername(USERNAME)).thenReturn(Optional.of(mockUser));
-        when(activityRepo.findFirst8ByTicket_CreatedForAndInternalOnlyFalseOrderByCreatedAtDesc(mockUser))
+        when(activityRepo.findRecentPublicFeedByTicketCreatedFor(eq(mockUser), any()))
                 .thenReturn(Collections.emptyList());
 
         // Act
@@ -156,6 +168,6 @@ class DashboardServiceTest {
                 dashboardService.getRecentActivities("unknown")
         );
 
-        verify(activityRepo, never()).findFirst8ByTicket_CreatedForAndInternalOnlyFalseOrderByCreatedAtDesc(any());
+        verify(activityRepo, never()).findRecentPublicFeedByTicketCreatedFor(any(), any());
     }
 }
\ No newline at end of file
@@ -1,9 +1,14 @@
 package com.capstone.tele_ticketing_backend_1.service;
 
+import com.capstone.tele_ticketing_backend_1.dto.TicketFacetCountsDto;
 import com.capstone.tele_ticketing_backend_1.dto.TicketFilterDto;
+import com.capstone.tele_ticketing_backend_1.dto.TicketSearchPageDto;
+import com.capstone.tele_ticketing_backend_1.dto.TicketSearchRowDto;
 import com.capstone.tele_ticketing_backend_1.dto.TicketSummaryDto;
 import com.capstone.tele_ticketing_backend_1.entities.Ticket;
+import com.capstone.tele_ticketing_backend_1.entities.TicketSortKey;
 import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+import com.capstone.tele_ticketing_backend_1.exceptions.BadRequestException;
 import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,14 +16,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +35,9 @@ class ManagerServiceTest {
     @Mock
     private TicketRepo ticketRepo;
 
+    @Mock
+    private TicketFacetService ticketFacetService;
+
     @InjectMocks
     private ManagerService managerService;
 
@@ -99,4 +110,147 @@ class ManagerServiceTest {
         assertNotNull(result);
         assertTrue(result.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFindTicketsByCriteria_UsesFacetIndexWhenReady() {
+        // Arrange
+        TicketFilterDto filters = new TicketFilterDto();
+        filters.setStatuses(List.of(TicketStatus.CREATED));
+        TicketSummaryDto older = new TicketSummaryDto(1L, "TKT-101", "Network Latency", TicketStatus.CREATED, LocalDateTime.now());
+        TicketSummaryDto newer = new TicketSummaryDto(2L, "TKT-102", "Router Down", TicketStatus.CREATED, LocalDateTime.now());
+        when(ticketFacetService.findTicketIds(filters)).thenReturn(new long[]{2L, 1L});
+        when(ticketRepo.findSummariesByIdIn(List.of(2L, 1L))).thenReturn(List.of(older, newer));
+
+        // Act
+        List<TicketSummaryDto> result = managerService.findTicketsByCriteria(filters);
+
+        // Assert
+        assertEquals(List.of("TKT-102", "TKT-101"), result.stream().map(TicketSummaryDto::getTicketUid).toList());
+        verify(ticketRepo, never()).findAll(any(Specification.class));
+    }
+
+    @Test
+    void testFindTicketsByCriteria_NoIndexMatchesSkipsQuery() {
+        // Arrange
+        TicketFilterDto filters = new TicketFilterDto();
+        filters.setCity("NonExistentCity");
+        when(ticketFacetService.findTicketIds(filters)).thenReturn(new long[0]);
+
+        // Act
+        List<TicketSummaryDto> result = managerService.findTicketsByCriteria(filters);
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(ticketRepo);
+    }
+
+    private static TicketSearchRowDto searchRow(long id, LocalDateTime updatedAt) {
+        return new TicketSearchRowDto(id, "TKT-" + id, "Ticket " + id, TicketStatus.ASSIGNED, updatedAt.minusDays(1), updatedAt);
+    }
+
+    @Test
+    void testSearchTickets_FirstPageHasCursorAndFacets() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        TicketFilterDto filters = new TicketFilterDto();
+        filters.setAssigneeId(7L);
+        when(ticketRepo.findSearchPage(any(Specification.class), eq("updatedAt"), eq(false), eq(3)))
+                .thenReturn(List.of(searchRow(3L, now), searchRow(2L, now.minusHours(1)), searchRow(1L, now.minusHours(2))));
+        when(ticketRepo.count(any(Specification.class))).thenReturn(3L);
+        when(ticketRepo.<TicketStatus>countGroupedBy(any(Specification.class), eq("status"))).thenReturn(Map.of(TicketStatus.ASSIGNED, 3L));
+
+        // Act
+        TicketSearchPageDto page = managerService.searchTickets(filters, TicketSortKey.UPDATED_AT, Sort.Direction.DESC, null, 2);
+
+        // Assert
+        assertEquals(List.of("TKT-3", "TKT-2"), page.getItems().stream().map(TicketSummaryDto::getTicketUid).toList());
+        assertNotNull(page.getNextCursor());
+        assertEquals(3L, page.getFacets().getTotal());
+        assertEquals(Map.of(TicketStatus.ASSIGNED, 3L), page.getFacets().getStatuses());
+    }
+
+    @Test
+    void testSearchTickets_FirstPageCountsFacetsFromIndexWhenReady() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        TicketFilterDto filters = new TicketFilterDto();
+        filters.setStatuses(List.of(TicketStatus.ASSIGNED));
+        TicketFacetCountsDto indexed = new TicketFacetCountsDto();
+        indexed.setTotal(1L);
+        when(ticketRepo.findSearchPage(any(Specification.class), eq("updatedAt"), eq(false), eq(3)))
+                .thenReturn(List.of(searchRow(1L, now)));
+        when(ticketFacetService.findFacetCounts(filters)).thenReturn(indexed);
+
+        // Act
+        TicketSearchPageDto page = managerService.searchTickets(filters, TicketSortKey.UPDATED_AT, Sort.Direction.DESC, null, 2);
+
+        // Assert
+        assertSame(indexed, page.getFacets());
+        verify(ticketRepo, never()).count(any(Specification.class));
+        verify(ticketRepo, never()).countGroupedBy(any(Specification.class), any());
+    }
+
+    @Test
+    void testGetFacetCounts_UsesIndexWhenReady() {
+        // Arrange
+        TicketFilterDto filters = new TicketFilterDto();
+        TicketFacetCountsDto indexed = new TicketFacetCountsDto();
+        when(ticketFacetService.findFacetCounts(filters)).thenReturn(indexed);
+
+        // Act
+        TicketFacetCountsDto counts = managerService.getFacetCounts(filters);
+
+        // Assert
+        assertSame(indexed, counts);
+        verifyNoInteractions(ticketRepo);
+    }
+
+    @Test
+    void testGetFacetCounts_FallsBackToDatabaseWhenIndexCannotAnswer() {
+        // Arrange
+        TicketFilterDto filters = new TicketFilterDto();
+        filters.setCreatedFrom(LocalDateTime.now().minusDays(7));
+        when(ticketFacetService.findFacetCounts(filters)).thenReturn(null);
+        when(ticketRepo.count(any(Specification.class))).thenReturn(4L);
+        when(ticketRepo.<TicketStatus>countGroupedBy(any(Specification.class), eq("status"))).thenReturn(Map.of(TicketStatus.CREATED, 4L));
+
+        // Act
+        TicketFacetCountsDto counts = managerService.getFacetCounts(filters);
+
+        // Assert
+        assertEquals(4L, counts.getTotal());
+        assertEquals(Map.of(TicketStatus.CREATED, 4L), counts.getStatuses());
+    }
+
+    @Test
+    void testSearchTickets_LaterPageSkipsFacets() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        String cursor = new TicketSearchCursor(TicketSortKey.UPDATED_AT, Sort.Direction.DESC, now, 2L).encode();
+        when(ticketRepo.findSearchPage(any(Specification.class), eq("updatedAt"), eq(false), eq(3)))
+                .thenReturn(List.of(searchRow(1L, now.minusHours(2))));
+
+        // Act
+        TicketSearchPageDto page = managerService.searchTickets(new TicketFilterDto(), TicketSortKey.UPDATED_AT, Sort.Direction.DESC, cursor, 2);
+
+        // Assert
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+        assertNull(page.getFacets());
+        verify(ticketRepo, never()).count(any(Specification.class));
+    }
+
+    @Test
+    void testSearchTickets_RejectsCursorFromAnotherSort() {
+        // Arrange
+        String cursor = new TicketSearchCursor(TicketSortKey.CREATED_AT, Sort.Direction.DESC, LocalDateTime.now(), 2L).encode();
+        TicketFilterDto filters = new TicketFilterDto();
+
+        // Act & Assert
+        assertThrows(BadRequestException.class,
+                () -> managerService.searchTickets(filters, TicketSortKey.CREATED_AT, Sort.Direction.ASC, cursor, 2));
+        assertThrows(BadRequestException.class,
+                () -> managerService.searchTickets(filters, TicketSortKey.CREATED_AT, Sort.Direction.DESC, "not-a-cursor", 2));
+        verifyNoInteractions(ticketRepo);
+    }
+}
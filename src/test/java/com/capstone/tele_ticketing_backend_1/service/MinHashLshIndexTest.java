@@ -0,0 +1,89 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinHashLshIndexTest {
+
+    private static final String PARTITION = "NETWORK_CONNECTIVITY|chennai";
+
+    private static final String OUTAGE_TITLE = "No internet in Anna Nagar since morning";
+    private static final String OUTAGE_DESCRIPTION = "Fiber connection is down, router shows red LOS light, neighbours have the same problem.";
+    private static final String REWORDED_TITLE = "No internet in Anna Nagar since early morning";
+    private static final String REWORDED_DESCRIPTION = "Fiber connection is down, router shows red LOS light, whole street has the same problem.";
+
+    private static List<Long> ids(List<MinHashLshIndex.Match> matches) {
+        return matches.stream().map(MinHashLshIndex.Match::ticketId).toList();
+    }
+
+    @Test
+    void testSignature_EstimatesTextSimilarity() {
+        int[] outage = MinHash.signature(OUTAGE_TITLE, OUTAGE_DESCRIPTION);
+        int[] reworded = MinHash.signature(REWORDED_TITLE, REWORDED_DESCRIPTION);
+        int[] billing = MinHash.signature("Charged twice for May", "My invoice shows the monthly plan twice.");
+
+        assertEquals(1.0, MinHash.similarity(outage, MinHash.signature(OUTAGE_TITLE, OUTAGE_DESCRIPTION)));
+        assertTrue(MinHash.similarity(outage, reworded) > 0.6);
+        assertTrue(MinHash.similarity(outage, billing) < 0.2);
+        assertNull(MinHash.signature("the", "   "));
+    }
+
+    @Test
+    void testToBytes_RoundTrips() {
+        int[] signature = MinHash.signature(OUTAGE_TITLE, OUTAGE_DESCRIPTION);
+
+        byte[] bytes = MinHash.toBytes(signature);
+
+        assertEquals(MinHash.LENGTH * Integer.BYTES, bytes.length);
+        assertArrayEquals(signature, MinHash.fromBytes(bytes));
+        assertNull(MinHash.fromBytes(new byte[10]));
+    }
+
+    @Test
+    void testCandidatesOf_FindsNearDuplicatesMostSimilarFirst() {
+        MinHashLshIndex index = new MinHashLshIndex();
+        index.add(1, PARTITION, MinHash.signature(OUTAGE_TITLE, OUTAGE_DESCRIPTION));
+        index.add(2, PARTITION, MinHash.signature(REWORDED_TITLE, REWORDED_DESCRIPTION));
+        index.add(3, PARTITION, MinHash.signature(OUTAGE_TITLE, OUTAGE_DESCRIPTION));
+        index.add(4, PARTITION, MinHash.signature("Charged twice for May", "My invoice shows the monthly plan twice."));
+
+        List<MinHashLshIndex.Match> matches = index.candidatesOf(1, 0.5, 10);
+
+        assertEquals(List.of(3L, 2L), ids(matches));
+        assertEquals(1.0, matches.get(0).similarity());
+        assertEquals(List.of(3L), ids(index.candidatesOf(1, 0.5, 1)));
+        assertTrue(index.candidatesOf(4, 0.5, 10).isEmpty());
+        assertTrue(index.candidatesOf(99, 0.5, 10).isEmpty());
+    }
+
+    @Test
+    void testCandidatesOf_OnlyMatchesWithinPartition() {
+        MinHashLshIndex index = new MinHashLshIndex();
+        int[] signature = MinHash.signature(OUTAGE_TITLE, OUTAGE_DESCRIPTION);
+        index.add(1, PARTITION, signature);
+        index.add(2, "NETWORK_CONNECTIVITY|madurai", signature);
+        index.add(3, "SERVICE_OUTAGE|chennai", signature);
+
+        assertTrue(index.candidatesOf(1, 0.5, 10).isEmpty());
+        assertEquals(PARTITION, TicketDuplicateService.partition(TicketCategory.NETWORK_CONNECTIVITY, " Chennai "));
+    }
+
+    @Test
+    void testRemove_DropsTicketFromItsBuckets() {
+        MinHashLshIndex index = new MinHashLshIndex();
+        int[] signature = MinHash.signature(OUTAGE_TITLE, OUTAGE_DESCRIPTION);
+        index.add(1, PARTITION, signature);
+        index.add(2, PARTITION, signature);
+
+        assertTrue(index.remove(2));
+        assertFalse(index.remove(2));
+
+        assertTrue(index.candidatesOf(1, 0.5, 10).isEmpty());
+        assertFalse(index.contains(2));
+        assertEquals(1, index.size());
+    }
+}
@@ -0,0 +1,243 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.dto.NotificationDto;
+import com.capstone.tele_ticketing_backend_1.entities.ActivityType;
+import com.capstone.tele_ticketing_backend_1.events.ActivityLoggedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationStreamServiceTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\S+)");
+
+    private static final Long CUSTOMER_ID = 7L;
+    private static final Long AGENT_ID = 9L;
+
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    private NotificationStreamService service(Executor dispatcher, int buffer, int replay, Supplier<RecordingEmitter> emitterFactory) {
+        return new NotificationStreamService(dispatcher, 60_000, buffer, replay, 600_000) {
+            @Override
+            SseEmitter createEmitter(long timeoutMs) {
+                RecordingEmitter emitter = emitterFactory.get();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    private NotificationStreamService directService() {
+        return service(Runnable::run, 16, 3, RecordingEmitter::new);
+    }
+
+    private static ActivityLoggedEvent event(long activityId, ActivityType type, boolean internalOnly) {
+        NotificationDto notification = new NotificationDto(activityId, "TK-1", "Outage", "Something happened.",
+                type.name(), LocalDateTime.now());
+        return new ActivityLoggedEvent(notification, type, internalOnly, CUSTOMER_ID, AGENT_ID);
+    }
+
+    private RecordingEmitter subscribe(NotificationStreamService service, String channel, String lastEventId) {
+        service.subscribe(channel, lastEventId);
+        return emitters.get(emitters.size() - 1);
+    }
+
+    @Test
+    void testOnActivityLogged_RoutesPublicActivityToTicketOwnersAndTriage() {
+        NotificationStreamService service = directService();
+        RecordingEmitter customer = subscribe(service, NotificationStreamService.customerChannel(CUSTOMER_ID), null);
+        RecordingEmitter otherCustomer = subscribe(service, NotificationStreamService.customerChannel(99L), null);
+        RecordingEmitter agent = subscribe(service, NotificationStreamService.agentChannel(AGENT_ID), null);
+        RecordingEmitter triage = subscribe(service, NotificationStreamService.TRIAGE_CHANNEL, null);
+
+        service.onActivityLogged(event(1, ActivityType.STATUS_CHANGE, false));
+        service.onActivityLogged(event(2, ActivityType.COMMENT, false));
+
+        assertEquals(List.of("1", "2"), customer.ids());
+        assertEquals(List.of("1", "2"), agent.ids());
+        // COMMENT is not a triage notification type.
+        assertEquals(List.of("1"), triage.ids());
+        assertTrue(otherCustomer.ids().isEmpty());
+        assertEquals(NotificationDto.class, customer.payloads.get(0).getClass());
+    }
+
+    @Test
+    void testOnActivityLogged_InternalActivityOnlyReachesTriage() {
+        NotificationStreamService service = directService();
+        RecordingEmitter customer = subscribe(service, NotificationStreamService.customerChannel(CUSTOMER_ID), null);
+        RecordingEmitter triage = subscribe(service, NotificationStreamService.TRIAGE_CHANNEL, null);
+
+        service.onActivityLogged(event(1, ActivityType.ASSIGNMENT, true));
+
+        assertTrue(customer.ids().isEmpty());
+        assertEquals(List.of("1"), triage.ids());
+    }
+
+    @Test
+    void testSubscribe_ReplaysEventsAfterLastEventId() {
+        NotificationStreamService service = directService();
+        RecordingEmitter first = subscribe(service, NotificationStreamService.TRIAGE_CHANNEL, null);
+        service.onActivityLogged(event(1, ActivityType.ASSIGNMENT, false));
+        service.onActivityLogged(event(2, ActivityType.ASSIGNMENT, false));
+        service.onActivityLogged(event(3, ActivityType.ASSIGNMENT, false));
+        first.complete();
+
+        RecordingEmitter reconnected = subscribe(service, NotificationStreamService.TRIAGE_CHANNEL, "1");
+
+        assertEquals(List.of("2", "3"), reconnected.ids());
+    }
+
+    @Test
+    void testSubscribe_SendsResyncWhenLastEventIdIsNoLongerBuffered() {
+        NotificationStreamService service = directService();
+        subscribe(service, NotificationStreamService.TRIAGE_CHANNEL, null);
+        for (long id = 1; id <= 5; id++) {
+            service.onActivityLogged(event(id, ActivityType.ASSIGNMENT, false));
+        }
+
+        // Replay size is 3, so event 1 has been dropped.
+        RecordingEmitter reconnected = subscribe(service, NotificationStreamService.TRIAGE_CHANNEL, "1");
+
+        assertTrue(reconnected.ids().isEmpty());
+        assertTrue(reconnected.text().contains("event:" + NotificationStreamService.RESYNC_EVENT));
+    }
+
+    @Test
+    void testSlowSubscriber_IsClosedWhenItsBufferOverflows() {
+        List<Runnable> parked = new ArrayList<>();
+        NotificationStreamService service = service(parked::add, 2, 3, RecordingEmitter::new);
+        String channel = NotificationStreamService.TRIAGE_CHANNEL;
+        RecordingEmitter slow = subscribe(service, channel, null);
+
+        service.onActivityLogged(event(1, ActivityType.ASSIGNMENT, false));
+        service.onActivityLogged(event(2, ActivityType.ASSIGNMENT, false));
+        assertEquals(1, service.subscriberCount(channel));
+
+        service.onActivityLogged(event(3, ActivityType.ASSIGNMENT, false));
+
+        assertEquals(0, service.subscriberCount(channel));
+        assertTrue(slow.completed);
+    }
+
+    @Test
+    void testFailedSend_RemovesSubscriber() {
+        NotificationStreamService service = service(Runnable::run, 16, 3, FailingEmitter::new);
+        String channel = NotificationStreamService.TRIAGE_CHANNEL;
+        subscribe(service, channel, null);
+
+        service.onActivityLogged(event(1, ActivityType.ASSIGNMENT, false));
+
+        assertEquals(0, service.subscriberCount(channel));
+    }
+
+    @Test
+    void testSendHeartbeats_CountsOpenStreams() {
+        NotificationStreamService service = directService();
+        RecordingEmitter triage = subscribe(service, NotificationStreamService.TRIAGE_CHANNEL, null);
+        subscribe(service, NotificationStreamService.customerChannel(CUSTOMER_ID), null);
+
+        assertEquals(2, service.sendHeartbeats());
+        assertTrue(triage.text().contains(":keep-alive"));
+    }
+
+    @Test
+    void testTenThousandIdleStreams_ShareTheDispatcherPool() throws Exception {
+        int streams = 10_000;
+        int dispatchThreads = 4;
+        CountDownLatch delivered = new CountDownLatch(streams);
+        ExecutorService dispatcher = Executors.newFixedThreadPool(dispatchThreads);
+        try {
+            NotificationStreamService service = service(dispatcher, 16, 3, () -> new RecordingEmitter(delivered));
+            int threadsBefore = Thread.activeCount();
+
+            for (int i = 0; i < streams; i++) {
+                service.subscribe(NotificationStreamService.TRIAGE_CHANNEL, null);
+            }
+            // Idle streams hold no thread of their own.
+            assertTrue(Thread.activeCount() <= threadsBefore + dispatchThreads,
+                    "threads grew from " + threadsBefore + " to " + Thread.activeCount());
+            assertEquals(streams, service.subscriberCount(NotificationStreamService.TRIAGE_CHANNEL));
+
+            service.onActivityLogged(event(1, ActivityType.ASSIGNMENT, false));
+
+            assertTrue(delivered.await(30, TimeUnit.SECONDS), delivered.getCount() + " streams never got the event");
+            assertTrue(Thread.activeCount() <= threadsBefore + dispatchThreads);
+        } finally {
+            dispatcher.shutdownNow();
+        }
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final StringBuilder text = new StringBuilder();
+        private final List<Object> payloads = new ArrayList<>();
+        private final CountDownLatch onNotification;
+        private volatile boolean completed;
+
+        RecordingEmitter() {
+            this(null);
+        }
+
+        RecordingEmitter(CountDownLatch onNotification) {
+            this.onNotification = onNotification;
+        }
+
+        @Override
+        public synchronized void send(SseEventBuilder builder) throws IOException {
+            boolean notification = false;
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof String chunk) {
+                    text.append(chunk);
+                } else {
+                    payloads.add(part.getData());
+                    notification = true;
+                }
+            }
+            if (notification && onNotification != null) {
+                onNotification.countDown();
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        synchronized String text() {
+            return text.toString();
+        }
+
+        List<String> ids() {
+            List<String> ids = new ArrayList<>();
+            Matcher matcher = EVENT_ID.matcher(text());
+            while (matcher.find()) {
+                ids.add(matcher.group(1));
+            }
+            return ids;
+        }
+    }
+
+    private static class FailingEmitter extends RecordingEmitter {
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            throw new IOException("Broken pipe");
+        }
+    }
+}
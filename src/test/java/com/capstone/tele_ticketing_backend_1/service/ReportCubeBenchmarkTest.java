@@ -0,0 +1,148 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.dto.TicketReportRowDto;
+import com.capstone.tele_ticketing_backend_1.entities.ReportDimension;
+import com.capstone.tele_ticketing_backend_1.entities.ReportGranularity;
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+import com.capstone.tele_ticketing_backend_1.entities.TicketHourlyRollup;
+import com.capstone.tele_ticketing_backend_1.entities.TicketSeverity;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures one-year range reports on the report cube against summing the year's rollup rows per
+ * request, which is what a GROUP BY over ticket_hourly_rollups does. The rows stand for a busy year:
+ * 20 teams, 60 cities, every category, severity and status, spread over the hours of each day.
+ * <p>
+ * The default run checks the cube's reports against the summed rows on a small year and logs the
+ * timings. The 50 ms target is checked on a million rows by the benchmark-tagged test, which only
+ * runs with -Pbenchmark. Pass -Dticket.benchmark.rows to change the number of rollup rows of either.
+ */
+@Slf4j
+class ReportCubeBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("ticket.benchmark.rows", 50_000);
+    private static final int BENCHMARK_ROWS = Integer.getInteger("ticket.benchmark.rows", 1_000_000);
+    private static final int DAYS = 365;
+    private static final int RUNS = 7;
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    private static List<TicketHourlyRollup> year(Random random, int count) {
+        TicketCategory[] categories = TicketCategory.values();
+        TicketStatus[] statuses = TicketStatus.values();
+        TicketSeverity[] severities = TicketSeverity.values();
+        List<TicketHourlyRollup> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long tickets = 1 + random.nextInt(3);
+            long resolved = random.nextInt((int) tickets + 1);
+            rows.add(new TicketHourlyRollup(null, START.plusDays(i % DAYS), random.nextInt(24),
+                    categories[random.nextInt(categories.length)], statuses[random.nextInt(statuses.length)],
+                    severities[random.nextInt(severities.length)], 1L + random.nextInt(20), "City " + random.nextInt(60),
+                    tickets, resolved, resolved * random.nextInt(200_000)));
+        }
+        return rows;
+    }
+
+    // Sums every row of the range into its day and group, as the database would for each request.
+    private static int scan(List<TicketHourlyRollup> rows, Set<ReportDimension> groupBy) {
+        Map<List<Object>, long[]> sums = new HashMap<>();
+        for (TicketHourlyRollup row : rows) {
+            List<Object> key = Arrays.asList(row.getDay(),
+                    groupBy.contains(ReportDimension.CATEGORY) ? row.getCategory() : null,
+                    groupBy.contains(ReportDimension.TEAM) ? row.getTeamId() : null,
+                    groupBy.contains(ReportDimension.CITY) ? row.getCity() : null,
+                    groupBy.contains(ReportDimension.SEVERITY) ? row.getSeverity() : null);
+            long[] sum = sums.computeIfAbsent(key, k -> new long[3]);
+            sum[0] += row.getTicketCount();
+            sum[1] += row.getResolvedCount();
+            sum[2] += row.getResolutionSeconds();
+        }
+        return sums.size();
+    }
+
+    private static long median(long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    @Test
+    void testYearAtDailyGranularity_MatchesSummingTheRows() {
+        queryYear(ROWS, false);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void testYearAtDailyGranularity_IsAnsweredWellUnderFiftyMillis() {
+        queryYear(BENCHMARK_ROWS, true);
+    }
+
+    private static void queryYear(int count, boolean checkTimings) {
+        List<TicketHourlyRollup> rows = year(new Random(42), count);
+        Map<LocalDate, List<TicketHourlyRollup>> byDay = new HashMap<>();
+        rows.forEach(row -> byDay.computeIfAbsent(row.getDay(), d -> new ArrayList<>()).add(row));
+
+        long buildStart = System.nanoTime();
+        ReportCube cube = new ReportCube();
+        byDay.forEach((day, dayRows) -> cube.replaceDay(day, 1L, dayRows));
+        long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+        log.info("{} rollup rows over {} days loaded into the cube in {} ms", count, DAYS, buildMillis);
+
+        LocalDate end = START.plusDays(DAYS - 1);
+        List<Set<ReportDimension>> groupings = List.of(EnumSet.noneOf(ReportDimension.class),
+                EnumSet.of(ReportDimension.CATEGORY), EnumSet.of(ReportDimension.TEAM), EnumSet.of(ReportDimension.CITY),
+                EnumSet.of(ReportDimension.CATEGORY, ReportDimension.SEVERITY));
+        for (Set<ReportDimension> groupBy : groupings) {
+            long[] cubeNanos = new long[RUNS];
+            long[] scanNanos = new long[RUNS];
+            List<TicketReportRowDto> report = null;
+            int scanned = 0;
+            // The first run of a grouping by two dimensions also fills the cube's sums for it; the median is of
+            // the runs after the first.
+            for (int run = 0; run < RUNS; run++) {
+                long start = System.nanoTime();
+                report = cube.query(START, end, ReportGranularity.DAY, groupBy);
+                cubeNanos[run] = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                scanned = scan(rows, groupBy);
+                scanNanos[run] = System.nanoTime() - start;
+            }
+            long cubeMedian = median(Arrays.copyOfRange(cubeNanos, 1, RUNS));
+            long scanMedian = median(Arrays.copyOfRange(scanNanos, 1, RUNS));
+            log.info("One year by day, grouped by {}: {} rows, cube {} us (first {} us), summing the rows {} ms",
+                    groupBy, report.size(), cubeMedian / 1_000, cubeNanos[0] / 1_000, scanMedian / 1_000_000);
+
+            assertEquals(scanned, report.size());
+            assertEquals(rows.stream().mapToLong(TicketHourlyRollup::getTicketCount).sum(),
+                    report.stream().mapToLong(TicketReportRowDto::getTicketCount).sum());
+            assertEquals(rows.stream().mapToLong(TicketHourlyRollup::getResolvedCount).sum(),
+                    report.stream().mapToLong(TicketReportRowDto::getResolvedCount).sum());
+            assertTrue(report.stream().map(TicketReportRowDto::getBucket).allMatch(Objects::nonNull));
+            if (!checkTimings) {
+                continue;
+            }
+            assertTrue(cubeMedian < 50_000_000L, "expected a year by day under 50 ms, took " + cubeMedian / 1_000 + " us");
+            if (groupBy.size() < 2) {
+                // Summed when the days were stored, so even the first request is fast.
+                assertTrue(cubeNanos[0] < 50_000_000L, "expected the first request under 50 ms, took " + cubeNanos[0] / 1_000 + " us");
+            }
+            assertTrue(cubeMedian < scanMedian, "expected the cube to beat summing the rows: " + cubeMedian + " vs " + scanMedian + " ns");
+        }
+    }
+}
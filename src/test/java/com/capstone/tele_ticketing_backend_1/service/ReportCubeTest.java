@@ -0,0 +1,174 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.dto.TicketReportRowDto;
+import com.capstone.tele_ticketing_backend_1.entities.ReportDimension;
+import com.capstone.tele_ticketing_backend_1.entities.ReportGranularity;
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+import com.capstone.tele_ticketing_backend_1.entities.TicketHourlyRollup;
+import com.capstone.tele_ticketing_backend_1.entities.TicketSeverity;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportCubeTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final String[] CITIES = {"Chennai", "Pune", "Delhi", null};
+    private static final Long[] TEAMS = {1L, 2L, 1_000_000_007L, null};
+
+    private static TicketHourlyRollup rollup(LocalDate day, int hour, TicketCategory category, TicketStatus status,
+                                             TicketSeverity severity, Long teamId, String city,
+                                             long tickets, long resolved, long seconds) {
+        return new TicketHourlyRollup(null, day, hour, category, status, severity, teamId, city, tickets, resolved, seconds);
+    }
+
+    private static List<TicketHourlyRollup> randomRollups(Random random, int days) {
+        List<TicketHourlyRollup> rows = new ArrayList<>();
+        TicketCategory[] categories = TicketCategory.values();
+        TicketStatus[] statuses = TicketStatus.values();
+        TicketSeverity[] severities = TicketSeverity.values();
+        for (int d = 0; d < days; d++) {
+            for (int i = random.nextInt(30); i > 0; i--) {
+                long tickets = 1 + random.nextInt(5);
+                long resolved = random.nextInt((int) tickets + 1);
+                rows.add(rollup(START.plusDays(d), random.nextInt(24), categories[random.nextInt(categories.length)],
+                        statuses[random.nextInt(statuses.length)],
+                        random.nextInt(5) == 0 ? null : severities[random.nextInt(severities.length)],
+                        TEAMS[random.nextInt(TEAMS.length)], CITIES[random.nextInt(CITIES.length)],
+                        tickets, resolved, resolved * random.nextInt(100_000)));
+            }
+        }
+        return rows;
+    }
+
+    private static ReportCube cubeOf(List<TicketHourlyRollup> rows) {
+        ReportCube cube = new ReportCube();
+        rows.stream().collect(Collectors.groupingBy(TicketHourlyRollup::getDay))
+                .forEach((day, dayRows) -> cube.replaceDay(day, 1L, dayRows));
+        return cube;
+    }
+
+    // The obvious way: sum every row into its bucket and group directly.
+    private static Set<String> expected(List<TicketHourlyRollup> rows, LocalDate from, LocalDate to,
+                                        ReportGranularity granularity, Set<ReportDimension> groupBy) {
+        Map<List<Object>, long[]> sums = new HashMap<>();
+        for (TicketHourlyRollup row : rows) {
+            if (row.getDay().isBefore(from) || row.getDay().isAfter(to)) {
+                continue;
+            }
+            LocalDateTime bucket = granularity == ReportGranularity.HOUR
+                    ? row.getDay().atTime(row.getHour(), 0) : granularity.bucketStart(row.getDay()).atStartOfDay();
+            List<Object> key = new ArrayList<>();
+            key.add(bucket);
+            key.add(groupBy.contains(ReportDimension.CATEGORY) ? row.getCategory() : null);
+            key.add(groupBy.contains(ReportDimension.SEVERITY) ? row.getSeverity() : null);
+            key.add(groupBy.contains(ReportDimension.TEAM) ? row.getTeamId() : null);
+            key.add(groupBy.contains(ReportDimension.CITY) ? row.getCity() : null);
+            long[] sum = sums.computeIfAbsent(key, k -> new long[3]);
+            sum[0] += row.getTicketCount();
+            sum[1] += row.getResolvedCount();
+            sum[2] += row.getResolutionSeconds();
+        }
+        return sums.entrySet().stream()
+                .map(e -> e.getKey() + " " + e.getValue()[0] + " " + e.getValue()[1] + " " + e.getValue()[2])
+                .collect(Collectors.toSet());
+    }
+
+    private static Set<String> actual(List<TicketReportRowDto> rows) {
+        return rows.stream().map(ReportCubeTest::describe).collect(Collectors.toSet());
+    }
+
+    private static String describe(TicketReportRowDto row) {
+        List<Object> key = new ArrayList<>();
+        key.add(row.getBucket());
+        key.add(row.getCategory());
+        key.add(row.getSeverity());
+        key.add(row.getTeamId());
+        key.add(row.getCity());
+        long seconds = row.getResolvedCount() == 0 ? 0 : Math.round(row.getAverageResolutionHours() * 3600 * row.getResolvedCount());
+        return key + " " + row.getTicketCount() + " " + row.getResolvedCount() + " " + seconds;
+    }
+
+    @Test
+    void testQuery_MatchesSummingTheRowsForEveryGranularityAndGrouping() {
+        List<TicketHourlyRollup> rows = randomRollups(new Random(42), 120);
+        ReportCube cube = cubeOf(rows);
+        LocalDate from = START.plusDays(3);
+        LocalDate to = START.plusDays(100);
+
+        for (ReportGranularity granularity : ReportGranularity.values()) {
+            for (int mask = 0; mask < 16; mask++) {
+                Set<ReportDimension> groupBy = EnumSet.noneOf(ReportDimension.class);
+                for (ReportDimension dimension : ReportDimension.values()) {
+                    if ((mask & 1 << dimension.ordinal()) != 0) {
+                        groupBy.add(dimension);
+                    }
+                }
+
+                List<TicketReportRowDto> result = cube.query(from, to, granularity, groupBy);
+
+                Set<String> expected = expected(rows, from, to, granularity, groupBy);
+                assertEquals(expected, actual(result), granularity + " by " + groupBy);
+                assertEquals(expected.size(), result.size());
+                for (int i = 1; i < result.size(); i++) {
+                    TicketReportRowDto previous = result.get(i - 1);
+                    TicketReportRowDto row = result.get(i);
+                    assertTrue(previous.getBucket().isBefore(row.getBucket())
+                            || previous.getBucket().equals(row.getBucket()) && previous.getTicketCount() >= row.getTicketCount());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testQuery_WeeksStartOnMondayAndSumStatusesAway() {
+        LocalDate sunday = LocalDate.of(2025, 3, 9);
+        ReportCube cube = new ReportCube();
+        cube.replaceDay(sunday, 1L, List.of(
+                rollup(sunday, 9, TicketCategory.SERVICE_OUTAGE, TicketStatus.CREATED, null, null, "Pune", 2, 0, 0),
+                rollup(sunday, 9, TicketCategory.SERVICE_OUTAGE, TicketStatus.RESOLVED, null, null, "Pune", 1, 1, 7200)));
+        cube.replaceDay(sunday.plusDays(1), 1L, List.of(
+                rollup(sunday.plusDays(1), 0, TicketCategory.SERVICE_OUTAGE, TicketStatus.CREATED, null, 5L, "Pune", 4, 0, 0)));
+
+        List<TicketReportRowDto> weeks = cube.query(sunday, sunday.plusDays(1), ReportGranularity.WEEK,
+                EnumSet.of(ReportDimension.CITY));
+
+        assertEquals(2, weeks.size());
+        assertEquals(sunday.minusDays(6).atStartOfDay(), weeks.get(0).getBucket());
+        assertEquals(3, weeks.get(0).getTicketCount());
+        assertEquals(2.0, weeks.get(0).getAverageResolutionHours());
+        assertEquals("Pune", weeks.get(0).getCity());
+        assertNull(weeks.get(0).getCategory());
+        assertEquals(sunday.plusDays(1).atStartOfDay(), weeks.get(1).getBucket());
+        assertEquals(4, weeks.get(1).getTicketCount());
+        assertNull(weeks.get(1).getAverageResolutionHours());
+    }
+
+    @Test
+    void testReplaceDay_ReplacesButPutIfAbsentKeepsTheNewerCopy() {
+        ReportCube cube = new ReportCube();
+        cube.replaceDay(START, 5L, List.of(
+                rollup(START, 1, TicketCategory.SERVICE_OUTAGE, TicketStatus.CREATED, null, null, null, 2, 0, 0)));
+
+        cube.putDayIfAbsent(START, 3L, List.of());
+        assertEquals(5L, cube.refreshedAt(START));
+        assertEquals(2, cube.query(START, START, ReportGranularity.DAY, Set.of()).get(0).getTicketCount());
+
+        cube.replaceDay(START, 7L, List.of());
+        assertEquals(7L, cube.refreshedAt(START));
+        assertTrue(cube.query(START, START, ReportGranularity.DAY, Set.of()).isEmpty());
+        assertEquals(-1L, cube.refreshedAt(START.plusDays(1)));
+    }
+}
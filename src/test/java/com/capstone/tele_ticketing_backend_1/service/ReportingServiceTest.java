@@ -2,11 +2,19 @@ package com.capstone.tele_ticketing_backend_1.service;
 
 import com.capstone.tele_ticketing_backend_1.dto.AverageResolutionTimeDto;
 import com.capstone.tele_ticketing_backend_1.dto.SatisfactionScoreDto;
+import com.capstone.tele_ticketing_backend_1.dto.TicketReportDto;
+import com.capstone.tele_ticketing_backend_1.dto.TicketReportRowDto;
 import com.capstone.tele_ticketing_backend_1.dto.TimeSeriesDataPointDto;
+import com.capstone.tele_ticketing_backend_1.entities.ReportDimension;
+import com.capstone.tele_ticketing_backend_1.entities.ReportGranularity;
+import com.capstone.tele_ticketing_backend_1.entities.Team;
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+import com.capstone.tele_ticketing_backend_1.exceptions.BadRequestException;
 import com.capstone.tele_ticketing_backend_1.projections.SatisfactionScoreProjection;
 import com.capstone.tele_ticketing_backend_1.projections.TicketVolumeProjection;
-import com.capstone.tele_ticketing_backend_1.repo.FeedbackRepo;
-import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
+import com.capstone.tele_ticketing_backend_1.repo.FeedbackDailyRollupRepo;
+import com.capstone.tele_ticketing_backend_1.repo.TeamRepo;
+import com.capstone.tele_ticketing_backend_1.repo.TicketHourlyRollupRepo;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -14,10 +22,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -27,10 +36,16 @@ import static org.mockito.Mockito.*;
 class ReportingServiceTest {
 
     @Mock
-    private TicketRepo ticketRepo;
+    private TicketHourlyRollupRepo ticketRollupRepo;
 
     @Mock
-    private FeedbackRepo feedbackRepo;
+    private FeedbackDailyRollupRepo feedbackRollupRepo;
+
+    @Mock
+    private ReportRollupService reportRollupService;
+
+    @Mock
+    private TeamRepo teamRepo;
 
     @InjectMocks
     private ReportingService reportingService;
@@ -47,7 +62,7 @@ class ReportingServiceTest {
         when(projection.getDate()).thenReturn(today);
         when(projection.getCount()).thenReturn(50L);
 
-        when(ticketRepo.getTicketVolumeByDay(any(LocalDateTime.class)))
+        when(ticketRollupRepo.getTicketVolumeByDay(any(LocalDate.class)))
                 .thenReturn(List.of(projection));
 
         // Act
@@ -62,13 +77,13 @@ class ReportingServiceTest {
         String expectedDateString = today.format(DateTimeFormatter.ofPattern("MMM dd"));
         assertEquals(expectedDateString, result.get(0).getLabel());
 
-        verify(ticketRepo).getTicketVolumeByDay(any(LocalDateTime.class));
+        verify(ticketRollupRepo).getTicketVolumeByDay(today.minusDays(30));
     }
 
     @Test
     void testGetTicketVolumeReport_Empty() {
         // Arrange
-        when(ticketRepo.getTicketVolumeByDay(any(LocalDateTime.class)))
+        when(ticketRollupRepo.getTicketVolumeByDay(any(LocalDate.class)))
                 .thenReturn(Collections.emptyList());
 
         // Act
@@ -85,7 +100,7 @@ class ReportingServiceTest {
     void testGetAverageResolutionTimeReport_Success() {
         // Arrange
         Double expectedAvg = 4.5;
-        when(ticketRepo.getAverageResolutionTimeInHours(any(LocalDateTime.class)))
+        when(ticketRollupRepo.getAverageResolutionTimeInHours(any(LocalDate.class)))
                 .thenReturn(expectedAvg);
 
         // Act
@@ -100,7 +115,7 @@ class ReportingServiceTest {
     void testGetAverageResolutionTimeReport_NoData_ReturnsZero() {
         // Arrange
         // Simulate DB returning null (no closed tickets)
-        when(ticketRepo.getAverageResolutionTimeInHours(any(LocalDateTime.class)))
+        when(ticketRollupRepo.getAverageResolutionTimeInHours(any(LocalDate.class)))
                 .thenReturn(null);
 
         // Act
@@ -124,7 +139,7 @@ class ReportingServiceTest {
         when(p2.getRating()).thenReturn(4);
         when(p2.getCount()).thenReturn(10L);
 
-        when(feedbackRepo.getSatisfactionScoreDistribution())
+        when(feedbackRollupRepo.getSatisfactionScoreDistribution())
                 .thenReturn(List.of(p1, p2));
 
         // Act
@@ -144,7 +159,7 @@ class ReportingServiceTest {
     @Test
     void testGetSatisfactionScoreReport_Empty() {
         // Arrange
-        when(feedbackRepo.getSatisfactionScoreDistribution())
+        when(feedbackRollupRepo.getSatisfactionScoreDistribution())
                 .thenReturn(Collections.emptyList());
 
         // Act
@@ -154,4 +169,64 @@ class ReportingServiceTest {
         assertNotNull(result);
         assertTrue(result.isEmpty());
     }
-}
\ No newline at end of file
+
+    // --- Range Report Tests ---
+
+    @Test
+    void testGetTicketReport_FillsInTeamNames() {
+        // Arrange
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 12, 31);
+        Set<ReportDimension> groupBy = EnumSet.of(ReportDimension.TEAM, ReportDimension.CATEGORY);
+        TicketReportRowDto assigned = new TicketReportRowDto(from.atStartOfDay(), TicketCategory.SERVICE_OUTAGE, null,
+                7L, null, null, 3, 1, 2.5);
+        TicketReportRowDto unassigned = new TicketReportRowDto(from.atStartOfDay(), TicketCategory.SERVICE_OUTAGE, null,
+                null, null, null, 2, 0, null);
+        Team team = new Team();
+        team.setId(7L);
+        team.setName("Fibre");
+
+        when(reportRollupService.queryTickets(from, to, ReportGranularity.DAY, groupBy))
+                .thenReturn(List.of(assigned, unassigned));
+        when(teamRepo.findAllById(Set.of(7L))).thenReturn(List.of(team));
+
+        // Act
+        TicketReportDto report = reportingService.getTicketReport(from, to, ReportGranularity.DAY, groupBy);
+
+        // Assert
+        assertEquals(2, report.getRows().size());
+        assertEquals("Fibre", report.getRows().get(0).getTeamName());
+        assertNull(report.getRows().get(1).getTeamName());
+        assertEquals(groupBy, report.getGroupBy());
+    }
+
+    @Test
+    void testGetTicketReport_WithoutGroupBy_ReturnsTotals() {
+        // Arrange
+        LocalDate day = LocalDate.of(2025, 6, 1);
+        when(reportRollupService.queryTickets(day, day, ReportGranularity.HOUR, EnumSet.noneOf(ReportDimension.class)))
+                .thenReturn(Collections.emptyList());
+
+        // Act
+        TicketReportDto report = reportingService.getTicketReport(day, day, ReportGranularity.HOUR, null);
+
+        // Assert
+        assertTrue(report.getRows().isEmpty());
+        verifyNoInteractions(teamRepo);
+    }
+
+    @Test
+    void testGetTicketReport_RejectsReversedAndOverlongRanges() {
+        // Arrange
+        LocalDate from = LocalDate.of(2025, 1, 1);
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () ->
+                reportingService.getTicketReport(from, from.minusDays(1), ReportGranularity.DAY, Set.of()));
+        assertThrows(BadRequestException.class, () ->
+                reportingService.getTicketReport(from, from.plusDays(ReportingService.MAX_HOURLY_RANGE_DAYS), ReportGranularity.HOUR, Set.of()));
+        assertThrows(BadRequestException.class, () ->
+                reportingService.getTicketReport(from, from.plusDays(ReportingService.MAX_RANGE_DAYS), ReportGranularity.MONTH, Set.of()));
+        verifyNoInteractions(reportRollupService);
+    }
+}
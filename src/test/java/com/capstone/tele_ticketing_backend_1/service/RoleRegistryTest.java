@@ -0,0 +1,75 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.entities.ERole;
+import com.capstone.tele_ticketing_backend_1.entities.Role;
+import com.capstone.tele_ticketing_backend_1.repo.RoleRepo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoleRegistryTest {
+
+    @Mock
+    private RoleRepo roleRepo;
+
+    @InjectMocks
+    private RoleRegistry roleRegistry;
+
+    private Role role(int id, ERole name) {
+        Role role = new Role();
+        role.setId(id);
+        role.setName(name);
+        return role;
+    }
+
+    @Test
+    void testFindRole_ServedFromMemoryAfterRefresh() {
+        Role agent = role(2, ERole.ROLE_AGENT);
+        when(roleRepo.findAll()).thenReturn(List.of(role(1, ERole.ROLE_CUSTOMER), agent));
+
+        assertEquals(2, roleRegistry.refresh());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Optional.of(agent), roleRegistry.findRole(ERole.ROLE_AGENT));
+        }
+
+        // One load at refresh, no per-lookup queries.
+        verify(roleRepo, times(1)).findAll();
+        verify(roleRepo, never()).findByName(any());
+    }
+
+    @Test
+    void testFindRole_MissingRoleTriggersSingleReload() {
+        Role manager = role(7, ERole.ROLE_MANAGER);
+        when(roleRepo.findAll()).thenReturn(List.of(), List.of(manager));
+
+        roleRegistry.refresh();
+
+        assertEquals(Optional.of(manager), roleRegistry.findRole(ERole.ROLE_MANAGER));
+        verify(roleRepo, times(2)).findAll();
+    }
+
+    @Test
+    void testFindRole_RoleAbsentFromDatabase() {
+        when(roleRepo.findAll()).thenReturn(List.of());
+
+        assertTrue(roleRegistry.findRole(ERole.ROLE_CXO).isEmpty());
+    }
+
+    @Test
+    void testRoleKeys() {
+        assertEquals(Optional.of(ERole.ROLE_FIELD_ENGINEER), ERole.fromKey("field_engineer"));
+        assertEquals(Optional.of(ERole.ROLE_TEAM_LEAD), ERole.fromKey("TEAM_LEAD"));
+        assertTrue(ERole.fromKey("superuser").isEmpty());
+        assertTrue(ERole.fromKey(null).isEmpty());
+        assertEquals("noc_admin", ERole.ROLE_NOC_ADMIN.key());
+    }
+}
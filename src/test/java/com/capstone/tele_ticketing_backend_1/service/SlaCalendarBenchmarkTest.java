@@ -0,0 +1,107 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures SLA deadlines on business hours: building a calendar's tables, then the deadline and
+ * at-risk point of 100,000 tickets triaged at random times over a year, against walking the
+ * calendar minute by minute, which is what placing a deadline costs without the tables.
+ * <p>
+ * The walk is timed on a sample of the tickets, whose deadlines must match it; the timings are only
+ * logged. Pass -Dticket.benchmark.rows to change the number of tickets.
+ */
+@Slf4j
+class SlaCalendarBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("ticket.benchmark.rows", 100_000);
+    private static final int WALKED = 2_000;
+    private static final int[] SLA_HOURS = {2, 10, 15, 18, 20, 24};
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final Set<LocalDate> HOLIDAYS = Set.of(LocalDate.of(2025, 1, 14), LocalDate.of(2025, 1, 26),
+            LocalDate.of(2025, 4, 14), LocalDate.of(2025, 5, 1), LocalDate.of(2025, 8, 15), LocalDate.of(2025, 10, 2),
+            LocalDate.of(2025, 10, 20), LocalDate.of(2025, 12, 25));
+
+    // Monday to Friday 09:00-13:00 and 14:00-18:00, Saturday 10:00-14:00, as the calendar below.
+    private static boolean working(LocalDateTime time) {
+        if (HOLIDAYS.contains(time.toLocalDate())) {
+            return false;
+        }
+        int minute = time.getHour() * 60 + time.getMinute();
+        DayOfWeek day = time.getDayOfWeek();
+        if (day == DayOfWeek.SATURDAY) {
+            return minute >= 10 * 60 && minute < 14 * 60;
+        }
+        return day != DayOfWeek.SUNDAY && (minute >= 9 * 60 && minute < 13 * 60 || minute >= 14 * 60 && minute < 18 * 60);
+    }
+
+    private static LocalDateTime walk(LocalDateTime from, long minutes) {
+        LocalDateTime time = from;
+        while (minutes > 0) {
+            if (working(time)) {
+                minutes--;
+            }
+            time = time.plusMinutes(1);
+        }
+        return time;
+    }
+
+    @Test
+    void testDeadlines_ForManyTicketsMatchWalkingTheCalendar() {
+        Random random = new Random(42);
+        LocalDateTime[] triagedAt = new LocalDateTime[ROWS];
+        int[] slaHours = new int[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            triagedAt[i] = START.atStartOfDay().plusMinutes(random.nextInt(365 * 24 * 60));
+            slaHours[i] = SLA_HOURS[random.nextInt(SLA_HOURS.length)];
+        }
+
+        long buildStart = System.nanoTime();
+        SlaCalendar calendar = new SlaCalendar("MON-FRI 09:00-13:00 14:00-18:00; SAT 10:00-14:00", HOLIDAYS,
+                START.minusDays(730), START.plusDays(730));
+        long buildMicros = (System.nanoTime() - buildStart) / 1_000;
+
+        LocalDateTime[] deadlines = new LocalDateTime[ROWS];
+        LocalDateTime[] atRisk = new LocalDateTime[ROWS];
+        // Once to warm up, then measured.
+        for (int run = 0; run < 2; run++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < ROWS; i++) {
+                deadlines[i] = calendar.addWorkingMinutes(triagedAt[i], slaHours[i] * 60L);
+                atRisk[i] = calendar.addWorkingMinutes(deadlines[i], -120);
+            }
+            long tableNanos = System.nanoTime() - start;
+            if (run == 1) {
+                log.info("{} tickets: calendar built in {} us, deadline and at-risk point in {} ms ({} ns per ticket)",
+                        ROWS, buildMicros, tableNanos / 1_000_000, tableNanos / ROWS);
+            }
+        }
+
+        int walked = Math.min(WALKED, ROWS);
+        long walkStart = System.nanoTime();
+        for (int i = 0; i < walked; i++) {
+            assertEquals(walk(triagedAt[i], slaHours[i] * 60L), deadlines[i], "ticket " + i);
+        }
+        long walkNanos = System.nanoTime() - walkStart;
+        long tableStart = System.nanoTime();
+        for (int i = 0; i < walked; i++) {
+            calendar.addWorkingMinutes(triagedAt[i], slaHours[i] * 60L);
+        }
+        long tableNanos = System.nanoTime() - tableStart;
+        log.info("{} tickets: minute-by-minute walk {} ns per deadline, tables {} ns per deadline (walk for all {}: ~{} ms)",
+                walked, walkNanos / walked, tableNanos / walked, ROWS, walkNanos / walked * ROWS / 1_000_000);
+
+        for (int i = 0; i < ROWS; i++) {
+            assertTrue(deadlines[i].isAfter(triagedAt[i]));
+            assertEquals(120, calendar.workingMinutesBetween(atRisk[i], deadlines[i]));
+        }
+    }
+}
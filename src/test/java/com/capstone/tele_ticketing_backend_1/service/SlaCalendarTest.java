@@ -0,0 +1,118 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlaCalendarTest {
+
+    // A Monday.
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 10);
+    private static final String OFFICE_HOURS = "MON-FRI 09:00-18:00";
+
+    private static SlaCalendar calendar(String workingHours, LocalDate... holidays) {
+        return new SlaCalendar(workingHours, List.of(holidays), MONDAY.minusDays(30), MONDAY.plusDays(30));
+    }
+
+    private static LocalDateTime at(LocalDate date, int hour, int minute) {
+        return date.atTime(hour, minute);
+    }
+
+    // The obvious way: walk minute by minute, counting the working ones.
+    private static LocalDateTime walk(Predicate<LocalDateTime> working, LocalDateTime from, long minutes) {
+        LocalDateTime time = from;
+        while (minutes > 0) {
+            if (working.test(time)) {
+                minutes--;
+            }
+            time = time.plusMinutes(1);
+        }
+        return time;
+    }
+
+    @Test
+    void testAddWorkingMinutes_RoundTheClockIsWallClockTime() {
+        SlaCalendar calendar = calendar("MON-SUN 00:00-24:00");
+        LocalDateTime from = LocalDateTime.of(2025, 3, 14, 17, 45, 12);
+
+        assertEquals(from.plusHours(20), calendar.addWorkingMinutes(from, 20 * 60));
+        assertEquals(from.minusHours(2), calendar.addWorkingMinutes(from, -120));
+        assertEquals(7 * 24 * 60, calendar.weekMinutes());
+    }
+
+    @Test
+    void testAddWorkingMinutes_SkipsNightsAndWeekends() {
+        SlaCalendar calendar = calendar(OFFICE_HOURS);
+        LocalDate friday = MONDAY.plusDays(4);
+
+        // Friday 17:00 plus two working hours is Monday 10:00.
+        assertEquals(at(MONDAY.plusDays(7), 10, 0), calendar.addWorkingMinutes(at(friday, 17, 0), 120));
+        // Raised on Saturday: the clock starts on Monday morning.
+        assertEquals(at(MONDAY.plusDays(7), 10, 0), calendar.addWorkingMinutes(at(friday.plusDays(1), 11, 0), 60));
+        // Reaching the end of a shift exactly stops there, not at the start of the next one.
+        assertEquals(at(friday, 18, 0), calendar.addWorkingMinutes(at(friday, 16, 0), 120));
+        // Going back from Monday 10:00, two working hours lead into Friday afternoon.
+        assertEquals(at(friday, 17, 0), calendar.addWorkingMinutes(at(MONDAY.plusDays(7), 10, 0), -120));
+        assertEquals(120, calendar.workingMinutesBetween(at(friday, 17, 0), at(MONDAY.plusDays(7), 10, 0)));
+        assertEquals(-120, calendar.workingMinutesBetween(at(MONDAY.plusDays(7), 10, 0), at(friday, 17, 0)));
+    }
+
+    @Test
+    void testAddWorkingMinutes_SplitShiftsAndHolidays() {
+        LocalDate tuesday = MONDAY.plusDays(1);
+        SlaCalendar calendar = calendar("MON-FRI 09:00-13:00 14:00-18:00; SAT 10:00-12:00", MONDAY, tuesday);
+
+        // The lunch break does not count.
+        assertEquals(at(MONDAY.plusDays(2), 14, 30), calendar.addWorkingMinutes(at(MONDAY.plusDays(2), 12, 30), 60));
+        // Saturday morning, then over a Monday and Tuesday off.
+        assertEquals(at(MONDAY.plusDays(2), 9, 30), calendar.addWorkingMinutes(at(MONDAY.minusDays(3), 17, 30), 30 + 120 + 30));
+        assertEquals(2 * 8 * 60, calendar.workingMinutesBetween(at(MONDAY.minusDays(1), 0, 0), at(MONDAY.plusDays(4), 9, 0)));
+    }
+
+    @Test
+    void testAddWorkingMinutes_MatchesAMinuteByMinuteWalkInsideAndOutsideTheTable() {
+        Set<LocalDate> holidays = Set.of(MONDAY.plusDays(3), MONDAY.plusDays(10), MONDAY.plusDays(11));
+        SlaCalendar calendar = calendar("MON-FRI 08:00-12:30 13:15-17:00; SAT 09:00-13:00", holidays.toArray(new LocalDate[0]));
+        Predicate<LocalDateTime> working = time -> {
+            if (holidays.contains(time.toLocalDate())) {
+                return false;
+            }
+            int minute = time.getHour() * 60 + time.getMinute();
+            DayOfWeek day = time.getDayOfWeek();
+            if (day == DayOfWeek.SATURDAY) {
+                return minute >= 9 * 60 && minute < 13 * 60;
+            }
+            return day != DayOfWeek.SUNDAY
+                    && (minute >= 8 * 60 && minute < 12 * 60 + 30 || minute >= 13 * 60 + 15 && minute < 17 * 60);
+        };
+        Random random = new Random(42);
+
+        for (int i = 0; i < 2_000; i++) {
+            // From well before the tabulated days to well after them.
+            LocalDateTime from = MONDAY.atStartOfDay().plusMinutes(random.nextInt(200 * 24 * 60) - 100 * 24 * 60);
+            long minutes = random.nextInt(i % 10 == 0 ? 20_000 : 2_000);
+
+            LocalDateTime deadline = calendar.addWorkingMinutes(from, minutes);
+
+            assertEquals(walk(working, from, minutes), deadline, "from " + from + " plus " + minutes);
+            assertEquals(minutes, calendar.workingMinutesBetween(from, deadline));
+        }
+    }
+
+    @Test
+    void testConstructor_RejectsInvalidHours() {
+        assertThrows(IllegalArgumentException.class, () -> calendar("MON-FRI 18:00-09:00"));
+        assertThrows(IllegalArgumentException.class, () -> calendar("XYZ 09:00-18:00"));
+        assertThrows(IllegalArgumentException.class, () -> calendar("MON-FRI"));
+        assertThrows(IllegalArgumentException.class, () -> calendar("MON-FRI 9am-5pm"));
+        assertThrows(IllegalArgumentException.class, () -> calendar(" "));
+    }
+}
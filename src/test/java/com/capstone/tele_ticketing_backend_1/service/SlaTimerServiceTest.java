@@ -0,0 +1,219 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.entities.ActivityType;
+import com.capstone.tele_ticketing_backend_1.entities.AppUser;
+import com.capstone.tele_ticketing_backend_1.entities.SlaState;
+import com.capstone.tele_ticketing_backend_1.entities.Ticket;
+import com.capstone.tele_ticketing_backend_1.entities.TicketActivity;
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+import com.capstone.tele_ticketing_backend_1.events.SlaStateChangedEvent;
+import com.capstone.tele_ticketing_backend_1.events.TicketFacetsChangedEvent;
+import com.capstone.tele_ticketing_backend_1.projections.SlaTimerSourceProjection;
+import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SlaTimerServiceTest {
+
+    @Mock
+    private TicketRepo ticketRepo;
+
+    @Mock
+    private ActivityLogService activityLogService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SlaTimerService slaTimerService;
+
+    private record SourceRow(Long id, LocalDateTime slaBreachAt, SlaState slaState, TicketStatus status)
+            implements SlaTimerSourceProjection {
+        SourceRow(Long id, LocalDateTime slaBreachAt, SlaState slaState) {
+            this(id, slaBreachAt, slaState, TicketStatus.ASSIGNED);
+        }
+        public Long getId() { return id; }
+        public LocalDateTime getSlaBreachAt() { return slaBreachAt; }
+        public LocalDateTime getSlaAtRiskAt() { return null; }
+        public SlaState getSlaState() { return slaState; }
+        public TicketStatus getStatus() { return status; }
+    }
+
+    @BeforeEach
+    void setUp() {
+        slaTimerService = new SlaTimerService(ticketRepo, activityLogService, eventPublisher, transactionTemplate, 1_000, 120, 100);
+    }
+
+    private static TicketFacetsChangedEvent changed(long ticketId, TicketStatus status, LocalDateTime slaBreachAt) {
+        return changed(ticketId, status, slaBreachAt, null);
+    }
+
+    private static TicketFacetsChangedEvent changed(long ticketId, TicketStatus status, LocalDateTime slaBreachAt,
+                                                    LocalDateTime slaAtRiskAt) {
+        return new TicketFacetsChangedEvent(ticketId, status, TicketCategory.NETWORK_CONNECTIVITY, null, null,
+                1L, null, slaBreachAt, slaAtRiskAt, false);
+    }
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void testOnTicketChanged_SchedulesOpenTicketsAndCancelsClosedOnes() {
+        // Arrange
+        LocalDateTime deadline = LocalDateTime.now().plusHours(10);
+
+        // Act
+        slaTimerService.onTicketChanged(changed(1L, TicketStatus.ASSIGNED, deadline));
+        slaTimerService.onTicketChanged(changed(2L, TicketStatus.IN_PROGRESS, deadline));
+        slaTimerService.onTicketChanged(changed(3L, TicketStatus.CREATED, null));
+        slaTimerService.onTicketChanged(changed(2L, TicketStatus.RESOLVED, deadline));
+
+        // Assert
+        assertEquals(1, slaTimerService.pendingTimers());
+        // Nothing is due for another eight hours.
+        assertEquals(0, slaTimerService.advance());
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void testAdvance_MarksTicketAtRiskLogsAndNotifiesTeamLeads() {
+        // Arrange
+        runTransactionsInline();
+        LocalDateTime deadline = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusHours(1);
+        AppUser triageOfficer = new AppUser();
+        triageOfficer.setId(7L);
+        Ticket ticket = new Ticket();
+        ticket.setId(1L);
+        ticket.setTicketUid("TK-1");
+        ticket.setAssignedBy(triageOfficer);
+        when(ticketRepo.advanceSlaState(eq(1L), eq(deadline), any(), eq(Set.of(SlaState.ON_TRACK)), eq(SlaState.AT_RISK), any()))
+                .thenReturn(1);
+        when(ticketRepo.findById(1L)).thenReturn(Optional.of(ticket));
+        when(ticketRepo.findTeamLeadIdsByTicketId(1L)).thenReturn(List.of(10L));
+        when(activityLogService.buildLog(eq(ticket), eq(triageOfficer), eq(ActivityType.SLA_AT_RISK), anyString(), eq(true)))
+                .thenAnswer(invocation -> {
+                    TicketActivity activity = new TicketActivity();
+                    activity.setId(55L);
+                    activity.setActivityType(ActivityType.SLA_AT_RISK);
+                    return activity;
+                });
+
+        // Act
+        // Due within the two-hour window, so the at-risk timer fires straight away.
+        slaTimerService.onTicketChanged(changed(1L, TicketStatus.ASSIGNED, deadline));
+        int changed = slaTimerService.advance();
+
+        // Assert
+        assertEquals(1, changed);
+        verify(activityLogService).createLogs(argThat(activities -> activities.size() == 1));
+        ArgumentCaptor<SlaStateChangedEvent> event = ArgumentCaptor.forClass(SlaStateChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(SlaState.AT_RISK, event.getValue().getSlaState());
+        assertEquals(Set.of(10L), event.getValue().getTeamLeadIds());
+        assertEquals(55L, event.getValue().getNotification().getActivityId());
+        // The breach timer takes over.
+        assertEquals(1, slaTimerService.pendingTimers());
+    }
+
+    @Test
+    void testOnTicketChanged_UsesTheAtRiskPointSetAtTriage() {
+        // Arrange
+        runTransactionsInline();
+        // Ten wall-clock hours away, but the last two working hours started yesterday evening.
+        LocalDateTime deadline = LocalDateTime.now().plusHours(10);
+        when(ticketRepo.advanceSlaState(eq(1L), any(), any(), eq(Set.of(SlaState.ON_TRACK)), eq(SlaState.AT_RISK), any()))
+                .thenReturn(0);
+
+        // Act
+        slaTimerService.onTicketChanged(changed(1L, TicketStatus.ASSIGNED, deadline, LocalDateTime.now().minusHours(12)));
+        slaTimerService.advance();
+
+        // Assert
+        verify(ticketRepo).advanceSlaState(eq(1L), any(), any(), eq(Set.of(SlaState.ON_TRACK)), eq(SlaState.AT_RISK), any());
+        // The breach timer takes over.
+        assertEquals(1, slaTimerService.pendingTimers());
+    }
+
+    @Test
+    void testAdvance_StaleTimerChangesNothing() {
+        // Arrange
+        runTransactionsInline();
+        LocalDateTime deadline = LocalDateTime.now().minusMinutes(5);
+        when(ticketRepo.advanceSlaState(eq(1L), any(), any(), eq(Set.of(SlaState.ON_TRACK, SlaState.AT_RISK)),
+                eq(SlaState.BREACHED), any())).thenReturn(0);
+
+        // Act
+        slaTimerService.onTicketChanged(changed(1L, TicketStatus.IN_PROGRESS, deadline));
+        int changed = slaTimerService.advance();
+
+        // Assert
+        assertEquals(0, changed);
+        verify(ticketRepo, never()).findById(any());
+        verifyNoInteractions(activityLogService, eventPublisher);
+        assertEquals(0, slaTimerService.pendingTimers());
+    }
+
+    @Test
+    void testLoad_SkipsBreachedTicketsAndWaitsForTheDeadlineOfAtRiskOnes() {
+        // Arrange
+        LocalDateTime later = LocalDateTime.now().plusHours(1);
+        when(ticketRepo.findSlaTimerSourcePage(eq(0L), any(), any())).thenReturn(List.of(
+                new SourceRow(1L, later, SlaState.AT_RISK),
+                new SourceRow(2L, LocalDateTime.now().minusHours(1), SlaState.BREACHED),
+                new SourceRow(3L, later.plusDays(1), SlaState.ON_TRACK)));
+
+        // Act
+        int pending = slaTimerService.load();
+
+        // Assert
+        assertEquals(2, pending);
+        assertEquals(0, slaTimerService.advance());
+    }
+
+    @Test
+    void testSyncTimers_PicksUpTicketsTriagedAndResolvedOnOtherNodes() {
+        // Arrange
+        LocalDateTime later = LocalDateTime.now().plusDays(1);
+        assertEquals(0, slaTimerService.syncTimers());
+        verify(ticketRepo, never()).findSlaTimerSourcesUpdatedSince(any(), anyLong(), any());
+        when(ticketRepo.findSlaTimerSourcePage(eq(0L), any(), any())).thenReturn(List.of(new SourceRow(1L, later, SlaState.ON_TRACK)));
+        slaTimerService.load();
+
+        // Elsewhere: ticket 1 was resolved, tickets 2 and 3 were triaged, ticket 4 was created without a deadline.
+        when(ticketRepo.findSlaTimerSourcesUpdatedSince(any(LocalDateTime.class), eq(0L), any())).thenReturn(List.of(
+                new SourceRow(1L, later, SlaState.ON_TRACK, TicketStatus.RESOLVED),
+                new SourceRow(2L, later, SlaState.ON_TRACK),
+                new SourceRow(3L, later.plusHours(1), SlaState.ON_TRACK),
+                new SourceRow(4L, null, null, TicketStatus.CREATED)));
+
+        // Act
+        int synced = slaTimerService.syncTimers();
+
+        // Assert
+        assertEquals(4, synced);
+        assertEquals(2, slaTimerService.pendingTimers());
+    }
+}
@@ -0,0 +1,114 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.entities.SlaState;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlaTimingWheelTest {
+
+    private static final long TICK = 1_000;
+    private static final long START = 1_700_000_000_000L;
+    private static final long HOUR = 3_600_000;
+
+    private static List<Long> ids(List<SlaTimingWheel.Fired> fired) {
+        return fired.stream().map(SlaTimingWheel.Fired::ticketId).sorted().toList();
+    }
+
+    @Test
+    void testAdvance_FiresOnTheTickOfTheTimer() {
+        SlaTimingWheel wheel = new SlaTimingWheel(TICK, START);
+        wheel.schedule(1, START + 2 * HOUR, SlaState.AT_RISK, START + 5_000);
+        wheel.schedule(2, START + 2 * HOUR, SlaState.BREACHED, START + 2 * HOUR);
+
+        assertTrue(wheel.advance(START + 4_999).isEmpty());
+        List<SlaTimingWheel.Fired> fired = wheel.advance(START + 5_000);
+        assertEquals(List.of(new SlaTimingWheel.Fired(1, START + 2 * HOUR, SlaState.AT_RISK)), fired);
+        assertFalse(wheel.contains(1));
+
+        // Two hours is 7,200 ticks, so the second timer starts in the second wheel and is cascaded down.
+        assertTrue(wheel.advance(START + 2 * HOUR - 1).isEmpty());
+        assertEquals(List.of(2L), ids(wheel.advance(START + 2 * HOUR)));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testSchedule_ReplacesAndCancelRemoves() {
+        SlaTimingWheel wheel = new SlaTimingWheel(TICK, START);
+        wheel.schedule(1, START + HOUR, SlaState.AT_RISK, START + HOUR);
+        wheel.schedule(1, START + 3 * HOUR, SlaState.AT_RISK, START + 3 * HOUR);
+        wheel.schedule(2, START + HOUR, SlaState.BREACHED, START + HOUR);
+
+        assertEquals(2, wheel.size());
+        assertTrue(wheel.cancel(2));
+        assertFalse(wheel.cancel(2));
+        assertTrue(wheel.advance(START + 2 * HOUR).isEmpty());
+        assertEquals(List.of(1L), ids(wheel.advance(START + 3 * HOUR)));
+    }
+
+    @Test
+    void testSchedule_PastTimesFireOnTheNextAdvance() {
+        SlaTimingWheel wheel = new SlaTimingWheel(TICK, START);
+        wheel.advance(START + 10 * TICK);
+        wheel.schedule(1, START, SlaState.BREACHED, START);
+
+        assertEquals(List.of(1L), ids(wheel.advance(START + 11 * TICK)));
+    }
+
+    @Test
+    void testAdvance_LongPausesAndFarDeadlines() {
+        SlaTimingWheel wheel = new SlaTimingWheel(TICK, START);
+        wheel.schedule(1, START + 30 * 24 * HOUR, SlaState.BREACHED, START + 30 * 24 * HOUR);
+        wheel.schedule(2, START + 365 * 24 * HOUR, SlaState.BREACHED, START + 365 * 24 * HOUR);
+
+        // One call covering a month of ticks, as after a long pause.
+        assertEquals(List.of(1L), ids(wheel.advance(START + 31 * 24 * HOUR)));
+        assertTrue(wheel.advance(START + 365 * 24 * HOUR - 1).isEmpty());
+        assertEquals(List.of(2L), ids(wheel.advance(START + 365 * 24 * HOUR)));
+    }
+
+    @Test
+    void testRandomSchedule_MatchesAReferenceModel() {
+        Random random = new Random(42);
+        SlaTimingWheel wheel = new SlaTimingWheel(TICK, START);
+        // Ticket id -> the tick its timer is due; a timer set for an already processed tick is due on the next one.
+        Map<Long, Long> due = new HashMap<>();
+        long now = START;
+        long nextTick = START / TICK;
+        long[] horizons = {10 * TICK, HOUR, 24 * HOUR, 90 * 24 * HOUR};
+
+        for (int step = 0; step < 20_000; step++) {
+            long ticketId = random.nextInt(1_000);
+            int op = random.nextInt(10);
+            if (op < 5) {
+                long fireAt = now - 3 * TICK + (long) (random.nextDouble() * horizons[random.nextInt(horizons.length)]);
+                wheel.schedule(ticketId, fireAt, SlaState.AT_RISK, fireAt);
+                due.put(ticketId, Math.max(Math.floorDiv(fireAt + TICK - 1, TICK), nextTick));
+            } else if (op < 6) {
+                assertEquals(due.remove(ticketId) != null, wheel.cancel(ticketId));
+            } else {
+                now += random.nextInt(4) == 0 ? (long) (random.nextDouble() * horizons[random.nextInt(horizons.length)])
+                        : random.nextInt(200) * TICK;
+                long nowTick = Math.floorDiv(now, TICK);
+                Set<Long> expected = new HashSet<>();
+                due.forEach((id, tick) -> {
+                    if (tick <= nowTick) {
+                        expected.add(id);
+                    }
+                });
+
+                assertEquals(expected, new HashSet<>(ids(wheel.advance(now))), "step " + step);
+                expected.forEach(due::remove);
+                nextTick = Math.max(nextTick, nowTick + 1);
+            }
+            assertEquals(due.size(), wheel.size());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SnowflakeTicketUidGeneratorTest {
+
+    @Test
+    void testNextUid_FormatIsReadableAndPrefixed() {
+        SnowflakeTicketUidGenerator generator = new SnowflakeTicketUidGenerator(5);
+
+        String uid = generator.nextUid();
+
+        assertTrue(uid.matches("TK-[0-9A-Z]{7}-[0-9A-Z]{6}"), uid);
+        assertEquals(5, generator.getNodeId());
+    }
+
+    @Test
+    void testNextUid_UniqueAcrossManyThreads() throws Exception {
+        SnowflakeTicketUidGenerator generator = new SnowflakeTicketUidGenerator(1);
+        int threads = 32;
+        int perThread = 20_000;
+        Set<String> uids = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        uids.add(generator.nextUid());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(threads * perThread, uids.size());
+    }
+
+    @Test
+    void testNextId_DifferentNodesNeverCollide() {
+        AtomicLong frozenClock = new AtomicLong(SnowflakeTicketUidGenerator.EPOCH_MS + 1_000);
+        SnowflakeTicketUidGenerator nodeA = new SnowflakeTicketUidGenerator(1, frozenClock::get);
+        SnowflakeTicketUidGenerator nodeB = new SnowflakeTicketUidGenerator(2, frozenClock::get);
+
+        Set<Long> ids = new java.util.HashSet<>();
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(ids.add(nodeA.nextId()));
+            assertTrue(ids.add(nodeB.nextId()));
+        }
+    }
+
+    @Test
+    void testNextId_BorrowsAheadWhenSequenceExhaustedOrClockGoesBack() {
+        AtomicLong clock = new AtomicLong(SnowflakeTicketUidGenerator.EPOCH_MS + 5_000);
+        SnowflakeTicketUidGenerator generator = new SnowflakeTicketUidGenerator(3, clock::get);
+
+        long previous = generator.nextId();
+        // Far more ids than one millisecond's sequence allows, then a clock step backwards.
+        for (int i = 0; i < 2_000; i++) {
+            if (i == 1_000) {
+                clock.addAndGet(-10_000);
+            }
+            long next = generator.nextId();
+            assertTrue(next > previous, "ids must keep increasing on one thread");
+            previous = next;
+        }
+    }
+
+    @Test
+    void testConstructor_RejectsOutOfRangeNodeId() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SnowflakeTicketUidGenerator(SnowflakeTicketUidGenerator.MAX_NODE_ID + 1));
+    }
+
+    @Test
+    void testConstructor_ClaimsLowestFreeNodeIdAndStopsOnceItIsLost() {
+        JobLeaseService leases = mock(JobLeaseService.class);
+        when(leases.tryAcquire(anyString())).thenReturn(null);
+        when(leases.tryAcquire(SnowflakeTicketUidGenerator.NODE_LEASE_PREFIX + 2)).thenReturn(7L);
+
+        SnowflakeTicketUidGenerator generator = new SnowflakeTicketUidGenerator(-1, leases);
+
+        assertEquals(2, generator.getNodeId());
+        assertNotNull(generator.nextUid());
+        // Another node took the id over.
+        when(leases.tryAcquire(SnowflakeTicketUidGenerator.NODE_LEASE_PREFIX + 2)).thenReturn(null);
+        assertThrows(IllegalStateException.class, generator::nextUid);
+    }
+
+    @Test
+    void testConstructor_FailsWhenEveryNodeIdIsClaimed() {
+        JobLeaseService leases = mock(JobLeaseService.class);
+
+        assertThrows(IllegalStateException.class, () -> new SnowflakeTicketUidGenerator(-1, leases));
+        verify(leases, times((int) SnowflakeTicketUidGenerator.MAX_NODE_ID + 1)).tryAcquire(anyString());
+    }
+
+    @Test
+    void testConstructor_ConfiguredNodeIdClaimsNothing() {
+        JobLeaseService leases = mock(JobLeaseService.class);
+
+        SnowflakeTicketUidGenerator generator = new SnowflakeTicketUidGenerator(9, leases);
+        generator.nextUid();
+
+        assertEquals(9, generator.getNodeId());
+        verifyNoInteractions(leases);
+    }
+}
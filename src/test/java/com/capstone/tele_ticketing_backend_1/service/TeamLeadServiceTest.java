@@ -12,9 +12,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -29,6 +29,7 @@ class TeamLeadServiceTest {
     @Mock private TicketRepo ticketRepo;
     @Mock private TicketService ticketService;
     @Mock private ActivityLogService activityLogService;
+    @Spy private TicketAssignmentService ticketAssignmentService = new TicketAssignmentService(event -> { });
 
     @InjectMocks
     private TeamLeadService teamLeadService;
@@ -74,8 +75,8 @@ class TeamLeadServiceTest {
         when(userRepo.findByUsername(LEAD_USERNAME)).thenReturn(Optional.of(mockTeamLead));
         when(teamRepo.findByTeamLead(mockTeamLead)).thenReturn(Optional.of(mockTeam));
 
-        when(ticketRepo.findTicketsByTeamAndStatus(eq(1L), anyList()))
-                .thenReturn(List.of(mockTicket));
+        when(ticketRepo.findSummariesByTeamAndStatus(eq(1L), anyList()))
+                .thenReturn(List.of(new TicketSummaryDto(mockTicket.getId(), mockTicket.getTicketUid(), mockTicket.getTitle(), mockTicket.getStatus(), mockTicket.getCreatedAt())));
 
         // Act
         List<TicketSummaryDto> result = teamLeadService.getActiveTeamTickets(LEAD_USERNAME);
@@ -83,7 +84,7 @@ class TeamLeadServiceTest {
         // Assert
         assertEquals(1, result.size());
         assertEquals("TKT-100", result.get(0).getTicketUid());
-        verify(ticketRepo).findTicketsByTeamAndStatus(eq(1L), anyList());
+        verify(ticketRepo).findSummariesByTeamAndStatus(eq(1L), anyList());
     }
 
     @Test
@@ -104,15 +105,30 @@ class TeamLeadServiceTest {
         when(userRepo.findByUsername(LEAD_USERNAME)).thenReturn(Optional.of(mockTeamLead));
         when(teamRepo.findByTeamLead(mockTeamLead)).thenReturn(Optional.of(mockTeam));
 
-        when(ticketRepo.findSlaRiskTicketsByTeam(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(List.of(mockTicket));
+        when(ticketRepo.findSummariesByTeamAndSlaState(1L, SlaState.AT_RISK))
+                .thenReturn(List.of(new TicketSummaryDto(mockTicket.getId(), mockTicket.getTicketUid(), mockTicket.getTitle(), mockTicket.getStatus(), mockTicket.getCreatedAt())));
 
         // Act
         List<TicketSummaryDto> result = teamLeadService.getSlaRiskTeamTickets(LEAD_USERNAME);
 
         // Assert
         assertEquals(1, result.size());
-        verify(ticketRepo).findSlaRiskTicketsByTeam(eq(1L), any(), any());
+        verify(ticketRepo).findSummariesByTeamAndSlaState(1L, SlaState.AT_RISK);
+    }
+
+    @Test
+    void testGetSlaBreachedTeamTickets_ReadsTheBreachedState() {
+        // Arrange
+        when(userRepo.findByUsername(LEAD_USERNAME)).thenReturn(Optional.of(mockTeamLead));
+        when(teamRepo.findByTeamLead(mockTeamLead)).thenReturn(Optional.of(mockTeam));
+        when(ticketRepo.findSummariesByTeamAndSlaState(1L, SlaState.BREACHED))
+                .thenReturn(List.of(new TicketSummaryDto(mockTicket.getId(), mockTicket.getTicketUid(), mockTicket.getTitle(), mockTicket.getStatus(), mockTicket.getCreatedAt())));
+
+        // Act
+        List<TicketSummaryDto> result = teamLeadService.getSlaBreachedTeamTickets(LEAD_USERNAME);
+
+        // Assert
+        assertEquals(List.of(100L), result.stream().map(TicketSummaryDto::getId).toList());
     }
 
     // --- reassignTicket Tests ---
@@ -126,7 +142,7 @@ class TeamLeadServiceTest {
 
         when(userRepo.findByUsername(LEAD_USERNAME)).thenReturn(Optional.of(mockTeamLead));
         when(teamRepo.findByTeamLead(mockTeamLead)).thenReturn(Optional.of(mockTeam));
-        when(ticketRepo.findById(ticketId)).thenReturn(Optional.of(mockTicket));
+        when(ticketRepo.findDetailById(ticketId)).thenReturn(Optional.of(mockTicket));
         when(userRepo.findAllById(any())).thenReturn(List.of(mockMember));
 
         when(ticketRepo.save(any(Ticket.class))).thenAnswer(i -> i.getArguments()[0]);
@@ -141,6 +157,32 @@ class TeamLeadServiceTest {
         verify(ticketRepo).save(mockTicket);
     }
 
+    @Test
+    void testReassignTicket_LogsWhoWasAddedAndRemoved() {
+        // Arrange: the ticket moves from mockMember to a colleague on the same team
+        AppUser colleague = new AppUser();
+        colleague.setId(21L);
+        colleague.setFullName("Colleague");
+        colleague.setTeam(mockTeam);
+        ReassignTicketDto dto = new ReassignTicketDto();
+        dto.setNewAssigneeUserIds(Set.of(21L));
+
+        when(userRepo.findByUsername(LEAD_USERNAME)).thenReturn(Optional.of(mockTeamLead));
+        when(teamRepo.findByTeamLead(mockTeamLead)).thenReturn(Optional.of(mockTeam));
+        when(ticketRepo.findDetailById(100L)).thenReturn(Optional.of(mockTicket));
+        when(userRepo.findAllById(any())).thenReturn(List.of(colleague));
+        when(ticketRepo.save(any(Ticket.class))).thenAnswer(i -> i.getArguments()[0]);
+        when(ticketService.mapTicketToDetailDto(any(Ticket.class))).thenReturn(new TicketDetailDto());
+
+        // Act
+        teamLeadService.reassignTicket(100L, dto, LEAD_USERNAME);
+
+        // Assert: the loaded set was edited in place, and the log names both sides of the change
+        assertEquals(Set.of(colleague), mockTicket.getAssignedTo());
+        verify(activityLogService).createLog(mockTicket, mockTeamLead, ActivityType.ASSIGNMENT,
+                "Re-assigned: added [Colleague]; removed [" + mockMember.getFullName() + "]", true);
+    }
+
     @Test
     void testReassignTicket_Unauthorized_TicketNotInTeam() {
         // Arrange
@@ -154,7 +196,7 @@ class TeamLeadServiceTest {
 
         when(userRepo.findByUsername(LEAD_USERNAME)).thenReturn(Optional.of(mockTeamLead));
         when(teamRepo.findByTeamLead(mockTeamLead)).thenReturn(Optional.of(mockTeam));
-        when(ticketRepo.findById(100L)).thenReturn(Optional.of(mockTicket));
+        when(ticketRepo.findDetailById(100L)).thenReturn(Optional.of(mockTicket));
 
         // Act & Assert
         AuthorizationException ex = assertThrows(AuthorizationException.class, () ->
@@ -173,7 +215,7 @@ class TeamLeadServiceTest {
 
         when(userRepo.findByUsername(LEAD_USERNAME)).thenReturn(Optional.of(mockTeamLead));
         when(teamRepo.findByTeamLead(mockTeamLead)).thenReturn(Optional.of(mockTeam));
-        when(ticketRepo.findById(100L)).thenReturn(Optional.of(mockTicket));
+        when(ticketRepo.findDetailById(100L)).thenReturn(Optional.of(mockTicket));
         when(userRepo.findAllById(any())).thenReturn(List.of(externalUser));
 
         ReassignTicketDto dto = new ReassignTicketDto();
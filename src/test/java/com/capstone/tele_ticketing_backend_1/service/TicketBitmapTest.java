@@ -0,0 +1,112 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketBitmapTest {
+
+    private static List<Integer> values(TicketBitmap bitmap) {
+        List<Integer> values = new ArrayList<>();
+        bitmap.forEach(values::add);
+        return values;
+    }
+
+    private static TicketBitmap bitmapOf(Set<Integer> values) {
+        TicketBitmap bitmap = new TicketBitmap();
+        values.forEach(bitmap::add);
+        return bitmap;
+    }
+
+    // A mix of sparse and dense groups, so every array/bitmap container combination is exercised.
+    private static Set<Integer> randomSet(Random random) {
+        Set<Integer> values = new TreeSet<>();
+        for (int i = 0; i < 3_000; i++) {
+            values.add(random.nextInt(1 << 20));
+        }
+        int denseStart = 3 << 16;
+        for (int i = 0; i < 30_000; i++) {
+            values.add(denseStart + random.nextInt(1 << 16));
+        }
+        return values;
+    }
+
+    @Test
+    void testAddRemoveContains() {
+        TicketBitmap bitmap = new TicketBitmap();
+        bitmap.add(7);
+        bitmap.add(70_000);
+        bitmap.add(7);
+
+        assertTrue(bitmap.contains(7));
+        assertTrue(bitmap.contains(70_000));
+        assertFalse(bitmap.contains(8));
+        assertEquals(2, bitmap.cardinality());
+
+        assertTrue(bitmap.remove(70_000));
+        assertFalse(bitmap.remove(70_000));
+        assertEquals(List.of(7), values(bitmap));
+        assertThrows(IllegalArgumentException.class, () -> bitmap.add(-1));
+    }
+
+    @Test
+    void testContainers_ConvertBetweenArrayAndBitmap() {
+        TicketBitmap bitmap = new TicketBitmap();
+        for (int i = 0; i <= TicketBitmap.ARRAY_MAX; i++) {
+            bitmap.add(i * 2);
+        }
+        // One group past ARRAY_MAX is stored as a fixed 8 KB bitmap.
+        assertEquals(TicketBitmap.ARRAY_MAX + 1, bitmap.cardinality());
+        assertTrue(bitmap.sizeInBytes() >= 8 * 1024);
+
+        bitmap.remove(0);
+        bitmap.remove(2);
+        assertEquals(TicketBitmap.ARRAY_MAX - 1, bitmap.cardinality());
+        assertTrue(bitmap.contains(4));
+        assertFalse(bitmap.contains(2));
+        assertEquals(4, values(bitmap).get(0));
+    }
+
+    @Test
+    void testSetOperations_MatchTreeSet() {
+        Random random = new Random(7);
+        Set<Integer> a = randomSet(random);
+        Set<Integer> b = randomSet(random);
+        TicketBitmap left = bitmapOf(a);
+        TicketBitmap right = bitmapOf(b);
+
+        Set<Integer> and = new TreeSet<>(a);
+        and.retainAll(b);
+        Set<Integer> or = new TreeSet<>(a);
+        or.addAll(b);
+        Set<Integer> andNot = new TreeSet<>(a);
+        andNot.removeAll(b);
+
+        assertEquals(List.copyOf(a), values(left));
+        assertEquals(List.copyOf(and), values(TicketBitmap.and(left, right)));
+        assertEquals(List.copyOf(or), values(TicketBitmap.or(left, right)));
+        assertEquals(List.copyOf(andNot), values(TicketBitmap.andNot(left, right)));
+        assertEquals(and.size(), TicketBitmap.andCardinality(left, right));
+        assertEquals(or.size(), TicketBitmap.or(left, right).cardinality());
+        // The operands are left untouched.
+        assertEquals(a.size(), left.cardinality());
+        assertEquals(b.size(), right.cardinality());
+    }
+
+    @Test
+    void testSetOperations_WithEmptyBitmap() {
+        TicketBitmap empty = new TicketBitmap();
+        TicketBitmap bitmap = bitmapOf(Set.of(1, 2, 100_000));
+
+        assertTrue(TicketBitmap.and(bitmap, empty).isEmpty());
+        assertEquals(List.of(1, 2, 100_000), values(TicketBitmap.or(empty, bitmap)));
+        assertEquals(List.of(1, 2, 100_000), values(TicketBitmap.andNot(bitmap, empty)));
+        assertTrue(TicketBitmap.andNot(bitmap, bitmap).isEmpty());
+    }
+}
@@ -0,0 +1,186 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.dto.DuplicateCandidateDto;
+import com.capstone.tele_ticketing_backend_1.dto.TicketSummaryDto;
+import com.capstone.tele_ticketing_backend_1.entities.AppUser;
+import com.capstone.tele_ticketing_backend_1.entities.Ticket;
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+import com.capstone.tele_ticketing_backend_1.entities.TicketSignature;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+import com.capstone.tele_ticketing_backend_1.projections.TicketSignatureSourceProjection;
+import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
+import com.capstone.tele_ticketing_backend_1.repo.TicketSignatureRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketDuplicateServiceTest {
+
+    private static final String OUTAGE_TITLE = "No internet in Anna Nagar since morning";
+    private static final String OUTAGE_DESCRIPTION = "Fiber connection is down, router shows red LOS light.";
+
+    @Mock
+    private TicketSignatureRepo signatureRepo;
+
+    @Mock
+    private TicketRepo ticketRepo;
+
+    private TicketDuplicateService ticketDuplicateService;
+
+    private AppUser customer;
+
+    private record SourceRow(Long id, TicketCategory category, String city, String title, String description)
+            implements TicketSignatureSourceProjection {
+        public Long getId() { return id; }
+        public TicketCategory getCategory() { return category; }
+        public String getCity() { return city; }
+        public String getTitle() { return title; }
+        public String getDescription() { return description; }
+    }
+
+    @BeforeEach
+    void setUp() {
+        ticketDuplicateService = new TicketDuplicateService(signatureRepo, ticketRepo, 0.5, 5);
+        customer = new AppUser();
+        customer.setCity("Chennai");
+    }
+
+    private Ticket ticket(long id, TicketCategory category, String title) {
+        Ticket ticket = new Ticket();
+        ticket.setId(id);
+        ticket.setCategory(category);
+        ticket.setCreatedFor(customer);
+        ticket.setTitle(title);
+        ticket.setDescription(OUTAGE_DESCRIPTION);
+        return ticket;
+    }
+
+    private static TicketSummaryDto summary(long id, TicketStatus status) {
+        return new TicketSummaryDto(id, "TK-" + id, OUTAGE_TITLE, status, LocalDateTime.now());
+    }
+
+    @Test
+    void testRegister_PersistsSignaturesAndIndexesThem() {
+        // Arrange
+        Ticket first = ticket(1L, TicketCategory.NETWORK_CONNECTIVITY, OUTAGE_TITLE);
+        Ticket second = ticket(2L, TicketCategory.NETWORK_CONNECTIVITY, OUTAGE_TITLE);
+        Ticket otherCategory = ticket(3L, TicketCategory.SERVICE_OUTAGE, OUTAGE_TITLE);
+        when(ticketRepo.findSummariesByIdIn(Set.of(1L))).thenReturn(List.of(summary(1L, TicketStatus.NEEDS_TRIAGING)));
+
+        // Act
+        ticketDuplicateService.register(List.of(first, second, otherCategory));
+        Map<Long, List<DuplicateCandidateDto>> candidates = ticketDuplicateService.findCandidates(List.of(2L, 3L));
+
+        // Assert
+        ArgumentCaptor<List<TicketSignature>> rows = ArgumentCaptor.forClass(List.class);
+        verify(signatureRepo).saveAll(rows.capture());
+        assertEquals(3, rows.getValue().size());
+        assertEquals("Chennai", rows.getValue().get(0).getCity());
+        assertEquals(List.of(2L), List.copyOf(candidates.keySet()));
+        assertEquals(1L, candidates.get(2L).get(0).getTicketId());
+        assertEquals(1.0, candidates.get(2L).get(0).getSimilarity());
+        verify(signatureRepo, never()).findAllById(any());
+    }
+
+    @Test
+    void testRegister_SkipsTicketsWithoutWords() {
+        // Act
+        ticketDuplicateService.register(List.of(new Ticket()));
+
+        // Assert
+        verifyNoInteractions(signatureRepo);
+    }
+
+    @Test
+    void testFindCandidates_DropsClosedTicketsFromIndex() {
+        // Arrange
+        ticketDuplicateService.register(List.of(
+                ticket(1L, TicketCategory.NETWORK_CONNECTIVITY, OUTAGE_TITLE),
+                ticket(2L, TicketCategory.NETWORK_CONNECTIVITY, OUTAGE_TITLE)));
+        when(ticketRepo.findSummariesByIdIn(Set.of(1L))).thenReturn(List.of(summary(1L, TicketStatus.RESOLVED)));
+
+        // Act
+        Map<Long, List<DuplicateCandidateDto>> first = ticketDuplicateService.findCandidates(List.of(2L));
+        Map<Long, List<DuplicateCandidateDto>> second = ticketDuplicateService.findCandidates(List.of(2L));
+
+        // Assert
+        assertTrue(first.isEmpty());
+        assertTrue(second.isEmpty());
+        // The resolved ticket is no longer a candidate, so the second lookup needs no query.
+        verify(ticketRepo, times(1)).findSummariesByIdIn(any());
+    }
+
+    @Test
+    void testFindCandidates_ReloadsSignaturesMissingFromIndex() {
+        // Arrange
+        ticketDuplicateService.register(List.of(ticket(1L, TicketCategory.NETWORK_CONNECTIVITY, OUTAGE_TITLE)));
+        byte[] signature = MinHash.toBytes(MinHash.signature(OUTAGE_TITLE, OUTAGE_DESCRIPTION));
+        when(signatureRepo.findAllById(List.of(7L))).thenReturn(
+                List.of(new TicketSignature(7L, TicketCategory.NETWORK_CONNECTIVITY, "chennai", signature)));
+        when(ticketRepo.findSummariesByIdIn(Set.of(1L))).thenReturn(List.of(summary(1L, TicketStatus.REOPENED)));
+
+        // Act
+        Map<Long, List<DuplicateCandidateDto>> candidates = ticketDuplicateService.findCandidates(List.of(7L));
+
+        // Assert
+        assertEquals(1L, candidates.get(7L).get(0).getTicketId());
+    }
+
+    @Test
+    void testLoad_BackfillsUnsignedTicketsThenLoadsOpenSignatures() {
+        // Arrange
+        byte[] signature = MinHash.toBytes(MinHash.signature(OUTAGE_TITLE, OUTAGE_DESCRIPTION));
+        when(signatureRepo.findOpenWithoutSignaturePage(eq(0L), eq(TicketDuplicateService.OPEN_STATUSES), any()))
+                .thenReturn(List.of(new SourceRow(5L, TicketCategory.NETWORK_CONNECTIVITY, "Chennai", OUTAGE_TITLE, OUTAGE_DESCRIPTION)));
+        when(signatureRepo.findOpenPage(eq(0L), eq(TicketDuplicateService.OPEN_STATUSES), any())).thenReturn(List.of(
+                new TicketSignature(4L, TicketCategory.NETWORK_CONNECTIVITY, "Chennai", signature),
+                new TicketSignature(5L, TicketCategory.NETWORK_CONNECTIVITY, "Chennai", signature)));
+
+        // Act
+        int loaded = ticketDuplicateService.load();
+
+        // Assert
+        assertEquals(2, loaded);
+        ArgumentCaptor<List<TicketSignature>> rows = ArgumentCaptor.forClass(List.class);
+        verify(signatureRepo).saveAll(rows.capture());
+        assertEquals(5L, rows.getValue().get(0).getTicketId());
+        assertArrayEquals(signature, rows.getValue().get(0).getSignature());
+    }
+
+    @Test
+    void testSyncIndex_AddsOpenTicketsFromOtherNodesAfterLoad() {
+        // Arrange
+        assertEquals(0, ticketDuplicateService.syncIndex());
+        verify(signatureRepo, never()).findOpenUpdatedSincePage(any(), anyLong(), any(), any());
+        ticketDuplicateService.load();
+        ticketDuplicateService.register(List.of(ticket(1L, TicketCategory.NETWORK_CONNECTIVITY, OUTAGE_TITLE)));
+        byte[] signature = MinHash.toBytes(MinHash.signature(OUTAGE_TITLE, OUTAGE_DESCRIPTION));
+        when(signatureRepo.findOpenUpdatedSincePage(any(LocalDateTime.class), eq(0L), eq(TicketDuplicateService.OPEN_STATUSES), any()))
+                .thenReturn(List.of(
+                        new TicketSignature(1L, TicketCategory.NETWORK_CONNECTIVITY, "Chennai", signature),
+                        new TicketSignature(2L, TicketCategory.NETWORK_CONNECTIVITY, "Chennai", signature)));
+        when(ticketRepo.findSummariesByIdIn(Set.of(2L))).thenReturn(List.of(summary(2L, TicketStatus.CREATED)));
+
+        // Act
+        int added = ticketDuplicateService.syncIndex();
+
+        // Assert
+        // Ticket 1 was registered on this node already.
+        assertEquals(1, added);
+        assertEquals(2L, ticketDuplicateService.findCandidates(List.of(1L)).get(1L).get(0).getTicketId());
+        verify(signatureRepo, never()).findAllById(any());
+    }
+}
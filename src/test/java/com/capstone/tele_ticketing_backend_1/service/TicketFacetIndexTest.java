@@ -0,0 +1,161 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.dto.TicketFacetCountsDto;
+import com.capstone.tele_ticketing_backend_1.dto.TicketFilterDto;
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+import com.capstone.tele_ticketing_backend_1.entities.TicketPriority;
+import com.capstone.tele_ticketing_backend_1.entities.TicketSeverity;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketFacetIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 10, 12, 30);
+    private static final long CHENNAI_CUSTOMER = 1L;
+    private static final long MADURAI_CUSTOMER = 2L;
+    private static final long ENGINEER = 10L;
+    private static final long OTHER_ENGINEER = 11L;
+    private static final long NETWORK_TEAM = 100L;
+
+    private TicketFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TicketFacetIndex();
+        index.updateUser(CHENNAI_CUSTOMER, "Chennai", null);
+        index.updateUser(MADURAI_CUSTOMER, "Madurai", null);
+        index.updateUser(ENGINEER, null, NETWORK_TEAM);
+        index.updateUser(OTHER_ENGINEER, null, null);
+
+        index.index(1, TicketStatus.CREATED, TicketCategory.NETWORK_CONNECTIVITY, null, null,
+                CHENNAI_CUSTOMER, Set.of(), null);
+        index.index(2, TicketStatus.ASSIGNED, TicketCategory.SERVICE_OUTAGE, TicketPriority.HIGH, TicketSeverity.CRITICAL,
+                CHENNAI_CUSTOMER, Set.of(ENGINEER), NOW.plusMinutes(90));
+        index.index(3, TicketStatus.IN_PROGRESS, TicketCategory.NETWORK_CONNECTIVITY, TicketPriority.LOW, TicketSeverity.LOW,
+                MADURAI_CUSTOMER, Set.of(ENGINEER, OTHER_ENGINEER), NOW.minusHours(5));
+        index.index(4, TicketStatus.ASSIGNED, TicketCategory.NETWORK_CONNECTIVITY, TicketPriority.HIGH, TicketSeverity.HIGH,
+                MADURAI_CUSTOMER, Set.of(OTHER_ENGINEER), NOW.plusHours(3));
+    }
+
+    private static TicketFilterDto filters() {
+        return new TicketFilterDto();
+    }
+
+    private List<Long> match(TicketFilterDto filters) {
+        return match(filters, NOW);
+    }
+
+    private List<Long> match(TicketFilterDto filters, LocalDateTime now) {
+        return Arrays.stream(index.match(filters, now)).boxed().toList();
+    }
+
+    @Test
+    void testMatch_CombinesFiltersLikeTheSpecification() {
+        TicketFilterDto statuses = filters();
+        statuses.setStatuses(List.of(TicketStatus.ASSIGNED, TicketStatus.IN_PROGRESS));
+        TicketFilterDto team = filters();
+        team.setTeamId(NETWORK_TEAM);
+        TicketFilterDto cityAndCategory = filters();
+        cityAndCategory.setCity(" madurai ");
+        cityAndCategory.setCategories(List.of(TicketCategory.NETWORK_CONNECTIVITY));
+        cityAndCategory.setPriorities(List.of(TicketPriority.HIGH));
+
+        assertEquals(List.of(4L, 3L, 2L, 1L), match(filters()));
+        assertEquals(List.of(4L, 3L, 2L), match(statuses));
+        assertEquals(List.of(3L, 2L), match(team));
+        assertEquals(List.of(4L), match(cityAndCategory));
+    }
+
+    @Test
+    void testMatch_SlaFiltersFollowTheClock() {
+        TicketFilterDto atRisk = filters();
+        atRisk.setSlaAtRisk(true);
+        TicketFilterDto breached = filters();
+        breached.setSlaBreached(true);
+
+        // Due within two hours; the ticket due in three hours is not yet at risk.
+        assertEquals(List.of(2L), match(atRisk));
+        assertEquals(List.of(3L), match(breached));
+        assertEquals(List.of(3L, 2L), match(breached, NOW.plusHours(2)));
+    }
+
+    @Test
+    void testMatch_SlaAtRiskUsesTheAtRiskPointSetAtTriage() {
+        // Due in three hours, but on business hours its last two working hours started overnight.
+        index.index(4, TicketStatus.ASSIGNED, TicketCategory.NETWORK_CONNECTIVITY, TicketPriority.HIGH, TicketSeverity.HIGH,
+                MADURAI_CUSTOMER, null, NOW.plusHours(3), NOW.minusHours(14));
+        // Due in ninety minutes, with an at-risk point still an hour away.
+        index.index(2, TicketStatus.ASSIGNED, TicketCategory.SERVICE_OUTAGE, TicketPriority.HIGH, TicketSeverity.CRITICAL,
+                CHENNAI_CUSTOMER, null, NOW.plusMinutes(90), NOW.plusMinutes(60));
+        TicketFilterDto atRisk = filters();
+        atRisk.setSlaAtRisk(true);
+
+        assertEquals(List.of(4L), match(atRisk));
+        assertEquals(List.of(4L, 2L), match(atRisk, NOW.plusMinutes(60)));
+        assertEquals(List.of(4L), match(atRisk, NOW.plusHours(2)));
+        assertEquals(1, index.counts(atRisk, NOW).getSlaAtRisk());
+    }
+
+    @Test
+    void testIndex_ReplacesChangedValues() {
+        index.index(1, TicketStatus.RESOLVED, TicketCategory.NETWORK_CONNECTIVITY, null, null,
+                CHENNAI_CUSTOMER, null, null);
+        index.setAssignees(3, Set.of(OTHER_ENGINEER));
+        index.remove(4);
+
+        TicketFilterDto created = filters();
+        created.setStatuses(List.of(TicketStatus.CREATED));
+        TicketFilterDto team = filters();
+        team.setTeamId(NETWORK_TEAM);
+
+        assertTrue(match(created).isEmpty());
+        assertEquals(List.of(2L), match(team));
+        assertEquals(List.of(3L, 2L, 1L), match(filters()));
+        assertFalse(index.contains(4));
+        assertFalse(index.index(Integer.MAX_VALUE + 1L, TicketStatus.CREATED, TicketCategory.NETWORK_CONNECTIVITY,
+                null, null, CHENNAI_CUSTOMER, Set.of(), null));
+    }
+
+    @Test
+    void testUpdateUser_RefilesTicketsByCityAndTeam() {
+        index.updateUser(CHENNAI_CUSTOMER, "Madurai", null);
+        index.updateUser(OTHER_ENGINEER, null, NETWORK_TEAM);
+
+        TicketFilterDto madurai = filters();
+        madurai.setCity("Madurai");
+        TicketFilterDto chennai = filters();
+        chennai.setCity("Chennai");
+        TicketFilterDto team = filters();
+        team.setTeamId(NETWORK_TEAM);
+
+        assertEquals(List.of(4L, 3L, 2L, 1L), match(madurai));
+        assertTrue(match(chennai).isEmpty());
+        assertEquals(List.of(4L, 3L, 2L), match(team));
+    }
+
+    @Test
+    void testCounts_AreTakenWithinTheFilteredTickets() {
+        TicketFilterDto assigned = filters();
+        assigned.setStatuses(List.of(TicketStatus.ASSIGNED));
+
+        TicketFacetCountsDto counts = index.counts(assigned, NOW);
+
+        assertEquals(2, counts.getTotal());
+        assertEquals(Map.of(TicketStatus.ASSIGNED, 2L), counts.getStatuses());
+        assertEquals(Map.of(NETWORK_TEAM, 1L), counts.getTeams());
+        assertEquals(Map.of("Chennai", 1L, "Madurai", 1L), counts.getCities());
+        assertEquals(Map.of(TicketCategory.SERVICE_OUTAGE, 1L, TicketCategory.NETWORK_CONNECTIVITY, 1L), counts.getCategories());
+        assertEquals(Map.of(TicketPriority.HIGH, 2L), counts.getPriorities());
+        assertEquals(1, counts.getSlaAtRisk());
+        assertEquals(0, counts.getSlaBreached());
+    }
+}
@@ -0,0 +1,103 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.dto.TicketFilterDto;
+import com.capstone.tele_ticketing_backend_1.entities.TicketCategory;
+import com.capstone.tele_ticketing_backend_1.entities.TicketPriority;
+import com.capstone.tele_ticketing_backend_1.entities.TicketSeverity;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+import com.capstone.tele_ticketing_backend_1.projections.TicketAssigneeProjection;
+import com.capstone.tele_ticketing_backend_1.projections.TicketFacetSourceProjection;
+import com.capstone.tele_ticketing_backend_1.projections.UserFacetSourceProjection;
+import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
+import com.capstone.tele_ticketing_backend_1.repo.UserRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketFacetServiceTest {
+
+    private static final Long CUSTOMER_ID = 7L;
+    private static final Long ENGINEER_ID = 9L;
+    private static final Long TEAM_ID = 3L;
+
+    @Mock
+    private TicketRepo ticketRepo;
+
+    @Mock
+    private UserRepo userRepo;
+
+    private TicketFacetService ticketFacetService;
+
+    private record TicketRow(Long id, TicketStatus status) implements TicketFacetSourceProjection {
+        public Long getId() { return id; }
+        public TicketStatus getStatus() { return status; }
+        public TicketCategory getCategory() { return TicketCategory.SERVICE_OUTAGE; }
+        public TicketPriority getPriority() { return TicketPriority.HIGH; }
+        public TicketSeverity getSeverity() { return TicketSeverity.HIGH; }
+        public Long getCustomerId() { return CUSTOMER_ID; }
+        public LocalDateTime getSlaBreachAt() { return null; }
+        public LocalDateTime getSlaAtRiskAt() { return null; }
+    }
+
+    private record UserRow(Long id, String city, Long teamId) implements UserFacetSourceProjection {
+        public Long getId() { return id; }
+        public String getCity() { return city; }
+        public Long getTeamId() { return teamId; }
+    }
+
+    private record AssigneeRow(Long ticketId, Long userId) implements TicketAssigneeProjection {
+        public Long getTicketId() { return ticketId; }
+        public Long getUserId() { return userId; }
+    }
+
+    @BeforeEach
+    void setUp() {
+        ticketFacetService = new TicketFacetService(ticketRepo, userRepo, 2);
+    }
+
+    private static TicketFilterDto filter(TicketStatus status, Long teamId, String city) {
+        TicketFilterDto filters = new TicketFilterDto();
+        filters.setStatuses(status == null ? null : List.of(status));
+        filters.setTeamId(teamId);
+        filters.setCity(city);
+        return filters;
+    }
+
+    @Test
+    void testSyncIndex_AppliesUsersAndTicketsChangedOnOtherNodes() {
+        // Arrange
+        assertEquals(0, ticketFacetService.syncIndex());
+        verify(ticketRepo, never()).findFacetSourcesUpdatedSince(any(), anyLong(), any(Pageable.class));
+        when(userRepo.findFacetSources()).thenReturn(List.of(new UserRow(CUSTOMER_ID, "Pune", null)));
+        when(ticketRepo.findFacetSourcePage(eq(0L), any(Pageable.class))).thenReturn(List.of(new TicketRow(1L, TicketStatus.CREATED)));
+        ticketFacetService.rebuild();
+
+        // Elsewhere: ticket 1 was assigned to an engineer who joined a team, the customer moved, ticket 2 was created.
+        when(userRepo.findFacetSourcesUpdatedSince(any(LocalDateTime.class))).thenReturn(List.of(
+                new UserRow(CUSTOMER_ID, "Chennai", null), new UserRow(ENGINEER_ID, null, TEAM_ID)));
+        when(ticketRepo.findFacetSourcesUpdatedSince(any(LocalDateTime.class), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(new TicketRow(1L, TicketStatus.ASSIGNED), new TicketRow(2L, TicketStatus.CREATED)));
+        when(ticketRepo.findFacetSourcesUpdatedSince(any(LocalDateTime.class), eq(2L), any(Pageable.class))).thenReturn(List.of());
+        when(ticketRepo.findAssigneesByTicketIdIn(List.of(1L, 2L))).thenReturn(List.of(new AssigneeRow(1L, ENGINEER_ID)));
+
+        // Act
+        int synced = ticketFacetService.syncIndex();
+
+        // Assert
+        assertEquals(2, synced);
+        assertArrayEquals(new long[]{1L}, ticketFacetService.findTicketIds(filter(TicketStatus.ASSIGNED, TEAM_ID, null)));
+        assertArrayEquals(new long[]{2L, 1L}, ticketFacetService.findTicketIds(filter(null, null, "Chennai")));
+        assertEquals(0, ticketFacetService.findTicketIds(filter(null, null, "Pune")).length);
+    }
+}
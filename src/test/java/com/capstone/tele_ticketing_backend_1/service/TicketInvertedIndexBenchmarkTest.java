@@ -0,0 +1,121 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures the search index on a synthetic ticket corpus: build time, posting list size, and query
+ * latency for an internal user (all tickets) and a customer (own tickets only), against a linear
+ * scan of the tokenized text, which is roughly what a LIKE '%word%' query has to do.
+ * <p>
+ * Runs on 20,000 tickets by default; pass -Dticket.benchmark.rows=1000000 for the full-size corpus
+ * (give the test JVM about 2 GB of heap).
+ */
+@Slf4j
+class TicketInvertedIndexBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("ticket.benchmark.rows", 20_000);
+    private static final int CUSTOMERS = 5_000;
+    private static final int AGENTS = 50;
+    private static final int QUERIES = 200;
+    private static final int SCAN_QUERIES = 5;
+
+    private static final String[] COMMON = {"internet", "slow", "connection", "router", "modem", "line", "speed",
+            "outage", "evening", "morning", "signal", "drops", "customer", "home", "office", "fiber", "billing",
+            "invoice", "charged", "payment", "plan", "upgrade", "sim", "mobile", "data", "calls", "voicemail"};
+    private static final String[] RARE = {"zyxel", "huawei", "netgear", "roadworks", "lightning", "flooding",
+            "firmware", "dns", "latency", "jitter", "roaming", "esim", "porting", "refund", "apartment", "tower"};
+
+    private static String text(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            // Roughly Zipfian: a handful of words make up most of the text.
+            String[] pool = random.nextInt(10) == 0 ? RARE : COMMON;
+            int rank = (int) (pool.length * Math.pow(random.nextDouble(), 2));
+            text.append(pool[rank]).append(' ');
+        }
+        return text.toString();
+    }
+
+    @Test
+    void testSearch_OnLargeCorpusIsFasterThanScanning() {
+        Random random = new Random(42);
+        String[] titles = new String[ROWS];
+        String[] descriptions = new String[ROWS];
+        long[] customers = new long[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            titles[i] = text(random, 4 + random.nextInt(5));
+            descriptions[i] = text(random, 20 + random.nextInt(40));
+            customers[i] = 1 + random.nextInt(CUSTOMERS);
+        }
+
+        System.gc();
+        long heapBefore = usedHeap();
+        long buildStart = System.nanoTime();
+        TicketInvertedIndex index = new TicketInvertedIndex();
+        for (int i = 0; i < ROWS; i++) {
+            index.index(i + 1, customers[i], CUSTOMERS + 1L + i % AGENTS, titles[i], descriptions[i]);
+        }
+        index.trimToSize();
+        long buildMs = (System.nanoTime() - buildStart) / 1_000_000;
+        System.gc();
+        long heapMb = (usedHeap() - heapBefore) / (1024 * 1024);
+
+        String[] queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = RARE[random.nextInt(RARE.length)] + " " + COMMON[random.nextInt(COMMON.length)];
+        }
+        long[] internal = new long[QUERIES];
+        long[] scoped = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long start = System.nanoTime();
+            index.search(queries[i], null, 20);
+            internal[i] = System.nanoTime() - start;
+            start = System.nanoTime();
+            index.search(queries[i], customers[random.nextInt(ROWS)], 20);
+            scoped[i] = System.nanoTime() - start;
+        }
+
+        long[] scan = new long[SCAN_QUERIES];
+        int scanMatches = 0;
+        for (int q = 0; q < SCAN_QUERIES; q++) {
+            List<String> terms = TicketSearchTokenizer.tokenize(queries[q]);
+            long start = System.nanoTime();
+            for (int i = 0; i < ROWS; i++) {
+                List<String> words = TicketSearchTokenizer.tokenize(titles[i] + " " + descriptions[i]);
+                if (terms.stream().anyMatch(words::contains)) {
+                    scanMatches++;
+                }
+            }
+            scan[q] = System.nanoTime() - start;
+        }
+
+        log.info("{} tickets indexed in {} ms: {} terms, {} KB of postings, ~{} MB heap",
+                ROWS, buildMs, index.terms(), index.postingBytes() / 1024, heapMb);
+        log.info("Internal search: p50 {} us, p99 {} us", percentile(internal, 50) / 1000, percentile(internal, 99) / 1000);
+        log.info("Customer search: p50 {} us, p99 {} us", percentile(scoped, 50) / 1000, percentile(scoped, 99) / 1000);
+        log.info("Linear scan: p50 {} us ({} matches over {} queries)", percentile(scan, 50) / 1000, scanMatches, SCAN_QUERIES);
+
+        assertEquals(ROWS, index.size());
+        assertFalse(index.search(queries[0], null, 20).isEmpty());
+        assertTrue(percentile(internal, 50) < percentile(scan, 50),
+                "index search should beat scanning: " + percentile(internal, 50) + " vs " + percentile(scan, 50) + " ns");
+    }
+
+    private static long percentile(long[] samples, int percentile) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)];
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,107 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketInvertedIndexTest {
+
+    private static final Long CUSTOMER_ID = 7L;
+    private static final Long AGENT_ID = 9L;
+
+    private static List<Long> ids(List<TicketInvertedIndex.Hit> hits) {
+        return hits.stream().map(TicketInvertedIndex.Hit::ticketId).toList();
+    }
+
+    @Test
+    void testTokenize_LowercasesAndDropsStopwordsAndSingleCharacters() {
+        assertEquals(List.of("5g", "router", "down", "since", "10"),
+                TicketSearchTokenizer.tokenize("The 5G router is DOWN since 10 p.m.!"));
+        assertTrue(TicketSearchTokenizer.tokenize("  the, and... ").isEmpty());
+        assertEquals(TicketSearchTokenizer.MAX_TERM_LENGTH, TicketSearchTokenizer.tokenize("x".repeat(100)).get(0).length());
+    }
+
+    @Test
+    void testSearch_RanksTitleMatchesAndRareTermsHigher() {
+        TicketInvertedIndex index = new TicketInvertedIndex();
+        index.index(1, CUSTOMER_ID, AGENT_ID, "Billing question", "The router on my invoice was charged twice.");
+        index.index(2, CUSTOMER_ID, AGENT_ID, "Router keeps rebooting", "Every few minutes.");
+        index.index(3, CUSTOMER_ID, AGENT_ID, "Slow internet", "Speed drops every evening.");
+        index.index(4, CUSTOMER_ID, AGENT_ID, "Slow internet", "Speed drops every evening, fiber cut suspected.");
+
+        assertEquals(List.of(2L, 1L), ids(index.search("router", null, 10)));
+        // "fiber" only occurs once, so it outweighs the common "slow".
+        assertEquals(List.of(4L, 3L), ids(index.search("slow fiber", null, 10)));
+        assertEquals(List.of(4L), ids(index.search("slow fiber", null, 1)));
+        assertTrue(index.search("satellite", null, 10).isEmpty());
+    }
+
+    @Test
+    void testSearch_OwnerOnlySeesTicketsCreatedForOrByThem() {
+        TicketInvertedIndex index = new TicketInvertedIndex();
+        index.index(1, CUSTOMER_ID, AGENT_ID, "Outage", "Whole street is down.");
+        index.index(2, 99L, AGENT_ID, "Outage", "Whole building is down.");
+        index.index(3, 99L, 98L, "Outage", "Whole town is down.");
+
+        assertEquals(List.of(1L), ids(index.search("outage", CUSTOMER_ID, 10)));
+        assertEquals(List.of(2L, 1L), ids(index.search("outage", AGENT_ID, 10)));
+        assertEquals(3, index.search("outage", null, 10).size());
+    }
+
+    @Test
+    void testIndex_ReplacesChangedTicketsAndSkipsUnchangedOnes() {
+        TicketInvertedIndex index = new TicketInvertedIndex();
+        assertTrue(index.index(1, CUSTOMER_ID, AGENT_ID, "Router down", "No lights."));
+        assertFalse(index.index(1, CUSTOMER_ID, AGENT_ID, "Router down", "No lights."));
+        assertEquals(0, index.deletedDocuments());
+
+        assertTrue(index.index(1, CUSTOMER_ID, AGENT_ID, "Modem down", "No lights."));
+
+        assertTrue(index.search("router", null, 10).isEmpty());
+        assertEquals(List.of(1L), ids(index.search("modem lights", null, 10)));
+        assertEquals(1, index.size());
+        assertEquals(1, index.deletedDocuments());
+
+        assertTrue(index.remove(1));
+        assertFalse(index.contains(1));
+        assertTrue(index.search("modem", null, 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testPostingLists_StoreDenseDocumentsInTwoBytesEach() {
+        TicketInvertedIndex index = new TicketInvertedIndex();
+        for (long id = 1; id <= 1000; id++) {
+            index.index(id, CUSTOMER_ID, AGENT_ID, "Outage", null);
+        }
+
+        // One-byte gap plus one-byte frequency per posting.
+        assertEquals(2000, index.postingBytes());
+        assertEquals(1, index.terms());
+        List<TicketInvertedIndex.Hit> hits = index.search("outage", null, 3);
+        // Equal scores: newest first.
+        assertEquals(List.of(1000L, 999L, 998L), ids(hits));
+    }
+
+    @Test
+    void testPostingList_RoundTripsLargeGapsAndFrequencies() {
+        TicketInvertedIndex.PostingList list = new TicketInvertedIndex.PostingList();
+        int[] docs = {0, 1, 200, 70_000, 3_000_000};
+        int[] frequencies = {1, 300, 2, 1, 20_000};
+        for (int i = 0; i < docs.length; i++) {
+            list.append(docs[i], frequencies[i]);
+        }
+        list.trimToSize();
+
+        int[] position = {0};
+        list.forEach((doc, frequency) -> {
+            assertEquals(docs[position[0]], doc);
+            assertEquals(frequencies[position[0]], frequency);
+            position[0]++;
+        });
+        assertEquals(docs.length, position[0]);
+        assertEquals(docs.length, list.docFrequency());
+    }
+}
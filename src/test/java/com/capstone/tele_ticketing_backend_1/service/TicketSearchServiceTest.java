@@ -0,0 +1,213 @@
+package com.capstone.tele_ticketing_backend_1.service;
+
+import com.capstone.tele_ticketing_backend_1.dto.TicketSearchIndexStatsDto;
+import com.capstone.tele_ticketing_backend_1.dto.TicketSearchResultDto;
+import com.capstone.tele_ticketing_backend_1.dto.TicketSummaryDto;
+import com.capstone.tele_ticketing_backend_1.entities.TicketStatus;
+import com.capstone.tele_ticketing_backend_1.events.TicketTextChangedEvent;
+import com.capstone.tele_ticketing_backend_1.exceptions.BadRequestException;
+import com.capstone.tele_ticketing_backend_1.projections.TicketSearchSourceProjection;
+import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketSearchServiceTest {
+
+    private static final Long CUSTOMER_ID = 7L;
+    private static final Long AGENT_ID = 9L;
+
+    @Mock
+    private TicketRepo ticketRepo;
+
+    private TicketSearchService ticketSearchService;
+
+    private record SourceRow(Long id, Long customerId, Long agentId, String title, String description)
+            implements TicketSearchSourceProjection {
+        public Long getId() { return id; }
+        public Long getCustomerId() { return customerId; }
+        public Long getAgentId() { return agentId; }
+        public String getTitle() { return title; }
+        public String getDescription() { return description; }
+    }
+
+    @BeforeEach
+    void setUp() {
+        ticketSearchService = new TicketSearchService(ticketRepo, 2, 2, 0.5);
+    }
+
+    private void saved(long id, Long customerId, String title) {
+        ticketSearchService.onTicketChanged(new TicketTextChangedEvent(id, customerId, AGENT_ID, title, null, false));
+    }
+
+    private static TicketSummaryDto summary(long id, String title) {
+        return new TicketSummaryDto(id, "TK-" + id, title, TicketStatus.CREATED, LocalDateTime.now());
+    }
+
+    @Test
+    void testSearch_ReturnsSummariesInRankOrder() {
+        // Arrange
+        saved(1L, CUSTOMER_ID, "Router down");
+        saved(2L, CUSTOMER_ID, "Router down, router rebooting");
+        when(ticketRepo.findSummariesByIdIn(List.of(2L, 1L)))
+                .thenReturn(List.of(summary(1L, "Router down"), summary(2L, "Router down, router rebooting")));
+
+        // Act
+        List<TicketSearchResultDto> results = ticketSearchService.search("router", null, CUSTOMER_ID, true);
+
+        // Assert
+        assertEquals(List.of(2L, 1L), results.stream().map(TicketSearchResultDto::getId).toList());
+        assertEquals("TK-2", results.get(0).getTicketUid());
+        assertTrue(results.get(0).getScore() > results.get(1).getScore());
+    }
+
+    @Test
+    void testSearch_OwnerScopedUserOnlyGetsOwnTickets() {
+        // Arrange
+        saved(1L, CUSTOMER_ID, "Router down");
+        saved(2L, 99L, "Router down");
+        when(ticketRepo.findSummariesByIdIn(List.of(1L))).thenReturn(List.of(summary(1L, "Router down")));
+
+        // Act
+        List<TicketSearchResultDto> results = ticketSearchService.search("router", 10, CUSTOMER_ID, false);
+
+        // Assert
+        assertEquals(List.of(1L), results.stream().map(TicketSearchResultDto::getId).toList());
+    }
+
+    @Test
+    void testSearch_SkipsTicketsDeletedSinceIndexing() {
+        // Arrange
+        saved(1L, CUSTOMER_ID, "Router down");
+        when(ticketRepo.findSummariesByIdIn(List.of(1L))).thenReturn(List.of());
+
+        // Act & Assert
+        assertTrue(ticketSearchService.search("router", null, CUSTOMER_ID, true).isEmpty());
+    }
+
+    @Test
+    void testSearch_NoMatchesDoesNotQuery() {
+        saved(1L, CUSTOMER_ID, "Router down");
+
+        assertTrue(ticketSearchService.search("satellite", null, CUSTOMER_ID, true).isEmpty());
+        verifyNoInteractions(ticketRepo);
+    }
+
+    @Test
+    void testSearch_QueryWithoutWordsIsRejected() {
+        assertThrows(BadRequestException.class, () -> ticketSearchService.search("  the ? ", null, CUSTOMER_ID, true));
+        assertThrows(BadRequestException.class, () -> ticketSearchService.search(null, null, CUSTOMER_ID, true));
+    }
+
+    @Test
+    void testOnTicketChanged_RemovedTicketIsNoLongerFound() {
+        saved(1L, CUSTOMER_ID, "Router down");
+
+        ticketSearchService.onTicketChanged(new TicketTextChangedEvent(1L, null, null, null, null, true));
+
+        assertTrue(ticketSearchService.search("router", null, CUSTOMER_ID, true).isEmpty());
+        assertEquals(0, ticketSearchService.getStats().getDocuments());
+    }
+
+    @Test
+    void testRebuild_PagesThroughTicketsAndKeepsChangesMadeMeanwhile() {
+        // Arrange
+        saved(50L, CUSTOMER_ID, "Stale ticket no longer in the table");
+        when(ticketRepo.findSearchSourcePage(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new SourceRow(1L, CUSTOMER_ID, AGENT_ID, "Router down", null),
+                new SourceRow(2L, CUSTOMER_ID, AGENT_ID, "Billing error", "Charged twice.")));
+        when(ticketRepo.findSearchSourcePage(eq(2L), any(Pageable.class))).thenAnswer(invocation -> {
+            // Committed while the rebuild is reading: must survive the swap.
+            saved(3L, CUSTOMER_ID, "Fiber cut");
+            return List.of(new SourceRow(4L, CUSTOMER_ID, AGENT_ID, "Slow internet", null));
+        });
+
+        // Act
+        TicketSearchIndexStatsDto stats = ticketSearchService.rebuild();
+
+        // Assert
+        assertEquals(4, stats.getDocuments());
+        assertEquals(0, stats.getDeletedDocuments());
+        assertNotNull(stats.getLastRebuiltAt());
+        verify(ticketRepo, times(2)).findSearchSourcePage(anyLong(), any(Pageable.class));
+        when(ticketRepo.findSummariesByIdIn(List.of(3L))).thenReturn(List.of(summary(3L, "Fiber cut")));
+        assertEquals(1, ticketSearchService.search("fiber", null, CUSTOMER_ID, true).size());
+        assertTrue(ticketSearchService.search("stale", null, CUSTOMER_ID, true).isEmpty());
+    }
+
+    @Test
+    void testSyncIndex_IndexesTicketsSavedOnOtherNodes() {
+        // Arrange
+        assertEquals(0, ticketSearchService.syncIndex());
+        verify(ticketRepo, never()).findSearchSourcesUpdatedSince(any(), anyLong(), any(Pageable.class));
+        when(ticketRepo.findSearchSourcePage(eq(0L), any(Pageable.class))).thenReturn(List.of());
+        ticketSearchService.rebuild();
+        saved(1L, CUSTOMER_ID, "Router down");
+        when(ticketRepo.findSearchSourcesUpdatedSince(any(LocalDateTime.class), eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new SourceRow(1L, CUSTOMER_ID, AGENT_ID, "Router down", null),
+                new SourceRow(2L, CUSTOMER_ID, AGENT_ID, "Fiber cut", null)));
+        when(ticketRepo.findSearchSourcesUpdatedSince(any(LocalDateTime.class), eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(new SourceRow(3L, CUSTOMER_ID, AGENT_ID, "Fiber cut again", null)));
+
+        // Act
+        int reindexed = ticketSearchService.syncIndex();
+
+        // Assert
+        // Ticket 1 was indexed on this node already.
+        assertEquals(2, reindexed);
+        assertEquals(3, ticketSearchService.getStats().getDocuments());
+        assertEquals(0, ticketSearchService.getStats().getDeletedDocuments());
+    }
+
+    @Test
+    void testSyncIndex_CompactsOnceDeletedVersionsPassTheThreshold() {
+        // Arrange
+        when(ticketRepo.findSearchSourcePage(eq(0L), any(Pageable.class))).thenReturn(List.of());
+        ticketSearchService.rebuild();
+        when(ticketRepo.findSearchSourcesUpdatedSince(any(LocalDateTime.class), anyLong(), any(Pageable.class))).thenReturn(List.of());
+        saved(1L, CUSTOMER_ID, "Router down");
+        saved(1L, CUSTOMER_ID, "Router down again");
+        saved(2L, CUSTOMER_ID, "Fiber cut");
+        saved(3L, CUSTOMER_ID, "Slow internet");
+
+        // Act & Assert
+        // One deleted version of four documents is below both thresholds.
+        ticketSearchService.syncIndex();
+        assertEquals(1, ticketSearchService.getStats().getDeletedDocuments());
+
+        saved(2L, CUSTOMER_ID, "Fiber cut again");
+        saved(3L, CUSTOMER_ID, "Slow internet again");
+        when(ticketRepo.findSearchSourcePage(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new SourceRow(1L, CUSTOMER_ID, AGENT_ID, "Router down again", null),
+                new SourceRow(2L, CUSTOMER_ID, AGENT_ID, "Fiber cut again", null)));
+        when(ticketRepo.findSearchSourcePage(eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(new SourceRow(3L, CUSTOMER_ID, AGENT_ID, "Slow internet again", null)));
+        ticketSearchService.syncIndex();
+
+        TicketSearchIndexStatsDto stats = ticketSearchService.getStats();
+        assertEquals(3, stats.getDocuments());
+        assertEquals(0, stats.getDeletedDocuments());
+        verify(ticketRepo, times(2)).findSearchSourcePage(eq(0L), any(Pageable.class));
+    }
+
+    @Test
+    void testCanSearchAllTickets_OnlyForRolesBeyondCustomerAndAgent() {
+        assertFalse(TicketSearchService.canSearchAllTickets(List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER"))));
+        assertFalse(TicketSearchService.canSearchAllTickets(List.of(new SimpleGrantedAuthority("ROLE_AGENT"))));
+        assertTrue(TicketSearchService.canSearchAllTickets(List.of(new SimpleGrantedAuthority("ROLE_AGENT"),
+                new SimpleGrantedAuthority("ROLE_TEAM_LEAD"))));
+        assertTrue(TicketSearchService.canSearchAllTickets(List.of(new SimpleGrantedAuthority("ROLE_NOC_ENGINEER"))));
+    }
+}
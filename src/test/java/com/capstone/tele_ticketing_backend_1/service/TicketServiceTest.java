@@ -68,7 +68,7 @@ class TicketServiceTest {
     @Test
     void testGetTicketById_Success() {
         // Arrange
-        when(ticketRepo.findById(100L)).thenReturn(Optional.of(mockTicket));
+        when(ticketRepo.findDetailById(100L)).thenReturn(Optional.of(mockTicket));
 
         // Act
         TicketDetailDto result = ticketService.getTicketById(100L);
@@ -88,7 +88,7 @@ class TicketServiceTest {
 
     @Test
     void testGetTicketById_NotFound() {
-        when(ticketRepo.findById(999L)).thenReturn(Optional.empty());
+        when(ticketRepo.findDetailById(999L)).thenReturn(Optional.empty());
 
         assertThrows(TicketNotFoundException.class, () ->
                 ticketService.getTicketById(999L)
@@ -100,7 +100,7 @@ class TicketServiceTest {
     @Test
     void testGetTicketByUid_Success() {
         // Arrange
-        when(ticketRepo.findByTicketUid("TKT-100")).thenReturn(Optional.of(mockTicket));
+        when(ticketRepo.findDetailByTicketUid("TKT-100")).thenReturn(Optional.of(mockTicket));
 
         // Act
         TicketDetailDto result = ticketService.getTicketByUid("TKT-100");
@@ -108,12 +108,12 @@ class TicketServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals("TKT-100", result.getTicketUid());
-        verify(ticketRepo).findByTicketUid("TKT-100");
+        verify(ticketRepo).findDetailByTicketUid("TKT-100");
     }
 
     @Test
     void testGetTicketByUid_NotFound() {
-        when(ticketRepo.findByTicketUid("UNKNOWN")).thenReturn(Optional.empty());
+        when(ticketRepo.findDetailByTicketUid("UNKNOWN")).thenReturn(Optional.empty());
 
         assertThrows(TicketNotFoundException.class, () ->
                 ticketService.getTicketByUid("UNKNOWN")
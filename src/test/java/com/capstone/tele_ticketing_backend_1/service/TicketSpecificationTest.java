@@ -175,6 +175,25 @@ class TicketSpecificationTest {
         verify(cb).between(eq(path), any(LocalDateTime.class), any(LocalDateTime.class));
     }
 
+    @Test
+    void testIsAtSlaRisk_UsesTheAtRiskPointSetAtTriage() {
+        // Arrange
+        Specification<Ticket> spec = TicketSpecification.isAtSlaRisk();
+        Path atRiskPath = mock(Path.class);
+        when(root.get("slaAtRiskAt")).thenReturn(atRiskPath);
+        when(root.get("slaBreachAt")).thenReturn(path);
+
+        // Act
+        spec.toPredicate(root, query, cb);
+
+        // Assert
+        // Past the stored at-risk point and not yet due...
+        verify(cb).lessThanOrEqualTo(eq(atRiskPath), any(LocalDateTime.class));
+        verify(cb).greaterThanOrEqualTo(eq(path), any(LocalDateTime.class));
+        // ...or, for tickets triaged before it was stored, within two hours of the deadline.
+        verify(cb).isNull(atRiskPath);
+    }
+
     // --- isSlaBreached Tests ---
 
     @Test
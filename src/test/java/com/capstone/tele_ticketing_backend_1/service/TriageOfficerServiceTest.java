@@ -3,9 +3,11 @@ package com.capstone.tele_ticketing_backend_1.service;
 import com.capstone.tele_ticketing_backend_1.ai.TriageAssistant;
 import com.capstone.tele_ticketing_backend_1.dto.*;
 import com.capstone.tele_ticketing_backend_1.entities.*;
+import com.capstone.tele_ticketing_backend_1.exceptions.BadRequestException;
 import com.capstone.tele_ticketing_backend_1.exceptions.InvalidTicketStatusException;
 import com.capstone.tele_ticketing_backend_1.exceptions.TicketNotFoundException;
 import com.capstone.tele_ticketing_backend_1.exceptions.UserNotFoundException;
+import com.capstone.tele_ticketing_backend_1.projections.TicketActivityFeedProjection;
 import com.capstone.tele_ticketing_backend_1.repo.TicketActivityRepo;
 import com.capstone.tele_ticketing_backend_1.repo.TicketRepo;
 import com.capstone.tele_ticketing_backend_1.repo.UserRepo;
@@ -15,7 +17,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -31,8 +35,13 @@ class TriageOfficerServiceTest {
     @Mock private UserRepo userRepo;
     @Mock private TicketService ticketService;
     @Mock private ActivityLogService activityLogService;
+    @Mock private TicketStatusCounterService ticketStatusCounterService;
+    @Spy private TicketAssignmentService ticketAssignmentService = new TicketAssignmentService(event -> { });
     @Mock private TriageAssistant triageAssistant;
     @Mock private TicketActivityRepo activityRepo;
+    @Mock private TicketDuplicateService ticketDuplicateService;
+    // Round the clock, so deadlines are plain wall-clock hours.
+    @Spy private SlaCalendarService slaCalendarService = new SlaCalendarService("MON-SUN 00:00-24:00", "", 120, 30, 600_000);
 
     @InjectMocks
     private TriageOfficerService triageOfficerService;
@@ -65,15 +74,66 @@ class TriageOfficerServiceTest {
     @Test
     void testGetPendingTickets() {
         // Arrange
-        when(ticketRepo.findAllByStatusIn(anyList())).thenReturn(List.of(mockTicket));
+        when(ticketRepo.findSummaryPageByStatusIn(anyList(), any(), any(), any())).thenReturn(List.of(
+                new TicketSummaryDto(mockTicket.getId(), mockTicket.getTicketUid(), mockTicket.getTitle(), mockTicket.getStatus(), mockTicket.getCreatedAt())));
 
         // Act
-        List<TicketSummaryDto> result = triageOfficerService.getPendingTickets();
+        CursorPageDto<PendingTicketDto> result = triageOfficerService.getPendingTickets(null, null);
 
         // Assert
-        assertEquals(1, result.size());
-        assertEquals("TKT-100", result.get(0).getTicketUid());
-        verify(ticketRepo).findAllByStatusIn(anyList());
+        assertEquals(1, result.getItems().size());
+        assertEquals("TKT-100", result.getItems().get(0).getTicketUid());
+        assertTrue(result.getItems().get(0).getDuplicateCandidates().isEmpty());
+        assertNull(result.getNextCursor());
+        // Default page size of 20, plus one look-ahead row.
+        verify(ticketRepo).findSummaryPageByStatusIn(anyList(), any(), eq(Long.MAX_VALUE),
+                argThat(pageable -> pageable.getPageSize() == 21));
+    }
+
+    @Test
+    void testGetPendingTickets_ReturnsCursorWhenMoreRowsExist() {
+        // Arrange
+        TicketSummaryDto newer = new TicketSummaryDto(101L, "TKT-101", "Newer", TicketStatus.CREATED,
+                LocalDateTime.of(2025, 1, 2, 10, 0));
+        TicketSummaryDto older = new TicketSummaryDto(100L, "TKT-100", "Older", TicketStatus.CREATED,
+                LocalDateTime.of(2025, 1, 1, 10, 0));
+        when(ticketRepo.findSummaryPageByStatusIn(anyList(), any(), any(), any())).thenReturn(List.of(newer, older));
+
+        // Act
+        CursorPageDto<PendingTicketDto> firstPage = triageOfficerService.getPendingTickets(null, 1);
+
+        // Assert
+        assertEquals(1, firstPage.getItems().size());
+        assertNotNull(firstPage.getNextCursor());
+        KeysetPagination.Cursor cursor = KeysetPagination.decode(firstPage.getNextCursor());
+        assertEquals(newer.getCreatedAt(), cursor.createdAt());
+        assertEquals(101L, cursor.id());
+    }
+
+    @Test
+    void testGetPendingTickets_AttachesDuplicateCandidates() {
+        // Arrange
+        TicketSummaryDto newer = new TicketSummaryDto(101L, "TKT-101", "No internet in Anna Nagar", TicketStatus.CREATED,
+                LocalDateTime.of(2025, 1, 2, 10, 0));
+        TicketSummaryDto older = new TicketSummaryDto(100L, "TKT-100", "Internet down in Anna Nagar", TicketStatus.NEEDS_TRIAGING,
+                LocalDateTime.of(2025, 1, 1, 10, 0));
+        DuplicateCandidateDto candidate = new DuplicateCandidateDto(100L, "TKT-100", "Internet down in Anna Nagar",
+                TicketStatus.NEEDS_TRIAGING, 0.8);
+        when(ticketRepo.findSummaryPageByStatusIn(anyList(), any(), any(), any())).thenReturn(List.of(newer, older));
+        when(ticketDuplicateService.findCandidates(List.of(101L, 100L))).thenReturn(Map.of(101L, List.of(candidate)));
+
+        // Act
+        CursorPageDto<PendingTicketDto> result = triageOfficerService.getPendingTickets(null, 10);
+
+        // Assert
+        assertEquals(List.of(candidate), result.getItems().get(0).getDuplicateCandidates());
+        assertTrue(result.getItems().get(1).getDuplicateCandidates().isEmpty());
+    }
+
+    @Test
+    void testGetPendingTickets_InvalidCursor() {
+        assertThrows(BadRequestException.class, () -> triageOfficerService.getPendingTickets("not-a-cursor", 10));
+        verifyNoInteractions(ticketRepo);
     }
 
     // --- triageTicket Tests ---
@@ -88,7 +148,7 @@ class TriageOfficerServiceTest {
         dto.setAssignedToUserIds(Set.of(20L));
 
         when(userRepo.findByUsername(TRIAGE_OFFICER_USERNAME)).thenReturn(Optional.of(mockTriageOfficer));
-        when(ticketRepo.findById(ticketId)).thenReturn(Optional.of(mockTicket));
+        when(ticketRepo.findDetailById(ticketId)).thenReturn(Optional.of(mockTicket));
         when(userRepo.findAllById(dto.getAssignedToUserIds())).thenReturn(List.of(mockEngineer));
 
         when(ticketRepo.save(any(Ticket.class))).thenAnswer(i -> i.getArguments()[0]);
@@ -101,6 +161,8 @@ class TriageOfficerServiceTest {
         // Verify SLA Calculation
         assertEquals(20, mockTicket.getSlaDurationHours());
         assertNotNull(mockTicket.getSlaBreachAt());
+        assertEquals(mockTicket.getSlaBreachAt().minusHours(2), mockTicket.getSlaAtRiskAt());
+        assertEquals(SlaState.ON_TRACK, mockTicket.getSlaState());
 
         // Verify Status and Assignment
         assertEquals(TicketStatus.ASSIGNED, mockTicket.getStatus());
@@ -118,7 +180,7 @@ class TriageOfficerServiceTest {
         mockTicket.setStatus(TicketStatus.IN_PROGRESS); // Not a pending status
 
         when(userRepo.findByUsername(TRIAGE_OFFICER_USERNAME)).thenReturn(Optional.of(mockTriageOfficer));
-        when(ticketRepo.findById(100L)).thenReturn(Optional.of(mockTicket));
+        when(ticketRepo.findDetailById(100L)).thenReturn(Optional.of(mockTicket));
 
         // Act & Assert
         InvalidTicketStatusException ex = assertThrows(InvalidTicketStatusException.class, () ->
@@ -134,7 +196,7 @@ class TriageOfficerServiceTest {
         dto.setAssignedToUserIds(Set.of(99L)); // Missing engineer
 
         when(userRepo.findByUsername(TRIAGE_OFFICER_USERNAME)).thenReturn(Optional.of(mockTriageOfficer));
-        when(ticketRepo.findById(100L)).thenReturn(Optional.of(mockTicket));
+        when(ticketRepo.findDetailById(100L)).thenReturn(Optional.of(mockTicket));
         when(userRepo.findAllById(any())).thenReturn(Collections.emptyList()); // Return empty list
 
         // Act & Assert
@@ -195,21 +257,26 @@ class TriageOfficerServiceTest {
     @Test
     void testGetNotifications() {
         // Arrange
-        TicketActivity activity = new TicketActivity();
-        activity.setId(5L);
-        activity.setTicket(mockTicket);
-        activity.setDescription("Reopened by user");
-        activity.setActivityType(ActivityType.REOPENED);
-        activity.setCreatedAt(LocalDateTime.now());
-
-        when(activityRepo.findAllByActivityTypeInOrderByCreatedAtDesc(anyList()))
+        TicketActivityFeedProjection activity = new SpelAwareProxyProjectionFactory().createProjection(
+                TicketActivityFeedProjection.class, Map.of(
+                        "id", 5L,
+                        "ticketUid", "TKT-100",
+                        "ticketTitle", "Ticket title",
+                        "description", "Reopened by user",
+                        "activityType", ActivityType.REOPENED,
+                        "createdAt", LocalDateTime.now()));
+
+        when(activityRepo.findFeedPageByActivityTypeIn(anyList(), any(), any(), any()))
                 .thenReturn(List.of(activity));
 
         // Act
-        List<NotificationDto> result = triageOfficerService.getNotifications();
+        CursorPageDto<NotificationDto> result = triageOfficerService.getNotifications(null, 500);
 
         // Assert
-        assertEquals(1, result.size());
-        assertEquals("REOPENED", result.get(0).getActivityType());
+        assertEquals(1, result.getItems().size());
+        assertEquals("REOPENED", result.getItems().get(0).getActivityType());
+        // Requested size is capped at 100 (+1 look-ahead row).
+        verify(activityRepo).findFeedPageByActivityTypeIn(anyList(), any(), any(),
+                argThat(pageable -> pageable.getPageSize() == 101));
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.capstone.tele_ticketing_backend_1.service;
 
+import com.capstone.tele_ticketing_backend_1.dto.CursorPageDto;
 import com.capstone.tele_ticketing_backend_1.dto.UserSummaryDto;
 import com.capstone.tele_ticketing_backend_1.entities.AppUser;
 import com.capstone.tele_ticketing_backend_1.entities.ERole;
@@ -43,28 +44,29 @@ class UserServiceTest {
     @Test
     void testGetAllCustomers_Success() {
         // Arrange
-        when(userRepo.findAllByRoles_Name(ERole.ROLE_CUSTOMER))
+        when(userRepo.findPageByRole(eq(ERole.ROLE_CUSTOMER), any(), any(), any()))
                 .thenReturn(List.of(mockUser));
 
         // Act
-        List<UserSummaryDto> result = userService.getAllCustomers();
+        CursorPageDto<UserSummaryDto> result = userService.getAllCustomers(null, null);
 
         // Assert
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("test_user", result.get(0).getUsername());
+        assertEquals(1, result.getItems().size());
+        assertEquals("test_user", result.getItems().get(0).getUsername());
 
-        verify(userRepo).findAllByRoles_Name(ERole.ROLE_CUSTOMER);
+        verify(userRepo).findPageByRole(eq(ERole.ROLE_CUSTOMER), any(), any(), any());
     }
 
     @Test
     void testGetAllCustomers_Empty() {
-        when(userRepo.findAllByRoles_Name(ERole.ROLE_CUSTOMER))
+        when(userRepo.findPageByRole(eq(ERole.ROLE_CUSTOMER), any(), any(), any()))
                 .thenReturn(Collections.emptyList());
 
-        List<UserSummaryDto> result = userService.getAllCustomers();
+        CursorPageDto<UserSummaryDto> result = userService.getAllCustomers(null, null);
 
-        assertTrue(result.isEmpty());
+        assertTrue(result.getItems().isEmpty());
+        assertNull(result.getNextCursor());
     }
 
     // --- getAssignableEngineers Tests ---